@@ -0,0 +1,184 @@
+package com.app.benchmark;
+
+import com.app.ShopApplicationSpringBootApplication;
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.OrderEntity;
+import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.entity.view.AgeAndMostProductProjection;
+import com.app.persistence.entity.view.AgeMostOftenCategoryProjection;
+import com.app.persistence.entity.view.CategoryAndMostClientProjection;
+import com.app.persistence.repository.ClientRepository;
+import com.app.persistence.repository.OrderRepository;
+import com.app.persistence.repository.ProductRepository;
+import com.app.statistic.query.QueryEngine;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the {@link QueryEngine#CORRELATED} and {@link QueryEngine#WINDOW} queries of the "most often" statistics
+ * of the {@link OrderRepository} on 1M, 10M and 50M orders.
+ * <p>
+ * The dataset holds {@value #CLIENTS} clients of 60 ages and {@value #PRODUCTS} products of {@value #CATEGORIES}
+ * categories, and every order takes a random client, product and quantity of a fixed seed. The tables are kept
+ * between runs: a trial only inserts the orders missing for its size, so the sizes are run in ascending order
+ * and the 50M orders are inserted once. A smaller size than the stored one truncates the orders and fills them
+ * again. The schema is created by the migrations, so the queries use the indexes the application ships with.
+ * Every invocation runs one query once; the scores are in seconds per query.
+ * The benchmark needs the MySQL database the application is configured with; another one can be set with the
+ * `SPRING_DATASOURCE_URL`, `SPRING_DATASOURCE_USERNAME` and `SPRING_DATASOURCE_PASSWORD` environment variables.
+ * </p>
+ * <p>
+ * Run it with `mvn -Pbenchmark test-compile exec:exec -Djmh.includes=MostOftenQueryEngineBenchmark`, or for one size
+ * with `-Djmh.includes="MostOftenQueryEngineBenchmark -p orders=1000000"`.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class MostOftenQueryEngineBenchmark {
+
+    /**
+     * The number of clients of the dataset.
+     */
+    static final int CLIENTS = 5_000;
+
+    /**
+     * The number of products of the dataset.
+     */
+    static final int PRODUCTS = 1_000;
+
+    /**
+     * The number of product categories of the dataset.
+     */
+    static final int CATEGORIES = 50;
+
+    /**
+     * The number of orders inserted by one transaction while the dataset is filled.
+     */
+    private static final int CHUNK = 20_000;
+
+    @Param({"1000000", "10000000", "50000000"})
+    private long orders;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShopApplicationSpringBootApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "statistic.cube.enabled=false",
+                        "orders.bulk-insert.batch-size=2000",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")
+                .run();
+
+        orderRepository = context.getBean(OrderRepository.class);
+        fillDataset();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Seeds the clients and products once and inserts the orders missing for the size of the trial.
+     */
+    private void fillDataset() {
+        var jdbcTemplate = context.getBean(JdbcTemplate.class);
+        var transactionTemplate = context.getBean(TransactionTemplate.class);
+        var clientRepository = context.getBean(ClientRepository.class);
+        var productRepository = context.getBean(ProductRepository.class);
+        var random = new Random(42);
+
+        if (clientRepository.count() == 0) {
+            clientRepository.saveAll(IntStream
+                    .range(0, CLIENTS)
+                    .mapToObj(i -> ClientEntity
+                            .builder()
+                            .name("Client" + i)
+                            .surname("Surname" + i)
+                            .age(10 + i % 60)
+                            .cash(BigDecimal.valueOf(random.nextInt(10_000_000), 2))
+                            .build())
+                    .toList());
+            productRepository.saveAll(IntStream
+                    .range(0, PRODUCTS)
+                    .mapToObj(i -> ProductEntity
+                            .builder()
+                            .name("Product" + i)
+                            .category("category" + i % CATEGORIES)
+                            .price(BigDecimal.valueOf(1 + random.nextInt(10_000), 2))
+                            .build())
+                    .toList());
+        }
+
+        var stored = orderRepository.count();
+        if (stored > orders) {
+            jdbcTemplate.execute("truncate table orders");
+            stored = 0;
+        }
+
+        var clients = clientRepository.findAll();
+        var products = productRepository.findAll();
+        random.setSeed(stored);
+
+        for (var missing = orders - stored; missing > 0; missing -= CHUNK) {
+            var size = (int) Math.min(CHUNK, missing);
+            transactionTemplate.executeWithoutResult(status -> orderRepository.insertAll(IntStream
+                    .range(0, size)
+                    .mapToObj(i -> new OrderEntity(
+                            clients.get(random.nextInt(clients.size())),
+                            products.get(random.nextInt(products.size())),
+                            1 + random.nextInt(5)))
+                    .toList()));
+        }
+
+        jdbcTemplate.execute("analyze table orders, clients, products");
+    }
+
+    @Benchmark
+    public List<AgeMostOftenCategoryProjection> ageAndMostCategoryCorrelated() {
+        return orderRepository.getAgeAndMostCategory();
+    }
+
+    @Benchmark
+    public List<AgeMostOftenCategoryProjection> ageAndMostCategoryWindow() {
+        return orderRepository.getAgeAndMostCategoryRanked();
+    }
+
+    @Benchmark
+    public List<AgeAndMostProductProjection> ageAndMostProductCorrelated() {
+        return orderRepository.getAgeAndMostProduct();
+    }
+
+    @Benchmark
+    public List<AgeAndMostProductProjection> ageAndMostProductWindow() {
+        return orderRepository.getAgeAndMostProductRanked();
+    }
+
+    @Benchmark
+    public List<CategoryAndMostClientProjection> categoryAndMostClientCorrelated() {
+        return orderRepository.getCategoryAndMostClient();
+    }
+
+    @Benchmark
+    public List<CategoryAndMostClientProjection> categoryAndMostClientWindow() {
+        return orderRepository.getCategoryAndMostClientRanked();
+    }
+}
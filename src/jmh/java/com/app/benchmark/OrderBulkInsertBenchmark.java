@@ -0,0 +1,142 @@
+package com.app.benchmark;
+
+import com.app.ShopApplicationSpringBootApplication;
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.OrderEntity;
+import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.repository.ClientRepository;
+import com.app.persistence.repository.OrderRepository;
+import com.app.persistence.repository.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares inserting orders through {@link OrderRepository#saveAllAndFlush(Iterable)}, which relies on the JDBC
+ * batching of Hibernate, with the multi-row JDBC statements of {@link OrderRepository#insertAll(List)}.
+ * <p>
+ * Every invocation inserts {@value #ROWS} orders in one transaction, which is rolled back afterwards, so the table
+ * does not grow between iterations. The scores are in inserted rows per second; the batch size does not affect
+ * {@link #saveAll()}. The benchmark needs the MySQL database the application is configured with; another one
+ * can be set with the `SPRING_DATASOURCE_URL`, `SPRING_DATASOURCE_USERNAME` and `SPRING_DATASOURCE_PASSWORD`
+ * environment variables.
+ * </p>
+ * <p>
+ * Run it with `mvn -Pbenchmark test-compile exec:exec -Djmh.includes=OrderBulkInsertBenchmark`.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(OrderBulkInsertBenchmark.ROWS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBulkInsertBenchmark {
+
+    /**
+     * The number of orders inserted by one invocation.
+     */
+    static final int ROWS = 10_000;
+
+    @Param({"100", "500", "2000"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private ClientRepository clientRepository;
+    private ProductRepository productRepository;
+    private OrderRepository orderRepository;
+    private List<Long> clientIds;
+    private List<Long> productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShopApplicationSpringBootApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "statistic.cube.enabled=false",
+                        "orders.bulk-insert.batch-size=" + batchSize,
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")
+                .run();
+
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        clientRepository = context.getBean(ClientRepository.class);
+        productRepository = context.getBean(ProductRepository.class);
+        orderRepository = context.getBean(OrderRepository.class);
+
+        var random = new Random(42);
+        clientIds = clientRepository.saveAll(IntStream
+                .range(0, 100)
+                .mapToObj(i -> ClientEntity
+                        .builder()
+                        .name("Client" + i)
+                        .surname("Surname" + i)
+                        .age(10 + random.nextInt(60))
+                        .cash(BigDecimal.valueOf(random.nextInt(100_000), 2))
+                        .build())
+                .toList())
+                .stream()
+                .map(ClientEntity::getId)
+                .toList();
+        productIds = productRepository.saveAll(IntStream
+                .range(0, 100)
+                .mapToObj(i -> ProductEntity
+                        .builder()
+                        .name("Product" + i)
+                        .category("category" + i % 7)
+                        .price(BigDecimal.valueOf(1 + random.nextInt(10_000), 2))
+                        .build())
+                .toList())
+                .stream()
+                .map(ProductEntity::getId)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Creates new, unsaved orders of the seeded clients and products. It must be called inside the transaction which
+     * saves the orders, so the references to the clients and products are managed.
+     *
+     * @return the orders to be inserted
+     */
+    private List<OrderEntity> orders() {
+        return IntStream
+                .range(0, ROWS)
+                .mapToObj(i -> new OrderEntity(
+                        clientRepository.getReferenceById(clientIds.get(i % clientIds.size())),
+                        productRepository.getReferenceById(productIds.get(i / 7 % productIds.size()))))
+                .toList();
+    }
+
+    @Benchmark
+    public List<OrderEntity> saveAll() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return orderRepository.saveAllAndFlush(orders());
+        });
+    }
+
+    @Benchmark
+    public List<OrderEntity> insertAll() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return orderRepository.insertAll(orders());
+        });
+    }
+}
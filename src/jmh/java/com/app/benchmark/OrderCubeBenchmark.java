@@ -0,0 +1,183 @@
+package com.app.benchmark;
+
+import com.app.ShopApplicationSpringBootApplication;
+import com.app.model.Client;
+import com.app.model.Product;
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.OrderEntity;
+import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.repository.ClientRepository;
+import com.app.persistence.repository.OrderRepository;
+import com.app.persistence.repository.ProductRepository;
+import com.app.service.StatisticMaintenanceService;
+import com.app.service.impl.ShopStatisticServiceImpl;
+import com.app.statistic.cube.OrderCube;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the shop statistics computed by the database with the ones computed by the in-memory {@link OrderCube}.
+ * <p>
+ * The benchmark starts the application without the web layer, fills the database with random clients, products
+ * and orders, and loads the same orders into a cube. It needs the MySQL database the application is configured
+ * with; another one can be set with the `SPRING_DATASOURCE_URL`, `SPRING_DATASOURCE_USERNAME` and
+ * `SPRING_DATASOURCE_PASSWORD` environment variables, which are inherited by the forked benchmark JVMs.
+ * </p>
+ * <p>
+ * Run it with `mvn -Pbenchmark test-compile exec:exec -Djmh.includes=OrderCubeBenchmark`.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCubeBenchmark {
+
+    private static final String[] CATEGORIES = {"groceries", "home", "garden", "toys", "books", "sport", "music"};
+
+    @Param({"10000", "100000"})
+    private int orders;
+
+    private ConfigurableApplicationContext context;
+    private ShopStatisticServiceImpl shopStatisticService;
+    private OrderCube orderCube;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShopApplicationSpringBootApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "statistic.cube.enabled=false",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=500",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")
+                .run();
+
+        var orderRepository = context.getBean(OrderRepository.class);
+        context.getBean(TransactionTemplate.class).executeWithoutResult(status -> seed(orderRepository));
+        context.getBean(StatisticMaintenanceService.class).rebuildClientSpend();
+
+        shopStatisticService = context.getBean(ShopStatisticServiceImpl.class);
+        orderCube = new OrderCube();
+        context.getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+            try (var rows = orderRepository.streamCubeRows()) {
+                orderCube.load(rows);
+            }
+        });
+    }
+
+    /**
+     * Saves random clients, products and orders in one transaction, so the orders reference managed entities.
+     *
+     * @param orderRepository the repository used to save the orders
+     */
+    private void seed(OrderRepository orderRepository) {
+        var random = new Random(42);
+        var clients = context.getBean(ClientRepository.class).saveAll(IntStream
+                .range(0, orders / 10)
+                .mapToObj(i -> ClientEntity
+                        .builder()
+                        .name("Client" + i)
+                        .surname("Surname" + i)
+                        .age(10 + random.nextInt(60))
+                        .cash(BigDecimal.valueOf(random.nextInt(100_000), 2))
+                        .build())
+                .toList());
+        var products = context.getBean(ProductRepository.class).saveAll(IntStream
+                .range(0, orders / 100)
+                .mapToObj(i -> ProductEntity
+                        .builder()
+                        .name("Product" + i)
+                        .category(CATEGORIES[i % CATEGORIES.length])
+                        .price(BigDecimal.valueOf(1 + random.nextInt(10_000), 2))
+                        .build())
+                .toList());
+        orderRepository.saveAll(IntStream
+                .range(0, orders)
+                .mapToObj(i -> OrderEntity
+                        .builder()
+                        .clientEntity(clients.get(random.nextInt(clients.size())))
+                        .productEntity(products.get(random.nextInt(products.size())))
+                        .build())
+                .toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Client> sqlClientWithBiggerPayment() {
+        return shopStatisticService.getClientWithBiggerPayment();
+    }
+
+    @Benchmark
+    public List<Client> cubeClientWithBiggerPayment() {
+        return orderCube.getClientWithBiggerPayment();
+    }
+
+    @Benchmark
+    public List<Client> sqlClientWithBiggerPaymentInCategory() {
+        return shopStatisticService.getClientWithBiggerPaymentInCategory(CATEGORIES[0]);
+    }
+
+    @Benchmark
+    public List<Client> cubeClientWithBiggerPaymentInCategory() {
+        return orderCube.getClientWithBiggerPaymentInCategory(CATEGORIES[0]);
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> sqlAgeAndMostCategory() {
+        return shopStatisticService.getAgeAndMostCategory();
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> cubeAgeAndMostCategory() {
+        return orderCube.getAgeAndMostCategory();
+    }
+
+    @Benchmark
+    public Map<Integer, List<Product>> sqlAgeAndMostProduct() {
+        return shopStatisticService.getAgeAndMostProduct();
+    }
+
+    @Benchmark
+    public Map<Integer, List<Product>> cubeAgeAndMostProduct() {
+        return orderCube.getAgeAndMostProduct();
+    }
+
+    @Benchmark
+    public Map<String, List<Client>> sqlCategoryAndMostClient() {
+        return shopStatisticService.getCategoryAndMostClient();
+    }
+
+    @Benchmark
+    public Map<String, List<Client>> cubeCategoryAndMostClient() {
+        return orderCube.getCategoryAndMostClient();
+    }
+
+    @Benchmark
+    public Map<Client, BigDecimal> sqlClientsAndDebit() {
+        return shopStatisticService.getClientsAndDebit();
+    }
+
+    @Benchmark
+    public Map<Client, BigDecimal> cubeClientsAndDebit() {
+        return orderCube.getClientsAndDebit();
+    }
+}
@@ -0,0 +1,117 @@
+package com.app.benchmark;
+
+import com.app.ShopApplicationSpringBootApplication;
+import com.app.model.Client;
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.view.ClientView;
+import com.app.persistence.repository.ClientRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the ways a statistic can read the clients of its result: as managed entities in a read-write transaction,
+ * as managed entities in a read-only transaction, and as {@link ClientView} records in a read-only transaction.
+ * <p>
+ * Every invocation reads {@value #ROWS} clients by ID and converts them to {@link Client} models. A read-write
+ * transaction keeps a snapshot of every loaded entity and dirty checks it at commit, a read-only one skips both,
+ * and the views are never managed at all. The allocations per invocation are reported by the GC profiler.
+ * The benchmark needs the MySQL database the application is configured with; another one can be set with the
+ * `SPRING_DATASOURCE_URL`, `SPRING_DATASOURCE_USERNAME` and `SPRING_DATASOURCE_PASSWORD` environment variables.
+ * </p>
+ * <p>
+ * Run it with `mvn -Pbenchmark test-compile exec:exec -Djmh.includes="ReadOnlyStatisticBenchmark -prof gc"`.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlyStatisticBenchmark {
+
+    /**
+     * The number of clients read by one invocation.
+     */
+    static final int ROWS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private ClientRepository clientRepository;
+    private List<Long> clientIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShopApplicationSpringBootApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "statistic.cube.enabled=false",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")
+                .run();
+
+        var transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        clientRepository = context.getBean(ClientRepository.class);
+
+        clientIds = clientRepository.saveAll(IntStream
+                .range(0, ROWS)
+                .mapToObj(i -> ClientEntity
+                        .builder()
+                        .name("Client" + i)
+                        .surname("Surname" + i)
+                        .age(10 + i % 60)
+                        .cash(BigDecimal.valueOf(i, 2))
+                        .build())
+                .toList())
+                .stream()
+                .map(ClientEntity::getId)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private List<Client> entities() {
+        return clientRepository
+                .findAllById(clientIds)
+                .stream()
+                .map(ClientEntity::toClient)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Client> entitiesReadWrite() {
+        return readWrite.execute(status -> entities());
+    }
+
+    @Benchmark
+    public List<Client> entitiesReadOnly() {
+        return readOnly.execute(status -> entities());
+    }
+
+    @Benchmark
+    public List<Client> viewsReadOnly() {
+        return readOnly.execute(status -> clientRepository
+                .findViewsByIdIn(clientIds)
+                .stream()
+                .map(ClientView::toClient)
+                .toList());
+    }
+}
@@ -0,0 +1,126 @@
+package com.app.benchmark;
+
+import com.app.model.Role;
+import com.app.persistence.entity.UserEntity;
+import com.app.persistence.repository.UserRepository;
+import com.app.security.cache.PrincipalCache;
+import com.app.security.dto.RefreshTokenDto;
+import com.app.security.dto.TokensDto;
+import com.app.security.service.impl.TokenServiceImpl;
+import io.jsonwebtoken.Jwts;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of parsing and signing JSON Web Tokens by {@link TokenServiceImpl}, the hot path of
+ * every authenticated request, at 1, 8 and 32 threads.
+ * <p>
+ * The service is created without the application context. The user repository is a stub answering from memory,
+ * and the principal of the user stays in the {@link PrincipalCache}, so only the token handling is measured:
+ * parsing verifies the signature and expiration of an access token, signing refreshes a pair of tokens.
+ * </p>
+ * <p>
+ * Run it with `mvn -Pbenchmark test-compile exec:exec -Djmh.includes=TokenServiceBenchmark`.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final long ACCESS_EXPIRATION_TIME_MS = 300_000;
+    private static final long REFRESH_EXPIRATION_TIME_MS = 30_000_000;
+    private static final String PREFIX = "Bearer ";
+
+    private TokenServiceImpl tokenService;
+    private Authentication authentication;
+    private String authorizationHeader;
+    private RefreshTokenDto refreshTokenDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var user = UserEntity
+                .builder()
+                .id(1L)
+                .username("benchmark")
+                .name("Bench")
+                .surname("Mark")
+                .email("benchmark@gmail.com")
+                .password("password")
+                .enable(true)
+                .role(Role.ROLE_WORKER)
+                .build();
+
+        var userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        Mockito.when(userRepository.findByUsername("benchmark")).thenReturn(Optional.of(user));
+
+        var secretKey = Jwts.SIG.HS512.key().build();
+        tokenService = new TokenServiceImpl(
+                userRepository,
+                secretKey,
+                Jwts.parser().verifyWith(secretKey).build(),
+                PasswordEncoderFactories.createDelegatingPasswordEncoder(),
+                new PrincipalCache(Duration.ofMillis(ACCESS_EXPIRATION_TIME_MS), 1, Clock.systemUTC()));
+        ReflectionTestUtils.setField(tokenService, "accessExpirationTimeMs", ACCESS_EXPIRATION_TIME_MS);
+        ReflectionTestUtils.setField(tokenService, "refreshExpirationTimeMs", REFRESH_EXPIRATION_TIME_MS);
+        ReflectionTestUtils.setField(
+                tokenService, "accessTokenExpirationTimeMsProperty", "access_token_expiration_time_ms_property");
+        ReflectionTestUtils.setField(tokenService, "prefix", PREFIX);
+
+        authentication = Mockito.mock(Authentication.class);
+        Mockito.when(authentication.getName()).thenReturn("benchmark");
+
+        var tokens = tokenService.generateToken(authentication);
+        authorizationHeader = PREFIX + tokens.accessToken();
+        refreshTokenDto = new RefreshTokenDto(tokens.refreshToken());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UsernamePasswordAuthenticationToken parse1Thread() {
+        return tokenService.parseAccessToken(authorizationHeader);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UsernamePasswordAuthenticationToken parse8Threads() {
+        return tokenService.parseAccessToken(authorizationHeader);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public UsernamePasswordAuthenticationToken parse32Threads() {
+        return tokenService.parseAccessToken(authorizationHeader);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public TokensDto sign1Thread() {
+        return tokenService.refreshToken(refreshTokenDto);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public TokensDto sign8Threads() {
+        return tokenService.refreshToken(refreshTokenDto);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public TokensDto sign32Threads() {
+        return tokenService.refreshToken(refreshTokenDto);
+    }
+}
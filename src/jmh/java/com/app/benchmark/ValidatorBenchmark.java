@@ -0,0 +1,124 @@
+package com.app.benchmark;
+
+import com.app.controller.dto.ClientDto;
+import com.app.controller.dto.product.ProductDto;
+import com.app.controller.dto.user.CreateUserDto;
+import com.app.validator.impl.ClientDtoValidator;
+import com.app.validator.impl.CreateUserDtoValidator;
+import com.app.validator.impl.PasswordValidator;
+import com.app.validator.impl.ProductDtoValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures how long the validators take to check the DTOs of a bulk upload of 100 000 clients, products or users.
+ * <p>
+ * The validators are created in a context of their own with the rules from `application.yml`, and every DTO is
+ * valid, so all of the rules are checked.
+ * </p>
+ * <p>
+ * Run it with `mvn -Pbenchmark test-compile exec:exec -Djmh.includes=ValidatorBenchmark`.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    private static final int DTOS = 100_000;
+    private static final String[] CATEGORIES = {"groceries", "home", "garden", "toys", "books", "sport", "music"};
+
+    private ConfigurableApplicationContext context;
+    private ClientDtoValidator clientDtoValidator;
+    private ProductDtoValidator productDtoValidator;
+    private CreateUserDtoValidator createUserDtoValidator;
+
+    private List<ClientDto> clients;
+    private List<ProductDto> products;
+    private List<CreateUserDto> users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(
+                ClientDtoValidator.class, ProductDtoValidator.class, CreateUserDtoValidator.class, PasswordValidator.class)
+                .web(WebApplicationType.NONE)
+                .run();
+
+        clientDtoValidator = context.getBean(ClientDtoValidator.class);
+        productDtoValidator = context.getBean(ProductDtoValidator.class);
+        createUserDtoValidator = context.getBean(CreateUserDtoValidator.class);
+
+        var random = new Random(42);
+        clients = IntStream
+                .range(0, DTOS)
+                .mapToObj(i -> new ClientDto(null, "Client" + letters(i), "Surname" + letters(i),
+                        18 + random.nextInt(60), BigDecimal.valueOf(100 + random.nextInt(10_000))))
+                .toList();
+        products = IntStream
+                .range(0, DTOS)
+                .mapToObj(i -> new ProductDto(null, "Product" + letters(i), CATEGORIES[i % CATEGORIES.length],
+                        BigDecimal.valueOf(1 + random.nextInt(10_000), 2)))
+                .toList();
+        users = IntStream
+                .range(0, DTOS)
+                .mapToObj(i -> new CreateUserDto("user-" + i, "Name" + letters(i), "Surname" + letters(i),
+                        "Password1!" + i, "Password1!" + i, "user" + i + "@gmail.com"))
+                .toList();
+    }
+
+    /**
+     * Encodes a number with letters only, so it can be a part of a name.
+     *
+     * @param number the number
+     * @return the letters
+     */
+    private static String letters(int number) {
+        var letters = new StringBuilder();
+        do {
+            letters.append((char) ('a' + number % 26));
+            number /= 26;
+        } while (number > 0);
+        return letters.toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void validateClients(Blackhole blackhole) {
+        for (var client : clients) {
+            blackhole.consume(clientDtoValidator.validate(client));
+        }
+    }
+
+    @Benchmark
+    public void validateProducts(Blackhole blackhole) {
+        for (var product : products) {
+            var errors = new BeanPropertyBindingResult(product, "productDto");
+            productDtoValidator.validate(product, errors);
+            blackhole.consume(errors.hasErrors());
+        }
+    }
+
+    @Benchmark
+    public void validateUsers(Blackhole blackhole) {
+        for (var user : users) {
+            blackhole.consume(createUserDtoValidator.validate(user));
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.app.benchmark;
+
+import com.app.ShopApplicationSpringBootApplication;
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.OrderEntity;
+import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.repository.ClientRepository;
+import com.app.persistence.repository.OrderRepository;
+import com.app.persistence.repository.ProductRepository;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Load test comparing the request handling on platform threads with the one on virtual threads.
+ * <p>
+ * The benchmark starts the whole application on a random port, once with `spring.threads.virtual.enabled=false`
+ * and once with `true`, fills the database with random clients, products and orders, and sends authenticated
+ * requests to `/shop/clients/debits` and `/orders/page` from many client threads at once. The statistic cache is
+ * disabled, so every request waits for the database.
+ * </p>
+ * <p>
+ * The sample time mode reports the latency percentiles, including p0.99, of every endpoint in both modes. After
+ * every iteration the highest number of requests handled by the server at the same time is printed; on platform
+ * threads it cannot exceed the size of the Tomcat thread pool. The number of client threads can be raised with
+ * the JMH `-t` option.
+ * </p>
+ * <p>
+ * It needs the MySQL database the application is configured with; another one can be set with the
+ * `SPRING_DATASOURCE_URL`, `SPRING_DATASOURCE_USERNAME` and `SPRING_DATASOURCE_PASSWORD` environment variables,
+ * which are inherited by the forked benchmark JVMs.
+ * </p>
+ * <p>
+ * Run it with `mvn -Pbenchmark test-compile exec:exec -Djmh.includes=VirtualThreadLoadBenchmark`.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Threads(400)
+@Fork(1)
+public class VirtualThreadLoadBenchmark {
+
+    private static final String[] CATEGORIES = {"groceries", "home", "garden", "toys", "books", "sport", "music"};
+    private static final int ORDERS = 20_000;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private final InFlightFilter inFlightFilter = new InFlightFilter();
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest shopRequest;
+    private HttpRequest ordersRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(ShopApplicationSpringBootApplication.class)
+                .initializers(applicationContext -> applicationContext
+                        .getBeanFactory()
+                        .registerSingleton("inFlightFilter", inFlightFilter))
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "statistic.cache.clients-and-debit.max-size=0",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")
+                .run();
+
+        context.getBean(TransactionTemplate.class).executeWithoutResult(status -> seed());
+
+        httpClient = HttpClient
+                .newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        var baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        var authorization = "Bearer " + login(baseUri);
+
+        shopRequest = HttpRequest
+                .newBuilder(URI.create(baseUri + "/shop/clients/debits"))
+                .header("Authorization", authorization)
+                .build();
+
+        ordersRequest = HttpRequest
+                .newBuilder(URI.create(baseUri + "/orders/page?after=0&size=50"))
+                .header("Authorization", authorization)
+                .build();
+    }
+
+    /**
+     * Logs in as the default admin and returns the access token.
+     *
+     * @param baseUri the address of the application
+     * @return the access token
+     */
+    private String login(String baseUri) throws IOException, InterruptedException {
+        var environment = context.getEnvironment();
+        var body = "{ \"username\": \"%s\", \"password\": \"%s\" }".formatted(
+                environment.getProperty("admin.username"), environment.getProperty("admin.password"));
+
+        var response = httpClient.send(
+                HttpRequest
+                        .newBuilder(URI.create(baseUri + "/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        return response
+                .headers()
+                .allValues("Set-Cookie")
+                .stream()
+                .filter(cookie -> cookie.startsWith("AccessToken="))
+                .map(cookie -> cookie.substring("AccessToken=".length(), cookie.indexOf(';')))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Login failed with status " + response.statusCode()));
+    }
+
+    /**
+     * Saves random clients, products and orders in one transaction, so the orders reference managed entities.
+     */
+    private void seed() {
+        var random = new Random(42);
+        var clients = context.getBean(ClientRepository.class).saveAll(IntStream
+                .range(0, ORDERS / 10)
+                .mapToObj(i -> ClientEntity
+                        .builder()
+                        .name("Client" + i)
+                        .surname("Surname" + i)
+                        .age(10 + random.nextInt(60))
+                        .cash(BigDecimal.valueOf(random.nextInt(100_000), 2))
+                        .build())
+                .toList());
+        var products = context.getBean(ProductRepository.class).saveAll(IntStream
+                .range(0, ORDERS / 100)
+                .mapToObj(i -> ProductEntity
+                        .builder()
+                        .name("Product" + i)
+                        .category(CATEGORIES[i % CATEGORIES.length])
+                        .price(BigDecimal.valueOf(1 + random.nextInt(10_000), 2))
+                        .build())
+                .toList());
+        context.getBean(OrderRepository.class).saveAll(IntStream
+                .range(0, ORDERS)
+                .mapToObj(i -> OrderEntity
+                        .builder()
+                        .clientEntity(clients.get(random.nextInt(clients.size())))
+                        .productEntity(products.get(random.nextInt(products.size())))
+                        .build())
+                .toList());
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeak() {
+        inFlightFilter.peak.set(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void printPeak() {
+        System.out.printf("virtualThreads=%s, max concurrent requests: %d%n", virtualThreads, inFlightFilter.peak.get());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int shopClientsAndDebit() throws IOException, InterruptedException {
+        return httpClient.send(shopRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int ordersPage() throws IOException, InterruptedException {
+        return httpClient.send(ordersRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * Counts the requests handled by the server at the same time and remembers the highest count.
+     */
+    private static final class InFlightFilter extends OncePerRequestFilter {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
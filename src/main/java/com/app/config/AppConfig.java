@@ -1,16 +1,23 @@
 package com.app.config;
 
+import com.app.security.cache.PrincipalCache;
+import com.app.statistic.leaderboard.CategoryLeaderboard;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import javax.crypto.SecretKey;
+import java.time.Clock;
+import java.time.Duration;
 
 /**
  * Configuration class for application-level beans.
- * Provides beans for password encoding and JWT secret key generation.
+ * Provides beans for password encoding, JWT secret key generation and parsing, the cache of authenticated principals
+ * and the in-memory statistic structures.
  */
 @Configuration
 public class AppConfig {
@@ -42,4 +49,54 @@ public class AppConfig {
     SecretKey secretKey() {
         return Jwts.SIG.HS512.key().build();
     }
+
+    /**
+     * Creates a {@link JwtParser} bean verifying the signature of JSON Web Tokens with the {@link SecretKey}.
+     * <p>
+     * The parser is immutable and thread safe, so a single instance serves every request instead of building
+     * a new one for each parsed token.
+     * </p>
+     *
+     * @param secretKey the key the tokens are signed with
+     * @return a {@link JwtParser} for signed tokens.
+     */
+    @Bean
+    JwtParser jwtParser(SecretKey secretKey) {
+        return Jwts
+                .parser()
+                .verifyWith(secretKey)
+                .build();
+    }
+
+    /**
+     * Creates a {@link PrincipalCache} bean.
+     * <p>
+     * A principal is kept as long as an access token is valid, and the number of principals is bounded by the
+     * `tokens.access.principal_cache_max_size` property.
+     * </p>
+     *
+     * @param accessExpirationTimeMs the lifetime of an access token in milliseconds
+     * @param maxSize                the maximum number of cached principals
+     * @return an empty {@link PrincipalCache}.
+     */
+    @Bean
+    PrincipalCache principalCache(
+            @Value("${tokens.access.expiration_time_ms}") long accessExpirationTimeMs,
+            @Value("${tokens.access.principal_cache_max_size:10000}") int maxSize) {
+        return new PrincipalCache(Duration.ofMillis(accessExpirationTimeMs), maxSize, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a {@link CategoryLeaderboard} bean.
+     * <p>
+     * The leaderboard is empty until it is rebuilt by {@link com.app.listener.CategoryLeaderboardListener}
+     * when the application is ready.
+     * </p>
+     *
+     * @return an empty {@link CategoryLeaderboard}.
+     */
+    @Bean
+    CategoryLeaderboard categoryLeaderboard() {
+        return new CategoryLeaderboard();
+    }
 }
@@ -0,0 +1,72 @@
+package com.app.config;
+
+import com.app.persistence.repository.EmailOutboxRepository;
+import com.app.service.EmailOutboxService;
+import com.app.service.EmailService;
+import com.app.service.impl.EmailOutboxServiceImpl;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Configuration class for the outbox of emails.
+ * <p>
+ * The settings are read from the `email.outbox` properties: `batch-size`, `concurrency`, `max-attempts`,
+ * `initial-backoff`, `max-backoff` and `lease`. The outbox is dispatched every `email.outbox.poll-interval-ms`
+ * milliseconds, which requires scheduling to be enabled.
+ * </p>
+ * <p>
+ * The workers sending the emails run on virtual threads when `spring.threads.virtual.enabled` is set, the same
+ * switch which moves the request handling and the `@Async` listeners to virtual threads.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+public class EmailOutboxConfig {
+
+    /**
+     * Creates the {@link EmailOutboxService} bean with the configured settings.
+     *
+     * @param emailOutboxRepository the repository of the emails in the outbox
+     * @param emailService          the service sending the emails
+     * @param transactionTemplate   the template running the outbox transactions
+     * @param eventPublisher        the publisher of the queued emails
+     * @param environment           the environment holding the `email.outbox` properties
+     * @return the {@link EmailOutboxService}.
+     */
+    @Bean
+    EmailOutboxService emailOutboxService(
+            EmailOutboxRepository emailOutboxRepository,
+            EmailService emailService,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            Environment environment) {
+        var settings = new EmailOutboxServiceImpl.Settings(
+                environment.getProperty("email.outbox.batch-size", Integer.class, 50),
+                environment.getProperty("email.outbox.concurrency", Integer.class, 2),
+                environment.getProperty("email.outbox.max-attempts", Integer.class, 8),
+                environment.getProperty("email.outbox.initial-backoff", Duration.class, Duration.ofSeconds(10)),
+                environment.getProperty("email.outbox.max-backoff", Duration.class, Duration.ofHours(1)),
+                environment.getProperty("email.outbox.lease", Duration.class, Duration.ofMinutes(5)));
+
+        var workers = new SimpleAsyncTaskExecutor("email-outbox-");
+        workers.setConcurrencyLimit(settings.concurrency());
+        workers.setVirtualThreads(environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false));
+
+        return new EmailOutboxServiceImpl(
+                emailOutboxRepository,
+                emailService,
+                transactionTemplate,
+                eventPublisher,
+                settings,
+                workers,
+                Clock.systemUTC());
+    }
+}
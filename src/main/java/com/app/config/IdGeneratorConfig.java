@@ -0,0 +1,46 @@
+package com.app.config;
+
+import com.app.persistence.id.IdBlockInitializer;
+import com.app.persistence.id.PooledTableIdGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Configuration class for the IDs of the entities.
+ * <p>
+ * The number of IDs reserved at once by every node is read from the `persistence.id.block-size` property.
+ * </p>
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    /**
+     * Passes the configured block size to the {@link PooledTableIdGenerator}.
+     *
+     * @param blockSize the number of IDs reserved at once
+     * @return a customizer adding the block size to the Hibernate settings.
+     */
+    @Bean
+    HibernatePropertiesCustomizer idBlockSizeCustomizer(
+            @Value("${persistence.id.block-size:" + PooledTableIdGenerator.DEFAULT_BLOCK_SIZE + "}") int blockSize) {
+        return properties -> properties.put(PooledTableIdGenerator.BLOCK_SIZE_SETTING, blockSize);
+    }
+
+    /**
+     * Creates the {@link IdBlockInitializer} bean, which runs after the SQL initialization scripts.
+     *
+     * @param entityManagerFactory the entity manager factory holding the entity mappings
+     * @param jdbcTemplate         the template used to update the `id_blocks` table
+     * @return the initializer of the `id_blocks` table.
+     */
+    @Bean
+    @DependsOnDatabaseInitialization
+    IdBlockInitializer idBlockInitializer(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        return new IdBlockInitializer(entityManagerFactory, jdbcTemplate);
+    }
+}
@@ -0,0 +1,42 @@
+package com.app.config;
+
+import com.app.importer.ImportPipeline;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Configuration class for the bulk imports.
+ * <p>
+ * The settings are read from the `bulk-import` properties: `chunk-size`, `workers`, `queue-capacity`,
+ * `max-reported-errors` and `dedupe-window`. The stages of the imports run on virtual threads when `spring.threads.virtual.enabled`
+ * is set.
+ * </p>
+ */
+@Configuration
+public class ImportConfig {
+
+    /**
+     * Creates the {@link ImportPipeline} bean with the configured settings.
+     *
+     * @param transactionTemplate the template running the chunks in transactions
+     * @param environment         the environment holding the `bulk-import` properties
+     * @return the {@link ImportPipeline}.
+     */
+    @Bean
+    ImportPipeline importPipeline(TransactionTemplate transactionTemplate, Environment environment) {
+        var settings = new ImportPipeline.Settings(
+                environment.getProperty("bulk-import.chunk-size", Integer.class, 1000),
+                environment.getProperty("bulk-import.workers", Integer.class, 4),
+                environment.getProperty("bulk-import.queue-capacity", Integer.class, 4),
+                environment.getProperty("bulk-import.max-reported-errors", Integer.class, 1000),
+                environment.getProperty("bulk-import.dedupe-window", Integer.class, 100_000));
+
+        var workers = new SimpleAsyncTaskExecutor("bulk-import-");
+        workers.setVirtualThreads(environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false));
+
+        return new ImportPipeline(transactionTemplate, settings, workers);
+    }
+}
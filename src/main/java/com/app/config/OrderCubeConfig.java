@@ -0,0 +1,29 @@
+package com.app.config;
+
+import com.app.statistic.cube.OrderCube;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the in-memory order cube.
+ * <p>
+ * The cube is created only when the `statistic.cube.enabled` property is set to `true`. Otherwise all shop
+ * statistics are computed by the database.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "statistic.cube.enabled", havingValue = "true")
+public class OrderCubeConfig {
+
+    /**
+     * Creates the {@link OrderCube} bean. The cube is empty until it is loaded by
+     * {@link com.app.listener.OrderCubeListener} when the application is ready.
+     *
+     * @return an empty {@link OrderCube}.
+     */
+    @Bean
+    OrderCube orderCube() {
+        return new OrderCube();
+    }
+}
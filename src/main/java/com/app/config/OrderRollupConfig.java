@@ -0,0 +1,34 @@
+package com.app.config;
+
+import com.app.statistic.rollup.RollupRetention;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Configuration class for the hourly and daily rollups of the orders.
+ * <p>
+ * The hourly rollups are kept for the time given by the `statistic.rollups.hourly-retention` property, seven days by
+ * default, and the older ones are removed every `statistic.rollups.compaction-interval-ms` milliseconds by
+ * {@link com.app.service.StatisticMaintenanceService#compactOrderRollups()}.
+ * </p>
+ */
+@Configuration
+public class OrderRollupConfig {
+
+    /**
+     * Creates the {@link RollupRetention} bean.
+     *
+     * @param environment the environment holding the `statistic.rollups` properties
+     * @return the configured retention of the hourly rollups.
+     */
+    @Bean
+    RollupRetention rollupRetention(Environment environment) {
+        return new RollupRetention(
+                environment.getProperty("statistic.rollups.hourly-retention", Duration.class, Duration.ofDays(7)),
+                Clock.systemUTC());
+    }
+}
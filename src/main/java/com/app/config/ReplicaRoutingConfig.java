@@ -0,0 +1,109 @@
+package com.app.config;
+
+import com.app.persistence.routing.ReplicaRoutingDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Configuration class for routing the read-only transactions to replicas of the database.
+ * <p>
+ * The routing is enabled only when the `persistence.replicas.enabled` property is set to `true`. Otherwise the
+ * single data source of the `spring.datasource` properties is used for everything.
+ * </p>
+ * <p>
+ * The primary is created from the `spring.datasource` properties, and a replica is created for every URL of the
+ * `persistence.replicas.urls` property, with the `persistence.replicas.username` and `persistence.replicas.password`
+ * properties or, when they are missing, the credentials of the primary. The read-your-writes window is read from the
+ * `persistence.replicas.read-your-writes-window` property and the timeout of the health checks from the
+ * `persistence.replicas.health-check-timeout` property. A session is the authenticated user. Anonymous requests and
+ * background threads have no session, so each of them is pinned on its own thread.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "persistence.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    /**
+     * Creates the {@link ReplicaRoutingDataSource} bean with the primary and the configured replicas.
+     *
+     * @param properties  the properties of the primary data source
+     * @param environment the environment holding the `persistence.replicas` properties
+     * @return the data source routing between the primary and the replicas.
+     * @throws IllegalArgumentException if no replica URL is configured
+     */
+    @Bean
+    ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties, Environment environment) {
+        var urls = Binder.get(environment)
+                .bind("persistence.replicas.urls", Bindable.listOf(String.class))
+                .orElse(List.of());
+
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("Replica URLs cannot be empty when the replicas are enabled");
+        }
+
+        var username = environment.getProperty("persistence.replicas.username", properties.determineUsername());
+        var password = environment.getProperty("persistence.replicas.password", properties.determinePassword());
+
+        var replicas = new LinkedHashMap<String, DataSource>();
+        for (int i = 0; i < urls.size(); i++) {
+            replicas.put("replica-" + i, properties.initializeDataSourceBuilder()
+                    .url(urls.get(i))
+                    .username(username)
+                    .password(password)
+                    .build());
+        }
+
+        var settings = new ReplicaRoutingDataSource.Settings(
+                environment.getProperty("persistence.replicas.read-your-writes-window", Duration.class, Duration.ofSeconds(5)),
+                environment.getProperty("persistence.replicas.health-check-timeout", Duration.class, Duration.ofSeconds(2)));
+
+        return new ReplicaRoutingDataSource(
+                properties.initializeDataSourceBuilder().build(),
+                replicas,
+                settings,
+                ReplicaRoutingConfig::currentSession,
+                Clock.systemUTC());
+    }
+
+    /**
+     * Creates the data source used by JPA and JDBC, which requests the connection from the routing data source
+     * only at the first statement of a transaction, once it is known whether the transaction is read-only.
+     *
+     * @param replicaRoutingDataSource the data source routing between the primary and the replicas
+     * @return the data source of the application.
+     */
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Gives the name of the authenticated user, or null for anonymous requests and background threads.
+     */
+    private static String currentSession() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null
+                || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken
+                ? null
+                : authentication.getName();
+    }
+}
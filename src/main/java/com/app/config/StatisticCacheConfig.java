@@ -0,0 +1,55 @@
+package com.app.config;
+
+import com.app.statistic.cache.CachedStatistic;
+import com.app.statistic.cache.StatisticCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+
+/**
+ * Configuration class for the cache of the shop statistics.
+ * <p>
+ * The bounds of every statistic are read from the `statistic.cache.&lt;statistic&gt;.ttl` and
+ * `statistic.cache.&lt;statistic&gt;.max-size` properties, where the statistic is a {@link CachedStatistic#getKey()}.
+ * A statistic without both properties, or with a zero value, is not cached.
+ * </p>
+ * <p>
+ * When the read-only transactions are routed to replicas, the results computed within the
+ * `persistence.replicas.read-your-writes-window` after an invalidation are not stored, because the replica they were
+ * read from may not have received the change yet.
+ * </p>
+ */
+@Configuration
+public class StatisticCacheConfig {
+
+    /**
+     * Creates the {@link StatisticCache} bean with the configured bounds of every statistic.
+     *
+     * @param environment the environment holding the `statistic.cache` and `persistence.replicas` properties
+     * @return an empty {@link StatisticCache}.
+     */
+    @Bean
+    StatisticCache statisticCache(Environment environment) {
+        var bounds = new EnumMap<CachedStatistic, StatisticCache.Bounds>(CachedStatistic.class);
+
+        for (var statistic : CachedStatistic.values()) {
+            var prefix = "statistic.cache." + statistic.getKey();
+            var ttl = environment.getProperty(prefix + ".ttl", Duration.class);
+            var maxSize = environment.getProperty(prefix + ".max-size", Integer.class);
+
+            if (ttl != null && maxSize != null) {
+                bounds.put(statistic, new StatisticCache.Bounds(ttl, maxSize));
+            }
+        }
+
+        var settleWindow = environment.getProperty("persistence.replicas.enabled", Boolean.class, false)
+                ? environment.getProperty("persistence.replicas.read-your-writes-window", Duration.class, Duration.ofSeconds(5))
+                : Duration.ZERO;
+
+        return new StatisticCache(bounds, settleWindow, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,39 @@
+package com.app.config;
+
+import com.app.statistic.query.QueryEngine;
+import com.app.statistic.query.QueryEngines;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuration class for the engines of the "most often" shop statistics.
+ * <p>
+ * The engine of every statistic is read from the `statistic.query-engine.age-and-most-category`,
+ * `statistic.query-engine.age-and-most-product` and `statistic.query-engine.category-and-most-client` properties,
+ * which take the `correlated` or `window` value. A statistic without the property uses the correlated engine.
+ * </p>
+ */
+@Configuration
+public class StatisticQueryEngineConfig {
+
+    private static final String PREFIX = "statistic.query-engine.";
+
+    /**
+     * Creates the {@link QueryEngines} bean with the configured engine of every statistic.
+     *
+     * @param environment the environment holding the `statistic.query-engine` properties
+     * @return the engines of the statistics.
+     */
+    @Bean
+    QueryEngines queryEngines(Environment environment) {
+        return new QueryEngines(
+                engine(environment, "age-and-most-category"),
+                engine(environment, "age-and-most-product"),
+                engine(environment, "category-and-most-client"));
+    }
+
+    private static QueryEngine engine(Environment environment, String statistic) {
+        return environment.getProperty(PREFIX + statistic, QueryEngine.class, QueryEngine.CORRELATED);
+    }
+}
@@ -1,15 +1,25 @@
 package com.app.controller;
 
 import com.app.controller.dto.ClientDto;
+import com.app.controller.dto.ImportReportDto;
+import com.app.controller.dto.PageDto;
 import com.app.controller.dto.ResponseDto;
 import com.app.converter.many.ClientsConverter;
+import com.app.importer.ImportFormat;
+import com.app.service.ImportService;
 import com.app.service.ClientService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -34,6 +44,16 @@ public class ClientController {
      */
     private final ClientsConverter clientsConverter;
 
+    /**
+     * Mapper used to write streamed clients.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Service importing clients in bulk.
+     */
+    private final ImportService importService;
+
     /**
      * Endpoint to add a single client.
      * <p>
@@ -72,6 +92,29 @@ public class ClientController {
         return new ResponseDto<>(clientService.addClients(clientsDto));
     }
 
+    /**
+     * Imports clients from {@link ClientDto} records given as a JSON array, newline delimited JSON or CSV with a
+     * header row, as told by the content type.
+     * <p>
+     * The records are read while the clients are being saved, in chunks committed one by one. Invalid, repeated and
+     * rejected clients do not stop the import; they are listed by their row in the returned report.
+     * </p>
+     *
+     * @param data        the records of the clients.
+     * @param contentType the content type of the records.
+     * @return a {@link ResponseDto} containing the report of the import.
+     */
+    @PostMapping("/import")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            description = "Access only for ADMIN and LEADER using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseDto<ImportReportDto> importClients(
+            InputStream data, @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) MediaType contentType) {
+        return new ResponseDto<>(importService.importClients(data, ImportFormat.of(contentType)).toImportReportDto());
+    }
+
     /**
      * Endpoint to retrieve a client by ID.
      * <p>
@@ -110,6 +153,52 @@ public class ClientController {
         return new ResponseDto<>(clientsConverter.toDtoList(clientService.findAllByIds(ids)));
     }
 
+    /**
+     * Retrieves a page of clients ordered by ID.
+     * <p>
+     * The page starts after the given ID (keyset pagination). The next page is requested with the `nextAfter`
+     * value of the returned page, which is {@code null} after the last page.
+     * </p>
+     *
+     * @param after the ID of the last client of the previous page, {@code 0} for the first page.
+     * @param size  the maximum number of clients in the page.
+     * @return a {@link ResponseDto} containing a page of {@link ClientDto}.
+     */
+    @GetMapping("/page")
+    @ResponseStatus(HttpStatus.FOUND)
+    @Operation(
+            description = "Access only for ADMIN and LEADER using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseDto<PageDto<ClientDto>> findPage(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "100") int size) {
+        return new ResponseDto<>(PageDto.of(
+                clientsConverter.toDtoList(clientService.findPage(after, size)),
+                size,
+                ClientDto::id));
+    }
+
+    /**
+     * Streams all clients ordered by ID as a JSON array.
+     * <p>
+     * The clients are written to the response as they are read from the database, so the endpoint can return
+     * any number of them.
+     * </p>
+     *
+     * @param after the ID after which the clients start, {@code 0} for all of them.
+     * @return a response writing a JSON array of {@link ClientDto}.
+     */
+    @GetMapping("/stream")
+    @Operation(
+            description = "Access only for ADMIN and LEADER using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<StreamingResponseBody> streamAll(@RequestParam(defaultValue = "0") Long after) {
+        return JsonArrayResponse.<ClientDto>of(objectMapper, HttpStatus.FOUND, action ->
+                clientService.streamAll(after, client -> action.accept(client.toClientDto())));
+    }
+
     /**
      * Endpoint to remove a client by ID.
      * <p>
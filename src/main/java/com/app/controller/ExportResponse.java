@@ -0,0 +1,83 @@
+package com.app.controller;
+
+import com.app.exporter.ExportFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Helper class for responses which stream an export as a file.
+ * <p>
+ * The rows are written to the response while they are produced, compressed with gzip when the client accepts it.
+ * Like {@link JsonArrayResponse}, the rows are produced after the controller method returns.
+ * </p>
+ */
+public final class ExportResponse {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private ExportResponse() {
+    }
+
+    /**
+     * Creates a streamed export response.
+     *
+     * @param status         the status of the response
+     * @param format         the format of the rows
+     * @param name           the name of the exported file, without the extension
+     * @param acceptEncoding the `Accept-Encoding` header of the request, or null if it is missing
+     * @param rows           writes the rows to the given stream
+     * @return a response writing the rows as a file
+     */
+    public static ResponseEntity<StreamingResponseBody> of(
+            HttpStatus status, ExportFormat format, String name, String acceptEncoding, StreamingResponseBody rows) {
+
+        var gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = outputStream -> {
+            if (!gzip) {
+                rows.writeTo(outputStream);
+                return;
+            }
+
+            var compressed = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+            rows.writeTo(compressed);
+            compressed.finish();
+        };
+
+        var response = ResponseEntity
+                .status(status)
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "." + format.getExtension())
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Checks whether an `Accept-Encoding` header accepts gzip, that is lists it without a zero quality.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(coding -> coding.split(";"))
+                .filter(coding -> coding[0].trim().equalsIgnoreCase("gzip"))
+                .anyMatch(coding -> Arrays.stream(coding)
+                        .skip(1)
+                        .map(String::trim)
+                        .noneMatch(parameter -> parameter.matches("q=0(\\.0*)?")));
+    }
+}
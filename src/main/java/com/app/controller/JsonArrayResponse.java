@@ -0,0 +1,57 @@
+package com.app.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Helper class for responses which write a JSON array element by element.
+ * <p>
+ * The elements are serialized to the response as soon as they are produced, so the memory used by the response
+ * does not depend on the number of elements. The producer runs after the controller method returns, so it has to
+ * open its own transaction, which the transactional services do.
+ * </p>
+ */
+public final class JsonArrayResponse {
+
+    private JsonArrayResponse() {
+    }
+
+    /**
+     * Creates a streamed JSON array response.
+     *
+     * @param objectMapper the mapper serializing the elements
+     * @param status       the status of the response
+     * @param producer     passes every element of the array to the given consumer
+     * @param <T>          the type of the elements
+     * @return a response writing the elements as a JSON array
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> of(
+            ObjectMapper objectMapper, HttpStatus status, Consumer<Consumer<T>> producer) {
+
+        StreamingResponseBody body = outputStream -> {
+            try (var generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                producer.accept(element -> {
+                    try {
+                        generator.writeObject(element);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+
+        return ResponseEntity
+                .status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+}
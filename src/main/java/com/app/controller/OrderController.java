@@ -3,15 +3,27 @@ package com.app.controller;
 import com.app.controller.dto.order.OrderAddDto;
 import com.app.controller.dto.order.OrderFindDto;
 import com.app.controller.dto.order.OrdersAddDto;
+import com.app.controller.dto.ImportReportDto;
+import com.app.controller.dto.PageDto;
 import com.app.controller.dto.ResponseDto;
 import com.app.converter.many.OrdersConverter;
+import com.app.exporter.ExportFormat;
+import com.app.importer.ImportFormat;
+import com.app.service.ExportService;
+import com.app.service.ImportService;
 import com.app.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -27,6 +39,9 @@ public class OrderController {
 
     private final OrderService orderService;
     private final OrdersConverter ordersConverter;
+    private final ObjectMapper objectMapper;
+    private final ImportService importService;
+    private final ExportService exportService;
 
     /**
      * Creates a new order.
@@ -70,6 +85,29 @@ public class OrderController {
                 .addOrders(orderDto));
     }
 
+    /**
+     * Imports orders from {@link OrderAddDto} records given as a JSON array, newline delimited JSON or CSV with a
+     * header row, as told by the content type.
+     * <p>
+     * The records are read while the orders are being saved, in chunks committed one by one. Invalid, repeated and
+     * rejected orders do not stop the import; they are listed by their row in the returned report.
+     * </p>
+     *
+     * @param data        the records of the orders.
+     * @param contentType the content type of the records.
+     * @return a {@link ResponseDto} containing the report of the import.
+     */
+    @PostMapping("/import")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            description = "Access only for ADMIN, LEADER and WORKER using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseDto<ImportReportDto> importOrders(
+            InputStream data, @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) MediaType contentType) {
+        return new ResponseDto<>(importService.importOrders(data, ImportFormat.of(contentType)).toImportReportDto());
+    }
+
     /**
      * Retrieves an order by its ID.
      * <p>
@@ -110,6 +148,78 @@ public class OrderController {
                 .toOrderFindDto(orderService.findAllByIds(ids)));
     }
 
+    /**
+     * Retrieves a page of orders ordered by ID.
+     * <p>
+     * The page starts after the given ID (keyset pagination). The next page is requested with the `nextAfter`
+     * value of the returned page, which is {@code null} after the last page.
+     * </p>
+     *
+     * @param after the ID of the last order of the previous page, {@code 0} for the first page.
+     * @param size  the maximum number of orders in the page.
+     * @return a {@link ResponseDto} containing a page of {@link OrderFindDto}.
+     */
+    @GetMapping("/page")
+    @ResponseStatus(HttpStatus.FOUND)
+    @Operation(
+            description = "Access only for ADMIN, LEADER and WORKER using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseDto<PageDto<OrderFindDto>> findPage(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "100") int size) {
+        return new ResponseDto<>(PageDto.of(
+                ordersConverter.toOrderFindDto(orderService.findPage(after, size)),
+                size,
+                OrderFindDto::id));
+    }
+
+    /**
+     * Streams all orders ordered by ID as a JSON array.
+     * <p>
+     * The orders are written to the response as they are read from the database, so the endpoint can return
+     * any number of them.
+     * </p>
+     *
+     * @param after the ID after which the orders start, {@code 0} for all of them.
+     * @return a response writing a JSON array of {@link OrderFindDto}.
+     */
+    @GetMapping("/stream")
+    @Operation(
+            description = "Access only for ADMIN, LEADER and WORKER using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<StreamingResponseBody> streamAll(@RequestParam(defaultValue = "0") Long after) {
+        return JsonArrayResponse.<OrderFindDto>of(objectMapper, HttpStatus.FOUND, action ->
+                orderService.streamAll(after, order -> action.accept(order.toOrderFindDto())));
+    }
+
+    /**
+     * Exports all orders ordered by ID, each joined with its client and product, as a CSV or NDJSON file.
+     * <p>
+     * The rows are written to the response as they are read from the database cursor, so the endpoint can export
+     * any number of orders. The file is compressed with gzip when the client accepts it.
+     * </p>
+     *
+     * @param after          the ID after which the orders start, {@code 0} for all of them.
+     * @param format         the format of the file, {@code csv} or {@code ndjson}.
+     * @param acceptEncoding the encodings accepted by the client.
+     * @return a response writing the rows of the orders.
+     */
+    @GetMapping("/export")
+    @Operation(
+            description = "Access only for ADMIN, LEADER and WORKER using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        var exportFormat = ExportFormat.of(format);
+        return ExportResponse.of(HttpStatus.FOUND, exportFormat, "orders", acceptEncoding, out ->
+                exportService.exportOrders(after, exportFormat, out));
+    }
+
     /**
      * Removes an order by its ID.
      * <p>
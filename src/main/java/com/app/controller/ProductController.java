@@ -4,20 +4,28 @@ import com.app.controller.dto.*;
 import com.app.controller.dto.product.ProductDto;
 import com.app.controller.dto.product.ProductsFilterDto;
 import com.app.converter.many.ProductsConverter;
+import com.app.importer.ImportFormat;
+import com.app.service.ImportService;
 import com.app.service.ProductService;
 import com.app.validator.impl.ProductDtoValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -34,6 +42,8 @@ import java.util.stream.Collectors;
 public class ProductController {
     private final ProductService productService;
     private final ProductsConverter productsConverterImpl;
+    private final ObjectMapper objectMapper;
+    private final ImportService importService;
 
     @Qualifier("productDtoValidator")
     private final ProductDtoValidator productValidator;
@@ -113,6 +123,29 @@ public class ProductController {
         return new ResponseDto<>(productService.addProducts(productsDto));
     }
 
+    /**
+     * Imports products from {@link ProductDto} records given as a JSON array, newline delimited JSON or CSV with a
+     * header row, as told by the content type.
+     * <p>
+     * The records are read while the products are being saved, in chunks committed one by one. Invalid, repeated and
+     * rejected products do not stop the import; they are listed by their row in the returned report.
+     * </p>
+     *
+     * @param data        the records of the products.
+     * @param contentType the content type of the records.
+     * @return a {@link ResponseDto} containing the report of the import.
+     */
+    @PostMapping("/import")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            description = "Access only for ADMIN and LEADER using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseDto<ImportReportDto> importProducts(
+            InputStream data, @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) MediaType contentType) {
+        return new ResponseDto<>(importService.importProducts(data, ImportFormat.of(contentType)).toImportReportDto());
+    }
+
     /**
      * Retrieves a product by its ID.
      * <p>
@@ -155,6 +188,52 @@ public class ProductController {
                 .toDtoList(productService.findAllByIds(ids)));
     }
 
+    /**
+     * Retrieves a page of products ordered by ID.
+     * <p>
+     * The page starts after the given ID (keyset pagination). The next page is requested with the `nextAfter`
+     * value of the returned page, which is {@code null} after the last page.
+     * </p>
+     *
+     * @param after the ID of the last product of the previous page, {@code 0} for the first page.
+     * @param size  the maximum number of products in the page.
+     * @return a {@link ResponseDto} containing a page of {@link ProductDto}.
+     */
+    @GetMapping("/page")
+    @ResponseStatus(HttpStatus.FOUND)
+    @Operation(
+            description = "Access only for ADMIN and LEADER using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseDto<PageDto<ProductDto>> findPage(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "100") int size) {
+        return new ResponseDto<>(PageDto.of(
+                productsConverterImpl.toDtoList(productService.findPage(after, size)),
+                size,
+                ProductDto::id));
+    }
+
+    /**
+     * Streams all products ordered by ID as a JSON array.
+     * <p>
+     * The products are written to the response as they are read from the database, so the endpoint can return
+     * any number of them.
+     * </p>
+     *
+     * @param after the ID after which the products start, {@code 0} for all of them.
+     * @return a response writing a JSON array of {@link ProductDto}.
+     */
+    @GetMapping("/stream")
+    @Operation(
+            description = "Access only for ADMIN and LEADER using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<StreamingResponseBody> streamAll(@RequestParam(defaultValue = "0") Long after) {
+        return JsonArrayResponse.<ProductDto>of(objectMapper, HttpStatus.FOUND, action ->
+                productService.streamAll(after, product -> action.accept(product.toProductDto())));
+    }
+
     /**
      * Removes a product by its ID.
      * <p>
@@ -233,4 +312,52 @@ public class ProductController {
         return new ResponseDto<>(productsConverterImpl
                 .toDtoList(productService.filterProducts(productsFilterDto)));
     }
+
+    /**
+     * Filters products and retrieves a page of them ordered by ID.
+     * <p>
+     * The page starts after the given ID (keyset pagination). The next page is requested with the `nextAfter`
+     * value of the returned page, which is {@code null} after the last page.
+     * </p>
+     *
+     * @param productsFilterDto the filter criteria.
+     * @param after             the ID of the last product of the previous page, {@code 0} for the first page.
+     * @param size              the maximum number of products in the page.
+     * @return a {@link ResponseDto} containing a page of the matching {@link ProductDto}.
+     */
+    @PostMapping("/filter/page")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            description = "Access only for ADMIN and LEADER using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseDto<PageDto<ProductDto>> filterProductPage(
+            @RequestBody ProductsFilterDto productsFilterDto,
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "100") int size) {
+        return new ResponseDto<>(PageDto.of(
+                productsConverterImpl.toDtoList(productService.filterProductsPage(productsFilterDto, after, size)),
+                size,
+                ProductDto::id));
+    }
+
+    /**
+     * Filters products and streams all of them ordered by ID as a JSON array.
+     * <p>
+     * The products are written to the response as they are read from the database, so the endpoint can return
+     * any number of them.
+     * </p>
+     *
+     * @param productsFilterDto the filter criteria.
+     * @return a response writing a JSON array of the matching {@link ProductDto}.
+     */
+    @PostMapping("/filter/stream")
+    @Operation(
+            description = "Access only for ADMIN and LEADER using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<StreamingResponseBody> streamFilteredProducts(@RequestBody ProductsFilterDto productsFilterDto) {
+        return JsonArrayResponse.<ProductDto>of(objectMapper, HttpStatus.OK, action ->
+                productService.streamFilteredProducts(productsFilterDto, product -> action.accept(product.toProductDto())));
+    }
 }
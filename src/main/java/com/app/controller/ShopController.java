@@ -8,13 +8,22 @@ import com.app.controller.dto.order.GroupByDto;
 import com.app.converter.many.impl.ClientsConverterImpl;
 import com.app.converter.many.impl.ProductsConverterImpl;
 import com.app.converter.many.impl.ShopConverterImpl;
+import com.app.exporter.ExportFormat;
+import com.app.service.ExportService;
 import com.app.service.ShopStatisticService;
+import com.app.statistic.TimeRange;
+import com.app.statistic.cache.CachedStatistic;
+import com.app.statistic.rollup.RollupRetention;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -24,6 +33,13 @@ import java.util.List;
  * top clients based on payment, most popular categories, product pricing
  * statistics, client demographics, and debt information.
  * </p>
+ * <p>
+ * The statistics of orders accept an optional ISO-8601 time range, {@code from} inclusive and {@code to} exclusive,
+ * which limits them to the orders placed within it. Without {@code to} the range ends now, and without both bounds
+ * the statistics cover all orders. Only daily rollups are kept before the {@link RollupRetention#hourlyHorizon()}, so
+ * a bound before it must be at midnight UTC; otherwise the request is rejected with status bad request rather than
+ * answered for a wider range than the one asked for.
+ * </p>
  */
 @RequiredArgsConstructor
 @RequestMapping("/shop")
@@ -34,6 +50,8 @@ public class ShopController {
     private final ClientsConverterImpl clientsConverter;
     private final ShopConverterImpl shopConverterImpl;
     private final ProductsConverterImpl productsConverterImpl;
+    private final ExportService exportService;
+    private final RollupRetention rollupRetention;
 
     /**
      * Retrieves the clients with the biggest payments.
@@ -41,6 +59,8 @@ public class ShopController {
      * This endpoint returns a list of clients who have made the largest payments.
      * </p>
      *
+     * @param from the start of the time range of the orders, or null for all orders.
+     * @param to   the end of the time range of the orders, or null for now.
      * @return a {@link ResponseDto} containing a list of {@link ClientDto} representing the clients with the largest payments.
      */
     @GetMapping("/clients/top")
@@ -49,9 +69,14 @@ public class ShopController {
             description = "Access only for ADMIN, LEADER and WORKER using JWT",
             security = @SecurityRequirement(name = "bearerAuth")
     )
-    public ResponseDto<List<ClientDto>> getClientWithBiggerPayment() {
+    public ResponseDto<List<ClientDto>> getClientWithBiggerPayment(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        var range = range(from, to);
         return new ResponseDto<>(clientsConverter
-                .toDtoList(shopStatisticService.getClientWithBiggerPayment()));
+                .toDtoList(range == null
+                        ? shopStatisticService.getClientWithBiggerPayment()
+                        : shopStatisticService.getClientWithBiggerPayment(range)));
     }
 
     /**
@@ -62,6 +87,8 @@ public class ShopController {
      * </p>
      *
      * @param category the product category for which to find clients with the largest payments.
+     * @param from     the start of the time range of the orders, or null for all orders.
+     * @param to       the end of the time range of the orders, or null for now.
      * @return a {@link ResponseDto} containing a list of {@link ClientDto} representing the clients with the largest payments in the given category.
      */
     @GetMapping("/clients/top/{category}")
@@ -70,9 +97,15 @@ public class ShopController {
             description = "Access only for ADMIN, LEADER and WORKER using JWT",
             security = @SecurityRequirement(name = "bearerAuth")
     )
-    public ResponseDto<List<ClientDto>> getClientWithBiggerPaymentInCategory(@PathVariable String category) {
+    public ResponseDto<List<ClientDto>> getClientWithBiggerPaymentInCategory(
+            @PathVariable String category,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        var range = range(from, to);
         return new ResponseDto<>(clientsConverter
-                .toDtoList(shopStatisticService.getClientWithBiggerPaymentInCategory(category)));
+                .toDtoList(range == null
+                        ? shopStatisticService.getClientWithBiggerPaymentInCategory(category)
+                        : shopStatisticService.getClientWithBiggerPaymentInCategory(category, range)));
     }
 
     /**
@@ -82,6 +115,8 @@ public class ShopController {
      * for each age group.
      * </p>
      *
+     * @param from the start of the time range of the orders, or null for all orders.
+     * @param to   the end of the time range of the orders, or null for now.
      * @return a {@link ResponseDto} containing a list of {@link GroupByDto} representing age groups and their most popular categories.
      */
     @GetMapping("/clients/age/category")
@@ -90,8 +125,14 @@ public class ShopController {
             description = "Access only for ADMIN, LEADER and WORKER using JWT",
             security = @SecurityRequirement(name = "bearerAuth")
     )
-    public ResponseDto<List<GroupByDto<Integer, String>>> getAgeAndMostCategory() {
-        return new ResponseDto<>(shopConverterImpl.toAgeMostCategoryDto(shopStatisticService.getAgeAndMostCategory()));
+    public ResponseDto<List<GroupByDto<Integer, String>>> getAgeAndMostCategory(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        var range = range(from, to);
+        return new ResponseDto<>(shopConverterImpl
+                .toAgeMostCategoryDto(range == null
+                        ? shopStatisticService.getAgeAndMostCategory()
+                        : shopStatisticService.getAgeAndMostCategory(range)));
     }
 
     /**
@@ -120,6 +161,8 @@ public class ShopController {
      * by customers in each age group.
      * </p>
      *
+     * @param from the start of the time range of the orders, or null for all orders.
+     * @param to   the end of the time range of the orders, or null for now.
      * @return a {@link ResponseDto} containing a list of {@link GroupByDto} representing age groups and their most popular products.
      */
     @GetMapping("clients/age/product")
@@ -128,9 +171,14 @@ public class ShopController {
             description = "Access only for ADMIN, LEADER and WORKER using JWT",
             security = @SecurityRequirement(name = "bearerAuth")
     )
-    public ResponseDto<List<GroupByDto<Integer, ProductDto>>> getAgeAndMostProduct() {
+    public ResponseDto<List<GroupByDto<Integer, ProductDto>>> getAgeAndMostProduct(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        var range = range(from, to);
         return new ResponseDto<>(productsConverterImpl
-                .ageAndMostProductDto(shopStatisticService.getAgeAndMostProduct()));
+                .ageAndMostProductDto(range == null
+                        ? shopStatisticService.getAgeAndMostProduct()
+                        : shopStatisticService.getAgeAndMostProduct(range)));
     }
 
     /**
@@ -140,6 +188,8 @@ public class ShopController {
      * within each category.
      * </p>
      *
+     * @param from the start of the time range of the orders, or null for all orders.
+     * @param to   the end of the time range of the orders, or null for now.
      * @return a {@link ResponseDto} containing a list of {@link GroupByDto} representing product categories and their most common clients.
      */
     @GetMapping("/clients/category")
@@ -148,9 +198,14 @@ public class ShopController {
             description = "Access only for ADMIN, LEADER and WORKER using JWT",
             security = @SecurityRequirement(name = "bearerAuth")
     )
-    public ResponseDto<List<GroupByDto<String, ClientDto>>> getCategoryAndMostClient() {
+    public ResponseDto<List<GroupByDto<String, ClientDto>>> getCategoryAndMostClient(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        var range = range(from, to);
         return new ResponseDto<>(clientsConverter
-                .toCategoryAndMostClientDto(shopStatisticService.getCategoryAndMostClient()));
+                .toCategoryAndMostClientDto(range == null
+                        ? shopStatisticService.getCategoryAndMostClient()
+                        : shopStatisticService.getCategoryAndMostClient(range)));
     }
 
     /**
@@ -159,6 +214,8 @@ public class ShopController {
      * This endpoint returns a list of clients along with their corresponding debit amounts.
      * </p>
      *
+     * @param from the start of the time range of the orders, or null for all orders.
+     * @param to   the end of the time range of the orders, or null for now.
      * @return a {@link ResponseDto} containing a list of {@link ClientAndDebitDto} representing clients and their debts.
      */
     @GetMapping("/clients/debits")
@@ -166,8 +223,60 @@ public class ShopController {
             description = "Access only for ADMIN, LEADER and WORKER using JWT",
             security = @SecurityRequirement(name = "bearerAuth")
     )
-    public ResponseDto<List<ClientAndDebitDto>> getClientsAndDebt() {
+    public ResponseDto<List<ClientAndDebitDto>> getClientsAndDebt(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        var range = range(from, to);
         return new ResponseDto<>(clientsConverter
-                .toClientAndDebitDto(shopStatisticService.getClientsAndDebit()));
+                .toClientAndDebitDto(range == null
+                        ? shopStatisticService.getClientsAndDebit()
+                        : shopStatisticService.getClientsAndDebit(range)));
+    }
+
+    /**
+     * Exports the result of a shop statistic as a CSV or NDJSON file.
+     * <p>
+     * The result is written one row per client, product or category. The file is compressed with gzip when
+     * the client accepts it.
+     * </p>
+     *
+     * @param statistic      the key of the statistic, such as {@code clients-and-debit}.
+     * @param category       the category of {@code client-with-bigger-payment-in-category}, ignored by the other statistics.
+     * @param format         the format of the file, {@code csv} or {@code ndjson}.
+     * @param acceptEncoding the encodings accepted by the client.
+     * @return a response writing the rows of the statistic.
+     */
+    @GetMapping("/export/{statistic}")
+    @Operation(
+            description = "Access only for ADMIN, LEADER and WORKER using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<StreamingResponseBody> exportStatistic(
+            @PathVariable String statistic,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        var exportedStatistic = CachedStatistic.ofKey(statistic);
+        var exportFormat = ExportFormat.of(format);
+        return ExportResponse.of(HttpStatus.OK, exportFormat, statistic, acceptEncoding, out ->
+                exportService.exportStatistic(exportedStatistic, category, exportFormat, out));
+    }
+
+    /**
+     * Creates the time range of the orders from the request parameters.
+     *
+     * @param from the start of the range, or null
+     * @param to   the end of the range, or null for now
+     * @return the time range, or null if neither bound is given
+     * @throws IllegalArgumentException if only the end is given, the start is not before the end, or a bound before
+     *                                  the hourly rollups kept is not at midnight
+     */
+    private TimeRange range(Instant from, Instant to) {
+        if (from == null && to == null) {
+            return null;
+        }
+
+        return new TimeRange(from, to == null ? Instant.now() : to)
+                .requireWholeDaysBefore(rollupRetention.hourlyHorizon());
     }
 }
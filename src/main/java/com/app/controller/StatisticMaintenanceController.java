@@ -0,0 +1,141 @@
+package com.app.controller;
+
+import com.app.controller.dto.ResponseDto;
+import com.app.controller.dto.statistic.StatisticCacheStatsDto;
+import com.app.service.StatisticMaintenanceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Controller for maintaining the aggregates behind the shop statistics.
+ * <p>
+ * This class provides endpoints for rebuilding incrementally maintained aggregates from the `orders` table
+ * and for verifying them against the original statistic queries, and for reading the counters of the cache
+ * of the statistic results.
+ * </p>
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/maintenance/statistics")
+public class StatisticMaintenanceController {
+
+    private final StatisticMaintenanceService statisticMaintenanceService;
+
+    /**
+     * Rebuilds the per-client spending aggregate.
+     * <p>
+     * This endpoint recomputes the aggregate from the `orders` table and returns the number of clients it contains.
+     * </p>
+     *
+     * @return a {@link ResponseDto} containing the number of clients in the rebuilt aggregate.
+     */
+    @PostMapping("/client-spend/rebuild")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            description = "Access only for ADMIN using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseDto<Long> rebuildClientSpend() {
+        return new ResponseDto<>(statisticMaintenanceService.rebuildClientSpend());
+    }
+
+    /**
+     * Verifies the per-client spending aggregate.
+     * <p>
+     * This endpoint compares the clients with the biggest payment read from the aggregate with the ones
+     * computed by grouping all orders.
+     * </p>
+     *
+     * @return a {@link ResponseDto} containing {@code true} if both sources agree.
+     */
+    @GetMapping("/client-spend/verify")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            description = "Access only for ADMIN using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseDto<Boolean> verifyClientSpend() {
+        return new ResponseDto<>(statisticMaintenanceService.verifyClientSpend());
+    }
+
+    /**
+     * Verifies the balances kept in the per-client spending aggregate.
+     * <p>
+     * This endpoint compares the clients in debit and their debit read from the aggregate with the ones
+     * computed by grouping all orders. The balances are rebuilt together with the per-client spending aggregate.
+     * </p>
+     *
+     * @return a {@link ResponseDto} containing {@code true} if both sources agree.
+     */
+    @GetMapping("/client-debit/verify")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            description = "Access only for ADMIN using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseDto<Boolean> verifyClientDebit() {
+        return new ResponseDto<>(statisticMaintenanceService.verifyClientDebit());
+    }
+
+    /**
+     * Rebuilds the per-category leaderboard of top spenders.
+     * <p>
+     * This endpoint recomputes the leaderboard from the `orders` table and returns the number of categories it contains.
+     * </p>
+     *
+     * @return a {@link ResponseDto} containing the number of categories in the rebuilt leaderboard.
+     */
+    @PostMapping("/category-leaderboard/rebuild")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            description = "Access only for ADMIN using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseDto<Long> rebuildCategoryLeaderboard() {
+        return new ResponseDto<>(statisticMaintenanceService.rebuildCategoryLeaderboard());
+    }
+
+    /**
+     * Verifies the per-category leaderboard for a single category.
+     * <p>
+     * This endpoint compares the top spenders in the category read from the leaderboard with the ones
+     * computed by grouping all orders in that category.
+     * </p>
+     *
+     * @param category the category to verify.
+     * @return a {@link ResponseDto} containing {@code true} if both sources agree.
+     */
+    @GetMapping("/category-leaderboard/verify/{category}")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            description = "Access only for ADMIN using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseDto<Boolean> verifyCategoryLeaderboard(@PathVariable String category) {
+        return new ResponseDto<>(statisticMaintenanceService.verifyCategoryLeaderboard(category));
+    }
+
+    /**
+     * Retrieves the counters of the cache of the shop statistics.
+     * <p>
+     * This endpoint returns the hits, misses, evictions, invalidations, size and hit ratio of the cache
+     * of every statistic.
+     * </p>
+     *
+     * @return a {@link ResponseDto} containing the counters keyed by the name of the statistic.
+     */
+    @GetMapping("/cache")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            description = "Access only for ADMIN using JWT",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseDto<Map<String, StatisticCacheStatsDto>> getStatisticCacheStats() {
+        return new ResponseDto<>(statisticMaintenanceService.getStatisticCacheStats());
+    }
+}
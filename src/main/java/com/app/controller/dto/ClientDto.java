@@ -1,6 +1,7 @@
 package com.app.controller.dto;
 
 import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.view.ClientKey;
 
 import java.math.BigDecimal;
 
@@ -54,4 +55,13 @@ public record ClientDto(
                 .cash(cash)
                 .build();
     }
+
+    /**
+     * Returns the name and surname which identify the client.
+     *
+     * @return the {@link ClientKey} of the client
+     */
+    public ClientKey toClientKey() {
+        return new ClientKey(name, surname);
+    }
 }
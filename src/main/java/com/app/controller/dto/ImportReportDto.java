@@ -0,0 +1,47 @@
+package com.app.controller.dto;
+
+import java.util.List;
+
+/**
+ * A DTO representing the result of a bulk import.
+ * <p>
+ * The import saves every valid record and reports the other ones by their row, instead of failing on the first
+ * invalid record.
+ * </p>
+ */
+public record ImportReportDto(
+        /**
+         * The number of records read from the request.
+         */
+        long rows,
+
+        /**
+         * The number of saved records.
+         */
+        long imported,
+
+        /**
+         * The number of records which were not saved.
+         */
+        long rejected,
+
+        /**
+         * The reasons why records were not saved, ordered by row.
+         */
+        List<RowErrorDto> errors) {
+
+    /**
+     * A DTO representing the reason why a record was not saved.
+     */
+    public record RowErrorDto(
+            /**
+             * The number of the record in the request, starting from 1.
+             */
+            long row,
+
+            /**
+             * The reason why the record was not saved.
+             */
+            String message) {
+    }
+}
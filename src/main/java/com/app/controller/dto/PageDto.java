@@ -0,0 +1,38 @@
+package com.app.controller.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A DTO representing one page of elements read by ID (keyset pagination).
+ * <p>
+ * The next page is requested with {@code after} set to {@link #nextAfter()}. When the page is the last one,
+ * {@link #nextAfter()} is {@code null}.
+ * </p>
+ */
+public record PageDto<T>(
+        /**
+         * The elements of the page, ordered by ID.
+         */
+        List<T> items,
+
+        /**
+         * The ID of the last element of the page, or {@code null} if there are no more elements.
+         */
+        Long nextAfter) {
+
+    /**
+     * Creates a page from its elements.
+     * <p>
+     * A page with fewer elements than requested is the last one.
+     * </p>
+     *
+     * @param items the elements of the page, ordered by ID
+     * @param size  the requested size of the page
+     * @param id    the function reading the ID of an element
+     * @return the page with the start of the next one
+     */
+    public static <T> PageDto<T> of(List<T> items, int size, Function<T, Long> id) {
+        return new PageDto<>(items, items.size() < size ? null : id.apply(items.getLast()));
+    }
+}
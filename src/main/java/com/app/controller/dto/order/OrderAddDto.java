@@ -10,10 +10,10 @@ public record OrderAddDto(
         /**
          * The ID of the client placing the order.
          */
-        long clientId,
+        Long clientId,
 
         /**
          * The ID of the product being ordered.
          */
-        long productId) {
+        Long productId) {
 }
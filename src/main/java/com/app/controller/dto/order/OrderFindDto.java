@@ -3,10 +3,13 @@ package com.app.controller.dto.order;
 import com.app.controller.dto.ClientDto;
 import com.app.controller.dto.product.ProductDto;
 
+import java.math.BigDecimal;
+
 /**
  * A DTO representing an order with associated client and product information.
  * <p>
- * This class contains details about a specific order, including the order ID, the associated client, and the product in the order.
+ * This class contains details about a specific order, including the order ID, the associated client, and the product in the order,
+ * with the ordered quantity and the unit price the product had when the order was placed.
  * </p>
  */
 public record OrderFindDto(
@@ -23,5 +26,15 @@ public record OrderFindDto(
         /**
          * The {@link ProductDto} representing the product included in the order.
          */
-        ProductDto productDto) {
+        ProductDto productDto,
+
+        /**
+         * The number of ordered units of the product.
+         */
+        int quantity,
+
+        /**
+         * The price of one unit of the product at the time the order was placed.
+         */
+        BigDecimal unitPrice) {
 }
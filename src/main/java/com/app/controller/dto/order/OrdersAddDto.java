@@ -4,12 +4,17 @@ import com.app.persistence.entity.ClientEntity;
 import com.app.persistence.entity.OrderEntity;
 import com.app.persistence.entity.ProductEntity;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * A DTO representing the data required to add multiple orders for a client.
  * <p>
  * This class contains the client ID and a list of product IDs that will be used to create the orders.
+ * A product ID repeated in the list is ordered once, with the number of its repetitions as the quantity.
  * </p>
  */
 public record OrdersAddDto(
@@ -23,20 +28,38 @@ public record OrdersAddDto(
          */
         List<Long> productsId) {
 
+    /**
+     * Counts the ordered units of every product.
+     *
+     * @return a map of the distinct product IDs, in the order of their first occurrence, to the number of their occurrences.
+     */
+    public Map<Long, Integer> quantities() {
+        return productsId
+                .stream()
+                .collect(Collectors.toMap(
+                        Function.identity(),
+                        productId -> 1,
+                        Integer::sum,
+                        LinkedHashMap::new));
+    }
+
     /**
      * Converts the provided client and product entities into a list of {@link OrderEntity} objects.
      * <p>
-     * This method creates a list of orders for a client, where each order corresponds to a product from the provided list of products.
+     * This method creates a list of orders for a client with one order per distinct product, holding as many units
+     * of the product as the number of occurrences of its ID in the list of product IDs.
      * </p>
      *
      * @param clientEntity    the {@link ClientEntity} representing the client placing the orders.
-     * @param productEntities a list of {@link ProductEntity} objects representing the products to be ordered.
+     * @param productEntities a list of the distinct {@link ProductEntity} objects representing the products to be ordered.
      * @return a list of {@link OrderEntity} objects created from the given client and products.
      */
     public List<OrderEntity> orderEntityList(ClientEntity clientEntity, List<ProductEntity> productEntities) {
+        var quantities = quantities();
         return productEntities
                 .stream()
-                .map(productEntity -> new OrderEntity(clientEntity, productEntity))
+                .map(productEntity -> new OrderEntity(
+                        clientEntity, productEntity, quantities.getOrDefault(productEntity.getId(), 1)))
                 .toList();
     }
 }
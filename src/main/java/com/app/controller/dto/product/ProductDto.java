@@ -1,6 +1,7 @@
 package com.app.controller.dto.product;
 
 import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.entity.view.ProductKey;
 
 import java.math.BigDecimal;
 
@@ -47,4 +48,13 @@ public record ProductDto(
                 .price(price)
                 .build();
     }
+
+    /**
+     * Returns the name and category which identify the product.
+     *
+     * @return the {@link ProductKey} of the product
+     */
+    public ProductKey toProductKey() {
+        return new ProductKey(name, category);
+    }
 }
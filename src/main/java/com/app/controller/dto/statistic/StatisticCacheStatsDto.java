@@ -0,0 +1,39 @@
+package com.app.controller.dto.statistic;
+
+/**
+ * A DTO representing the counters of the cache of one shop statistic.
+ * <p>
+ * The hit ratio is the share of reads answered from the cache, or {@code 0} if the statistic was not read yet.
+ * </p>
+ */
+public record StatisticCacheStatsDto(
+        /**
+         * The number of reads answered from the cache.
+         */
+        long hits,
+
+        /**
+         * The number of reads which computed the statistic.
+         */
+        long misses,
+
+        /**
+         * The number of results removed because they expired or the cache of the statistic was full.
+         */
+        long evictions,
+
+        /**
+         * The number of times the results were invalidated by a change of orders, products or clients.
+         */
+        long invalidations,
+
+        /**
+         * The current number of cached results.
+         */
+        int size,
+
+        /**
+         * The share of reads answered from the cache.
+         */
+        double hitRatio) {
+}
@@ -0,0 +1,15 @@
+package com.app.event;
+
+/**
+ * An event published whenever an email is written to the outbox.
+ * <p>
+ * It lets the outbox be dispatched as soon as the transaction writing the email commits, instead of waiting
+ * for the next scheduled dispatch.
+ * </p>
+ */
+public record EmailQueuedEvent(
+        /**
+         * The ID of the queued email.
+         */
+        Long emailId) {
+}
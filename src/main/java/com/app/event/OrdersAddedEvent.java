@@ -0,0 +1,19 @@
+package com.app.event;
+
+import com.app.persistence.entity.OrderEntity;
+
+import java.util.List;
+
+/**
+ * An event published after new orders have been saved.
+ * <p>
+ * The event is published inside the transaction that saved the orders, so synchronous listeners
+ * can keep derived data (for example aggregate tables) consistent with the {@code orders} table.
+ * </p>
+ */
+public record OrdersAddedEvent(
+        /**
+         * The saved order entities, including their generated IDs, clients and products.
+         */
+        List<OrderEntity> orders) {
+}
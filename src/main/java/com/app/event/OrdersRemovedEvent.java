@@ -0,0 +1,30 @@
+package com.app.event;
+
+import java.util.List;
+
+/**
+ * An event published right before orders are removed from the database.
+ * <p>
+ * Orders disappear either directly or through the cascade from a removed client or product,
+ * so the event carries the {@link Scope} of the removal together with the IDs of the removed elements.
+ * Because it is published before the delete, synchronous listeners can still read the affected orders.
+ * </p>
+ */
+public record OrdersRemovedEvent(
+        /**
+         * The kind of element whose removal deletes the orders.
+         */
+        Scope scope,
+
+        /**
+         * The IDs of the removed orders, products or clients, depending on the scope.
+         */
+        List<Long> ids) {
+
+    /**
+     * The kind of element being removed.
+     */
+    public enum Scope {
+        ORDERS, PRODUCTS, CLIENTS
+    }
+}
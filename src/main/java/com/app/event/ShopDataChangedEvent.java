@@ -0,0 +1,22 @@
+package com.app.event;
+
+/**
+ * An event published whenever orders, products or clients are added or removed.
+ * <p>
+ * The event does not carry the changed elements, only the kind of data that changed. It is meant for listeners
+ * that keep results derived from that data, such as cached statistics, and only need to know they became stale.
+ * </p>
+ */
+public record ShopDataChangedEvent(
+        /**
+         * The kind of data that changed.
+         */
+        Source source) {
+
+    /**
+     * The kind of data that changed.
+     */
+    public enum Source {
+        ORDERS, PRODUCTS, CLIENTS
+    }
+}
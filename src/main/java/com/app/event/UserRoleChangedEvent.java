@@ -0,0 +1,15 @@
+package com.app.event;
+
+/**
+ * An event published whenever the role of a user is changed.
+ * <p>
+ * It is meant for listeners that keep the authorities of users, such as the cached principals of
+ * {@link com.app.security.cache.PrincipalCache}, and need to drop them.
+ * </p>
+ */
+public record UserRoleChangedEvent(
+        /**
+         * The ID of the user whose role was changed.
+         */
+        Long userId) {
+}
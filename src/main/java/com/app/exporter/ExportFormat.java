@@ -0,0 +1,55 @@
+package com.app.exporter;
+
+import com.app.importer.ImportFormat;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+/**
+ * The formats of the exported rows.
+ */
+@Getter
+public enum ExportFormat {
+
+    /**
+     * Comma separated values with a header row naming the columns.
+     */
+    CSV("csv", MediaType.parseMediaType(ImportFormat.TEXT_CSV_VALUE)),
+
+    /**
+     * Newline delimited JSON, one object per row with a field per column.
+     */
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+    /**
+     * The name of the format in requests, also used as the extension of the exported file.
+     */
+    private final String extension;
+
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Finds the format with the given name, ignoring the case.
+     *
+     * @param name the name of the format, {@code csv} or {@code ndjson}
+     * @return the format
+     * @throws IllegalArgumentException if the name is null or not one of the export formats
+     */
+    public static ExportFormat of(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Export format cannot be null");
+        }
+
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Export format %s is not supported".formatted(name)));
+    }
+}
@@ -0,0 +1,164 @@
+package com.app.exporter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Writes rows of values to an output stream in one of the {@link ExportFormat export formats}.
+ * <p>
+ * Every row is written by a Jackson streaming generator as soon as it is given, so the memory used by the writer
+ * does not depend on the number of rows. A CSV export starts with a header row naming the columns, and an NDJSON
+ * export writes every row as an object with a field per column, one object per line. A null value is written as
+ * an empty CSV value and as a JSON null.
+ * </p>
+ * <p>
+ * Closing the writer flushes the generator but leaves the output stream open, so the caller can finish a
+ * compressed stream before the response is completed.
+ * </p>
+ */
+public final class RowWriter implements Closeable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactoryBuilder()
+            .enable(StreamWriteFeature.WRITE_BIGDECIMAL_AS_PLAIN)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .rootValueSeparator((String) null)
+            .build();
+
+    private static final CsvFactory CSV_FACTORY = CsvFactory.builder()
+            .enable(StreamWriteFeature.WRITE_BIGDECIMAL_AS_PLAIN)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private final ExportFormat format;
+    private final JsonGenerator generator;
+    private final List<String> columns;
+
+    private RowWriter(ExportFormat format, JsonGenerator generator, List<String> columns) {
+        this.format = format;
+        this.generator = generator;
+        this.columns = columns;
+    }
+
+    /**
+     * Opens a writer of rows with the given columns, writing the CSV header row at once.
+     *
+     * @param format  the format of the rows
+     * @param out     the stream the rows are written to
+     * @param columns the names of the columns
+     * @return the writer of the rows
+     * @throws IOException              if the header row cannot be written
+     * @throws IllegalArgumentException if the format is null or there are no columns
+     */
+    public static RowWriter open(ExportFormat format, OutputStream out, List<String> columns) throws IOException {
+        if (format == null) {
+            throw new IllegalArgumentException("Export format cannot be null");
+        }
+
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("Export columns cannot be empty");
+        }
+
+        var generator = switch (format) {
+            case CSV -> CSV_FACTORY.createGenerator(out);
+            case NDJSON -> JSON_FACTORY.createGenerator(out);
+        };
+
+        var writer = new RowWriter(format, generator, List.copyOf(columns));
+        if (format == ExportFormat.CSV) {
+            writer.write(columns.toArray());
+        }
+        return writer;
+    }
+
+    /**
+     * Writes a row.
+     *
+     * @param values the values of the row, one per column
+     * @throws IOException              if the row cannot be written
+     * @throws IllegalArgumentException if the number of values differs from the number of columns
+     */
+    public void write(Object... values) throws IOException {
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException("Export row must have %d values".formatted(columns.size()));
+        }
+
+        start();
+        for (int i = 0; i < values.length; i++) {
+            writeValue(i, values[i]);
+        }
+        end();
+    }
+
+    /**
+     * Writes the current row of a result set, whose columns are in the order of the columns of the writer.
+     *
+     * @param resultSet the result set positioned on the row
+     * @throws IOException  if the row cannot be written
+     * @throws SQLException if the values cannot be read from the result set
+     */
+    public void write(ResultSet resultSet) throws IOException, SQLException {
+        start();
+        for (int i = 0; i < columns.size(); i++) {
+            writeValue(i, resultSet.getObject(i + 1));
+        }
+        end();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+    private void start() throws IOException {
+        if (format == ExportFormat.CSV) {
+            generator.writeStartArray();
+        } else {
+            generator.writeStartObject();
+        }
+    }
+
+    private void end() throws IOException {
+        if (format == ExportFormat.CSV) {
+            generator.writeEndArray();
+        } else {
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+    }
+
+    private void writeValue(int column, Object value) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            generator.writeFieldName(columns.get(column));
+        }
+
+        switch (value) {
+            case null -> {
+                if (format == ExportFormat.CSV) {
+                    generator.writeString("");
+                } else {
+                    generator.writeNull();
+                }
+            }
+            case String string -> generator.writeString(string);
+            case BigDecimal decimal -> generator.writeNumber(decimal);
+            case BigInteger integer -> generator.writeNumber(integer);
+            case Double number -> generator.writeNumber(number);
+            case Float number -> generator.writeNumber(number);
+            case Number number -> generator.writeNumber(number.longValue());
+            case Boolean bool -> generator.writeBoolean(bool);
+            default -> generator.writeString(value.toString());
+        }
+    }
+}
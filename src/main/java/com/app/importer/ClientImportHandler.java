@@ -0,0 +1,87 @@
+package com.app.importer;
+
+import com.app.controller.dto.ClientDto;
+import com.app.event.ShopDataChangedEvent;
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.repository.ClientRepository;
+import com.app.validator.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the {@link ImportHandler} interface for importing clients.
+ * <p>
+ * A client is identified by its name and surname. The clients of a chunk are checked against the existing ones
+ * with {@link ClientRepository#findExistingKeys(java.util.Collection)} and the new ones are saved together.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientImportHandler implements ImportHandler<ClientDto> {
+
+    private final Validator<ClientDto> validator;
+    private final ClientRepository clientRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Validates the client with the {@link Validator} of the {@link ClientDto}.
+     *
+     * @param clientDto the client to validate
+     * @return the validation error messages, or an empty string if validation passes
+     */
+    @Override
+    public String validate(ClientDto clientDto) {
+        return validator.validate(clientDto);
+    }
+
+    /**
+     * Returns the name and surname of the client, ignoring their case, so a client is rejected if an earlier client
+     * of the import has the same name and surname.
+     *
+     * @param clientDto the valid client
+     * @return the case-insensitive key of the client
+     */
+    @Override
+    public Object key(ClientDto clientDto) {
+        return clientDto.toClientKey().ignoringCase();
+    }
+
+    /**
+     * Saves the clients of the chunk which do not exist yet.
+     * <p>
+     * The existing clients are found with one query for the whole chunk. The new clients are saved together, and a
+     * {@link ShopDataChangedEvent} is published if any of them was saved.
+     * </p>
+     *
+     * @param clientsDto the clients of the chunk
+     * @return the message "Client already exists" by the index of every client which was not saved
+     */
+    @Override
+    public Map<Integer, String> save(List<ClientDto> clientsDto) {
+        var existingKeys = clientRepository.findExistingKeys(
+                clientsDto.stream().map(ClientDto::toClientKey).toList());
+
+        var rejected = new HashMap<Integer, String>();
+        var clientEntities = new ArrayList<ClientEntity>(clientsDto.size());
+        for (int i = 0; i < clientsDto.size(); i++) {
+            var clientDto = clientsDto.get(i);
+            if (existingKeys.contains(clientDto.toClientKey().ignoringCase())) {
+                rejected.put(i, "Client already exists");
+            } else {
+                clientEntities.add(clientDto.toClientEntity());
+            }
+        }
+
+        if (!clientEntities.isEmpty()) {
+            clientRepository.saveAll(clientEntities);
+            eventPublisher.publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.CLIENTS));
+        }
+        return rejected;
+    }
+}
@@ -0,0 +1,58 @@
+package com.app.importer;
+
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+/**
+ * The formats of the bulk import data, each identified by the content type of the request.
+ */
+@Getter
+public enum ImportFormat {
+
+    /**
+     * A JSON array of records.
+     */
+    JSON(MediaType.APPLICATION_JSON),
+
+    /**
+     * Newline delimited JSON, one record per line.
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON),
+
+    /**
+     * Comma separated values with a header row naming the fields of the records.
+     */
+    CSV(MediaType.parseMediaType(ImportFormat.TEXT_CSV_VALUE));
+
+    /**
+     * The content type of the CSV import data.
+     */
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    ImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Finds the format of import data with the given content type, ignoring parameters such as the charset.
+     *
+     * @param contentType the content type of the data
+     * @return the format of the data
+     * @throws IllegalArgumentException if the content type is null or not one of the import formats
+     */
+    public static ImportFormat of(MediaType contentType) {
+        if (contentType == null) {
+            throw new IllegalArgumentException("Import content type cannot be null");
+        }
+
+        return Arrays.stream(values())
+                .filter(format -> format.mediaType.equalsTypeAndSubtype(contentType))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Import content type %s is not supported".formatted(contentType)));
+    }
+}
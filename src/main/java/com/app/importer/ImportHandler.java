@@ -0,0 +1,43 @@
+package com.app.importer;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The steps of a bulk import which depend on the kind of imported records.
+ * <p>
+ * The {@link ImportPipeline} calls {@link #validate(Object)} and {@link #key(Object)} from several threads at once,
+ * and {@link #save(List)} from several threads at once, each call in a transaction of its own, so implementations
+ * must not keep state between the calls.
+ * </p>
+ *
+ * @param <T> the type of the imported records
+ */
+public interface ImportHandler<T> {
+
+    /**
+     * Validates a single record without accessing the database.
+     *
+     * @param record the record to validate
+     * @return a string containing the validation error message, or an empty string if validation passes
+     */
+    String validate(T record);
+
+    /**
+     * Returns the key identifying a valid record within the import, used to reject records which repeat an earlier
+     * record of the same import.
+     *
+     * @param record the valid record
+     * @return the key of the record, or {@code null} if records may repeat
+     */
+    Object key(T record);
+
+    /**
+     * Saves a chunk of valid records which do not repeat each other. The method runs in the transaction of the
+     * chunk, and should check the whole chunk against the database with a few queries.
+     *
+     * @param records the records of the chunk
+     * @return the reasons why records were not saved, by the index of the record in the chunk
+     */
+    Map<Integer, String> save(List<T> records);
+}
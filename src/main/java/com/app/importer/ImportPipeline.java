@@ -0,0 +1,385 @@
+package com.app.importer;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk import of records in the stages parse, validate, deduplicate and save.
+ * <p>
+ * The records are read by the calling thread and grouped into chunks. The chunks are validated by several workers,
+ * deduplicated in the order of the input by a single worker, and saved by several workers, each chunk in a
+ * transaction of its own. The stages are connected by bounded queues, so a fast reader waits for the slower stages
+ * instead of holding the whole input in memory.
+ * </p>
+ * <p>
+ * An invalid, repeated or rejected record does not stop the import: it is reported with the number of its row, and
+ * the other records are saved. When a chunk cannot be saved at all, its transaction is rolled back and all of its
+ * records are reported. Reading stops at the first record which cannot be parsed.
+ * </p>
+ * <p>
+ * Only the keys of the latest records, up to the configured deduplication window, are kept, so memory does not grow
+ * with the size of the input. A record repeating an older record is passed on to the handler, whose check against
+ * the saved records, or the unique constraints of the database, rejects it.
+ * </p>
+ * <p>
+ * A failure of the handler is reported for the rows it concerns and never ends a stage. When a stage fails anyway,
+ * the import is aborted: the other stages stop waiting on the queues, and the import fails instead of waiting forever
+ * for the failed stage.
+ * </p>
+ */
+public class ImportPipeline {
+
+    private static final long WAIT_MILLIS = 100;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Settings settings;
+    private final Executor workers;
+
+    /**
+     * Constructor that initializes the {@link ImportPipeline}.
+     *
+     * @param transactionTemplate the template running every chunk in a transaction
+     * @param settings            the chunk size, the number of workers and the capacity of the queues
+     * @param workers             the executor running the stages, allowing at least twice the configured number of
+     *                            workers plus one at once for every running import
+     */
+    public ImportPipeline(TransactionTemplate transactionTemplate, Settings settings, Executor workers) {
+        this.transactionTemplate = transactionTemplate;
+        this.settings = settings;
+        this.workers = workers;
+    }
+
+    /**
+     * Imports the records.
+     *
+     * @param records the records, read one by one by the calling thread
+     * @param handler the validation and persistence of the records
+     * @param <T>     the type of the records
+     * @return the report of the import
+     * @throws IllegalStateException if a stage failed and the import was aborted
+     */
+    public <T> ImportReport run(Iterator<T> records, ImportHandler<T> handler) {
+        var report = new Report(settings.maxReportedErrors());
+        var failure = new AtomicReference<Throwable>();
+        var parsed = new ArrayBlockingQueue<Chunk<T>>(settings.queueCapacity());
+        var validated = new ArrayBlockingQueue<Chunk<T>>(settings.queueCapacity());
+        var deduplicated = new ArrayBlockingQueue<Chunk<T>>(settings.queueCapacity());
+
+        var stages = new ArrayList<CompletableFuture<Void>>();
+        try {
+            IntStream.range(0, settings.workers())
+                    .forEach(i -> stages.add(stage(
+                            () -> validate(parsed, validated, handler, report, failure), failure)));
+            stages.add(stage(() -> deduplicate(validated, deduplicated, handler, report, failure), failure));
+            IntStream.range(0, settings.workers())
+                    .forEach(i -> stages.add(stage(
+                            () -> save(deduplicated, handler, report, failure), failure)));
+
+            read(records, parsed, report, failure);
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } catch (Error e) {
+            failure.compareAndSet(null, e);
+            throw e;
+        }
+
+        CompletableFuture.allOf(stages.toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null)
+                .join();
+
+        var cause = failure.get();
+        if (cause != null) {
+            throw new IllegalStateException("Import was aborted: " + message(cause), cause);
+        }
+        return report.toImportReport();
+    }
+
+    /**
+     * Starts a stage on a worker, aborting the import with the failure of the stage, unless it was already aborted.
+     */
+    private CompletableFuture<Void> stage(Runnable stage, AtomicReference<Throwable> failure) {
+        return CompletableFuture.runAsync(stage, workers)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        failure.compareAndSet(null, e instanceof CompletionException ? e.getCause() : e);
+                    }
+                });
+    }
+
+    /**
+     * Reads the records into chunks and marks the end of the input for every validating worker.
+     */
+    private <T> void read(
+            Iterator<T> records, BlockingQueue<Chunk<T>> parsed, Report report, AtomicReference<Throwable> failure) {
+        var sequence = 0L;
+        var row = 0L;
+        var rows = new ArrayList<Row<T>>(settings.chunkSize());
+        while (true) {
+            T record;
+            try {
+                if (!records.hasNext()) {
+                    break;
+                }
+                record = records.next();
+            } catch (RuntimeException e) {
+                report.reject(row + 1, "Record cannot be read: " + e.getMessage());
+                break;
+            }
+
+            rows.add(new Row<>(++row, record));
+            if (rows.size() == settings.chunkSize()) {
+                put(parsed, new Chunk<>(sequence++, rows), failure);
+                rows = new ArrayList<>(settings.chunkSize());
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            put(parsed, new Chunk<>(sequence, rows), failure);
+        }
+        for (int i = 0; i < settings.workers(); i++) {
+            put(parsed, Chunk.end(), failure);
+        }
+    }
+
+    private <T> void validate(BlockingQueue<Chunk<T>> parsed, BlockingQueue<Chunk<T>> validated,
+                              ImportHandler<T> handler, Report report, AtomicReference<Throwable> failure) {
+        for (var chunk = take(parsed, failure); !chunk.isEnd(); chunk = take(parsed, failure)) {
+            var valid = new ArrayList<Row<T>>(chunk.rows().size());
+            for (var row : chunk.rows()) {
+                var error = validate(row, handler);
+                if (error.isEmpty()) {
+                    valid.add(row);
+                } else {
+                    report.reject(row.number(), error);
+                }
+            }
+            put(validated, new Chunk<>(chunk.sequence(), valid), failure);
+        }
+        put(validated, Chunk.end(), failure);
+    }
+
+    private static <T> String validate(Row<T> row, ImportHandler<T> handler) {
+        if (row.record() == null) {
+            return "Record cannot be null";
+        }
+
+        try {
+            return handler.validate(row.record());
+        } catch (RuntimeException e) {
+            return message(e);
+        }
+    }
+
+    /**
+     * Rejects the records repeating one of the latest records of the input, within the deduplication window. The
+     * chunks are processed in the order they were read, so the first of the repeated records is the one which is
+     * kept. A record whose key cannot be computed is reported.
+     */
+    private <T> void deduplicate(BlockingQueue<Chunk<T>> validated, BlockingQueue<Chunk<T>> deduplicated,
+                                 ImportHandler<T> handler, Report report, AtomicReference<Throwable> failure) {
+        var firstRows = new LinkedHashMap<Object, Long>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Long> eldest) {
+                return size() > settings.dedupeWindow();
+            }
+        };
+        var pending = new TreeMap<Long, Chunk<T>>();
+        var next = 0L;
+
+        for (int ended = 0; ended < settings.workers(); ) {
+            var chunk = take(validated, failure);
+            if (chunk.isEnd()) {
+                ended++;
+                continue;
+            }
+
+            pending.put(chunk.sequence(), chunk);
+            for (var ready = pending.remove(next); ready != null; ready = pending.remove(++next)) {
+                var unique = new ArrayList<Row<T>>(ready.rows().size());
+                for (var row : ready.rows()) {
+                    Object key;
+                    try {
+                        key = handler.key(row.record());
+                    } catch (RuntimeException e) {
+                        report.reject(row.number(), "Record key cannot be computed: " + message(e));
+                        continue;
+                    }
+                    var firstRow = key == null ? null : firstRows.putIfAbsent(key, row.number());
+                    if (firstRow == null) {
+                        unique.add(row);
+                    } else {
+                        report.reject(row.number(), "Record repeats row " + firstRow);
+                    }
+                }
+                if (!unique.isEmpty()) {
+                    put(deduplicated, new Chunk<>(ready.sequence(), unique), failure);
+                }
+            }
+        }
+
+        for (int i = 0; i < settings.workers(); i++) {
+            put(deduplicated, Chunk.end(), failure);
+        }
+    }
+
+    private <T> void save(
+            BlockingQueue<Chunk<T>> deduplicated, ImportHandler<T> handler, Report report, AtomicReference<Throwable> failure) {
+        for (var chunk = take(deduplicated, failure); !chunk.isEnd(); chunk = take(deduplicated, failure)) {
+            var rows = chunk.rows();
+            try {
+                var rejected = transactionTemplate.execute(status ->
+                        handler.save(rows.stream().map(Row::record).toList()));
+                rejected.forEach((index, reason) -> report.reject(rows.get(index).number(), reason));
+                report.imported(rows.size() - rejected.size());
+            } catch (RuntimeException e) {
+                var reason = "Chunk of rows %d-%d was not saved: %s"
+                        .formatted(rows.getFirst().number(), rows.getLast().number(), message(e));
+                rows.forEach(row -> report.reject(row.number(), reason));
+            }
+        }
+    }
+
+    private static String message(Throwable e) {
+        return e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+    }
+
+    /**
+     * Waits until the chunk is queued, giving up once the import is aborted.
+     */
+    private static <T> void put(BlockingQueue<Chunk<T>> queue, Chunk<T> chunk, AtomicReference<Throwable> failure) {
+        try {
+            while (!queue.offer(chunk, WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                checkNotAborted(failure);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import was interrupted", e);
+        }
+    }
+
+    /**
+     * Waits until a chunk is queued, giving up once the import is aborted.
+     */
+    private static <T> Chunk<T> take(BlockingQueue<Chunk<T>> queue, AtomicReference<Throwable> failure) {
+        try {
+            var chunk = queue.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            while (chunk == null) {
+                checkNotAborted(failure);
+                chunk = queue.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            return chunk;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import was interrupted", e);
+        }
+    }
+
+    private static void checkNotAborted(AtomicReference<Throwable> failure) {
+        if (failure.get() != null) {
+            throw new IllegalStateException("Import was aborted");
+        }
+    }
+
+    /**
+     * The settings of the imports.
+     *
+     * @param chunkSize         the number of records validated, deduplicated and saved together, and committed in
+     *                          one transaction
+     * @param workers           the number of workers validating and the number of workers saving the chunks
+     * @param queueCapacity     the number of chunks waiting between two stages
+     * @param maxReportedErrors the maximum number of errors included in a report
+     * @param dedupeWindow      the number of the latest distinct record keys kept to reject repeated records, at
+     *                          least the number of records in the chunks being saved or waiting to be saved; a
+     *                          repeated record saved at the same time as the record it repeats fails its chunk on
+     *                          the unique constraints
+     */
+    public record Settings(int chunkSize, int workers, int queueCapacity, int maxReportedErrors, int dedupeWindow) {
+
+        /**
+         * Validates the settings.
+         *
+         * @throws IllegalArgumentException if the chunk size, workers or queue capacity are not positive, the
+         *                                  maximum number of errors is negative, or the deduplication window is
+         *                                  smaller than the chunks being saved or waiting to be saved
+         */
+        public Settings {
+            if (chunkSize < 1 || workers < 1 || queueCapacity < 1) {
+                throw new IllegalArgumentException("Import chunk size, workers and queue capacity must be positive");
+            }
+
+            if (maxReportedErrors < 0) {
+                throw new IllegalArgumentException("Import max reported errors cannot be negative");
+            }
+
+            if (dedupeWindow < (long) chunkSize * (workers + queueCapacity)) {
+                throw new IllegalArgumentException(
+                        "Import dedupe window must hold at least chunk size * (workers + queue capacity) keys");
+            }
+        }
+    }
+
+    private record Row<T>(long number, T record) {
+    }
+
+    /**
+     * Consecutive rows of the input; a chunk without a sequence marks the end of the input.
+     */
+    private record Chunk<T>(long sequence, List<Row<T>> rows) {
+
+        private static <T> Chunk<T> end() {
+            return new Chunk<>(-1, List.of());
+        }
+
+        private boolean isEnd() {
+            return sequence < 0;
+        }
+    }
+
+    /**
+     * Counts the records and keeps the errors of the first rows, from all stages at once.
+     */
+    private static final class Report {
+
+        private final int maxErrors;
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final PriorityQueue<ImportReport.RowError> errors =
+                new PriorityQueue<>(Comparator.comparingLong(ImportReport.RowError::row).reversed());
+
+        private Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void imported(long count) {
+            imported.addAndGet(count);
+        }
+
+        private void reject(long row, String message) {
+            rejected.incrementAndGet();
+            synchronized (errors) {
+                errors.add(new ImportReport.RowError(row, message));
+                if (errors.size() > maxErrors) {
+                    errors.poll();
+                }
+            }
+        }
+
+        private ImportReport toImportReport() {
+            List<ImportReport.RowError> sorted;
+            synchronized (errors) {
+                sorted = errors.stream().sorted(Comparator.comparingLong(ImportReport.RowError::row)).toList();
+            }
+            return new ImportReport(imported.get() + rejected.get(), imported.get(), rejected.get(), sorted);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.app.importer;
+
+import com.app.controller.dto.ImportReportDto;
+
+import java.util.List;
+
+/**
+ * The result of a bulk import.
+ *
+ * @param rows     the number of records read from the input, including the rejected ones
+ * @param imported the number of saved records
+ * @param rejected the number of records which were not saved
+ * @param errors   the reasons why records were not saved, ordered by row; only the errors of the first rows are kept
+ *                 when there are more of them than the configured maximum
+ */
+public record ImportReport(long rows, long imported, long rejected, List<RowError> errors) {
+
+    /**
+     * Converts the report to an {@link ImportReportDto}.
+     *
+     * @return the DTO of the report
+     */
+    public ImportReportDto toImportReportDto() {
+        return new ImportReportDto(
+                rows,
+                imported,
+                rejected,
+                errors.stream().map(error -> new ImportReportDto.RowErrorDto(error.row(), error.message())).toList());
+    }
+
+    /**
+     * The reason why a record was not saved.
+     *
+     * @param row     the number of the record in the input, starting from 1
+     * @param message the reason
+     */
+    public record RowError(long row, String message) {
+    }
+}
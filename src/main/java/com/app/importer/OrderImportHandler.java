@@ -0,0 +1,120 @@
+package com.app.importer;
+
+import com.app.controller.dto.order.OrderAddDto;
+import com.app.event.OrdersAddedEvent;
+import com.app.event.ShopDataChangedEvent;
+import com.app.persistence.entity.BaseEntity;
+import com.app.persistence.entity.OrderEntity;
+import com.app.persistence.repository.ClientRepository;
+import com.app.persistence.repository.OrderRepository;
+import com.app.persistence.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link ImportHandler} interface for importing orders.
+ * <p>
+ * Orders may repeat. The clients and products of a chunk are loaded with one query each, and the orders of the
+ * existing clients and products are written with {@link OrderRepository#insertAll(List)}.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderImportHandler implements ImportHandler<OrderAddDto> {
+
+    private final ClientRepository clientRepository;
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Validates that the order has the positive IDs of a client and a product. Whether they exist is checked when
+     * the chunk is saved.
+     *
+     * @param orderAddDto the order to validate
+     * @return the validation error message, or an empty string if validation passes
+     */
+    @Override
+    public String validate(OrderAddDto orderAddDto) {
+        if (orderAddDto.clientId() == null) {
+            return "Client ID cannot be null";
+        }
+
+        if (orderAddDto.clientId() <= 0) {
+            return "Client ID must be positive";
+        }
+
+        if (orderAddDto.productId() == null) {
+            return "Product ID cannot be null";
+        }
+
+        if (orderAddDto.productId() <= 0) {
+            return "Product ID must be positive";
+        }
+
+        return "";
+    }
+
+    /**
+     * Returns no key, because the same client may order the same product several times.
+     *
+     * @param orderAddDto the valid order
+     * @return always {@code null}
+     */
+    @Override
+    public Object key(OrderAddDto orderAddDto) {
+        return null;
+    }
+
+    /**
+     * Saves the orders of the chunk whose client and product exist.
+     * <p>
+     * The clients and products of the chunk are loaded with one query each. The orders are inserted together, and an
+     * {@link OrdersAddedEvent} with the inserted orders and a {@link ShopDataChangedEvent} are published if any of
+     * them was inserted.
+     * </p>
+     *
+     * @param ordersAddDto the orders of the chunk
+     * @return the message "Client not found" or "Product not found" by the index of every order which was not saved
+     */
+    @Override
+    public Map<Integer, String> save(List<OrderAddDto> ordersAddDto) {
+        var clients = byId(clientRepository.findAllById(
+                ordersAddDto.stream().map(OrderAddDto::clientId).collect(Collectors.toSet())));
+        var products = byId(productRepository.findAllById(
+                ordersAddDto.stream().map(OrderAddDto::productId).collect(Collectors.toSet())));
+
+        var rejected = new HashMap<Integer, String>();
+        var orderEntities = new ArrayList<OrderEntity>(ordersAddDto.size());
+        for (int i = 0; i < ordersAddDto.size(); i++) {
+            var clientEntity = clients.get(ordersAddDto.get(i).clientId());
+            var productEntity = products.get(ordersAddDto.get(i).productId());
+            if (clientEntity == null) {
+                rejected.put(i, "Client not found");
+            } else if (productEntity == null) {
+                rejected.put(i, "Product not found");
+            } else {
+                orderEntities.add(OrderEntity
+                        .builder()
+                        .clientEntity(clientEntity)
+                        .productEntity(productEntity)
+                        .build());
+            }
+        }
+
+        if (!orderEntities.isEmpty()) {
+            eventPublisher.publishEvent(new OrdersAddedEvent(orderRepository.insertAll(orderEntities)));
+            eventPublisher.publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.ORDERS));
+        }
+        return rejected;
+    }
+
+    private static <E extends BaseEntity> Map<Long, E> byId(List<E> entities) {
+        return entities.stream().collect(Collectors.toMap(BaseEntity::getId, Function.identity()));
+    }
+}
@@ -0,0 +1,96 @@
+package com.app.importer;
+
+import com.app.controller.dto.product.ProductDto;
+import com.app.event.ShopDataChangedEvent;
+import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.repository.ProductRepository;
+import com.app.validator.impl.ProductDtoValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link ImportHandler} interface for importing products.
+ * <p>
+ * A product is identified by its name and category. The products of a chunk are checked against the existing ones
+ * with {@link ProductRepository#findExistingKeys(java.util.Collection)} and the new ones are saved together.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductImportHandler implements ImportHandler<ProductDto> {
+
+    private final ProductDtoValidator productValidator;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Validates the product with the {@link ProductDtoValidator}.
+     *
+     * @param productDto the product to validate
+     * @return the codes of the field errors, one per line, or an empty string if validation passes
+     */
+    @Override
+    public String validate(ProductDto productDto) {
+        var errors = new BeanPropertyBindingResult(productDto, "productDto");
+        productValidator.validate(productDto, errors);
+        return errors
+                .getFieldErrors()
+                .stream()
+                .map(DefaultMessageSourceResolvable::getCode)
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Returns the name and category of the product, ignoring their case, so a product is rejected if an earlier
+     * product of the import has the same name and category.
+     *
+     * @param productDto the valid product
+     * @return the case-insensitive key of the product
+     */
+    @Override
+    public Object key(ProductDto productDto) {
+        return productDto.toProductKey().ignoringCase();
+    }
+
+    /**
+     * Saves the products of the chunk which do not exist yet.
+     * <p>
+     * The existing products are found with one query for the whole chunk. The new products are saved together, and
+     * a {@link ShopDataChangedEvent} is published if any of them was saved.
+     * </p>
+     *
+     * @param productsDto the products of the chunk
+     * @return the message "Product already exists" by the index of every product which was not saved
+     */
+    @Override
+    public Map<Integer, String> save(List<ProductDto> productsDto) {
+        var existingKeys = productRepository.findExistingKeys(
+                productsDto.stream().map(ProductDto::toProductKey).toList());
+
+        var rejected = new HashMap<Integer, String>();
+        var productEntities = new ArrayList<ProductEntity>(productsDto.size());
+        for (int i = 0; i < productsDto.size(); i++) {
+            var productDto = productsDto.get(i);
+            if (existingKeys.contains(productDto.toProductKey().ignoringCase())) {
+                rejected.put(i, "Product already exists");
+            } else {
+                productEntities.add(productDto.toProductEntity());
+            }
+        }
+
+        if (!productEntities.isEmpty()) {
+            productRepository.saveAll(productEntities);
+            eventPublisher.publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.PRODUCTS));
+        }
+        return rejected;
+    }
+}
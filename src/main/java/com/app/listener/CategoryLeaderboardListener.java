@@ -0,0 +1,131 @@
+package com.app.listener;
+
+import com.app.event.OrdersAddedEvent;
+import com.app.event.OrdersRemovedEvent;
+import com.app.persistence.entity.view.CategorySpendProjection;
+import com.app.persistence.repository.CategoryRepository;
+import com.app.persistence.repository.OrderRepository;
+import com.app.service.StatisticMaintenanceService;
+import com.app.statistic.leaderboard.CategoryLeaderboard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Listener class responsible for building the {@link CategoryLeaderboard} and keeping it in sync with the `orders` table.
+ * <p>
+ * The leaderboard is rebuilt once the application is ready. Changes are applied only after their transaction commits,
+ * and from the commit until they are applied they hold off the snapshot of a concurrent rebuild, so the rebuild neither
+ * misses nor double counts them. Removed orders are summed per client and category while they are still present in the database, and the result is
+ * subtracted after the commit.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryLeaderboardListener {
+
+    private final CategoryLeaderboard categoryLeaderboard;
+    private final OrderRepository orderRepository;
+    private final StatisticMaintenanceService statisticMaintenanceService;
+    private final CategoryRepository categoryRepository;
+
+    /**
+     * Rebuilds the leaderboard with one pass over all orders.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        statisticMaintenanceService.rebuildCategoryLeaderboard();
+    }
+
+    /**
+     * Adds the committed orders to the leaderboards of their categories.
+     * <p>
+     * The categories are resolved to the spelling they were registered with while the transaction is still open,
+     * like the rebuild and the removals read them from the `categories` table. Orders of products without
+     * a category are not ranked, as the rebuild does not rank them either.
+     * </p>
+     *
+     * @param ordersAddedEvent the event containing the saved orders
+     */
+    @EventListener
+    public void onOrdersAdded(OrdersAddedEvent ordersAddedEvent) {
+        var categories = new HashMap<String, String>();
+        ordersAddedEvent.orders().forEach(order -> categories.computeIfAbsent(
+                order.getProductEntity().getCategory(), categoryRepository::findCanonicalName));
+
+        afterCommit(() -> ordersAddedEvent.orders().forEach(order -> {
+            var category = categories.get(order.getProductEntity().getCategory());
+            if (category != null) {
+                categoryLeaderboard.add(category, order.getClientEntity().getId(), order.getAmount(), 1);
+            }
+        }));
+    }
+
+    /**
+     * Computes the spending of the orders that are about to be removed and subtracts it once the removal is committed.
+     * <p>
+     * When clients are removed, they are dropped from all leaderboards.
+     * </p>
+     *
+     * @param ordersRemovedEvent the event describing the removal
+     */
+    @EventListener
+    public void onOrdersRemoved(OrdersRemovedEvent ordersRemovedEvent) {
+        var ids = ordersRemovedEvent.ids();
+
+        switch (ordersRemovedEvent.scope()) {
+            case ORDERS -> subtractAfterCommit(orderRepository.getCategorySpendByOrderIds(ids));
+            case PRODUCTS -> subtractAfterCommit(orderRepository.getCategorySpendByProductIds(ids));
+            case CLIENTS -> afterCommit(() -> categoryLeaderboard.removeClients(ids));
+        }
+    }
+
+    private void subtractAfterCommit(List<CategorySpendProjection> spending) {
+        afterCommit(() -> spending.forEach(spend -> categoryLeaderboard.subtract(
+                spend.getCategory(), spend.getClientId(), spend.getAmount(), spend.getOrderCount())));
+    }
+
+    /**
+     * Runs the update after the current transaction commits, or immediately if there is no transaction.
+     * <p>
+     * The update is begun on the leaderboard before the commit and ended once the transaction completes.
+     * </p>
+     *
+     * @param update the change of the leaderboard
+     */
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean updating;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                categoryLeaderboard.beginUpdate();
+                updating = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (updating) {
+                    updating = false;
+                    categoryLeaderboard.endUpdate();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package com.app.listener;
+
+import com.app.event.OrdersAddedEvent;
+import com.app.event.OrdersRemovedEvent;
+import com.app.persistence.entity.OrderEntity;
+import com.app.persistence.entity.view.ClientSpendDeltaProjection;
+import com.app.persistence.repository.ClientSpendRepository;
+import com.app.persistence.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Listener class responsible for keeping the `client_spend` aggregate in sync with the `orders` table.
+ * <p>
+ * The listener is synchronous, so every change of the aggregate happens in the same transaction as the
+ * order write or delete that caused it. Added orders are grouped by client and applied as increments,
+ * removed orders are summed per client with a single query before they are deleted.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientSpendListener {
+
+    private final ClientSpendRepository clientSpendRepository;
+    private final OrderRepository orderRepository;
+
+    /**
+     * Adds the total price of the newly saved orders to the spending of their clients.
+     *
+     * @param ordersAddedEvent the event containing the saved orders
+     */
+    @EventListener
+    public void onOrdersAdded(OrdersAddedEvent ordersAddedEvent) {
+        ordersAddedEvent.orders()
+                .stream()
+                .collect(Collectors.groupingBy(
+                        order -> order.getClientEntity().getId(),
+                        Collectors.toList()))
+                .forEach((clientId, orders) -> clientSpendRepository.addSpend(
+                        clientId,
+                        orders.stream()
+                                .map(OrderEntity::getAmount)
+                                .reduce(BigDecimal.ZERO, BigDecimal::add),
+                        orders.size()));
+    }
+
+    /**
+     * Subtracts the price of the orders that are about to be removed from the spending of their clients.
+     * <p>
+     * When clients are removed, their aggregates are dropped entirely.
+     * </p>
+     *
+     * @param ordersRemovedEvent the event describing the removal
+     */
+    @EventListener
+    public void onOrdersRemoved(OrdersRemovedEvent ordersRemovedEvent) {
+        var ids = ordersRemovedEvent.ids();
+
+        switch (ordersRemovedEvent.scope()) {
+            case ORDERS -> subtract(orderRepository.getClientSpendByOrderIds(ids));
+            case PRODUCTS -> subtract(orderRepository.getClientSpendByProductIds(ids));
+            case CLIENTS -> clientSpendRepository.deleteAllByIdInBatch(ids);
+        }
+    }
+
+    /**
+     * Applies negative increments to the aggregates and removes the ones left without orders.
+     *
+     * @param deltas the spending to subtract per client
+     */
+    private void subtract(List<ClientSpendDeltaProjection> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        deltas.forEach(delta -> clientSpendRepository.addSpend(
+                delta.getClientId(), delta.getAmount().negate(), -delta.getOrderCount()));
+        clientSpendRepository.deleteEmpty();
+    }
+}
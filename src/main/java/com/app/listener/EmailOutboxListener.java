@@ -0,0 +1,33 @@
+package com.app.listener;
+
+import com.app.event.EmailQueuedEvent;
+import com.app.service.EmailOutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listener class responsible for dispatching the email outbox as soon as an email is queued.
+ * <p>
+ * The outbox is dispatched asynchronously after the transaction queuing the email commits, so the email is
+ * visible to the dispatcher. The scheduled dispatch still picks up emails whose dispatch was missed.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailOutboxListener {
+
+    private final EmailOutboxService emailOutboxService;
+
+    /**
+     * Dispatches the email outbox.
+     *
+     * @param emailQueuedEvent the event holding the ID of the queued email
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmailQueued(EmailQueuedEvent emailQueuedEvent) {
+        emailOutboxService.dispatch();
+    }
+}
@@ -0,0 +1,73 @@
+package com.app.listener;
+
+import com.app.event.OrdersAddedEvent;
+import com.app.event.OrdersRemovedEvent;
+import com.app.persistence.repository.OrderRepository;
+import com.app.statistic.cube.OrderCube;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listener class responsible for loading the {@link OrderCube} and keeping it in sync with the `orders` table.
+ * <p>
+ * The cube is loaded once the application is ready. Order writes and removals are applied only after their
+ * transaction commits, so a rolled back write never reaches the cube. The writes committed until the load is done are
+ * queued by the cube and replayed after the loaded orders, so the ones committed after the orders were read are not
+ * lost.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "statistic.cube.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OrderCubeListener {
+
+    private final OrderCube orderCube;
+    private final OrderRepository orderRepository;
+
+    /**
+     * Loads all orders with their clients and products into the cube.
+     * <p>
+     * The orders are streamed as scalar rows into the columns of the cube, in a read-only transaction, so no entity
+     * is kept by the persistence context and the load may be served by a replica. The writes of this application
+     * which the replica has not applied yet are among the writes the cube replays after the load.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void onApplicationReady() {
+        try (var rows = orderRepository.streamCubeRows()) {
+            orderCube.load(rows);
+        }
+    }
+
+    /**
+     * Appends the committed orders to the cube.
+     *
+     * @param ordersAddedEvent the event containing the saved orders
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrdersAdded(OrdersAddedEvent ordersAddedEvent) {
+        orderCube.addOrders(ordersAddedEvent.orders());
+    }
+
+    /**
+     * Removes the orders, or the orders of the products or clients, from the cube once their removal is committed.
+     *
+     * @param ordersRemovedEvent the event describing the removal
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrdersRemoved(OrdersRemovedEvent ordersRemovedEvent) {
+        var ids = ordersRemovedEvent.ids();
+
+        switch (ordersRemovedEvent.scope()) {
+            case ORDERS -> orderCube.removeOrders(ids);
+            case PRODUCTS -> orderCube.removeOrdersOfProducts(ids);
+            case CLIENTS -> orderCube.removeOrdersOfClients(ids);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.app.listener;
+
+import com.app.event.OrdersAddedEvent;
+import com.app.event.OrdersRemovedEvent;
+import com.app.persistence.entity.RollupGranularity;
+import com.app.persistence.entity.view.OrderRollupDeltaProjection;
+import com.app.persistence.repository.CategoryRepository;
+import com.app.persistence.repository.OrderDimensionRollupRepository;
+import com.app.persistence.repository.OrderRepository;
+import com.app.persistence.repository.OrderRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Listener class responsible for keeping the `order_rollups` and `order_dimension_rollups` aggregates in sync with
+ * the `orders` table.
+ * <p>
+ * The listener is synchronous, so every change of the aggregates happens in the same transaction as the
+ * order write or delete that caused it. Every order is counted in its hourly and its daily bucket: added
+ * orders are grouped by bucket, client and product and applied as increments, removed orders are read with
+ * a single query before they are deleted and applied as decrements. Every change of a daily bucket is applied
+ * to the daily rollups of every {@link com.app.persistence.entity.RollupDimension} as well.
+ * </p>
+ * <p>
+ * The rollups of removed clients and products are deleted from `order_rollups`. They are not part of the keys of
+ * every dimension, so their daily rollups are read first and subtracted from the dimensions.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderRollupListener {
+
+    private final OrderRollupRepository orderRollupRepository;
+    private final OrderDimensionRollupRepository orderDimensionRollupRepository;
+    private final OrderRepository orderRepository;
+    private final CategoryRepository categoryRepository;
+
+    /**
+     * Adds the newly saved orders to the rollups of their buckets.
+     *
+     * @param ordersAddedEvent the event containing the saved orders
+     */
+    @EventListener
+    public void onOrdersAdded(OrdersAddedEvent ordersAddedEvent) {
+        var deltas = new Deltas();
+        ordersAddedEvent.orders()
+                .forEach(order -> deltas.add(
+                        order.getCreatedAt(),
+                        order.getClientEntity().getId(),
+                        order.getClientEntity().getAge(),
+                        order.getProductEntity().getId(),
+                        order.getProductEntity().getCategory(),
+                        order.getAmount(),
+                        order.getQuantity()));
+        deltas.apply(1);
+    }
+
+    /**
+     * Subtracts the orders that are about to be removed from the rollups of their buckets.
+     * <p>
+     * When clients or products are removed, their daily rollups are subtracted from the dimensions and all their
+     * rollups are dropped.
+     * </p>
+     *
+     * @param ordersRemovedEvent the event describing the removal
+     */
+    @EventListener
+    public void onOrdersRemoved(OrdersRemovedEvent ordersRemovedEvent) {
+        var ids = ordersRemovedEvent.ids();
+
+        switch (ordersRemovedEvent.scope()) {
+            case ORDERS -> {
+                var orders = orderRepository.getRollupDeltaByOrderIds(ids);
+                if (orders.isEmpty()) {
+                    return;
+                }
+
+                var deltas = new Deltas();
+                orders.forEach(order -> deltas.add(
+                        order.getCreatedAt(), order.getClientId(), order.getClientAge(), order.getProductId(),
+                        order.getCategory(), order.getAmount(), order.getQuantity()));
+                deltas.apply(-1);
+                orderRollupRepository.deleteEmpty();
+                orderDimensionRollupRepository.deleteEmpty();
+            }
+            case PRODUCTS -> {
+                subtractFromDimensions(orderRollupRepository.getDailyDeltaByProductIds(ids));
+                orderRollupRepository.deleteByProductIds(ids);
+            }
+            case CLIENTS -> {
+                subtractFromDimensions(orderRollupRepository.getDailyDeltaByClientIds(ids));
+                orderRollupRepository.deleteByClientIds(ids);
+            }
+        }
+    }
+
+    /**
+     * Subtracts the daily rollups of removed clients or products from the daily rollups of every dimension.
+     */
+    private void subtractFromDimensions(List<OrderRollupDeltaProjection> dailyRollups) {
+        if (dailyRollups.isEmpty()) {
+            return;
+        }
+
+        dailyRollups.forEach(rollup -> addToDimensions(
+                rollup.getCreatedAt(), rollup.getClientId(), rollup.getClientAge(), rollup.getProductId(),
+                rollup.getCategory(), rollup.getAmount().negate(), -rollup.getQuantity()));
+        orderDimensionRollupRepository.deleteEmpty();
+    }
+
+    /**
+     * Adds the orders of a day, client and product to the daily rollups of every dimension, with the category
+     * bound as its ID.
+     */
+    private void addToDimensions(Instant dayStart, Long clientId, int clientAge, Long productId, String category,
+                                 BigDecimal amount, long quantity) {
+        var categoryId = categoryRepository.findCategoryId(category);
+        orderDimensionRollupRepository.addRollups(dayStart, clientId, clientAge, productId,
+                categoryId == null ? 0 : categoryId, amount, quantity);
+    }
+
+    /**
+     * A bucket of a client and product. The age of the client and the category of the product never change, so they
+     * do not split the buckets and are carried along for the daily rollups of the dimensions.
+     */
+    private record Bucket(RollupGranularity granularity, Instant start, Long clientId, int clientAge, Long productId,
+                          String category) {
+    }
+
+    /**
+     * The total price and quantity of the orders per bucket, collected before they are written, so every bucket
+     * is updated with a single statement.
+     */
+    private class Deltas {
+
+        private final Map<Bucket, BigDecimal> amounts = new LinkedHashMap<>();
+        private final Map<Bucket, Long> quantities = new LinkedHashMap<>();
+
+        void add(Instant createdAt, Long clientId, int clientAge, Long productId, String category, BigDecimal amount,
+                 int quantity) {
+            for (var granularity : RollupGranularity.values()) {
+                var bucket = new Bucket(
+                        granularity, granularity.bucketStart(createdAt), clientId, clientAge, productId, category);
+                amounts.merge(bucket, amount, BigDecimal::add);
+                quantities.merge(bucket, (long) quantity, Long::sum);
+            }
+        }
+
+        void apply(int sign) {
+            amounts.forEach((bucket, amount) -> {
+                var signedAmount = sign < 0 ? amount.negate() : amount;
+                var signedQuantity = sign * quantities.get(bucket);
+
+                orderRollupRepository.addRollup(
+                        bucket.granularity().name(),
+                        bucket.start(),
+                        bucket.clientId(),
+                        bucket.productId(),
+                        signedAmount,
+                        signedQuantity);
+
+                if (bucket.granularity() == RollupGranularity.DAY) {
+                    addToDimensions(bucket.start(), bucket.clientId(), bucket.clientAge(), bucket.productId(),
+                            bucket.category(), signedAmount, signedQuantity);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.app.listener;
+
+import com.app.event.UserRoleChangedEvent;
+import com.app.security.cache.PrincipalCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listener class responsible for evicting users from the {@link PrincipalCache} when their role changes.
+ * <p>
+ * The principal is evicted only after the transaction of the change commits, so the next request of the user
+ * reads the new role.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalCacheListener {
+
+    private final PrincipalCache principalCache;
+
+    /**
+     * Evicts the cached principal of the user whose role changed.
+     *
+     * @param userRoleChangedEvent the event holding the ID of the user
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRoleChanged(UserRoleChangedEvent userRoleChangedEvent) {
+        principalCache.evict(userRoleChangedEvent.userId());
+    }
+}
@@ -0,0 +1,32 @@
+package com.app.listener;
+
+import com.app.event.ShopDataChangedEvent;
+import com.app.statistic.cache.StatisticCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listener class responsible for invalidating the {@link StatisticCache} when the shop data changes.
+ * <p>
+ * The cache is invalidated only after the transaction of the change commits, so a statistic computed right after
+ * the invalidation already sees the change. The services publish the {@link ShopDataChangedEvent} after the order
+ * events, so the invalidation also runs after the in-memory order structures are updated.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class StatisticCacheListener {
+
+    private final StatisticCache statisticCache;
+
+    /**
+     * Invalidates the cached statistics computed from the changed data.
+     *
+     * @param shopDataChangedEvent the event describing the kind of changed data
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShopDataChanged(ShopDataChangedEvent shopDataChangedEvent) {
+        statisticCache.invalidate(shopDataChangedEvent.source());
+    }
+}
@@ -4,16 +4,12 @@ import com.app.controller.dto.user.UserActivationDto;
 import com.app.persistence.entity.VerificationTokenEntity;
 import com.app.persistence.repository.UserRepository;
 import com.app.persistence.repository.VerificationTokenRepository;
-import com.app.service.EmailService;
+import com.app.service.EmailOutboxService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.event.TransactionPhase;
-import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.UUID;
 
@@ -21,7 +17,8 @@ import java.util.UUID;
  * Listener class responsible for handling user activation events.
  * <p>
  * This class listens for user activation events and triggers the sending of an activation email to the user.
- * The listener generates a unique verification token, saves it, and sends the email to the user with the token.
+ * The listener generates a unique verification token, saves it, and queues the email with the token in the
+ * {@link EmailOutboxService}, in the transaction which published the event.
  * </p>
  */
 @Component
@@ -30,7 +27,7 @@ public class UserActivationListener {
 
     private final UserRepository userRepository;
     private final VerificationTokenRepository verificationTokenRepository;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
 
     /**
      * The expiration time for the activation email in nanoseconds.
@@ -43,20 +40,18 @@ public class UserActivationListener {
     private Long activationMailExpireTime;
 
     /**
-     * Listens to the user activation event and sends an activation email with a unique token to the user.
+     * Listens to the user activation event and queues an activation email with a unique token to the user.
      * <p>
-     * This method is executed asynchronously and ensures the activation email is only sent after the transaction
-     * has been successfully committed. It generates a verification token, stores it in the database, and sends an
-     * email with the token to the user.
+     * This method runs in the transaction which published the event, so the verification token and the queued
+     * email are committed together with the user, or not at all. The email is sent by the outbox once the
+     * transaction commits.
      * </p>
      *
      * @param userActivationDto the data transfer object containing the user information for activation
      * @throws IllegalArgumentException if the user is not found in the repository
      */
-    @Async
     @EventListener
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     public void sendActivationEmail(UserActivationDto userActivationDto) {
         // Fetch the user to activate based on user ID
         var userToActivation = userRepository
@@ -79,8 +74,8 @@ public class UserActivationListener {
 
         verificationTokenRepository.save(verificationTokenEntity);
 
-        // Send the activation email with the token to the user
-        emailService.send(
+        // Queue the activation email with the token to the user
+        emailOutboxService.enqueue(
                 userToActivation.getEmail(),
                 "Activation link",
                 "Use this code to activate your account: " + token
@@ -6,10 +6,13 @@ import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
+import java.math.BigDecimal;
+
 /**
  * Represents an order in the system.
  * <p>
- * This class contains details about an order, including the unique order ID, the client placing the order, and the product being ordered.
+ * This class contains details about an order, including the unique order ID, the client placing the order, the product being ordered,
+ * the ordered quantity and the unit price of the product at the time the order was placed.
  * It provides methods to convert the order to an entity for persistence and to a DTO (Data Transfer Object) for transferring data.
  * </p>
  */
@@ -42,6 +45,19 @@ public class Order {
      */
     private final Product product;
 
+    /**
+     * The number of ordered units of the product.
+     */
+    private final Integer quantity;
+
+    /**
+     * The price of one unit of the product at the time the order was placed.
+     * <p>
+     * The price does not change when the price of the product is edited later.
+     * </p>
+     */
+    private final BigDecimal unitPrice;
+
     /**
      * Converts this order to an {@link OrderEntity} object.
      * <p>
@@ -56,6 +72,8 @@ public class Order {
                 .id(id)
                 .productEntity(product.toProductEntity())
                 .clientEntity(client.toClientEntity())
+                .quantity(quantity)
+                .unitPrice(unitPrice)
                 .build();
     }
 
@@ -68,6 +86,6 @@ public class Order {
      * @return a new {@link OrderFindDto} object populated with this order's data
      */
     public OrderFindDto toOrderFindDto() {
-        return new OrderFindDto(id, client.toClientDto(), product.toProductDto());
+        return new OrderFindDto(id, client.toClientDto(), product.toProductDto(), quantity, unitPrice);
     }
 }
@@ -1,7 +1,6 @@
 package com.app.persistence.entity;
 
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import com.app.persistence.id.PooledTableId;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import lombok.*;
@@ -36,9 +35,11 @@ public class BaseEntity {
      * <p>
      * This ID is automatically generated and managed by the persistence framework.
      * It is used to uniquely identify an instance of the entity in the database.
+     * The IDs are reserved in blocks by the {@link com.app.persistence.id.PooledTableIdGenerator},
+     * so the inserts of many entities can be batched.
      * </p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId
     protected Long id;
 }
@@ -0,0 +1,45 @@
+package com.app.persistence.entity;
+
+import com.app.persistence.repository.CategoryRepository;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Converts the category of a {@link ProductEntity} between its name and the ID stored in the `category_id` column.
+ * <p>
+ * The names are translated by the {@link com.app.persistence.repository.CategoryDictionary} without a round trip,
+ * so the queries comparing or grouping the products by category work on the integer column, while the entities,
+ * the JPQL queries and their results keep using the names. A name without a category converts to {@code null},
+ * which matches no product. The categories of the saved products are registered by the
+ * {@link CategoryRegistrationListener} before they are converted.
+ * </p>
+ * <p>
+ * The converter is created by Hibernate through the Spring bean container while the entity manager factory is
+ * built, so the repository is looked up only when the first category is converted.
+ * </p>
+ */
+@Converter
+public class CategoryConverter implements AttributeConverter<String, Integer> {
+
+    private final ObjectProvider<CategoryRepository> categoryRepository;
+
+    /**
+     * Constructor that initializes the {@link CategoryConverter} with the provider of the category repository.
+     *
+     * @param categoryRepository the provider of the repository translating the categories
+     */
+    public CategoryConverter(ObjectProvider<CategoryRepository> categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String category) {
+        return categoryRepository.getObject().findCategoryId(category);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer categoryId) {
+        return categoryRepository.getObject().findCategoryName(categoryId);
+    }
+}
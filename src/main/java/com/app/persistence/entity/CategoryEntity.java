@@ -0,0 +1,53 @@
+package com.app.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entity representing a product category in the database.
+ * <p>
+ * This class is a JPA entity mapped to the `categories` table, the dictionary of the product categories. Every
+ * category has a small integer ID, which the products store in their `category_id` column instead of the name, so
+ * they are compared, joined and grouped by an integer.
+ * </p>
+ *
+ * <p>
+ * The rows are inserted by the {@link com.app.persistence.repository.CategoryDictionary} when a product of a new
+ * category is saved, with the ID generated by the database. A category is never removed, even when its last product
+ * is. The schema is created by the migrations in `db/migration`.
+ * </p>
+ */
+@ToString
+@EqualsAndHashCode
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "categories",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_categories_name", columnNames = {"name"})
+        }
+)
+public class CategoryEntity {
+
+    /**
+     * The unique identifier of the category.
+     * <p>
+     * The ID is generated by the auto increment column of the `categories` table.
+     * </p>
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * The name of the category.
+     * <p>
+     * The names are unique, compared without regard to case, like the collation of the column does.
+     * </p>
+     */
+    @Column(nullable = false)
+    private String name;
+}
@@ -0,0 +1,42 @@
+package com.app.persistence.entity;
+
+import com.app.persistence.repository.CategoryRepository;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Entity listener registering the category of a {@link ProductEntity} in the `categories` table before the product
+ * is inserted or updated.
+ * <p>
+ * The {@link CategoryConverter} can then translate the category to its ID when the product is written. Like the
+ * converter, the listener is created by Hibernate through the Spring bean container, so the repository is looked up
+ * only when the first product is saved.
+ * </p>
+ */
+public class CategoryRegistrationListener {
+
+    private final ObjectProvider<CategoryRepository> categoryRepository;
+
+    /**
+     * Constructor that initializes the {@link CategoryRegistrationListener} with the provider of the category repository.
+     *
+     * @param categoryRepository the provider of the repository registering the categories
+     */
+    public CategoryRegistrationListener(ObjectProvider<CategoryRepository> categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    /**
+     * Registers the category of the product, if it has one.
+     *
+     * @param productEntity the product about to be inserted or updated
+     */
+    @PrePersist
+    @PreUpdate
+    public void registerCategory(ProductEntity productEntity) {
+        if (productEntity.getCategory() != null) {
+            categoryRepository.getObject().registerCategory(productEntity.getCategory());
+        }
+    }
+}
@@ -20,7 +20,9 @@ import java.util.List;
  *
  * <p>
  * The entity is mapped to the `clients` table, with a unique constraint ensuring that
- * the combination of name and surname is unique for each client.
+ * the combination of name and surname is unique for each client. The index on the age covers the
+ * statistics per client age. The schema is created by the migrations in `db/migration`, which declare the same
+ * constraint and index.
  * </p>
  */
 @ToString(exclude = "orders", callSuper = true)
@@ -33,7 +35,10 @@ import java.util.List;
 @Entity
 @Table(name = "clients",
         uniqueConstraints = {
-                @UniqueConstraint(columnNames = {"name", "surname"})
+                @UniqueConstraint(name = "uk_clients_name_surname", columnNames = {"name", "surname"})
+        },
+        indexes = {
+                @Index(name = "idx_clients_age", columnList = "age")
         }
 )
 public class ClientEntity extends BaseEntity {
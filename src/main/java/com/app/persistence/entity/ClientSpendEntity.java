@@ -0,0 +1,67 @@
+package com.app.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Entity representing the aggregated spending of a single client.
+ * <p>
+ * This class is a JPA entity mapped to the `client_spend` table. Each row holds the total amount a client
+ * has spent on orders and the number of those orders. The table is maintained incrementally by the order
+ * write and delete paths, so the client with the biggest payment can be found through the index on
+ * `total_spent` instead of grouping the whole `orders` table.
+ * </p>
+ *
+ * <p>
+ * The row also holds the balance of the client, that is the cash of the client minus the total spent, so the clients
+ * in debit are read with a range scan of the index on `balance` instead of grouping the orders of every client.
+ * Clients are never updated after they are created, so the balance only changes together with the total spent.
+ * </p>
+ *
+ * <p>
+ * Rows only exist for clients with at least one order. The table can be recomputed from `orders` at any time.
+ * </p>
+ */
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Entity
+@Table(name = "client_spend",
+        indexes = {
+                @Index(name = "idx_client_spend_total_spent", columnList = "total_spent"),
+                @Index(name = "idx_client_spend_balance", columnList = "balance")
+        }
+)
+public class ClientSpendEntity {
+
+    /**
+     * The ID of the client the aggregate belongs to.
+     */
+    @Id
+    @Column(name = "client_id")
+    private Long clientId;
+
+    /**
+     * The sum of the prices of all products ordered by the client.
+     */
+    @Column(name = "total_spent")
+    private BigDecimal totalSpent;
+
+    /**
+     * The number of orders placed by the client.
+     */
+    @Column(name = "order_count")
+    private long orderCount;
+
+    /**
+     * The cash of the client minus the total spending, negative when the client is in debit.
+     */
+    @Column(name = "balance")
+    private BigDecimal balance;
+}
@@ -0,0 +1,76 @@
+package com.app.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.time.Instant;
+
+/**
+ * JPA Entity representing an email waiting in the outbox to be sent.
+ * <p>
+ * This class is a JPA entity mapped to the `email_outbox` table in the database. An email is written to the outbox
+ * in the same transaction as the change it reports, so it is never lost when the application stops before sending
+ * it, and it is removed once the SMTP server accepted it.
+ * </p>
+ * <p>
+ * Every attempt to send the email is counted. An email is picked up again when its `nextAttemptAt` passes: while
+ * it is being sent the time is moved forward by a lease, and after a failed attempt by a growing backoff.
+ * </p>
+ */
+@ToString(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@Setter
+@Getter
+@Entity
+@Table(name = "email_outbox", indexes = @Index(name = "idx_email_outbox_next_attempt_at", columnList = "next_attempt_at"))
+public class EmailOutboxEntity extends BaseEntity {
+
+    /**
+     * The email address of the recipient.
+     */
+    private String recipient;
+
+    /**
+     * The subject of the email.
+     */
+    private String subject;
+
+    /**
+     * The body of the email.
+     */
+    @Column(length = 2000)
+    private String body;
+
+    /**
+     * The number of attempts to send the email made so far.
+     */
+    private int attempts;
+
+    /**
+     * The time after which the email can be sent again.
+     */
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    /**
+     * The message of the error of the last failed attempt, or null if no attempt failed.
+     */
+    private String lastError;
+
+    /**
+     * Converts the email to a {@link SimpleMailMessage}.
+     *
+     * @return the message to send
+     */
+    public SimpleMailMessage toSimpleMailMessage() {
+        var simpleMailMessage = new SimpleMailMessage();
+        simpleMailMessage.setTo(recipient);
+        simpleMailMessage.setSubject(subject);
+        simpleMailMessage.setText(body);
+        return simpleMailMessage;
+    }
+}
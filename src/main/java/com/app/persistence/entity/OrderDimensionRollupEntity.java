@@ -0,0 +1,52 @@
+package com.app.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Entity representing the orders of one day grouped by the keys of one {@link RollupDimension}.
+ * <p>
+ * This class is a JPA entity mapped to the `order_dimension_rollups` table. Each row holds the total price and the
+ * number of the units ordered on a day by a client, by a client in a category, or by the clients of an age in a
+ * category or of a product. The table is maintained incrementally from the daily rows of `order_rollups`, so
+ * the statistics over the whole days of a time range read a row per day and group of the statistic instead of a row
+ * per day, client and product. The hours at the edges of a range are still read from the hourly `order_rollups`.
+ * </p>
+ *
+ * <p>
+ * The age of the client and the category of the product are part of the keys, which holds because neither changes
+ * once the client or product is saved. Rows only exist for days with at least one order. The table can be recomputed
+ * from the daily rows of `order_rollups` at any time.
+ * </p>
+ */
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Entity
+@Table(name = "order_dimension_rollups")
+public class OrderDimensionRollupEntity {
+
+    /**
+     * The dimension, day and keys the rollup belongs to.
+     */
+    @EmbeddedId
+    private OrderDimensionRollupId id;
+
+    /**
+     * The sum of the prices of the orders.
+     */
+    @Column(name = "amount")
+    private BigDecimal amount;
+
+    /**
+     * The number of ordered units.
+     */
+    @Column(name = "quantity")
+    private long quantity;
+}
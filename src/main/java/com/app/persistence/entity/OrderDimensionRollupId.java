@@ -0,0 +1,46 @@
+package com.app.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Composite key of an {@link OrderDimensionRollupEntity}: one day of one pair of keys of a {@link RollupDimension}.
+ */
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Embeddable
+public class OrderDimensionRollupId implements Serializable {
+
+    /**
+     * The dimension the keys belong to.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", length = 16)
+    private RollupDimension dimension;
+
+    /**
+     * The start of the day, in UTC.
+     */
+    @Column(name = "day_start")
+    private Instant dayStart;
+
+    /**
+     * The first key of the dimension, the ID of the client or the age.
+     */
+    @Column(name = "first_key")
+    private Long firstKey;
+
+    /**
+     * The second key of the dimension, the ID of the category or the product, or {@code 0} if it has none.
+     */
+    @Column(name = "second_key")
+    private Long secondKey;
+}
@@ -5,6 +5,9 @@ import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+
 /**
  * Entity representing an order placed by a client in the database.
  * <p>
@@ -17,6 +20,19 @@ import lombok.experimental.SuperBuilder;
  * <p>
  * The entity is mapped to the `orders` table, with relationships to the `ClientEntity`
  * and `ProductEntity` classes, establishing a many-to-one relationship for both fields.
+ * Every order records the time it was placed, which the time-bucketed `order_rollups` are keyed by.
+ * </p>
+ *
+ * <p>
+ * An order holds any quantity of its product, and the price of the product at the time the order was placed.
+ * The statistics sum the quantity multiplied by that unit price, so they neither join the `products` table
+ * for the price nor change when the price of a product is edited later.
+ * </p>
+ *
+ * <p>
+ * The two indexes start with the client and with the product and hold the quantity and unit price, so the statistics
+ * grouping the orders by client or reaching them from the products of a category read only the index.
+ * The schema is created by the migrations in `db/migration`, which declare the same indexes.
  * </p>
  */
 @ToString(callSuper = true)
@@ -27,7 +43,12 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @SuperBuilder
 @Entity
-@Table(name = "orders")
+@Table(name = "orders",
+        indexes = {
+                @Index(name = "idx_orders_client_product", columnList = "client_id, product_id, quantity, unit_price"),
+                @Index(name = "idx_orders_product_client", columnList = "product_id, client_id, quantity, unit_price")
+        }
+)
 public class OrderEntity extends BaseEntity {
 
     /**
@@ -55,6 +76,84 @@ public class OrderEntity extends BaseEntity {
     @JoinColumn(name = "product_id")
     private ProductEntity productEntity;
 
+    /**
+     * The time the order was placed.
+     * <p>
+     * It is set when the order is first saved, unless it was given before.
+     * </p>
+     */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * The number of units of the product in the order.
+     */
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    /**
+     * The price of one unit of the product at the time the order was placed.
+     */
+    @Column(name = "unit_price", nullable = false)
+    private BigDecimal unitPrice;
+
+    /**
+     * Creates an unsaved order of one unit of a product by a client, placed when it is saved.
+     *
+     * @param clientEntity  the client placing the order
+     * @param productEntity the ordered product
+     */
+    public OrderEntity(ClientEntity clientEntity, ProductEntity productEntity) {
+        this(clientEntity, productEntity, 1);
+    }
+
+    /**
+     * Creates an unsaved order of a quantity of a product by a client, placed when it is saved.
+     *
+     * @param clientEntity  the client placing the order
+     * @param productEntity the ordered product
+     * @param quantity      the number of ordered units
+     */
+    public OrderEntity(ClientEntity clientEntity, ProductEntity productEntity, int quantity) {
+        this.clientEntity = clientEntity;
+        this.productEntity = productEntity;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Completes the order before it is inserted: the order is placed at the given time, holds one unit
+     * and takes the current price of its product, unless those were given before.
+     *
+     * @param now the time of the insert
+     */
+    public void place(Instant now) {
+        if (createdAt == null) {
+            createdAt = now;
+        }
+
+        if (quantity == null) {
+            quantity = 1;
+        }
+
+        if (unitPrice == null) {
+            unitPrice = productEntity.getPrice();
+        }
+    }
+
+    /**
+     * Retrieves the total price of the order, its quantity multiplied by its unit price.
+     *
+     * @return the total price of the order
+     */
+    public BigDecimal getAmount() {
+        return unitPrice.multiply(BigDecimal.valueOf(quantity));
+    }
+
+    @PrePersist
+    void placeOrder() {
+        place(Instant.now());
+    }
+
     /**
      * Converts the `OrderEntity` to a {@link Order} model object.
      * <p>
@@ -65,6 +164,6 @@ public class OrderEntity extends BaseEntity {
      * @return A new instance of {@link Order} with the entity's data.
      */
     public Order toOrder() {
-        return new Order(id, clientEntity.toClient(), productEntity.toProduct());
+        return new Order(id, clientEntity.toClient(), productEntity.toProduct(), quantity, unitPrice);
     }
 }
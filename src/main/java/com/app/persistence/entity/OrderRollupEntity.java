@@ -0,0 +1,55 @@
+package com.app.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Entity representing the orders of one client for one product placed within one time bucket.
+ * <p>
+ * This class is a JPA entity mapped to the `order_rollups` table. Each row holds the total price and the number
+ * of the units ordered in an hourly or daily bucket, and the table is maintained incrementally by the order write and
+ * delete paths like `client_spend`. The statistics over a time range sum the daily rows of the whole days in the
+ * range and the hourly rows of its edges, so they do not read the `orders` table. The product category and the
+ * client age are joined when the rows are read, so the rollups serve the statistics per category, client and product.
+ * </p>
+ *
+ * <p>
+ * Rows only exist for buckets with at least one order. The table can be recomputed from `orders` at any time.
+ * </p>
+ */
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Entity
+@Table(name = "order_rollups",
+        indexes = {
+                @Index(name = "idx_order_rollups_client_id", columnList = "client_id"),
+                @Index(name = "idx_order_rollups_product_id", columnList = "product_id")
+        }
+)
+public class OrderRollupEntity {
+
+    /**
+     * The bucket, client and product the rollup belongs to.
+     */
+    @EmbeddedId
+    private OrderRollupId id;
+
+    /**
+     * The sum of the prices of the orders in the bucket.
+     */
+    @Column(name = "amount")
+    private BigDecimal amount;
+
+    /**
+     * The number of units ordered in the bucket.
+     */
+    @Column(name = "quantity")
+    private long quantity;
+}
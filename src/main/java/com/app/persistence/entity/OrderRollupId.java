@@ -0,0 +1,46 @@
+package com.app.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Composite key of an {@link OrderRollupEntity}: one time bucket of one client and one product.
+ */
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Embeddable
+public class OrderRollupId implements Serializable {
+
+    /**
+     * The length of the bucket.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", length = 8)
+    private RollupGranularity granularity;
+
+    /**
+     * The start of the bucket, in UTC.
+     */
+    @Column(name = "bucket_start")
+    private Instant bucketStart;
+
+    /**
+     * The ID of the client who placed the orders.
+     */
+    @Column(name = "client_id")
+    private Long clientId;
+
+    /**
+     * The ID of the ordered product.
+     */
+    @Column(name = "product_id")
+    private Long productId;
+}
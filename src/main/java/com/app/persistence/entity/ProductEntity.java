@@ -22,6 +22,13 @@ import java.util.List;
  * of name and category. It is also associated with a list of orders that reference this
  * product.
  * </p>
+ *
+ * <p>
+ * The category is stored as the ID of its row in the `categories` dictionary, so the products are compared and
+ * grouped by an integer, while the entity keeps the name of the category.
+ * The index on the category, price and name covers the price statistics and the products of a category.
+ * The schema is created by the migrations in `db/migration`, which declare the same constraints and indexes.
+ * </p>
  */
 @ToString(exclude = "orders")
 @EqualsAndHashCode(callSuper = true)
@@ -31,9 +38,13 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@EntityListeners(CategoryRegistrationListener.class)
 @Table(name = "products",
         uniqueConstraints = {
-                @UniqueConstraint(columnNames = {"name", "category"})
+                @UniqueConstraint(name = "uk_products_name_category", columnNames = {"name", "category_id"})
+        },
+        indexes = {
+                @Index(name = "idx_products_category_price", columnList = "category_id, price, name")
         }
 )
 public class ProductEntity extends BaseEntity {
@@ -50,9 +61,12 @@ public class ProductEntity extends BaseEntity {
      * The category of the product.
      * <p>
      * This field stores the category under which the product falls. The combination of
-     * `name` and `category` must be unique in the database.
+     * `name` and `category` must be unique in the database. The name of the category is converted
+     * to its ID in the `category_id` column by the {@link CategoryConverter}.
      * </p>
      */
+    @Convert(converter = CategoryConverter.class)
+    @Column(name = "category_id")
     private String category;
 
     /**
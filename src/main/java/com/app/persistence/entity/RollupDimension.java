@@ -0,0 +1,33 @@
+package com.app.persistence.entity;
+
+/**
+ * The dimensions of the `order_dimension_rollups` table, each the pair of keys one group of shop statistics is
+ * answered from.
+ * <p>
+ * Every order is counted once per dimension in the daily bucket it was placed in. The keys of a row are stored in its
+ * first and second key columns; a dimension with a single key stores {@code 0} as the second one, and the key of a
+ * product without a category is {@code 0} as well.
+ * </p>
+ */
+public enum RollupDimension {
+
+    /**
+     * The spending of a client: the ID of the client and {@code 0}.
+     */
+    CLIENT,
+
+    /**
+     * The spending and ordered units of a client in a category: the ID of the client and the ID of the category.
+     */
+    CLIENT_CATEGORY,
+
+    /**
+     * The ordered units of a category by the clients of an age: the age and the ID of the category.
+     */
+    AGE_CATEGORY,
+
+    /**
+     * The ordered units of a product by the clients of an age: the age and the ID of the product.
+     */
+    AGE_PRODUCT
+}
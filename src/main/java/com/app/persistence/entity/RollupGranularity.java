@@ -0,0 +1,36 @@
+package com.app.persistence.entity;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The length of the time buckets of the `order_rollups` table.
+ * <p>
+ * Every order is counted once in the bucket of each granularity, so a time range can be answered from whole days
+ * with the remaining hours at its edges.
+ * </p>
+ */
+public enum RollupGranularity {
+
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Finds the start of the bucket containing the given time.
+     * <p>
+     * The buckets are aligned to UTC.
+     * </p>
+     *
+     * @param time the time to find the bucket of
+     * @return the start of the bucket
+     */
+    public Instant bucketStart(Instant time) {
+        return time.truncatedTo(unit);
+    }
+}
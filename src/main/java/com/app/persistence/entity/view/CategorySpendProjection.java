@@ -0,0 +1,18 @@
+package com.app.persistence.entity.view;
+
+/**
+ * A projection interface for the spending of a client within one product category.
+ * <p>
+ * This interface is used to rebuild and update the per-category leaderboard of top spenders
+ * without loading the order entities themselves.
+ * </p>
+ */
+public interface CategorySpendProjection extends ClientSpendDeltaProjection {
+
+    /**
+     * Retrieves the category of the ordered products.
+     *
+     * @return The product category.
+     */
+    String getCategory();
+}
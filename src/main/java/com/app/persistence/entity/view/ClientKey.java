@@ -0,0 +1,29 @@
+package com.app.persistence.entity.view;
+
+import java.util.Locale;
+
+/**
+ * The name and surname which identify a client, as enforced by the unique constraint of the `clients` table.
+ * <p>
+ * The record is used to check a whole batch of clients for duplicates without loading their entities.
+ * </p>
+ *
+ * @param name    the name of the client
+ * @param surname the surname of the client
+ */
+public record ClientKey(String name, String surname) {
+
+    /**
+     * Converts the key to lower case, so it can be compared the way the case-insensitive collation of the
+     * database compares the unique columns.
+     *
+     * @return the key in lower case
+     */
+    public ClientKey ignoringCase() {
+        return new ClientKey(lowerCase(name), lowerCase(surname));
+    }
+
+    private static String lowerCase(String s) {
+        return s == null ? null : s.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,34 @@
+package com.app.persistence.entity.view;
+
+import java.math.BigDecimal;
+
+/**
+ * A projection interface for the spending of a client within a selected set of orders.
+ * <p>
+ * This interface is used to compute how much the `client_spend` aggregate has to change when a group
+ * of orders is removed, without loading the order entities themselves.
+ * </p>
+ */
+public interface ClientSpendDeltaProjection {
+
+    /**
+     * Retrieves the ID of the client.
+     *
+     * @return The client's ID.
+     */
+    Long getClientId();
+
+    /**
+     * Retrieves the total price of the selected orders of the client.
+     *
+     * @return The total price of the orders.
+     */
+    BigDecimal getAmount();
+
+    /**
+     * Retrieves the number of the selected orders of the client.
+     *
+     * @return The number of orders.
+     */
+    Long getOrderCount();
+}
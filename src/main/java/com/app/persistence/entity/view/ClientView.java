@@ -0,0 +1,30 @@
+package com.app.persistence.entity.view;
+
+import com.app.model.Client;
+
+import java.math.BigDecimal;
+
+/**
+ * The columns of a client read by a query without loading the {@link com.app.persistence.entity.ClientEntity}.
+ * <p>
+ * The record is created by a constructor expression of the query, so it is never managed by the persistence context:
+ * it is not snapshotted when it is read nor dirty checked when the transaction ends.
+ * </p>
+ *
+ * @param id      the ID of the client
+ * @param name    the name of the client
+ * @param surname the surname of the client
+ * @param age     the age of the client
+ * @param cash    the cash of the client
+ */
+public record ClientView(Long id, String name, String surname, Integer age, BigDecimal cash) {
+
+    /**
+     * Converts the view to a {@link Client} model.
+     *
+     * @return the client with the columns of the view
+     */
+    public Client toClient() {
+        return new Client(id, name, surname, age, cash);
+    }
+}
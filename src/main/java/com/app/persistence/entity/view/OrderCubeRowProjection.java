@@ -0,0 +1,97 @@
+package com.app.persistence.entity.view;
+
+import java.math.BigDecimal;
+
+/**
+ * A projection interface for a single order together with the columns of its client and product.
+ * <p>
+ * This interface is used to load the in-memory {@link com.app.statistic.cube.OrderCube} from a stream of scalar
+ * rows, without loading the order, client and product entities into the persistence context.
+ * </p>
+ */
+public interface OrderCubeRowProjection {
+
+    /**
+     * Retrieves the ID of the order.
+     *
+     * @return The order's ID.
+     */
+    Long getOrderId();
+
+    /**
+     * Retrieves the ID of the client.
+     *
+     * @return The client's ID.
+     */
+    Long getClientId();
+
+    /**
+     * Retrieves the name of the client.
+     *
+     * @return The client's name.
+     */
+    String getClientName();
+
+    /**
+     * Retrieves the surname of the client.
+     *
+     * @return The client's surname.
+     */
+    String getClientSurname();
+
+    /**
+     * Retrieves the age of the client.
+     *
+     * @return The client's age.
+     */
+    Integer getClientAge();
+
+    /**
+     * Retrieves the cash of the client.
+     *
+     * @return The client's cash.
+     */
+    BigDecimal getClientCash();
+
+    /**
+     * Retrieves the ID of the product.
+     *
+     * @return The product's ID.
+     */
+    Long getProductId();
+
+    /**
+     * Retrieves the name of the product.
+     *
+     * @return The product's name.
+     */
+    String getProductName();
+
+    /**
+     * Retrieves the category of the product.
+     *
+     * @return The product's category.
+     */
+    String getCategory();
+
+    /**
+     * Retrieves the price of the product.
+     *
+     * @return The product's price.
+     */
+    BigDecimal getProductPrice();
+
+    /**
+     * Retrieves the number of ordered units.
+     *
+     * @return The quantity of the order.
+     */
+    Integer getQuantity();
+
+    /**
+     * Retrieves the total price of the order, its unit price multiplied by its quantity.
+     *
+     * @return The total price of the order.
+     */
+    BigDecimal getAmount();
+}
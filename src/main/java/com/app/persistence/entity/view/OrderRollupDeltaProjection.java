@@ -0,0 +1,64 @@
+package com.app.persistence.entity.view;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A projection interface for a single order as it is counted in the `order_rollups` table.
+ * <p>
+ * This interface is used to compute how much the rollups have to change when a group of orders is removed,
+ * without loading the order entities themselves. The daily rollups of removed clients and products are read into
+ * it as well, with the start of their day as the creation time, to subtract them from the `order_dimension_rollups`.
+ * </p>
+ */
+public interface OrderRollupDeltaProjection {
+
+    /**
+     * Retrieves the time the order was placed.
+     *
+     * @return The creation time of the order.
+     */
+    Instant getCreatedAt();
+
+    /**
+     * Retrieves the ID of the client.
+     *
+     * @return The client's ID.
+     */
+    Long getClientId();
+
+    /**
+     * Retrieves the age of the client.
+     *
+     * @return The client's age.
+     */
+    Integer getClientAge();
+
+    /**
+     * Retrieves the ID of the product.
+     *
+     * @return The product's ID.
+     */
+    Long getProductId();
+
+    /**
+     * Retrieves the category of the product.
+     *
+     * @return The product's category.
+     */
+    String getCategory();
+
+    /**
+     * Retrieves the total price of the order, its unit price multiplied by its quantity.
+     *
+     * @return The total price of the order.
+     */
+    BigDecimal getAmount();
+
+    /**
+     * Retrieves the number of ordered units.
+     *
+     * @return The quantity of the order.
+     */
+    Integer getQuantity();
+}
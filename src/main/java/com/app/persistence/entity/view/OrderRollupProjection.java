@@ -0,0 +1,57 @@
+package com.app.persistence.entity.view;
+
+import java.math.BigDecimal;
+
+/**
+ * A projection interface for the orders of one client for one product within a time range.
+ * <p>
+ * This interface is used to answer the shop statistics over a time range from the `order_rollups` table.
+ * The age of the client and the category of the product are joined, so every statistic can be computed
+ * from the rows without reading the orders. The daily rollups of a dimension of the `order_dimension_rollups`
+ * table are read into it as well, with only the columns of the keys of the dimension and {@code null} in the others.
+ * </p>
+ */
+public interface OrderRollupProjection {
+
+    /**
+     * Retrieves the ID of the client.
+     *
+     * @return The client's ID.
+     */
+    Long getClientId();
+
+    /**
+     * Retrieves the age of the client.
+     *
+     * @return The client's age.
+     */
+    Integer getClientAge();
+
+    /**
+     * Retrieves the ID of the product.
+     *
+     * @return The product's ID.
+     */
+    Long getProductId();
+
+    /**
+     * Retrieves the category of the product.
+     *
+     * @return The product's category.
+     */
+    String getCategory();
+
+    /**
+     * Retrieves the total price of the orders of the client for the product within the range.
+     *
+     * @return The total price of the orders.
+     */
+    BigDecimal getAmount();
+
+    /**
+     * Retrieves the number of units of the product ordered by the client within the range.
+     *
+     * @return The number of ordered units.
+     */
+    Long getQuantity();
+}
@@ -0,0 +1,29 @@
+package com.app.persistence.entity.view;
+
+import java.util.Locale;
+
+/**
+ * The name and category which identify a product, as enforced by the unique constraint of the `products` table.
+ * <p>
+ * The record is used to check a whole batch of products for duplicates without loading their entities.
+ * </p>
+ *
+ * @param name     the name of the product
+ * @param category the category of the product
+ */
+public record ProductKey(String name, String category) {
+
+    /**
+     * Converts the key to lower case, so it can be compared the way the case-insensitive collation of the
+     * database compares the unique columns.
+     *
+     * @return the key in lower case
+     */
+    public ProductKey ignoringCase() {
+        return new ProductKey(lowerCase(name), lowerCase(category));
+    }
+
+    private static String lowerCase(String s) {
+        return s == null ? null : s.toLowerCase(Locale.ROOT);
+    }
+}
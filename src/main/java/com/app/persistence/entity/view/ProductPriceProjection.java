@@ -0,0 +1,41 @@
+package com.app.persistence.entity.view;
+
+import java.math.BigDecimal;
+
+/**
+ * A projection interface for retrieving the price of a product together with its identifying data.
+ * <p>
+ * This interface is used to stream products into price statistics without loading the product
+ * entities and their orders.
+ * </p>
+ */
+public interface ProductPriceProjection {
+
+    /**
+     * Retrieves the ID of the product.
+     *
+     * @return The product's ID.
+     */
+    Long getId();
+
+    /**
+     * Retrieves the name of the product.
+     *
+     * @return The product's name.
+     */
+    String getName();
+
+    /**
+     * Retrieves the category of the product.
+     *
+     * @return The product's category.
+     */
+    String getCategory();
+
+    /**
+     * Retrieves the price of the product.
+     *
+     * @return The product's price.
+     */
+    BigDecimal getPrice();
+}
@@ -0,0 +1,29 @@
+package com.app.persistence.entity.view;
+
+import com.app.model.Product;
+
+import java.math.BigDecimal;
+
+/**
+ * The columns of a product read by a query without loading the {@link com.app.persistence.entity.ProductEntity}.
+ * <p>
+ * Like {@link ClientView}, the record is created by a constructor expression of the query and is never managed
+ * by the persistence context.
+ * </p>
+ *
+ * @param id       the ID of the product
+ * @param name     the name of the product
+ * @param category the category of the product
+ * @param price    the price of the product
+ */
+public record ProductView(Long id, String name, String category, BigDecimal price) {
+
+    /**
+     * Converts the view to a {@link Product} model.
+     *
+     * @return the product with the columns of the view
+     */
+    public Product toProduct() {
+        return new Product(id, name, category, price);
+    }
+}
@@ -0,0 +1,64 @@
+package com.app.persistence.id;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Moves the last reserved ID of every entity table handled by the {@link PooledTableIdGenerator} up to the IDs
+ * already stored in the table.
+ * <p>
+ * Rows inserted before the generator was introduced, or by SQL scripts, would otherwise collide with the first
+ * reserved blocks. The last reserved ID is only ever raised, in one statement per table, so the initializer is safe
+ * to run while other nodes sharing the database already hand out IDs. It runs once, when all singletons are created
+ * and before the application accepts any requests.
+ * </p>
+ */
+public class IdBlockInitializer implements SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor that initializes the {@link IdBlockInitializer} with the entity manager factory holding
+     * the entity mappings and the template used to update the `id_blocks` table.
+     *
+     * @param entityManagerFactory the entity manager factory holding the entity mappings
+     * @param jdbcTemplate         the template used to update the `id_blocks` table
+     */
+    public IdBlockInitializer(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .forEachEntityDescriptor(persister -> {
+                    if (persister.getGenerator() instanceof PooledTableIdGenerator generator
+                            && persister instanceof AbstractEntityPersister entityPersister) {
+                        raiseNextId(generator, entityPersister.getTableName(), entityPersister.getIdentifierColumnNames()[0]);
+                    }
+                });
+    }
+
+    /**
+     * Raises the last reserved ID of an entity table to its biggest stored ID, creating the row of the table
+     * if it does not exist yet.
+     *
+     * @param generator the generator of the entity IDs
+     * @param table     the entity table
+     * @param idColumn  the ID column of the entity table
+     */
+    private void raiseNextId(PooledTableIdGenerator generator, String table, String idColumn) {
+        jdbcTemplate.update(
+                "insert into %1$s (%2$s, %3$s) select ?, coalesce(max(%4$s), 0) from %5$s on duplicate key update %3$s = greatest(%3$s, values(%3$s))"
+                        .formatted(generator.getTableName(), generator.getSegmentColumnName(),
+                                generator.getValueColumnName(), idColumn, table),
+                generator.getSegmentValue());
+    }
+}
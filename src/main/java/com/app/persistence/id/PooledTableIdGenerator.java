@@ -0,0 +1,66 @@
+package com.app.persistence.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Table-backed ID generator which hands out blocks of IDs kept in memory.
+ * <p>
+ * Every entity table has its own row in the `id_blocks` table, holding the last ID reserved by any node. A node
+ * reserves a block by reading and advancing that value in a separate transaction, with the row locked, so nodes
+ * sharing one database always get disjoint blocks. The IDs of a block are then assigned without any round trip
+ * ({@link StandardOptimizerDescriptor#POOLED_LO pooled-lo} optimizer), which lets Hibernate batch the inserts.
+ * </p>
+ * <p>
+ * The block size is read from the {@value #BLOCK_SIZE_SETTING} Hibernate setting and defaults to
+ * {@value #DEFAULT_BLOCK_SIZE}. Blocks of an unused node are lost when it stops, leaving gaps in the IDs.
+ * </p>
+ */
+public class PooledTableIdGenerator extends TableGenerator {
+
+    /**
+     * The table holding the next free ID of every entity table.
+     */
+    public static final String TABLE_NAME = "id_blocks";
+
+    /**
+     * The Hibernate setting holding the number of IDs reserved at once.
+     */
+    public static final String BLOCK_SIZE_SETTING = "shop.id.block-size";
+
+    /**
+     * The number of IDs reserved at once when {@value #BLOCK_SIZE_SETTING} is not set.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    /**
+     * Configures the underlying {@link TableGenerator} with the `id_blocks` table, one row per entity table,
+     * the pooled-lo optimizer and the configured block size.
+     *
+     * @throws MappingException if the configured block size is not positive
+     */
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        var blockSize = serviceRegistry
+                .requireService(ConfigurationService.class)
+                .getSetting(BLOCK_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_BLOCK_SIZE);
+
+        if (blockSize < 1) {
+            throw new MappingException("Id block size must be positive");
+        }
+
+        parameters.put(TABLE_PARAM, TABLE_NAME);
+        parameters.put(CONFIG_PREFER_SEGMENT_PER_ENTITY, "true");
+        parameters.put(OptimizableGenerator.INCREMENT_PARAM, String.valueOf(blockSize));
+        parameters.put(OptimizableGenerator.OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.app.persistence.repository;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repository fragment translating the names of the product categories to their IDs in the `categories` table and back.
+ * <p>
+ * The dictionary is held in memory in both directions, so the translation of a category, which happens for every
+ * product read or written and for every category a query is filtered by, needs no round trip. The names are
+ * matched without regard to case, like the collation of the `categories.name` column does, and a category keeps
+ * the spelling it was registered with.
+ * </p>
+ * <p>
+ * Categories registered within a transaction are visible only to that transaction until it commits. Categories
+ * registered by another node are read from the database the first time this node misses them, one row at a time,
+ * so a name which is not a category costs a single indexed lookup.
+ * </p>
+ */
+public interface CategoryDictionary {
+
+    /**
+     * Finds the ID of a category.
+     *
+     * @param name the name of the category
+     * @return the ID of the category, or {@code null} if the name is {@code null} or no such category exists
+     */
+    Integer findCategoryId(String name);
+
+    /**
+     * Finds the name of a category.
+     *
+     * @param id the ID of the category
+     * @return the name of the category, or {@code null} if the ID is {@code null}
+     * @throws IllegalStateException if no category has the ID
+     */
+    String findCategoryName(Integer id);
+
+    /**
+     * Finds the spelling a category was registered with, which the statistics use as the key of the category.
+     *
+     * @param name the name of the category, in any case
+     * @return the registered name of the category, or {@code null} if the name is {@code null} or no such category
+     * exists
+     */
+    String findCanonicalName(String name);
+
+    /**
+     * Returns the ID of a category, inserting the category into the `categories` table first if it does not exist.
+     * <p>
+     * The insert runs on the connection of the current transaction, so the category is removed again if the
+     * transaction rolls back.
+     * </p>
+     *
+     * @param name the name of the category
+     * @return the ID of the category
+     * @throws IllegalArgumentException if the name is {@code null}
+     */
+    Integer registerCategory(String name);
+
+    /**
+     * Retrieves the names of all categories, in alphabetical order.
+     *
+     * @return the names of all categories in the dictionary
+     */
+    List<String> getAllCategoryNames();
+
+    /**
+     * Finds the names of the categories matching a SQL `LIKE` pattern.
+     * <p>
+     * The `%` wildcard matches any sequence of characters, the `_` wildcard any single character and a backslash
+     * escapes the character after it. The names are matched without regard to case.
+     * </p>
+     *
+     * @param pattern the pattern of the names
+     * @return the names of the matching categories
+     */
+    Set<String> findCategoryNamesLike(String pattern);
+}
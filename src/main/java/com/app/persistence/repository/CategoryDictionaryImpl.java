@@ -0,0 +1,301 @@
+package com.app.persistence.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the {@link CategoryDictionary} fragment keeping the `categories` table in memory.
+ * <p>
+ * The table is read the first time the dictionary is used. A name or an ID missing afterwards is looked up as a
+ * single row by the unique name or the primary key, never by reading the table again, so a stream of unknown names
+ * does not stall the other callers. The table is read on a connection of its own, because the dictionary is also
+ * used while the rows of a streamed result are converted, when the connection of the transaction cannot run another
+ * statement. A category is inserted on the connection of
+ * the current transaction and kept aside for that transaction until it commits, when it is added to the dictionary.
+ * </p>
+ */
+public class CategoryDictionaryImpl implements CategoryDictionary {
+
+    private static final String SELECT_ALL_SQL = "select id, name from categories";
+
+    private static final String SELECT_BY_NAME_SQL = "select id, name from categories where name = ?";
+
+    private static final String SELECT_BY_ID_SQL = "select id, name from categories where id = ?";
+
+    private static final String INSERT_SQL =
+            "insert into categories (name) values (?) on duplicate key update id = last_insert_id(id)";
+
+    private static final String SELECT_INSERTED_SQL =
+            "select id, name from categories where id = last_insert_id() lock in share mode";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * Constructor that initializes the {@link CategoryDictionaryImpl} with the template used to insert the categories
+     * and the data source the dictionary is read from.
+     *
+     * @param jdbcTemplate the template used to insert the categories within the current transaction
+     * @param dataSource   the data source the `categories` table is read from
+     */
+    public CategoryDictionaryImpl(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Integer findCategoryId(String name) {
+        if (name == null) {
+            return null;
+        }
+
+        var key = key(name);
+        var id = findId(key);
+        if (id == null && lookUp(SELECT_BY_NAME_SQL, name)) {
+            id = ids.get(key);
+        }
+        return id;
+    }
+
+    @Override
+    public String findCategoryName(Integer id) {
+        if (id == null) {
+            return null;
+        }
+
+        var name = findName(id);
+        if (name == null && lookUp(SELECT_BY_ID_SQL, id)) {
+            name = names.get(id);
+        }
+        if (name == null) {
+            throw new IllegalStateException("Category with id " + id + " does not exist");
+        }
+        return name;
+    }
+
+    @Override
+    public String findCanonicalName(String name) {
+        var id = findCategoryId(name);
+        return id == null ? null : findCategoryName(id);
+    }
+
+    @Override
+    public Integer registerCategory(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Category cannot be null");
+        }
+
+        var id = findId(key(name));
+        if (id != null) {
+            return id;
+        }
+
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (var insert = connection.prepareStatement(INSERT_SQL)) {
+                insert.setString(1, name);
+                insert.executeUpdate();
+            }
+            try (var select = connection.prepareStatement(SELECT_INSERTED_SQL);
+                 var resultSet = select.executeQuery()) {
+                resultSet.next();
+                var insertedId = resultSet.getInt(1);
+                remember(insertedId, resultSet.getString(2));
+                return insertedId;
+            }
+        });
+    }
+
+    @Override
+    public List<String> getAllCategoryNames() {
+        return allNames()
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    @Override
+    public Set<String> findCategoryNamesLike(String pattern) {
+        var like = likePattern(pattern);
+
+        var matching = new HashSet<String>();
+        allNames()
+                .filter(name -> like.matcher(name).matches())
+                .forEach(matching::add);
+        return matching;
+    }
+
+    /**
+     * Streams the names of the dictionary and of the categories registered by the current transaction.
+     */
+    private Stream<String> allNames() {
+        if (!loaded) {
+            loadAll();
+        }
+
+        var registered = registered();
+        return registered == null
+                ? names.values().stream()
+                : Stream.concat(names.values().stream(), registered.names().values().stream());
+    }
+
+    private Integer findId(String key) {
+        var id = ids.get(key);
+        if (id == null) {
+            var registered = registered();
+            id = registered == null ? null : registered.ids().get(key);
+        }
+        return id;
+    }
+
+    private String findName(Integer id) {
+        var name = names.get(id);
+        if (name == null) {
+            var registered = registered();
+            name = registered == null ? null : registered.names().get(id);
+        }
+        return name;
+    }
+
+    /**
+     * Reads the whole `categories` table into the dictionary the first time, and afterwards the single category
+     * selected by the query.
+     *
+     * @return {@code true} if the dictionary may hold the category now, {@code false} if it does not exist
+     */
+    private boolean lookUp(String sql, Object parameter) {
+        if (!loaded) {
+            loadAll();
+            return true;
+        }
+
+        try (var connection = dataSource.getConnection();
+             var select = connection.prepareStatement(sql)) {
+            select.setObject(1, parameter);
+            try (var resultSet = select.executeQuery()) {
+                if (!resultSet.next()) {
+                    return false;
+                }
+                put(resultSet.getInt(1), resultSet.getString(2));
+                return true;
+            }
+        } catch (SQLException e) {
+            throw Objects.requireNonNull(jdbcTemplate.getExceptionTranslator().translate("look up category", sql, e));
+        }
+    }
+
+    /**
+     * Reads the whole `categories` table into the dictionary, unless it has already been read.
+     */
+    private synchronized void loadAll() {
+        if (loaded) {
+            return;
+        }
+
+        try (var connection = dataSource.getConnection();
+             var select = connection.prepareStatement(SELECT_ALL_SQL);
+             var resultSet = select.executeQuery()) {
+            while (resultSet.next()) {
+                put(resultSet.getInt(1), resultSet.getString(2));
+            }
+        } catch (SQLException e) {
+            throw Objects.requireNonNull(jdbcTemplate.getExceptionTranslator().translate("load categories", SELECT_ALL_SQL, e));
+        }
+        loaded = true;
+    }
+
+    private void put(Integer id, String name) {
+        ids.put(key(name), id);
+        names.put(id, name);
+    }
+
+    /**
+     * Adds an inserted category to the dictionary, or, within a transaction, keeps it aside until the transaction
+     * commits.
+     */
+    private void remember(Integer id, String name) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(id, name);
+            return;
+        }
+
+        var registered = registered();
+        if (registered == null) {
+            var created = new Registered(new HashMap<>(), new HashMap<>());
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(CategoryDictionaryImpl.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(CategoryDictionaryImpl.this, created);
+                }
+
+                @Override
+                public void afterCommit() {
+                    created.names().forEach(CategoryDictionaryImpl.this::put);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CategoryDictionaryImpl.this);
+                }
+            });
+            registered = created;
+        }
+        registered.ids().put(key(name), id);
+        registered.names().put(id, name);
+    }
+
+    private Registered registered() {
+        return (Registered) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Translates a SQL `LIKE` pattern to a case-insensitive regular expression.
+     */
+    private static Pattern likePattern(String pattern) {
+        var regex = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            var character = pattern.charAt(i);
+            if (character == '\\' && i + 1 < pattern.length()) {
+                regex.append(Pattern.quote(String.valueOf(pattern.charAt(++i))));
+            } else if (character == '%') {
+                regex.append(".*");
+            } else if (character == '_') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(character)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL);
+    }
+
+    /**
+     * The categories inserted by a transaction which has not committed yet.
+     *
+     * @param ids   the IDs of the categories by their lower case names
+     * @param names the names of the categories by their IDs
+     */
+    private record Registered(Map<String, Integer> ids, Map<Integer, String> names) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.CategoryEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository interface for managing {@link CategoryEntity} entities in the persistence layer.
+ * <p>
+ * The categories are translated between their names and IDs by the {@link CategoryDictionary} fragment, which
+ * keeps them in memory, so the products table is not needed to list or resolve them. Like for every repository,
+ * the exceptions of the fragment are translated to {@link org.springframework.dao.DataAccessException}s.
+ * </p>
+ */
+public interface CategoryRepository extends JpaRepository<CategoryEntity, Integer>, CategoryDictionary {
+}
@@ -1,9 +1,14 @@
 package com.app.persistence.repository;
 
 import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.view.ClientKey;
+import com.app.persistence.entity.view.ClientView;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for accessing {@link ClientEntity} entities in the database.
@@ -19,7 +24,7 @@ import java.util.Optional;
  * @see CrudRepository
  */
 @Repository
-public interface ClientRepository extends CrudRepository<ClientEntity> {
+public interface ClientRepository extends CrudRepository<ClientEntity>, StreamingRepository {
 
     /**
      * Retrieves a {@link ClientEntity} by the client's name and surname.
@@ -29,4 +34,71 @@ public interface ClientRepository extends CrudRepository<ClientEntity> {
      * @return an {@link Optional} containing the {@link ClientEntity} if found, or empty if no client exists with the given name and surname
      */
     Optional<ClientEntity> findByNameAndSurname(String name, String surname);
+
+    /**
+     * Retrieves the names and surnames of the clients whose name is one of the given names and whose surname is one
+     * of the given surnames.
+     * <p>
+     * The result may contain combinations which were not asked for, so it has to be filtered by the caller.
+     * </p>
+     *
+     * @param names    the names of the clients
+     * @param surnames the surnames of the clients
+     * @return the names and surnames of the matching clients
+     */
+    @Query("""
+            select new com.app.persistence.entity.view.ClientKey(c.name, c.surname)
+            from ClientEntity c
+            where c.name in :names and c.surname in :surnames""")
+    List<ClientKey> findKeysByNameInAndSurnameIn(Collection<String> names, Collection<String> surnames);
+
+    /**
+     * Finds which of the given names and surnames already belong to clients.
+     * <p>
+     * The keys are checked in chunks of {@value #IN_CLAUSE_CHUNK_SIZE}, one query per chunk, so a batch of N clients
+     * takes N / {@value #IN_CLAUSE_CHUNK_SIZE} round trips instead of N.
+     * </p>
+     *
+     * @param keys the names and surnames to be checked
+     * @return the existing keys, converted with {@link ClientKey#ignoringCase()}
+     */
+    default Set<ClientKey> findExistingKeys(Collection<ClientKey> keys) {
+        var requested = new ArrayList<>(keys);
+        var existing = new HashSet<ClientKey>();
+        for (int from = 0; from < requested.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            var chunk = requested.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, requested.size()));
+            var chunkKeys = new HashSet<ClientKey>();
+            chunk.forEach(key -> chunkKeys.add(key.ignoringCase()));
+
+            findKeysByNameInAndSurnameIn(
+                    chunk.stream().map(ClientKey::name).collect(Collectors.toSet()),
+                    chunk.stream().map(ClientKey::surname).collect(Collectors.toSet()))
+                    .stream()
+                    .map(ClientKey::ignoringCase)
+                    .filter(chunkKeys::contains)
+                    .forEach(existing::add);
+        }
+        return existing;
+    }
+
+    /**
+     * Retrieves the columns of the clients with the given IDs without loading their entities.
+     *
+     * @param ids the IDs of the clients
+     * @return a list of {@link ClientView} objects for the clients found, in no particular order
+     */
+    @Query("""
+            select new com.app.persistence.entity.view.ClientView(c.id, c.name, c.surname, c.age, c.cash)
+            from ClientEntity c
+            where c.id in :ids""")
+    List<ClientView> findViewsByIdIn(Collection<Long> ids);
+
+    @Override
+    default Stream<ClientEntity> streamAllAfter(Long after) {
+        return stream(ClientEntity.class, """
+                select c
+                from ClientEntity c
+                where c.id > :after
+                order by c.id""", Map.of("after", after));
+    }
 }
@@ -0,0 +1,110 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.ClientSpendEntity;
+import com.app.persistence.entity.view.ClientAndDebitDto;
+import com.app.persistence.entity.view.ClientView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link ClientSpendEntity} aggregates in the persistence layer.
+ * <p>
+ * This interface extends {@link JpaRepository} and provides methods for incrementally updating the per-client
+ * spending aggregate, reading the clients with the biggest spending or in debit and rebuilding the aggregate from the
+ * `orders` table.
+ * </p>
+ */
+public interface ClientSpendRepository extends JpaRepository<ClientSpendEntity, Long> {
+
+    /**
+     * Adds the given amount and order count to the aggregate of a client and subtracts the amount from its balance.
+     * <p>
+     * If the client has no aggregate row yet, a new one is created with the balance computed from the cash of the
+     * client. Negative values are used when orders are removed.
+     * </p>
+     *
+     * @param clientId the ID of the client
+     * @param amount   the amount to add to the total spending
+     * @param count    the number of orders to add to the order count
+     */
+    @Modifying
+    @Query(value = """
+            insert into client_spend (client_id, total_spent, order_count, balance)
+            select c.id, :amount, :count, c.cash - :amount
+            from clients c
+            where c.id = :clientId
+            on duplicate key update total_spent = total_spent + :amount,
+                                    order_count = order_count + :count,
+                                    balance = balance - :amount""",
+            nativeQuery = true)
+    void addSpend(Long clientId, BigDecimal amount, long count);
+
+    /**
+     * Removes the aggregates of clients that no longer have any orders.
+     *
+     * @return the number of removed aggregate rows
+     */
+    @Modifying
+    @Query("delete from ClientSpendEntity s where s.orderCount <= 0")
+    int deleteEmpty();
+
+    /**
+     * Retrieves the clients with the highest total spending.
+     * <p>
+     * The maximum is read from the index on `total_spent`, so the query does not depend on the number of orders.
+     * The columns of the clients are read into views, so no entity is loaded into the persistence context.
+     * </p>
+     *
+     * @return a list of {@link ClientView} objects representing the clients with the highest total spending
+     */
+    @Query("""
+            select new com.app.persistence.entity.view.ClientView(c.id, c.name, c.surname, c.age, c.cash)
+            from ClientEntity c
+            where c.id in (select s.clientId from ClientSpendEntity s
+                           where s.totalSpent = (select max(s2.totalSpent) from ClientSpendEntity s2))""")
+    List<ClientView> findClientsWithBiggestSpend();
+
+    /**
+     * Retrieves the clients whose total spending exceeds their cash, together with their negative balance.
+     * <p>
+     * The clients are read with a range scan of the index on `balance`, so the query only touches the clients
+     * in debit instead of grouping the orders of every client.
+     * </p>
+     *
+     * @return a list of {@link ClientAndDebitDto} objects representing the clients with a debit balance
+     */
+    @Query("""
+            select new com.app.persistence.entity.view.ClientAndDebitDto(
+            c.id,
+            c.name,
+            c.surname,
+            c.age,
+            c.cash,
+            s.balance
+            ) from ClientSpendEntity s
+            join ClientEntity c on c.id = s.clientId
+            where s.balance < 0""")
+    List<ClientAndDebitDto> findClientsInDebit();
+
+    /**
+     * Recomputes all aggregates from the `orders` table.
+     * <p>
+     * The table is expected to be empty before this method is called.
+     * </p>
+     *
+     * @return the number of created aggregate rows
+     */
+    @Modifying
+    @Query(value = """
+            insert into client_spend (client_id, total_spent, order_count, balance)
+            select o.client_id, sum(o.unit_price * o.quantity), count(*), c.cash - sum(o.unit_price * o.quantity)
+            from orders o
+            join clients c on c.id = o.client_id
+            group by o.client_id, c.cash""",
+            nativeQuery = true)
+    int rebuildFromOrders();
+}
@@ -1,8 +1,13 @@
 package com.app.persistence.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * Base repository interface for all entities with a primary key of type {@link Long}.
  * <p>
@@ -15,10 +20,43 @@ import org.springframework.data.repository.NoRepositoryBean;
  * Instead, other repository interfaces should extend this interface to inherit its methods.
  * </p>
  *
+ * <p>
+ * Besides the inherited operations, the interface reads entities in the order of their IDs after a given ID (keyset
+ * pagination), so a page costs the same however deep it is, and streams them from a database cursor.
+ * </p>
+ *
  * @param <T> the type of the entity to be handled by this repository
  * @see JpaRepository
  */
 @NoRepositoryBean
 public interface CrudRepository<T> extends JpaRepository<T, Long> {
-    // No additional methods are needed, as basic CRUD operations are inherited from JpaRepository
+
+    /**
+     * The maximum number of values bound to a single `in` clause, so queries checking large batches stay well below
+     * the limit of parameters of a statement.
+     */
+    int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    /**
+     * Retrieves a page of entities with IDs greater than the given one, ordered by ID.
+     *
+     * @param after the ID after which the page starts, {@code 0} for the first page
+     * @param limit the maximum number of entities in the page
+     * @return the entities of the page
+     */
+    @Query("select e from #{#entityName} e where e.id > :after order by e.id")
+    List<T> findPageAfter(Long after, Limit limit);
+
+    /**
+     * Streams all entities with IDs greater than the given one, ordered by ID.
+     * <p>
+     * The rows are read from a database cursor, so the stream must be consumed and closed inside a transaction.
+     * Every repository implements the method with the {@link StreamingRepository} fragment, which sets the fetch size
+     * streaming the rows of the database.
+     * </p>
+     *
+     * @param after the ID after which the stream starts, {@code 0} for all entities
+     * @return a stream of the entities
+     */
+    Stream<T> streamAllAfter(Long after);
 }
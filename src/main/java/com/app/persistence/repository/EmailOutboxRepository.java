@@ -0,0 +1,43 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.EmailOutboxEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link EmailOutboxEntity} entities in the persistence layer.
+ * <p>
+ * This interface extends {@link JpaRepository} to provide basic CRUD functionality for the emails in the outbox,
+ * and a method for claiming the emails which are due to be sent.
+ * </p>
+ */
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxEntity, Long> {
+
+    /**
+     * Retrieves and locks the emails which are due to be sent, the longest waiting first.
+     * <p>
+     * The rows are locked for update and rows already locked by another transaction are skipped, so several
+     * dispatchers never claim the same email.
+     * </p>
+     *
+     * @param now         the current time
+     * @param maxAttempts the number of attempts after which an email is no longer sent
+     * @param limit       the maximum number of emails
+     * @return the emails whose next attempt is due
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            select e from EmailOutboxEntity e
+            where e.nextAttemptAt <= :now and e.attempts < :maxAttempts
+            order by e.nextAttemptAt, e.id""")
+    List<EmailOutboxEntity> findDue(Instant now, int maxAttempts, Limit limit);
+}
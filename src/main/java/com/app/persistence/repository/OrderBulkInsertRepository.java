@@ -0,0 +1,27 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.OrderEntity;
+
+import java.util.List;
+
+/**
+ * Repository fragment for inserting many {@link OrderEntity} objects at once.
+ * <p>
+ * Orders saved through {@link org.springframework.data.jpa.repository.JpaRepository#saveAll(Iterable)} go through
+ * the persistence context, and the JDBC batches of Hibernate are still sent as one statement per order. This fragment
+ * writes the orders with multi-row JDBC insert statements instead.
+ * </p>
+ */
+public interface OrderBulkInsertRepository {
+
+    /**
+     * Inserts the orders with multi-row insert statements and sets the generated IDs on them.
+     * <p>
+     * The orders are not attached to the persistence context. Their clients and products must already be saved.
+     * </p>
+     *
+     * @param orderEntities the orders to be inserted
+     * @return the same orders, in the same order, with their generated IDs
+     */
+    List<OrderEntity> insertAll(List<OrderEntity> orderEntities);
+}
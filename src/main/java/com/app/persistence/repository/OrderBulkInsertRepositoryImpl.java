@@ -0,0 +1,101 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.OrderEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Implementation of the {@link OrderBulkInsertRepository} fragment using a {@link JdbcTemplate}.
+ * <p>
+ * Pending changes of the persistence context are flushed first, so the clients and products of the orders exist
+ * in the database. The IDs of the orders are taken from the ID generator of {@link OrderEntity}, and the orders are
+ * completed by {@link OrderEntity#place(java.time.Instant)} with the time of the insert and the current price of their
+ * products, like {@link OrderEntity} does when it is persisted. The orders are then
+ * split into batches of `orders.bulk-insert.batch-size` rows, and every batch is written by a single
+ * `insert ... values (...), (...)` statement. The statements run on the connection of the current transaction.
+ * </p>
+ */
+public class OrderBulkInsertRepositoryImpl implements OrderBulkInsertRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final String batchInsertSql;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Constructor that initializes the {@link OrderBulkInsertRepositoryImpl} with the template and the batch size.
+     *
+     * @param jdbcTemplate the template used to run the insert statements
+     * @param batchSize    the maximum number of rows written by one statement
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public OrderBulkInsertRepositoryImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${orders.bulk-insert.batch-size:500}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Bulk insert batch size must be positive");
+        }
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.batchInsertSql = insertSql(batchSize);
+    }
+
+    @Override
+    public List<OrderEntity> insertAll(List<OrderEntity> orderEntities) {
+        if (orderEntities.isEmpty()) {
+            return orderEntities;
+        }
+
+        entityManager.flush();
+
+        var session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        var generator = (BeforeExecutionGenerator) session
+                .getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(OrderEntity.class)
+                .getGenerator();
+        var now = Instant.now();
+        orderEntities.forEach(orderEntity -> {
+            orderEntity.setId((Long) generator.generate(session, orderEntity, null, EventType.INSERT));
+            orderEntity.place(now);
+        });
+
+        for (int from = 0; from < orderEntities.size(); from += batchSize) {
+            var batch = orderEntities.subList(from, Math.min(from + batchSize, orderEntities.size()));
+            insertBatch(batch, batch.size() == batchSize ? batchInsertSql : insertSql(batch.size()));
+        }
+        return orderEntities;
+    }
+
+    private void insertBatch(List<OrderEntity> batch, String sql) {
+        var parameters = new ArrayList<>(batch.size() * 6);
+        for (var orderEntity : batch) {
+            parameters.add(orderEntity.getId());
+            parameters.add(orderEntity.getClientEntity().getId());
+            parameters.add(orderEntity.getProductEntity().getId());
+            parameters.add(Timestamp.from(orderEntity.getCreatedAt()));
+            parameters.add(orderEntity.getQuantity());
+            parameters.add(orderEntity.getUnitPrice());
+        }
+        jdbcTemplate.update(sql, parameters.toArray());
+    }
+
+    private static String insertSql(int rows) {
+        return "insert into orders (id, client_id, product_id, created_at, quantity, unit_price) values "
+                + String.join(", ", Collections.nCopies(rows, "(?, ?, ?, ?, ?, ?)"));
+    }
+}
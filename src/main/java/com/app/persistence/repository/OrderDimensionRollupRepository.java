@@ -0,0 +1,141 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.OrderDimensionRollupEntity;
+import com.app.persistence.entity.OrderDimensionRollupId;
+import com.app.persistence.entity.view.OrderRollupProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link OrderDimensionRollupEntity} aggregates in the persistence layer.
+ * <p>
+ * This interface extends {@link JpaRepository} and provides methods for incrementally updating the daily rollups of
+ * every {@link com.app.persistence.entity.RollupDimension} and for reading them over the whole days of a time range.
+ * The rows are read as {@link OrderRollupProjection} with only the columns of their dimension; the other columns
+ * are {@code null}, which the statistics reading them never use.
+ * </p>
+ */
+public interface OrderDimensionRollupRepository extends JpaRepository<OrderDimensionRollupEntity, OrderDimensionRollupId> {
+
+    /**
+     * Adds the given amount and quantity to the rollups of a day in every dimension.
+     * <p>
+     * The rollups that do not exist yet are created. Negative values are used when orders, clients or products are
+     * removed.
+     * </p>
+     *
+     * @param dayStart   the start of the day
+     * @param clientId   the ID of the client
+     * @param clientAge  the age of the client
+     * @param productId  the ID of the product
+     * @param categoryId the ID of the category of the product, {@code 0} if it has none
+     * @param amount     the amount to add to the total price
+     * @param quantity   the number of units to add to the quantity
+     */
+    @Modifying
+    @Query(value = """
+            insert into order_dimension_rollups (dimension, day_start, first_key, second_key, amount, quantity)
+            values ('CLIENT', :dayStart, :clientId, 0, :amount, :quantity),
+                   ('CLIENT_CATEGORY', :dayStart, :clientId, :categoryId, :amount, :quantity),
+                   ('AGE_CATEGORY', :dayStart, :clientAge, :categoryId, :amount, :quantity),
+                   ('AGE_PRODUCT', :dayStart, :clientAge, :productId, :amount, :quantity)
+            on duplicate key update amount = amount + :amount,
+                                    quantity = quantity + :quantity""",
+            nativeQuery = true)
+    void addRollups(Instant dayStart, Long clientId, int clientAge, Long productId, long categoryId,
+                    BigDecimal amount, long quantity);
+
+    /**
+     * Removes the rollups that no longer have any ordered units.
+     *
+     * @return the number of removed rollup rows
+     */
+    @Modifying
+    @Query("delete from OrderDimensionRollupEntity r where r.quantity <= 0")
+    int deleteEmpty();
+
+    /**
+     * Retrieves the total price of the orders of every client within whole days.
+     *
+     * @param fromDay the start of the first day
+     * @param toDay   the end of the last day
+     * @return a list of {@link OrderRollupProjection} with the client ID and the amount
+     */
+    @Query("""
+            select r.id.firstKey as clientId, sum(r.amount) as amount, sum(r.quantity) as quantity
+            from OrderDimensionRollupEntity r
+            where r.id.dimension = com.app.persistence.entity.RollupDimension.CLIENT
+            and r.id.dayStart >= :fromDay and r.id.dayStart < :toDay
+            group by r.id.firstKey""")
+    List<OrderRollupProjection> findClientRollups(Instant fromDay, Instant toDay);
+
+    /**
+     * Retrieves the total price and quantity of the orders of every client in one category within whole days.
+     *
+     * @param categoryId the ID of the category
+     * @param fromDay    the start of the first day
+     * @param toDay      the end of the last day
+     * @return a list of {@link OrderRollupProjection} with the client ID, the category, the amount and the quantity
+     */
+    @Query("""
+            select r.id.firstKey as clientId, cat.name as category, sum(r.amount) as amount, sum(r.quantity) as quantity
+            from OrderDimensionRollupEntity r
+            join CategoryEntity cat on cat.id = r.id.secondKey
+            where r.id.dimension = com.app.persistence.entity.RollupDimension.CLIENT_CATEGORY
+            and r.id.secondKey = :categoryId
+            and r.id.dayStart >= :fromDay and r.id.dayStart < :toDay
+            group by r.id.firstKey, cat.name""")
+    List<OrderRollupProjection> findClientRollupsInCategory(long categoryId, Instant fromDay, Instant toDay);
+
+    /**
+     * Retrieves the total price and quantity of the orders of every client in every category within whole days.
+     *
+     * @param fromDay the start of the first day
+     * @param toDay   the end of the last day
+     * @return a list of {@link OrderRollupProjection} with the client ID, the category, the amount and the quantity
+     */
+    @Query("""
+            select r.id.firstKey as clientId, cat.name as category, sum(r.amount) as amount, sum(r.quantity) as quantity
+            from OrderDimensionRollupEntity r
+            left join CategoryEntity cat on cat.id = r.id.secondKey
+            where r.id.dimension = com.app.persistence.entity.RollupDimension.CLIENT_CATEGORY
+            and r.id.dayStart >= :fromDay and r.id.dayStart < :toDay
+            group by r.id.firstKey, r.id.secondKey, cat.name""")
+    List<OrderRollupProjection> findClientCategoryRollups(Instant fromDay, Instant toDay);
+
+    /**
+     * Retrieves the number of units of every category ordered by the clients of every age within whole days.
+     *
+     * @param fromDay the start of the first day
+     * @param toDay   the end of the last day
+     * @return a list of {@link OrderRollupProjection} with the client age, the category and the quantity
+     */
+    @Query("""
+            select cast(r.id.firstKey as Integer) as clientAge, cat.name as category, sum(r.quantity) as quantity
+            from OrderDimensionRollupEntity r
+            left join CategoryEntity cat on cat.id = r.id.secondKey
+            where r.id.dimension = com.app.persistence.entity.RollupDimension.AGE_CATEGORY
+            and r.id.dayStart >= :fromDay and r.id.dayStart < :toDay
+            group by r.id.firstKey, r.id.secondKey, cat.name""")
+    List<OrderRollupProjection> findAgeCategoryRollups(Instant fromDay, Instant toDay);
+
+    /**
+     * Retrieves the number of units of every product ordered by the clients of every age within whole days.
+     *
+     * @param fromDay the start of the first day
+     * @param toDay   the end of the last day
+     * @return a list of {@link OrderRollupProjection} with the client age, the product ID and the quantity
+     */
+    @Query("""
+            select cast(r.id.firstKey as Integer) as clientAge, r.id.secondKey as productId, sum(r.quantity) as quantity
+            from OrderDimensionRollupEntity r
+            where r.id.dimension = com.app.persistence.entity.RollupDimension.AGE_PRODUCT
+            and r.id.dayStart >= :fromDay and r.id.dayStart < :toDay
+            group by r.id.firstKey, r.id.secondKey""")
+    List<OrderRollupProjection> findAgeProductRollups(Instant fromDay, Instant toDay);
+}
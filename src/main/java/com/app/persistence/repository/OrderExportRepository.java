@@ -0,0 +1,37 @@
+package com.app.persistence.repository;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.List;
+
+/**
+ * Repository fragment for reading all orders, joined with their clients and products, as plain rows.
+ * <p>
+ * The orders read through {@link CrudRepository#streamAllAfter(Long)} are entities attached to the persistence
+ * context, which keeps every one of them until the transaction ends. This fragment hands the rows of a forward-only
+ * JDBC cursor to a callback instead, so nothing is kept once a row has been processed.
+ * </p>
+ */
+public interface OrderExportRepository {
+
+    /**
+     * The columns of the rows, in the order of the result set.
+     */
+    List<String> EXPORT_COLUMNS = List.of(
+            "id",
+            "client_id", "client_name", "client_surname", "client_age", "client_cash",
+            "product_id", "product_name", "product_category", "product_price",
+            "quantity", "unit_price");
+
+    /**
+     * Reads the orders ordered by ID and passes every row, with the {@link #EXPORT_COLUMNS}, to the handler.
+     * <p>
+     * The rows are read one by one from the database while the handler processes them, and the connection is held
+     * until the last row has been processed.
+     * </p>
+     *
+     * @param after      the ID after which the orders start, {@code 0} for all of them
+     * @param rowHandler processes the row the result set is positioned on
+     */
+    void exportAll(Long after, RowCallbackHandler rowHandler);
+}
@@ -0,0 +1,65 @@
+package com.app.persistence.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+
+/**
+ * Implementation of the {@link OrderExportRepository} fragment using a {@link JdbcTemplate}.
+ * <p>
+ * The statement is forward-only and read-only, with the {@link StreamingFetchSize} of the database, so the rows are
+ * streamed instead of being read into memory.
+ * </p>
+ */
+public class OrderExportRepositoryImpl implements OrderExportRepository {
+
+    private static final String EXPORT_SQL = """
+            select o.id, c.id, c.name, c.surname, c.age, c.cash, p.id, p.name, cat.name, p.price, o.quantity, o.unit_price
+            from orders o
+            join clients c on c.id = o.client_id
+            join products p on p.id = o.product_id
+            left join categories cat on cat.id = p.category_id
+            where o.id > ?
+            order by o.id""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StreamingFetchSize fetchSize;
+
+    /**
+     * Constructor that initializes the {@link OrderExportRepositoryImpl} with the template and the fetch size.
+     *
+     * @param jdbcTemplate the template used to run the query
+     * @param fetchSize    the configured fetch size, {@code null} to choose it for the database
+     * @param dataSource   the data source of the statement
+     */
+    public OrderExportRepositoryImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${" + StreamingFetchSize.FETCH_SIZE_PROPERTY + ":#{null}}") Integer fetchSize,
+            DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = StreamingFetchSize.of(fetchSize, dataSource);
+    }
+
+    /**
+     * Runs the export query on a forward-only, read-only statement with the fetch size of the database, and passes
+     * every row to the handler while the result set is read.
+     *
+     * @param after      the ID after which the orders start, {@code 0} for all of them
+     * @param rowHandler processes the row the result set is positioned on
+     */
+    @Override
+    public void exportAll(Long after, RowCallbackHandler rowHandler) {
+        jdbcTemplate.query(
+                connection -> {
+                    var statement = connection.prepareStatement(
+                            EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(fetchSize.value());
+                    statement.setLong(1, after);
+                    return statement;
+                },
+                rowHandler);
+    }
+}
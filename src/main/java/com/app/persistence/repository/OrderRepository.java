@@ -4,35 +4,53 @@ import com.app.persistence.entity.view.AgeAndMostProductProjection;
 import com.app.persistence.entity.ClientEntity;
 import com.app.persistence.entity.OrderEntity;
 import com.app.persistence.entity.view.*;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing {@link OrderEntity} entities in the persistence layer.
  * <p>
  * This interface extends the {@link CrudRepository} and provides additional custom query methods for retrieving orders and related data,
  * such as clients with the highest total payment, most common product categories, and clients with debit balances.
+ * Many orders can be inserted at once through the {@link OrderBulkInsertRepository} fragment, and all of them can be
+ * read as plain rows through the {@link OrderExportRepository} fragment.
+ * </p>
+ * <p>
+ * Every order holds a quantity of its product and the unit price of the product at the time the order was placed,
+ * so the amounts are summed as the unit price multiplied by the quantity without joining the `products` table, and
+ * the most frequent products, categories and clients are found by the number of ordered units.
+ * </p>
+ * <p>
+ * Every "most often" statistic has two queries giving the same rows: one comparing every group with a correlated
+ * subquery, and a `Ranked` one keeping the groups ranked first by a window function in a single grouping of the
+ * orders. The query used is chosen per statistic with {@link com.app.statistic.query.QueryEngines}.
  * </p>
  */
-public interface OrderRepository extends CrudRepository<OrderEntity> {
+public interface OrderRepository extends CrudRepository<OrderEntity>, OrderBulkInsertRepository, OrderExportRepository,
+        StreamingRepository {
 
     /**
      * Retrieves a list of clients who have made the highest total payment.
      * <p>
      * The query calculates the total price of products purchased by each client and returns the clients with the highest total payment.
+     * The columns of the clients are read into views, so no entity is loaded into the persistence context.
      * </p>
      *
-     * @return a list of {@link ClientEntity} objects representing the clients with the highest total payment
+     * @return a list of {@link ClientView} objects representing the clients with the highest total payment
      */
     @Query("""
-            select o.clientEntity
+            select new com.app.persistence.entity.view.ClientView(o.clientEntity.id, o.clientEntity.name,
+                        o.clientEntity.surname, o.clientEntity.age, o.clientEntity.cash)
                         from OrderEntity o
                         group by o.clientEntity
-                        having sum(o.productEntity.price) =
+                        having sum(o.unitPrice * o.quantity) =
                         (select max(totalPrice)
-                        from( select sum(o.productEntity.price) as totalPrice from OrderEntity o group by o.clientEntity))""")
-    List<ClientEntity> getClientWithBiggerPayment();
+                        from( select sum(o.unitPrice * o.quantity) as totalPrice from OrderEntity o group by o.clientEntity))""")
+    List<ClientView> getClientWithBiggerPayment();
 
 
     /**
@@ -50,10 +68,10 @@ public interface OrderRepository extends CrudRepository<OrderEntity> {
                                     from OrderEntity o
                                     where o.productEntity.category = :category
                                     group by o.clientEntity
-                                    having sum(o.productEntity.price) =
+                                    having sum(o.unitPrice * o.quantity) =
                                     (select max(totalPrice)
                                     from(\s
-                                    select sum(o2.productEntity.price) as totalPrice
+                                    select sum(o2.unitPrice * o2.quantity) as totalPrice
                                     from OrderEntity o2
                                     where o2.productEntity.category = :category
                                     group by o2.clientEntity)
@@ -70,24 +88,50 @@ public interface OrderRepository extends CrudRepository<OrderEntity> {
      * @return a list of {@link AgeMostOftenCategoryProjection} containing the most common product category for each age group
      */
     @Query(value = """
-            select c.age as age, p.category as category
+            select c.age as age, cat.name as category
             from orders o
             join clients c on o.client_id = c.id
             join products p on o.product_id = p.id
-            group by c.age, p.category
-            having count(p.category) = (
+            join categories cat on cat.id = p.category_id
+            group by c.age, p.category_id
+            having sum(o.quantity) = (
                                     select max(amount)
-                                    from (select count(p2.category) as amount
+                                    from (select sum(o2.quantity) as amount
                                     from orders o2
                                     join clients c2 on o2.client_id = c2.id
                                     join products p2 on o2.product_id = p2.id
                                     where c2.age = c.age
-                                    group by p2.category)
+                                    group by p2.category_id)
                                     as total);
             """,
             nativeQuery = true)
     List<AgeMostOftenCategoryProjection> getAgeAndMostCategory();
 
+    /**
+     * Retrieves the most common product category for each age group with a window function.
+     * <p>
+     * The query groups the orders by client age and product category once and ranks the categories of every age by
+     * their number of ordered units, keeping the categories ranked first. Tied categories share the first rank, so
+     * the result is the same as the one of {@link #getAgeAndMostCategory()}, without grouping the orders again for
+     * every group.
+     * </p>
+     *
+     * @return a list of {@link AgeMostOftenCategoryProjection} containing the most common product category for each age group
+     */
+    @Query(value = """
+            select ranked.age as age, ranked.category as category
+            from (select c.age as age,
+                         cat.name as category,
+                         rank() over (partition by c.age order by sum(o.quantity) desc) as ranking
+                  from orders o
+                  join clients c on o.client_id = c.id
+                  join products p on o.product_id = p.id
+                  join categories cat on cat.id = p.category_id
+                  group by c.age, p.category_id) as ranked
+            where ranked.ranking = 1""",
+            nativeQuery = true)
+    List<AgeMostOftenCategoryProjection> getAgeAndMostCategoryRanked();
+
     /**
      * Retrieves the clients who have purchased the most items within the same product category.
      * <p>
@@ -97,7 +141,7 @@ public interface OrderRepository extends CrudRepository<OrderEntity> {
      * @return a list of {@link CategoryAndMostClientProjection} representing the clients who purchased the most items within a product category
      */
     @Query(value = """
-            select p.category as category,
+            select cat.name as category,
             c.id as id,
             c.name as name,
             c.surname as surname,
@@ -106,17 +150,52 @@ public interface OrderRepository extends CrudRepository<OrderEntity> {
             from orders o
             join clients c on c.id = o.client_id
             join products p on p.id = o.product_id
-            group by p.category, c.id
-            having count(p.category) = (select max(totalCount)
-            from (select count(p2.category) as totalCount
+            join categories cat on cat.id = p.category_id
+            group by p.category_id, c.id
+            having sum(o.quantity) = (select max(totalCount)
+            from (select sum(o2.quantity) as totalCount
                     from orders o2
                     join clients c2 on c2.id = o2.client_id
                     join products p2 on p2.id = o2.product_id
-                    where p.category = p2.category
-                    group by c2.id, p2.category) as maxCounts);""",
+                    where p.category_id = p2.category_id
+                    group by c2.id, p2.category_id) as maxCounts);""",
             nativeQuery = true)
     List<CategoryAndMostClientProjection> getCategoryAndMostClient();
 
+    /**
+     * Retrieves the clients who have purchased the most items within the same product category with a window function.
+     * <p>
+     * The query groups the orders by product category and client once and ranks the clients of every category by
+     * their number of ordered units, keeping the clients ranked first. Tied clients share the first rank, so the
+     * result is the same as the one of {@link #getCategoryAndMostClient()}, without grouping the orders again for
+     * every group.
+     * </p>
+     *
+     * @return a list of {@link CategoryAndMostClientProjection} representing the clients who purchased the most items within a product category
+     */
+    @Query(value = """
+            select ranked.category as category,
+                   ranked.id as id,
+                   ranked.name as name,
+                   ranked.surname as surname,
+                   ranked.age as age,
+                   ranked.cash as cash
+            from (select cat.name as category,
+                         c.id as id,
+                         c.name as name,
+                         c.surname as surname,
+                         c.age as age,
+                         c.cash as cash,
+                         rank() over (partition by p.category_id order by sum(o.quantity) desc) as ranking
+                  from orders o
+                  join clients c on c.id = o.client_id
+                  join products p on p.id = o.product_id
+                  join categories cat on cat.id = p.category_id
+                  group by p.category_id, c.id, c.name, c.surname, c.age, c.cash) as ranked
+            where ranked.ranking = 1""",
+            nativeQuery = true)
+    List<CategoryAndMostClientProjection> getCategoryAndMostClientRanked();
+
     /**
      * Retrieves a list of clients who have a debit balance (i.e., clients whose total spending exceeds their available cash).
      * <p>
@@ -132,10 +211,10 @@ public interface OrderRepository extends CrudRepository<OrderEntity> {
             o.clientEntity.surname,
             o.clientEntity.age,
             o.clientEntity.cash,
-            o.clientEntity.cash - sum(o.productEntity.price)
+            o.clientEntity.cash - sum(o.unitPrice * o.quantity)
             ) from OrderEntity o
             group by o.clientEntity.id, o.clientEntity.name, o.clientEntity.surname, o.clientEntity.age, o.clientEntity.cash
-            having o.clientEntity.cash - sum(o.productEntity.price) < 0
+            having o.clientEntity.cash - sum(o.unitPrice * o.quantity) < 0
             """,
             nativeQuery = false)
     List<ClientAndDebitDto> getClientAndDebit();
@@ -152,17 +231,218 @@ public interface OrderRepository extends CrudRepository<OrderEntity> {
             select c.age as age,
                    p.id as id,
                    p.name as name,
-                   p.category as category,
+                   cat.name as category,
                    p.price as price from orders o
                                         join clients c on c.id = o.client_id
                                         join products p on p.id = o.product_id
+                                        join categories cat on cat.id = p.category_id
             group by c.age, p.id
-            having count(p.id) = (select max(count) from (
-                select count(p2.id) as count
+            having sum(o.quantity) = (select max(count) from (
+                select sum(o2.quantity) as count
                 from orders o2
                          join clients c2 on c2.id = o2.client_id
-                         join products p2 on p2.id = o2.product_id
                 where c.age = c2.age
-                group by c2.age, p2.id) as sec)""", nativeQuery = true)
+                group by c2.age, o2.product_id) as sec)""", nativeQuery = true)
     List<AgeAndMostProductProjection> getAgeAndMostProduct();
+
+    /**
+     * Retrieves the most frequently purchased products for each client age group with a window function.
+     * <p>
+     * The query groups the orders by client age and product once and ranks the products of every age by their
+     * number of ordered units, keeping the products ranked first. Tied products share the first rank, so the
+     * result is the same as the one of {@link #getAgeAndMostProduct()}, without grouping the orders again for
+     * every group.
+     * </p>
+     *
+     * @return a list of {@link AgeAndMostProductProjection} containing the most frequently purchased products for each age group
+     */
+    @Query(value = """
+            select ranked.age as age,
+                   ranked.id as id,
+                   ranked.name as name,
+                   ranked.category as category,
+                   ranked.price as price
+            from (select c.age as age,
+                         p.id as id,
+                         p.name as name,
+                         cat.name as category,
+                         p.price as price,
+                         rank() over (partition by c.age order by sum(o.quantity) desc) as ranking
+                  from orders o
+                  join clients c on c.id = o.client_id
+                  join products p on p.id = o.product_id
+                  join categories cat on cat.id = p.category_id
+                  group by c.age, p.id, p.name, p.category_id, p.price) as ranked
+            where ranked.ranking = 1""",
+            nativeQuery = true)
+    List<AgeAndMostProductProjection> getAgeAndMostProductRanked();
+
+    /**
+     * Retrieves the spending of each client within the orders with the given IDs.
+     * <p>
+     * The query is used to update the `client_spend` aggregate before the orders are removed.
+     * </p>
+     *
+     * @param ids the IDs of the orders
+     * @return a list of {@link ClientSpendDeltaProjection} with the total price and number of the orders per client
+     */
+    @Query("""
+            select o.clientEntity.id as clientId, sum(o.unitPrice * o.quantity) as amount, count(o) as orderCount
+            from OrderEntity o
+            where o.id in :ids
+            group by o.clientEntity.id""")
+    List<ClientSpendDeltaProjection> getClientSpendByOrderIds(List<Long> ids);
+
+    /**
+     * Retrieves the spending of each client within the orders of the products with the given IDs.
+     * <p>
+     * The query is used to update the `client_spend` aggregate before the products, and with them their orders, are removed.
+     * </p>
+     *
+     * @param ids the IDs of the products
+     * @return a list of {@link ClientSpendDeltaProjection} with the total price and number of the orders per client
+     */
+    @Query("""
+            select o.clientEntity.id as clientId, sum(o.unitPrice * o.quantity) as amount, count(o) as orderCount
+            from OrderEntity o
+            where o.productEntity.id in :ids
+            group by o.clientEntity.id""")
+    List<ClientSpendDeltaProjection> getClientSpendByProductIds(List<Long> ids);
+
+    /**
+     * Streams all orders ordered by ID, together with the columns of their clients and products.
+     * <p>
+     * The query is used to load the in-memory {@link com.app.statistic.cube.OrderCube}. The rows are read as scalar
+     * columns with the {@link StreamingFetchSize} instead of as entities, so neither the result nor the persistence
+     * context grows with the number of orders, and the stream has to be consumed and closed within a transaction.
+     * </p>
+     *
+     * @return a stream of {@link OrderCubeRowProjection} with every order and its client and product
+     */
+    default Stream<OrderCubeRowProjection> streamCubeRows() {
+        return stream(OrderCubeRowProjection.class, """
+                select o.id as orderId, c.id as clientId, c.name as clientName, c.surname as clientSurname,
+                c.age as clientAge, c.cash as clientCash, p.id as productId, p.name as productName,
+                p.category as category, p.price as productPrice, o.quantity as quantity,
+                o.unitPrice * o.quantity as amount
+                from OrderEntity o
+                join o.clientEntity c
+                join o.productEntity p
+                order by o.id""", Map.of());
+    }
+
+    /**
+     * Retrieves the spending of each client in each product category within the orders with the given IDs.
+     * <p>
+     * The query is used to update the per-category leaderboard before the orders are removed.
+     * </p>
+     *
+     * @param ids the IDs of the orders
+     * @return a list of {@link CategorySpendProjection} with the total price and number of the orders per client and category
+     */
+    @Query("""
+            select o.productEntity.category as category, o.clientEntity.id as clientId,
+            sum(o.unitPrice * o.quantity) as amount, count(o) as orderCount
+            from OrderEntity o
+            where o.id in :ids
+            group by o.productEntity.category, o.clientEntity.id""")
+    List<CategorySpendProjection> getCategorySpendByOrderIds(List<Long> ids);
+
+    /**
+     * Retrieves the spending of each client in each product category within the orders of the products with the given IDs.
+     * <p>
+     * The query is used to update the per-category leaderboard before the products, and with them their orders, are removed.
+     * </p>
+     *
+     * @param ids the IDs of the products
+     * @return a list of {@link CategorySpendProjection} with the total price and number of the orders per client and category
+     */
+    @Query("""
+            select o.productEntity.category as category, o.clientEntity.id as clientId,
+            sum(o.unitPrice * o.quantity) as amount, count(o) as orderCount
+            from OrderEntity o
+            where o.productEntity.id in :ids
+            group by o.productEntity.category, o.clientEntity.id""")
+    List<CategorySpendProjection> getCategorySpendByProductIds(List<Long> ids);
+
+    /**
+     * Streams the spending of each client in each product category over all orders.
+     * <p>
+     * The query is used to rebuild the per-category leaderboard in one pass. The rows are streamed with the
+     * {@link StreamingFetchSize} instead of being read into memory, so the stream has to be consumed and closed
+     * within a transaction.
+     * </p>
+     *
+     * @return a stream of {@link CategorySpendProjection} with the total price and number of the orders per client and category
+     */
+    default Stream<CategorySpendProjection> streamCategorySpend() {
+        return stream(CategorySpendProjection.class, """
+                select o.productEntity.category as category, o.clientEntity.id as clientId,
+                sum(o.unitPrice * o.quantity) as amount, count(o) as orderCount
+                from OrderEntity o
+                group by o.productEntity.category, o.clientEntity.id""", Map.of());
+    }
+
+    /**
+     * Retrieves a page of orders with IDs greater than the given one, ordered by ID, together with their clients
+     * and products.
+     * <p>
+     * The associations are fetched in the same statement, so a page takes a single query.
+     * </p>
+     *
+     * @param after the ID after which the page starts, {@code 0} for the first page
+     * @param limit the maximum number of orders in the page
+     * @return the orders of the page with initialized clients and products
+     */
+    @Override
+    @Query("""
+            select o
+            from OrderEntity o
+            join fetch o.clientEntity
+            join fetch o.productEntity
+            where o.id > :after
+            order by o.id""")
+    List<OrderEntity> findPageAfter(Long after, Limit limit);
+
+    /**
+     * Streams all orders with IDs greater than the given one, ordered by ID, together with their clients and products.
+     * <p>
+     * The associations are fetched in the same statement, because no other query can run on the connection while
+     * the MySQL driver streams the rows.
+     * </p>
+     *
+     * @param after the ID after which the stream starts, {@code 0} for all orders
+     * @return a stream of the orders with initialized clients and products
+     */
+    @Override
+    default Stream<OrderEntity> streamAllAfter(Long after) {
+        return stream(OrderEntity.class, """
+                select o
+                from OrderEntity o
+                join fetch o.clientEntity
+                join fetch o.productEntity
+                where o.id > :after
+                order by o.id""", Map.of("after", after));
+    }
+
+    /**
+     * Retrieves the creation time, client and its age, product and its category, total price and quantity of the
+     * orders with the given IDs.
+     * <p>
+     * The query is used to update the `order_rollups` and `order_dimension_rollups` aggregates before the orders are
+     * removed. The orders are not
+     * grouped, because their buckets are computed from the creation time.
+     * </p>
+     *
+     * @param ids the IDs of the orders
+     * @return a list of {@link OrderRollupDeltaProjection}, one per order
+     */
+    @Query("""
+            select o.createdAt as createdAt, c.id as clientId, c.age as clientAge, p.id as productId,
+            p.category as category, o.unitPrice * o.quantity as amount, o.quantity as quantity
+            from OrderEntity o
+            join o.clientEntity c
+            join o.productEntity p
+            where o.id in :ids""")
+    List<OrderRollupDeltaProjection> getRollupDeltaByOrderIds(List<Long> ids);
 }
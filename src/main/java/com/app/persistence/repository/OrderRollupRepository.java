@@ -0,0 +1,158 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.OrderRollupEntity;
+import com.app.persistence.entity.OrderRollupId;
+import com.app.persistence.entity.view.OrderRollupDeltaProjection;
+import com.app.persistence.entity.view.OrderRollupProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link OrderRollupEntity} aggregates in the persistence layer.
+ * <p>
+ * This interface extends {@link JpaRepository} and provides methods for incrementally updating the hourly and daily
+ * rollups of the orders, removing the rollups of removed clients and products and the expired hourly rollups, and
+ * reading the orders of every client for every product within the edge hours of a time range.
+ * </p>
+ */
+public interface OrderRollupRepository extends JpaRepository<OrderRollupEntity, OrderRollupId> {
+
+    /**
+     * Adds the given amount and quantity to the rollup of a bucket, client and product.
+     * <p>
+     * If the rollup does not exist yet, a new one is created. Negative values are used when orders are removed.
+     * </p>
+     *
+     * @param granularity the name of the {@link com.app.persistence.entity.RollupGranularity} of the bucket
+     * @param bucketStart the start of the bucket
+     * @param clientId    the ID of the client
+     * @param productId   the ID of the product
+     * @param amount      the amount to add to the total price
+     * @param quantity    the number of units to add to the quantity
+     */
+    @Modifying
+    @Query(value = """
+            insert into order_rollups (granularity, bucket_start, client_id, product_id, amount, quantity)
+            values (:granularity, :bucketStart, :clientId, :productId, :amount, :quantity)
+            on duplicate key update amount = amount + :amount,
+                                    quantity = quantity + :quantity""",
+            nativeQuery = true)
+    void addRollup(String granularity, Instant bucketStart, Long clientId, Long productId, BigDecimal amount, long quantity);
+
+    /**
+     * Removes the rollups of buckets that no longer have any ordered units.
+     *
+     * @return the number of removed rollup rows
+     */
+    @Modifying
+    @Query("delete from OrderRollupEntity r where r.quantity <= 0")
+    int deleteEmpty();
+
+    /**
+     * Removes the hourly rollups of the buckets starting before the given time. The daily rollups of the same orders
+     * are kept.
+     *
+     * @param before the time before which the hourly buckets are removed
+     * @return the number of removed rollup rows
+     */
+    @Modifying
+    @Query("""
+            delete from OrderRollupEntity r
+            where r.id.granularity = com.app.persistence.entity.RollupGranularity.HOUR
+            and r.id.bucketStart < :before""")
+    int deleteHourlyBefore(Instant before);
+
+    /**
+     * Removes all rollups of the clients with the given IDs.
+     *
+     * @param ids the IDs of the clients
+     * @return the number of removed rollup rows
+     */
+    @Modifying
+    @Query("delete from OrderRollupEntity r where r.id.clientId in :ids")
+    int deleteByClientIds(List<Long> ids);
+
+    /**
+     * Removes all rollups of the products with the given IDs.
+     *
+     * @param ids the IDs of the products
+     * @return the number of removed rollup rows
+     */
+    @Modifying
+    @Query("delete from OrderRollupEntity r where r.id.productId in :ids")
+    int deleteByProductIds(List<Long> ids);
+
+    /**
+     * Retrieves the daily rollups of the clients with the given IDs, with the age of the client and the category of
+     * the product.
+     * <p>
+     * The query is used to subtract the clients from the `order_dimension_rollups` before their rollups are removed.
+     * </p>
+     *
+     * @param ids the IDs of the clients
+     * @return a list of {@link OrderRollupDeltaProjection}, one per day, client and product
+     */
+    @Query("""
+            select r.id.bucketStart as createdAt, r.id.clientId as clientId, c.age as clientAge,
+            r.id.productId as productId, p.category as category, r.amount as amount, cast(r.quantity as Integer) as quantity
+            from OrderRollupEntity r
+            join ClientEntity c on c.id = r.id.clientId
+            join ProductEntity p on p.id = r.id.productId
+            where r.id.granularity = com.app.persistence.entity.RollupGranularity.DAY
+            and r.id.clientId in :ids""")
+    List<OrderRollupDeltaProjection> getDailyDeltaByClientIds(List<Long> ids);
+
+    /**
+     * Retrieves the daily rollups of the products with the given IDs, with the age of the client and the category of
+     * the product.
+     * <p>
+     * The query is used to subtract the products from the `order_dimension_rollups` before their rollups are removed.
+     * </p>
+     *
+     * @param ids the IDs of the products
+     * @return a list of {@link OrderRollupDeltaProjection}, one per day, client and product
+     */
+    @Query("""
+            select r.id.bucketStart as createdAt, r.id.clientId as clientId, c.age as clientAge,
+            r.id.productId as productId, p.category as category, r.amount as amount, cast(r.quantity as Integer) as quantity
+            from OrderRollupEntity r
+            join ClientEntity c on c.id = r.id.clientId
+            join ProductEntity p on p.id = r.id.productId
+            where r.id.granularity = com.app.persistence.entity.RollupGranularity.DAY
+            and r.id.productId in :ids""")
+    List<OrderRollupDeltaProjection> getDailyDeltaByProductIds(List<Long> ids);
+
+    /**
+     * Retrieves the total price and quantity of the orders of every client for every product within the hours at the
+     * edges of a time range.
+     * <p>
+     * The hours before and after the whole days of the range, from {@code fromHour} to {@code fromDay} and from
+     * {@code toDay} to {@code toHour}, are read from the hourly rollups; the whole days are read from the
+     * {@link OrderDimensionRollupRepository}. A range without a whole day has {@code fromDay} and {@code toDay} at
+     * its end, so all its hours are read. The age of the client and the category of the product are joined to
+     * every row.
+     * </p>
+     *
+     * @param fromHour the start of the range, rounded down to a whole hour
+     * @param fromDay  the start of the first whole day in the range
+     * @param toDay    the end of the last whole day in the range
+     * @param toHour   the end of the range, rounded up to a whole hour
+     * @return a list of {@link OrderRollupProjection} with the orders per client and product within the edge hours
+     */
+    @Query("""
+            select r.id.clientId as clientId, c.age as clientAge, r.id.productId as productId, p.category as category,
+            sum(r.amount) as amount, sum(r.quantity) as quantity
+            from OrderRollupEntity r
+            join ClientEntity c on c.id = r.id.clientId
+            join ProductEntity p on p.id = r.id.productId
+            where r.id.granularity = com.app.persistence.entity.RollupGranularity.HOUR
+            and ((r.id.bucketStart >= :fromHour and r.id.bucketStart < :fromDay)
+                 or (r.id.bucketStart >= :toDay and r.id.bucketStart < :toHour))
+            group by r.id.clientId, c.age, r.id.productId, p.category""")
+    List<OrderRollupProjection> findHourlyInRange(Instant fromHour, Instant fromDay, Instant toDay, Instant toHour);
+}
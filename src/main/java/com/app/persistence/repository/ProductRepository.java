@@ -1,14 +1,17 @@
 package com.app.persistence.repository;
 
 import com.app.persistence.entity.ProductEntity;
-import com.app.persistence.entity.view.PriceStatisticByCategoryProjection;
+import com.app.persistence.entity.view.ProductKey;
+import com.app.persistence.entity.view.ProductPriceProjection;
+import com.app.persistence.entity.view.ProductView;
 import lombok.NonNull;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing {@link ProductEntity} entities in the persistence layer.
@@ -18,7 +21,7 @@ import java.util.Optional;
  * performing aggregate statistics on products by category.
  * </p>
  */
-public interface ProductRepository extends CrudRepository<ProductEntity>, JpaSpecificationExecutor<ProductEntity> {
+public interface ProductRepository extends CrudRepository<ProductEntity>, JpaSpecificationExecutor<ProductEntity>, StreamingRepository {
 
     /**
      * Retrieves all products that match the given specification.
@@ -52,10 +55,59 @@ public interface ProductRepository extends CrudRepository<ProductEntity>, JpaSpe
      */
     Optional<ProductEntity> findByNameAndCategory(String name, String category);
 
+    /**
+     * Retrieves the names and categories of the products whose name is one of the given names and whose category
+     * is one of the given categories.
+     * <p>
+     * The result may contain combinations which were not asked for, so it has to be filtered by the caller.
+     * </p>
+     *
+     * @param names      the names of the products
+     * @param categories the categories of the products
+     * @return the names and categories of the matching products
+     */
+    @Query("""
+            select new com.app.persistence.entity.view.ProductKey(p.name, p.category)
+            from ProductEntity p
+            where p.name in :names and p.category in :categories""")
+    List<ProductKey> findKeysByNameInAndCategoryIn(Collection<String> names, Collection<String> categories);
+
+    /**
+     * Finds which of the given names and categories already belong to products.
+     * <p>
+     * The keys are checked in chunks of {@value #IN_CLAUSE_CHUNK_SIZE}, one query per chunk, so a batch of N products
+     * takes N / {@value #IN_CLAUSE_CHUNK_SIZE} round trips instead of N.
+     * </p>
+     *
+     * @param keys the names and categories to be checked
+     * @return the existing keys, converted with {@link ProductKey#ignoringCase()}
+     */
+    default Set<ProductKey> findExistingKeys(Collection<ProductKey> keys) {
+        var requested = new ArrayList<>(keys);
+        var existing = new HashSet<ProductKey>();
+        for (int from = 0; from < requested.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            var chunk = requested.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, requested.size()));
+            var chunkKeys = new HashSet<ProductKey>();
+            chunk.forEach(key -> chunkKeys.add(key.ignoringCase()));
+
+            findKeysByNameInAndCategoryIn(
+                    chunk.stream().map(ProductKey::name).collect(Collectors.toSet()),
+                    chunk.stream().map(ProductKey::category).collect(Collectors.toSet()))
+                    .stream()
+                    .map(ProductKey::ignoringCase)
+                    .filter(chunkKeys::contains)
+                    .forEach(existing::add);
+        }
+        return existing;
+    }
+
     /**
      * Retrieves a list of all unique product categories in the repository.
      * <p>
-     * This query returns a list of distinct product categories that are available in the database.
+     * This query returns a list of distinct product categories that are available in the database. The products are
+     * grouped by the ID of their category, which the {@link com.app.persistence.entity.CategoryConverter} translates to
+     * its name. The categories of all products, including those without any product, are listed by the
+     * {@link CategoryDictionary} without reading the products.
      * </p>
      *
      * @return a list of strings representing all unique product categories
@@ -66,33 +118,39 @@ public interface ProductRepository extends CrudRepository<ProductEntity>, JpaSpe
     List<String> getAllCategories();
 
     /**
-     * Retrieves the price statistics (average, minimum, and maximum price) for each product category,
-     * along with the product that has the minimum price and the product that has the maximum price in each category.
+     * Streams the ID, name, category and price of all products.
      * <p>
-     * This query calculates aggregate statistics for each category, including the average price, minimum price, and maximum price.
-     * It also retrieves the product details for the products with the minimum and maximum prices.
+     * The query is used to build the price statistics of all categories in one pass. The rows are streamed with the
+     * {@link StreamingFetchSize} instead of being read into memory, so the stream has to be consumed and closed
+     * within a transaction.
      * </p>
      *
-     * @return a list of {@link PriceStatisticByCategoryProjection} containing the statistics for each category
+     * @return a stream of {@link ProductPriceProjection} for all products
+     */
+    default Stream<ProductPriceProjection> streamProductPrices() {
+        return stream(ProductPriceProjection.class, """
+                select p.id as id, p.name as name, p.category as category, p.price as price
+                from ProductEntity p""", Map.of());
+    }
+
+    /**
+     * Retrieves the columns of the products with the given IDs without loading their entities.
+     *
+     * @param ids the IDs of the products
+     * @return a list of {@link ProductView} objects for the products found, in no particular order
      */
-    @Query(value = """
-            WITH     category_stats AS (
-                                                    SELECT
-                                                        p.category AS category,
-                                                        AVG(p.price) AS avg_price,
-                                                        MIN(p.price) AS min_price,
-                                                        MAX(p.price) AS max_price
-                                                    FROM products p
-                                                    GROUP BY p.category
-                                                )
-                                                SELECT
-                                                    cs.category as category,
-                                                    cs.avg_price as avgPrice,
-                                                    p_min.id AS minId, p_min.name AS minName, p_min.price AS minPrice,
-                                                    p_max.id AS maxId, p_max.name AS maxName, p_max.price AS maxPrice
-                                                FROM category_stats cs
-                                                         JOIN products p_min ON p_min.price = cs.min_price AND p_min.category = cs.category
-                                                         JOIN products p_max ON p_max.price = cs.max_price AND p_max.category = cs.category;""",
-            nativeQuery = true)
-    List<PriceStatisticByCategoryProjection> getCategoryAndPriceStatistic();
+    @Query("""
+            select new com.app.persistence.entity.view.ProductView(p.id, p.name, p.category, p.price)
+            from ProductEntity p
+            where p.id in :ids""")
+    List<ProductView> findViewsByIdIn(Collection<Long> ids);
+
+    @Override
+    default Stream<ProductEntity> streamAllAfter(Long after) {
+        return stream(ProductEntity.class, """
+                select p
+                from ProductEntity p
+                where p.id > :after
+                order by p.id""", Map.of("after", after));
+    }
 }
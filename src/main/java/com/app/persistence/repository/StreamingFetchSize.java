@@ -0,0 +1,64 @@
+package com.app.persistence.repository;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * The fetch size of the statements streaming large results from a database cursor.
+ * <p>
+ * The size is read from the `persistence.streaming.fetch-size` property. Without it, the size depends on the
+ * database, because the MySQL driver reads the whole result into memory unless the fetch size is
+ * {@link Integer#MIN_VALUE}, while the other drivers reject a negative fetch size: it is {@link Integer#MIN_VALUE}
+ * for MySQL and {@value #DEFAULT_FETCH_SIZE} rows for the other databases. The database is told by the JDBC driver
+ * rather than by the Hibernate dialect, which is MySQL also when H2 runs in its MySQL mode.
+ * </p>
+ *
+ * @param value the fetch size set on the statements
+ */
+public record StreamingFetchSize(int value) {
+
+    /**
+     * The property holding the configured fetch size.
+     */
+    public static final String FETCH_SIZE_PROPERTY = "persistence.streaming.fetch-size";
+
+    /**
+     * The fetch size used for the databases other than MySQL.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    private static final String MYSQL_PRODUCT_NAME = "MySQL";
+
+    /**
+     * Returns the configured fetch size, or chooses the one of the database behind the data source.
+     *
+     * @param configured the value of `persistence.streaming.fetch-size`, {@code null} if it is not set
+     * @param dataSource the data source of the streaming statements
+     * @return the fetch size of the streaming statements
+     * @throws IllegalStateException if the database cannot be determined
+     */
+    public static StreamingFetchSize of(Integer configured, DataSource dataSource) {
+        if (configured != null) {
+            return new StreamingFetchSize(configured);
+        }
+
+        try {
+            return forDatabase(JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Database of the streaming queries cannot be determined", e);
+        }
+    }
+
+    /**
+     * Chooses the fetch size streaming the rows of the database with the given product name.
+     *
+     * @param productName the product name reported by the JDBC driver
+     * @return {@link Integer#MIN_VALUE} for MySQL, {@value #DEFAULT_FETCH_SIZE} otherwise
+     */
+    public static StreamingFetchSize forDatabase(String productName) {
+        return new StreamingFetchSize(MYSQL_PRODUCT_NAME.equals(productName) ? Integer.MIN_VALUE : DEFAULT_FETCH_SIZE);
+    }
+}
@@ -0,0 +1,30 @@
+package com.app.persistence.repository;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Repository fragment for streaming the results of JPQL queries from a database cursor.
+ * <p>
+ * The fetch size of a streaming statement depends on the database, so it cannot be set by a
+ * {@link org.springframework.data.jpa.repository.QueryHints} annotation. The streaming methods of the repositories
+ * are default methods passing their queries to this fragment instead, which sets the {@link StreamingFetchSize}.
+ * </p>
+ */
+public interface StreamingRepository {
+
+    /**
+     * Runs the query and streams its results.
+     * <p>
+     * An interface type is filled from the aliases of the selected values, like the interface projections of the
+     * query methods. The stream must be consumed and closed inside a transaction.
+     * </p>
+     *
+     * @param type       the type of the results, an entity, a class of a constructor expression or an interface
+     * @param query      the JPQL query
+     * @param parameters the values of the named parameters of the query
+     * @param <R>        the type of the results
+     * @return a stream of the results
+     */
+    <R> Stream<R> stream(Class<R> type, String query, Map<String, ?> parameters);
+}
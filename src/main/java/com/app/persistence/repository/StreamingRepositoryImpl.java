@@ -0,0 +1,63 @@
+package com.app.persistence.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the {@link StreamingRepository} fragment using the {@link EntityManager} of the current
+ * transaction.
+ */
+public class StreamingRepositoryImpl implements StreamingRepository {
+
+    private final StreamingFetchSize fetchSize;
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Constructor that initializes the {@link StreamingRepositoryImpl} with the fetch size of the statements.
+     *
+     * @param fetchSize  the configured fetch size, {@code null} to choose it for the database
+     * @param dataSource the data source of the statements
+     */
+    public StreamingRepositoryImpl(
+            @Value("${" + StreamingFetchSize.FETCH_SIZE_PROPERTY + ":#{null}}") Integer fetchSize,
+            DataSource dataSource) {
+        this.fetchSize = StreamingFetchSize.of(fetchSize, dataSource);
+    }
+
+    @Override
+    public <R> Stream<R> stream(Class<R> type, String query, Map<String, ?> parameters) {
+        if (!type.isInterface()) {
+            return prepare(entityManager.createQuery(query, type), parameters).getResultStream();
+        }
+
+        return prepare(entityManager.createQuery(query, Tuple.class), parameters)
+                .getResultStream()
+                .map(tuple -> projectionFactory.createProjection(type, values(tuple)));
+    }
+
+    private <Q extends Query> Q prepare(Q query, Map<String, ?> parameters) {
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize.value());
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+
+    private static Map<String, Object> values(Tuple tuple) {
+        var values = new HashMap<String, Object>();
+        tuple.getElements().forEach(element -> values.put(element.getAlias(), tuple.get(element)));
+        return values;
+    }
+}
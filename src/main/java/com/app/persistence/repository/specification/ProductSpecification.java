@@ -38,4 +38,12 @@ public interface ProductSpecification {
      * @return a {@link Specification} that can be used in a query to filter {@link ProductEntity} objects
      */
     Specification<ProductEntity> dynamicFilter(ProductFilterSpecification productFilterSpecification);
+
+    /**
+     * Generates a {@link Specification} matching the products with IDs greater than the given one.
+     *
+     * @param id the ID after which the products are matched
+     * @return a {@link Specification} used to read the filtered products page by page
+     */
+    Specification<ProductEntity> idGreaterThan(Long id);
 }
@@ -1,6 +1,7 @@
 package com.app.persistence.repository.specification.impl;
 
 import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.repository.CategoryRepository;
 import com.app.persistence.repository.specification.ProductSpecification;
 import com.app.persistence.repository.specification.specification.ProductFilterSpecification;
 import jakarta.persistence.criteria.Predicate;
@@ -10,10 +11,25 @@ import org.springframework.stereotype.Component;
 /**
  * Implementation of the {@link ProductSpecification} interface that provides methods for filtering
  * {@link ProductEntity} objects based on specific criteria like category and price.
+ * <p>
+ * The category pattern is matched against the names in the {@link com.app.persistence.repository.CategoryDictionary},
+ * so the products are filtered by the IDs of the matching categories instead of a `LIKE` on every product.
+ * </p>
  */
 @Component
 public class ProductSpecificationImpl implements ProductSpecification {
 
+    private final CategoryRepository categoryRepository;
+
+    /**
+     * Constructor that initializes the {@link ProductSpecificationImpl} with the repository holding the categories.
+     *
+     * @param categoryRepository the repository used to match the category pattern
+     */
+    public ProductSpecificationImpl(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
     /**
      * Creates a dynamic filter specification for querying {@link ProductEntity} objects based on
      * the provided {@link ProductFilterSpecification}.
@@ -26,11 +42,12 @@ public class ProductSpecificationImpl implements ProductSpecification {
         return ((root, query, cb) -> {
             Predicate p = cb.conjunction(); // Initialize the conjunction (AND condition)
 
-            // Filter by category if the category is specified
+            // Filter by the categories matching the pattern if the category is specified
             if (productFilterSpecification.category() != null && !productFilterSpecification.category().isEmpty()) {
+                var categories = categoryRepository.findCategoryNamesLike(productFilterSpecification.category());
                 p = cb.and(
                         p,
-                        cb.like(root.get("category"), productFilterSpecification.category()));
+                        categories.isEmpty() ? cb.disjunction() : root.get("category").in(categories));
             }
 
             // Filter by minimum price if specified
@@ -50,4 +67,14 @@ public class ProductSpecificationImpl implements ProductSpecification {
             return p; // Return the constructed predicate as the filter condition
         });
     }
+
+    /**
+     * Creates a specification matching the {@link ProductEntity} objects with IDs greater than the given one.
+     *
+     * @param id the ID after which the products are matched
+     * @return a {@link Specification} comparing the product ID
+     */
+    public Specification<ProductEntity> idGreaterThan(Long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
 }
@@ -0,0 +1,251 @@
+package com.app.persistence.routing;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Data source sending the connections of read-only transactions to a pool of replicas and all other connections
+ * to the primary database.
+ * <p>
+ * The replicas are used in turn. A replica is skipped while it is down, that is after it failed to give a connection
+ * or the last health check, and the primary is used when all replicas are down. The health of every replica is checked
+ * every `persistence.replicas.health-check-interval-ms` milliseconds, which brings a replica back once it answers.
+ * </p>
+ * <p>
+ * When a transaction which is not read-only commits, the session which ran it is pinned to the primary for the
+ * read-your-writes window, so its next reads see its writes even if the replicas lag behind. The session is
+ * identified by the key given by the session key supplier. Without a key, as for anonymous requests and background
+ * threads, the pin belongs to the current thread only, so such writers do not pin each other. The expired pins are
+ * swept every `persistence.replicas.pin-sweep-interval-ms` milliseconds rather than on every write.
+ * </p>
+ * <p>
+ * The route is chosen when a connection is requested, so the data source has to be wrapped in a
+ * {@link LazyConnectionDataSourceProxy}: the proxy requests the connection at the first statement, after the
+ * read-only flag of the transaction is set.
+ * </p>
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Settings settings;
+    private final Supplier<String> sessionKey;
+    private final Clock clock;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Instant> pinnedUntil = new ConcurrentHashMap<>();
+    private final ThreadLocal<Instant> threadPinnedUntil = new ThreadLocal<>();
+
+    /**
+     * The settings of the routing.
+     *
+     * @param pinWindow          how long a session reads from the primary after its write committed
+     * @param healthCheckTimeout how long a replica may take to answer the health check
+     */
+    public record Settings(Duration pinWindow, Duration healthCheckTimeout) {
+    }
+
+    /**
+     * Creates a data source routing between the primary and the replicas.
+     *
+     * @param primary    the primary database, used for writes and as the fallback
+     * @param replicas   the replicas keyed by their name, used in the iteration order of the map
+     * @param settings   the settings of the routing
+     * @param sessionKey gives the key of the session running the current transaction, or null without a session
+     * @param clock      the clock measuring the read-your-writes window
+     */
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            Map<String, DataSource> replicas,
+            Settings settings,
+            Supplier<String> sessionKey,
+            Clock clock) {
+        this.primary = primary;
+        this.replicas = replicas
+                .entrySet()
+                .stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue()))
+                .toList();
+        this.settings = settings;
+        this.sessionKey = sessionKey;
+        this.clock = clock;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(target -> target.getConnection(username, password));
+    }
+
+    /**
+     * Checks every replica and marks it up or down depending on whether it gives a valid connection in time.
+     */
+    @Scheduled(fixedDelayString = "${persistence.replicas.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        var timeout = (int) Math.max(1, settings.healthCheckTimeout().toSeconds());
+
+        for (var replica : replicas) {
+            try (var connection = replica.target.getConnection()) {
+                replica.up = connection.isValid(timeout);
+            } catch (SQLException e) {
+                replica.up = false;
+            }
+        }
+    }
+
+    /**
+     * Forgets the pins of the sessions whose read-your-writes window has passed.
+     */
+    @Scheduled(fixedDelayString = "${persistence.replicas.pin-sweep-interval-ms:60000}")
+    public void sweepExpiredPins() {
+        var now = clock.instant();
+        pinnedUntil.values().removeIf(until -> !until.isAfter(now));
+    }
+
+    /**
+     * Retrieves the names of the replicas which are currently up.
+     *
+     * @return the names of the replicas used for read-only transactions, in the order they are used
+     */
+    public List<String> getReplicasUp() {
+        return replicas
+                .stream()
+                .filter(replica -> replica.up)
+                .map(replica -> replica.name)
+                .toList();
+    }
+
+    /**
+     * Closes the primary and the replicas which can be closed, such as connection pools.
+     */
+    @Override
+    public void close() {
+        close(primary);
+        replicas.forEach(replica -> close(replica.target));
+    }
+
+    /**
+     * Requests a connection from the route of the current transaction, falling back to the primary when the
+     * chosen replica fails to give one.
+     */
+    private Connection connect(Connector connector) throws SQLException {
+        var replica = route();
+        if (replica != null) {
+            try {
+                return connector.connect(replica.target);
+            } catch (SQLException e) {
+                replica.up = false;
+            }
+        }
+
+        return connector.connect(primary);
+    }
+
+    /**
+     * Chooses the replica for the current transaction.
+     *
+     * @return the next replica which is up, or null when the primary has to be used
+     */
+    private Replica route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinAfterCommit(sessionKey.get());
+            return null;
+        }
+
+        if (isPinned(sessionKey.get())) {
+            return null;
+        }
+
+        for (int i = 0; i < replicas.size(); i++) {
+            var replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (replica.up) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pins the session to the primary once the current transaction commits, or at once without a transaction.
+     */
+    private void pinAfterCommit(String session) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pin(session);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pin(session);
+            }
+        });
+    }
+
+    /**
+     * Pins the session, or the current thread without a session, to the primary for the read-your-writes window.
+     */
+    private void pin(String session) {
+        var until = clock.instant().plus(settings.pinWindow());
+        if (session == null) {
+            threadPinnedUntil.set(until);
+        } else {
+            pinnedUntil.put(session, until);
+        }
+    }
+
+    private boolean isPinned(String session) {
+        var until = session == null ? threadPinnedUntil.get() : pinnedUntil.get(session);
+        return until != null && until.isAfter(clock.instant());
+    }
+
+    private static void close(DataSource target) {
+        if (target instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ignored) {
+                // The data sources are closed on shutdown, when a failure to close them has no effect
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource target) throws SQLException;
+    }
+
+    /**
+     * A replica with its health, which is read and written by the request and the health check threads.
+     */
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource target;
+        private volatile boolean up = true;
+
+        private Replica(String name, DataSource target) {
+            this.name = name;
+            this.target = target;
+        }
+    }
+}
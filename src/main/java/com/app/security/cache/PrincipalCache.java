@@ -0,0 +1,126 @@
+package com.app.security.cache;
+
+import com.app.security.dto.UsernamePasswordAuthenticationTokenDto;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+
+/**
+ * In-memory cache of the principals of authenticated users, keyed by the user ID.
+ * <p>
+ * A principal is kept as long as an access token is valid, so a user whose token is still accepted does not have
+ * to be read from the database on every request. When the cache is full, the least recently used principal is
+ * evicted. A principal is evicted as soon as the role of its user changes.
+ * </p>
+ * <p>
+ * A principal loaded before an eviction of the same user is returned to its caller but not stored, so a request
+ * which read the old role never brings it back into the cache.
+ * </p>
+ * <p>
+ * The class is thread safe: the cache is locked on every access, and the lock is never held while a principal
+ * is loaded.
+ * </p>
+ */
+public class PrincipalCache {
+
+    private final Duration ttl;
+    private final int maxSize;
+    private final Clock clock;
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Incremented by every eviction, so a principal loaded before it can be recognized.
+     */
+    private long generation;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param ttl     how long a principal is kept after it was loaded, usually the lifetime of an access token
+     * @param maxSize the maximum number of principals, {@code 0} to cache nothing
+     * @param clock   the clock used to expire the principals
+     * @throws IllegalArgumentException if the time to live or the maximum size is negative
+     */
+    public PrincipalCache(Duration ttl, int maxSize, Clock clock) {
+        if (ttl == null || ttl.isNegative()) {
+            throw new IllegalArgumentException("Principal cache ttl cannot be negative");
+        }
+
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Principal cache max size cannot be negative");
+        }
+
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached principal of a user, loading and storing it when it is missing or expired.
+     *
+     * @param userId the ID of the user
+     * @param loader loads the principal of the user; it may throw if the user does not exist
+     * @return the principal of the user
+     */
+    public UsernamePasswordAuthenticationTokenDto get(
+            Long userId,
+            Function<Long, UsernamePasswordAuthenticationTokenDto> loader) {
+        long startGeneration;
+        synchronized (this) {
+            var entry = entries.get(userId);
+            if (entry != null) {
+                if (clock.millis() < entry.expiresAt()) {
+                    return entry.principal();
+                }
+                entries.remove(userId);
+            }
+            startGeneration = generation;
+        }
+
+        var principal = loader.apply(userId);
+
+        synchronized (this) {
+            if (maxSize > 0 && startGeneration == generation) {
+                entries.put(userId, new Entry(principal, clock.millis() + ttl.toMillis()));
+                var iterator = entries.values().iterator();
+                while (entries.size() > maxSize) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+        }
+        return principal;
+    }
+
+    /**
+     * Evicts the principal of a user.
+     *
+     * @param userId the ID of the user
+     */
+    public synchronized void evict(Long userId) {
+        generation++;
+        entries.remove(userId);
+    }
+
+    /**
+     * Evicts the principals of all users.
+     */
+    public synchronized void evictAll() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * Returns the current number of cached principals.
+     *
+     * @return the number of cached principals
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry(UsernamePasswordAuthenticationTokenDto principal, long expiresAt) {
+    }
+}
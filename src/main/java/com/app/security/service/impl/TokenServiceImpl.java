@@ -1,10 +1,13 @@
 package com.app.security.service.impl;
 
+import com.app.persistence.entity.UserEntity;
 import com.app.persistence.repository.UserRepository;
+import com.app.security.cache.PrincipalCache;
 import com.app.security.dto.RefreshTokenDto;
 import com.app.security.dto.TokensDto;
 import com.app.security.service.TokenService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -25,6 +28,10 @@ import java.util.List;
  * and refreshing tokens when necessary. It uses JWT (JSON Web Token) to create signed tokens for
  * user authentication and authorization. The service uses user details from the database to generate tokens.
  * </p>
+ * <p>
+ * Tokens are verified by a single shared {@link JwtParser} and signed with an explicit HS512 algorithm, and every
+ * token is parsed only once per call.
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
@@ -32,7 +39,9 @@ public class TokenServiceImpl implements TokenService {
 
     private final UserRepository userRepository;
     private final SecretKey secretKey;
+    private final JwtParser jwtParser;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
     @Value("${tokens.refresh.expiration_time_ms}")
     private long refreshExpirationTimeMs;
@@ -75,6 +84,8 @@ public class TokenServiceImpl implements TokenService {
      * <p>
      * This method extracts the token from the authorization header, verifies its validity, and retrieves
      * the user details associated with the token. It then creates and returns a {@link UsernamePasswordAuthenticationToken}.
+     * The token is parsed once, which checks both its signature and its expiration time. The user details are
+     * read from the {@link PrincipalCache}, so the database is only queried when the user is not cached.
      * </p>
      *
      * @param header the authorization header containing the access token
@@ -88,26 +99,24 @@ public class TokenServiceImpl implements TokenService {
         }
 
         var token = header.replaceAll(prefix, "");
-        expirationTime(token);
-
         var userId = id(token);
 
-        return userRepository.findById(userId)
-                .map(userFromDb -> {
-                    var userDto = userFromDb.toUsernamePasswordAuthenticationTokenDto();
-                    return new UsernamePasswordAuthenticationToken(
-                            userDto.username(),
-                            null,
-                            List.of(new SimpleGrantedAuthority(userDto.role()))
-                    );
-                }).orElseThrow(() -> new IllegalArgumentException("Authorization failed"));
+        var userDto = principalCache.get(userId, id -> userRepository.findById(id)
+                .map(UserEntity::toUsernamePasswordAuthenticationTokenDto)
+                .orElseThrow(() -> new IllegalArgumentException("Authorization failed")));
+
+        return new UsernamePasswordAuthenticationToken(
+                userDto.username(),
+                null,
+                List.of(new SimpleGrantedAuthority(userDto.role()))
+        );
     }
 
     /**
      * Refreshes the access token using the provided refresh token.
      * <p>
      * This method validates the refresh token, checks if the associated access token is still valid,
-     * and generates a new set of tokens if possible.
+     * and generates a new set of tokens if possible. The refresh token is parsed once.
      * </p>
      *
      * @param refreshTokenDto the DTO containing the refresh token
@@ -121,18 +130,17 @@ public class TokenServiceImpl implements TokenService {
             throw new IllegalArgumentException("Refresh token cannot be null");
         }
 
-        var refreshToken = refreshTokenDto.token();
-        expirationTime(refreshToken);
+        var refreshClaims = claims(refreshTokenDto.token());
 
-        var accessTokenExpirationTime = accessTokenExpirationTimeFromRefreshToken(refreshToken);
+        var accessTokenExpirationTime = refreshClaims.get(accessTokenExpirationTimeMsProperty, Long.class);
         if (accessTokenExpirationTime < System.currentTimeMillis()) {
             throw new IllegalStateException("Cannot create a new access token - old access token is expired");
         }
 
-        var userId = id(refreshToken);
+        var userId = Long.parseLong(refreshClaims.getSubject());
         var currentTime = new Date();
         var newAccessTokenExpirationTime = new Date(currentTime.getTime() + accessTokenExpirationTime);
-        var refreshTokenExpirationTime = expirationTime(refreshToken);
+        var refreshTokenExpirationTime = refreshClaims.getExpiration();
 
         return getTokens(userId, currentTime, newAccessTokenExpirationTime, refreshTokenExpirationTime);
     }
@@ -152,7 +160,7 @@ public class TokenServiceImpl implements TokenService {
                 .subject(userId + "")
                 .expiration(accessTokenExpirationTime)
                 .issuedAt(currentTime)
-                .signWith(secretKey)
+                .signWith(secretKey, Jwts.SIG.HS512)
                 .compact();
 
         var refreshToken = Jwts
@@ -161,7 +169,7 @@ public class TokenServiceImpl implements TokenService {
                 .expiration(refreshTokenExpirationTime)
                 .issuedAt(currentTime)
                 .claim(accessTokenExpirationTimeMsProperty, accessTokenExpirationTime.getTime())
-                .signWith(secretKey)
+                .signWith(secretKey, Jwts.SIG.HS512)
                 .compact();
 
         return new TokensDto(accessToken, refreshToken);
@@ -174,10 +182,7 @@ public class TokenServiceImpl implements TokenService {
      * @return the claims parsed from the token
      */
     private Claims claims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(secretKey)
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -191,25 +196,4 @@ public class TokenServiceImpl implements TokenService {
     public Long id(String token) {
         return Long.parseLong(claims(token).getSubject());
     }
-
-    /**
-     * Extracts the expiration time from the token.
-     *
-     * @param token the JWT token
-     * @return the expiration time of the token
-     */
-    private Date expirationTime(String token) {
-        return claims(token).getExpiration();
-    }
-
-    /**
-     * Extracts the access token expiration time from the refresh token.
-     *
-     * @param refreshToken the refresh token
-     * @return the expiration time of the access token
-     */
-    private Long accessTokenExpirationTimeFromRefreshToken(String refreshToken) {
-        return claims(refreshToken)
-                .get(accessTokenExpirationTimeMsProperty, Long.class);
-    }
 }
@@ -1,6 +1,7 @@
 package com.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * A generic interface that provides CRUD (Create, Read, Update, Delete) operations for entities of type {@link U}.
@@ -26,6 +27,23 @@ public interface CrudService<U> {
      */
     List<U> findAllByIds(List<Long> ids);
 
+    /**
+     * Finds a page of entities ordered by ID, starting after the given ID.
+     *
+     * @param after the ID of the last entity of the previous page, {@code 0} for the first page
+     * @param size  the maximum number of entities in the page
+     * @return the entities of the page
+     */
+    List<U> findPage(Long after, int size);
+
+    /**
+     * Passes all entities ordered by ID, starting after the given ID, to the action one by one as they are read.
+     *
+     * @param after  the ID after which the entities start, {@code 0} for all entities
+     * @param action the action receiving every entity
+     */
+    void streamAll(Long after, Consumer<U> action);
+
     /**
      * Removes an entity by its ID.
      *
@@ -0,0 +1,24 @@
+package com.app.service;
+
+/**
+ * Interface for the outbox of emails. Emails are queued in the transaction of the change they report and sent
+ * later in batches, retrying the failed ones.
+ */
+public interface EmailOutboxService {
+
+    /**
+     * Queues an email in the current transaction.
+     *
+     * @param email   the recipient's email address
+     * @param subject the subject of the email
+     * @param body    the body content of the email
+     */
+    void enqueue(String email, String subject, String body);
+
+    /**
+     * Sends the queued emails which are due, until none are left.
+     *
+     * @return the number of sent emails
+     */
+    int dispatch();
+}
@@ -1,5 +1,10 @@
 package com.app.service;
 
+import org.springframework.mail.SimpleMailMessage;
+
+import java.util.List;
+import java.util.Map;
+
 /**
  * Interface for sending emails. This service provides a method to send an email with a subject and body to a specified recipient.
  */
@@ -13,4 +18,12 @@ public interface EmailService {
      * @param body    the body content of the email
      */
     void send(String email, String subject, String body);
+
+    /**
+     * Sends the messages over a single connection to the mail server.
+     *
+     * @param messages the messages to send
+     * @return the messages which could not be sent with the cause of the failure, empty if all were sent
+     */
+    Map<SimpleMailMessage, Exception> send(List<SimpleMailMessage> messages);
 }
@@ -0,0 +1,38 @@
+package com.app.service;
+
+import com.app.exporter.ExportFormat;
+import com.app.statistic.cache.CachedStatistic;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Interface providing methods for exporting orders and shop statistics as rows of CSV or newline delimited JSON.
+ * <p>
+ * The rows are written to the given stream while they are read, so an export of any size uses the same memory.
+ * </p>
+ */
+public interface ExportService {
+
+    /**
+     * Exports the orders ordered by ID, each joined with its client and product.
+     *
+     * @param after  the ID after which the orders start, {@code 0} for all of them
+     * @param format the format of the rows
+     * @param out    the stream the rows are written to
+     * @throws IOException if the rows cannot be written
+     */
+    void exportOrders(Long after, ExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Exports the result of a shop statistic, one row per client, product or category of the result.
+     *
+     * @param statistic the statistic
+     * @param category  the category of the statistics computed for a single category, ignored by the others
+     * @param format    the format of the rows
+     * @param out       the stream the rows are written to
+     * @throws IOException if the rows cannot be written
+     */
+    void exportStatistic(CachedStatistic statistic, String category, ExportFormat format, OutputStream out)
+            throws IOException;
+}
@@ -0,0 +1,43 @@
+package com.app.service;
+
+import com.app.importer.ImportFormat;
+import com.app.importer.ImportReport;
+
+import java.io.InputStream;
+
+/**
+ * Interface providing methods for the bulk import of clients, products and orders.
+ * <p>
+ * Unlike the methods adding lists of records, an import saves every valid record and reports the other ones,
+ * and it reads the records while they are being saved instead of reading the whole list first.
+ * </p>
+ */
+public interface ImportService {
+
+    /**
+     * Imports clients given as {@link com.app.controller.dto.ClientDto} records.
+     *
+     * @param data   the records
+     * @param format the format of the records
+     * @return the report of the import
+     */
+    ImportReport importClients(InputStream data, ImportFormat format);
+
+    /**
+     * Imports products given as {@link com.app.controller.dto.product.ProductDto} records.
+     *
+     * @param data   the records
+     * @param format the format of the records
+     * @return the report of the import
+     */
+    ImportReport importProducts(InputStream data, ImportFormat format);
+
+    /**
+     * Imports orders given as {@link com.app.controller.dto.order.OrderAddDto} records.
+     *
+     * @param data   the records
+     * @param format the format of the records
+     * @return the report of the import
+     */
+    ImportReport importOrders(InputStream data, ImportFormat format);
+}
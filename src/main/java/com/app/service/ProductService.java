@@ -5,6 +5,7 @@ import com.app.controller.dto.product.ProductsFilterDto;
 import com.app.model.Product;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface for managing products. Extends the {@link CrudService} interface to inherit basic CRUD operations
@@ -51,4 +52,22 @@ public interface ProductService extends CrudService<Product> {
      * @return a list of products that match the filter criteria
      */
     List<Product> filterProducts(ProductsFilterDto productsFilterDto);
+
+    /**
+     * Filters products based on the provided filter criteria and returns a page of them ordered by ID.
+     *
+     * @param productsFilterDto the DTO containing the filter criteria
+     * @param after             the ID of the last product of the previous page, {@code 0} for the first page
+     * @param size              the maximum number of products in the page
+     * @return the matching products of the page
+     */
+    List<Product> filterProductsPage(ProductsFilterDto productsFilterDto, Long after, int size);
+
+    /**
+     * Filters products based on the provided filter criteria and passes them, ordered by ID, to the action one by one.
+     *
+     * @param productsFilterDto the DTO containing the filter criteria
+     * @param action            the action receiving every matching product
+     */
+    void streamFilteredProducts(ProductsFilterDto productsFilterDto, Consumer<Product> action);
 }
@@ -3,6 +3,7 @@ package com.app.service;
 import com.app.model.Client;
 import com.app.model.Product;
 import com.app.statistic.Statistic;
+import com.app.statistic.TimeRange;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -12,6 +13,7 @@ import java.util.Map;
  * Interface for generating shop statistics related to clients, products, and categories.
  * This service provides methods for retrieving data about client payments, product categories,
  * and various statistical breakdowns such as age distribution, top products, and category statistics.
+ * The statistics of orders can also be limited to the orders placed within a {@link TimeRange}.
  */
 public interface ShopStatisticService {
 
@@ -64,4 +66,55 @@ public interface ShopStatisticService {
      * @return a map where the key is a {@link Client} object and the value is their total debit amount
      */
     Map<Client, BigDecimal> getClientsAndDebit();
+
+    /**
+     * Retrieves a list of clients with the highest payments for the orders placed within a time range.
+     *
+     * @param range the time range of the orders
+     * @return a list of clients with the highest payments within the range
+     */
+    List<Client> getClientWithBiggerPayment(TimeRange range);
+
+    /**
+     * Retrieves a list of clients who have made the highest payments in a specific category for the orders placed
+     * within a time range.
+     *
+     * @param category the category of interest
+     * @param range    the time range of the orders
+     * @return a list of clients with the highest payments in the specified category within the range
+     */
+    List<Client> getClientWithBiggerPaymentInCategory(String category, TimeRange range);
+
+    /**
+     * Retrieves a map of age groups and their most purchased product categories for the orders placed within a time range.
+     *
+     * @param range the time range of the orders
+     * @return a map where the key is the age group and the value is a list of most purchased categories by that group
+     */
+    Map<Integer, List<String>> getAgeAndMostCategory(TimeRange range);
+
+    /**
+     * Retrieves a map of age groups and their most purchased products for the orders placed within a time range.
+     *
+     * @param range the time range of the orders
+     * @return a map where the key is the age group and the value is a list of most purchased products by that group
+     */
+    Map<Integer, List<Product>> getAgeAndMostProduct(TimeRange range);
+
+    /**
+     * Retrieves a map of product categories and the clients who have purchased the most from each category for the
+     * orders placed within a time range.
+     *
+     * @param range the time range of the orders
+     * @return a map where the key is the category name and the value is a list of clients who purchased the most from that category
+     */
+    Map<String, List<Client>> getCategoryAndMostClient(TimeRange range);
+
+    /**
+     * Retrieves a map of clients whose orders placed within a time range exceed their cash, and their debit amounts.
+     *
+     * @param range the time range of the orders
+     * @return a map where the key is a {@link Client} object and the value is their debit amount within the range
+     */
+    Map<Client, BigDecimal> getClientsAndDebit(TimeRange range);
 }
@@ -0,0 +1,67 @@
+package com.app.service;
+
+import com.app.controller.dto.statistic.StatisticCacheStatsDto;
+
+import java.util.Map;
+
+/**
+ * Interface for maintaining the derived data behind the shop statistics.
+ * Provides methods for recomputing incrementally maintained aggregates and in-memory structures from the `orders` table
+ * and for verifying them against the queries they replace, and for inspecting the cache of the statistic results.
+ */
+public interface StatisticMaintenanceService {
+
+    /**
+     * Recomputes the per-client spending aggregate from the `orders` table.
+     *
+     * @return the number of clients present in the rebuilt aggregate
+     */
+    Long rebuildClientSpend();
+
+    /**
+     * Checks whether the per-client spending aggregate gives the same clients with the biggest payment
+     * as the grouping query over all orders.
+     *
+     * @return {@code true} if both sources agree, {@code false} otherwise
+     */
+    Boolean verifyClientSpend();
+
+    /**
+     * Checks whether the balances kept in the per-client spending aggregate give the same clients in debit,
+     * with the same debit, as the grouping query over all orders.
+     *
+     * @return {@code true} if both sources agree, {@code false} otherwise
+     */
+    Boolean verifyClientDebit();
+
+    /**
+     * Rebuilds the per-category leaderboard of top spenders with one pass over the `orders` table.
+     *
+     * @return the number of categories present in the rebuilt leaderboard
+     */
+    Long rebuildCategoryLeaderboard();
+
+    /**
+     * Checks whether the per-category leaderboard gives the same clients with the biggest payment in the category
+     * as the grouping query over all orders in that category.
+     *
+     * @param category the category to verify
+     * @return {@code true} if both sources agree, {@code false} otherwise
+     */
+    Boolean verifyCategoryLeaderboard(String category);
+
+    /**
+     * Reads the counters of the cache of every shop statistic.
+     *
+     * @return the counters of the cache keyed by the name of the statistic
+     */
+    Map<String, StatisticCacheStatsDto> getStatisticCacheStats();
+
+    /**
+     * Removes the hourly rollups of the orders older than their retention, whose orders stay counted in the daily
+     * rollups.
+     *
+     * @return the number of removed hourly rollups
+     */
+    Long compactOrderRollups();
+}
@@ -0,0 +1,231 @@
+package com.app.service.impl;
+
+import com.app.model.Client;
+import com.app.model.Product;
+import com.app.service.ShopStatisticService;
+import com.app.statistic.Statistic;
+import com.app.statistic.TimeRange;
+import com.app.statistic.cache.CachedStatistic;
+import com.app.statistic.cache.StatisticCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the {@link ShopStatisticService} interface that answers the shop statistics from the
+ * {@link StatisticCache}.
+ * <p>
+ * Missing results are computed by {@link CubeShopStatisticServiceImpl} when the order cube is enabled, and by
+ * {@link ShopStatisticServiceImpl} otherwise. The cached results are invalidated by
+ * {@link com.app.listener.StatisticCacheListener} whenever orders, products or clients change. The statistics over
+ * a {@link TimeRange} are not cached, because every range is a different argument; they are read from the order
+ * rollups anyway.
+ * </p>
+ */
+@Primary
+@Service
+public class CachingShopStatisticServiceImpl implements ShopStatisticService {
+
+    /**
+     * The argument under which the results of statistics without arguments are cached.
+     */
+    private static final String NO_ARGUMENT = "";
+
+    private final StatisticCache statisticCache;
+    private final ShopStatisticService shopStatisticService;
+
+    /**
+     * Constructor that initializes the {@link CachingShopStatisticServiceImpl} with the cache and the service
+     * computing the statistics.
+     *
+     * @param statisticCache               the cache of the statistic results
+     * @param cubeShopStatisticService     the service answering from the order cube, available only when it is enabled
+     * @param databaseShopStatisticService the service answering from the database
+     */
+    public CachingShopStatisticServiceImpl(
+            StatisticCache statisticCache,
+            ObjectProvider<CubeShopStatisticServiceImpl> cubeShopStatisticService,
+            ShopStatisticServiceImpl databaseShopStatisticService) {
+        this.statisticCache = statisticCache;
+        ShopStatisticService cube = cubeShopStatisticService.getIfAvailable();
+        this.shopStatisticService = cube != null ? cube : databaseShopStatisticService;
+    }
+
+    /**
+     * Retrieves a list of clients with the highest total payment amounts.
+     *
+     * @return A list of clients with the highest total payment amounts.
+     */
+    @Override
+    public List<Client> getClientWithBiggerPayment() {
+        return statisticCache.get(
+                CachedStatistic.CLIENT_WITH_BIGGER_PAYMENT,
+                NO_ARGUMENT,
+                shopStatisticService::getClientWithBiggerPayment);
+    }
+
+    /**
+     * Retrieves a list of clients who have spent the most in a specific product category.
+     *
+     * @param category The category to filter by.
+     * @return A list of clients who have spent the most in the specified category.
+     * @throws IllegalArgumentException if the category is null or empty.
+     */
+    @Override
+    public List<Client> getClientWithBiggerPaymentInCategory(String category) {
+        if (category == null) {
+            throw new IllegalArgumentException("Category cannot be null");
+        }
+
+        if (category.isEmpty()) {
+            throw new IllegalArgumentException("Category cannot be empty");
+        }
+
+        return statisticCache.get(
+                CachedStatistic.CLIENT_WITH_BIGGER_PAYMENT_IN_CATEGORY,
+                category,
+                () -> shopStatisticService.getClientWithBiggerPaymentInCategory(category));
+    }
+
+    /**
+     * Retrieves a map of client ages and their most frequently purchased product categories.
+     *
+     * @return A map of client ages to lists of most frequently purchased categories.
+     */
+    @Override
+    public Map<Integer, List<String>> getAgeAndMostCategory() {
+        return statisticCache.get(
+                CachedStatistic.AGE_AND_MOST_CATEGORY,
+                NO_ARGUMENT,
+                shopStatisticService::getAgeAndMostCategory);
+    }
+
+    /**
+     * Retrieves a map of client ages and their most frequently purchased products.
+     *
+     * @return A map of client ages to lists of most frequently purchased products.
+     */
+    @Override
+    public Map<Integer, List<Product>> getAgeAndMostProduct() {
+        return statisticCache.get(
+                CachedStatistic.AGE_AND_MOST_PRODUCT,
+                NO_ARGUMENT,
+                shopStatisticService::getAgeAndMostProduct);
+    }
+
+    /**
+     * Retrieves statistics about product prices grouped by category.
+     *
+     * @return A map of categories to product price statistics.
+     */
+    @Override
+    public Map<String, Statistic<Product, BigDecimal>> getCategoryAndPriceStatistic() {
+        return statisticCache.get(
+                CachedStatistic.CATEGORY_AND_PRICE_STATISTIC,
+                NO_ARGUMENT,
+                shopStatisticService::getCategoryAndPriceStatistic);
+    }
+
+    /**
+     * Retrieves a map of product categories and their most frequent clients.
+     *
+     * @return A map of product categories to lists of the most frequent clients.
+     */
+    @Override
+    public Map<String, List<Client>> getCategoryAndMostClient() {
+        return statisticCache.get(
+                CachedStatistic.CATEGORY_AND_MOST_CLIENT,
+                NO_ARGUMENT,
+                shopStatisticService::getCategoryAndMostClient);
+    }
+
+    /**
+     * Retrieves a map of clients and their associated debit values.
+     *
+     * @return A map of clients to their debit values.
+     */
+    @Override
+    public Map<Client, BigDecimal> getClientsAndDebit() {
+        return statisticCache.get(
+                CachedStatistic.CLIENTS_AND_DEBIT,
+                NO_ARGUMENT,
+                shopStatisticService::getClientsAndDebit);
+    }
+
+    /**
+     * Retrieves a list of clients with the highest total payment amounts
+     * for the orders placed within a time range, without caching.
+     *
+     * @param range The time range of the orders.
+     * @return A list of clients with the highest total payment amounts within the range.
+     */
+    @Override
+    public List<Client> getClientWithBiggerPayment(TimeRange range) {
+        return shopStatisticService.getClientWithBiggerPayment(range);
+    }
+
+    /**
+     * Retrieves a list of clients who have spent the most in a specific product category
+     * for the orders placed within a time range, without caching.
+     *
+     * @param category The category to filter by.
+     * @param range The time range of the orders.
+     * @return A list of clients who have spent the most in the specified category within the range.
+     */
+    @Override
+    public List<Client> getClientWithBiggerPaymentInCategory(String category, TimeRange range) {
+        return shopStatisticService.getClientWithBiggerPaymentInCategory(category, range);
+    }
+
+    /**
+     * Retrieves a map of client ages and their most frequently purchased product categories
+     * for the orders placed within a time range, without caching.
+     *
+     * @param range The time range of the orders.
+     * @return A map of client ages to lists of most frequently purchased categories within the range.
+     */
+    @Override
+    public Map<Integer, List<String>> getAgeAndMostCategory(TimeRange range) {
+        return shopStatisticService.getAgeAndMostCategory(range);
+    }
+
+    /**
+     * Retrieves a map of client ages and their most frequently purchased products
+     * for the orders placed within a time range, without caching.
+     *
+     * @param range The time range of the orders.
+     * @return A map of client ages to lists of most frequently purchased products within the range.
+     */
+    @Override
+    public Map<Integer, List<Product>> getAgeAndMostProduct(TimeRange range) {
+        return shopStatisticService.getAgeAndMostProduct(range);
+    }
+
+    /**
+     * Retrieves a map of product categories and their most frequent clients
+     * for the orders placed within a time range, without caching.
+     *
+     * @param range The time range of the orders.
+     * @return A map of product categories to lists of the most frequent clients within the range.
+     */
+    @Override
+    public Map<String, List<Client>> getCategoryAndMostClient(TimeRange range) {
+        return shopStatisticService.getCategoryAndMostClient(range);
+    }
+
+    /**
+     * Retrieves a map of clients and their associated debit values
+     * for the orders placed within a time range, without caching.
+     *
+     * @param range The time range of the orders.
+     * @return A map of clients to their debit values within the range.
+     */
+    @Override
+    public Map<Client, BigDecimal> getClientsAndDebit(TimeRange range) {
+        return shopStatisticService.getClientsAndDebit(range);
+    }
+}
@@ -0,0 +1,216 @@
+package com.app.service.impl;
+
+import com.app.model.Client;
+import com.app.model.Product;
+import com.app.persistence.repository.CategoryRepository;
+import com.app.service.ShopStatisticService;
+import com.app.statistic.Statistic;
+import com.app.statistic.TimeRange;
+import com.app.statistic.cube.OrderCube;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of the {@link ShopStatisticService} interface that answers the order statistics from the in-memory
+ * {@link OrderCube}.
+ * <p>
+ * This service is active only when the `statistic.cube.enabled` property is set to `true`, and then it replaces
+ * {@link ShopStatisticServiceImpl} behind {@link CachingShopStatisticServiceImpl}. Until the cube is loaded, and for
+ * the product price statistics which do not depend on orders, the calls are delegated to
+ * {@link ShopStatisticServiceImpl}. The cube holds no order times, so the statistics over a {@link TimeRange} are
+ * delegated as well and answered from the order rollups.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(name = "statistic.cube.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class CubeShopStatisticServiceImpl implements ShopStatisticService {
+
+    private final OrderCube orderCube;
+    private final ShopStatisticServiceImpl shopStatisticService;
+    private final CategoryRepository categoryRepository;
+
+    /**
+     * Retrieves a list of clients with the highest total payment amounts from the cube.
+     *
+     * @return A list of clients with the highest total payment amounts.
+     */
+    @Override
+    public List<Client> getClientWithBiggerPayment() {
+        return fromCube(OrderCube::getClientWithBiggerPayment, shopStatisticService::getClientWithBiggerPayment);
+    }
+
+    /**
+     * Retrieves a list of clients who have spent the most in a specific product category from the cube.
+     * <p>
+     * The cube keeps the categories in the spelling they were registered with, which the {@link CategoryRepository}
+     * resolves the category to.
+     * </p>
+     *
+     * @param category The category to filter by, in any case.
+     * @return A list of clients who have spent the most in the specified category.
+     * @throws IllegalArgumentException if the category is null or empty.
+     */
+    @Override
+    public List<Client> getClientWithBiggerPaymentInCategory(String category) {
+        if (category == null) {
+            throw new IllegalArgumentException("Category cannot be null");
+        }
+
+        if (category.isEmpty()) {
+            throw new IllegalArgumentException("Category cannot be empty");
+        }
+
+        return fromCube(
+                cube -> {
+                    var registered = categoryRepository.findCanonicalName(category);
+                    return registered == null ? List.of() : cube.getClientWithBiggerPaymentInCategory(registered);
+                },
+                () -> shopStatisticService.getClientWithBiggerPaymentInCategory(category));
+    }
+
+    /**
+     * Retrieves a map of client ages and their most frequently purchased product categories from the cube.
+     *
+     * @return A map of client ages to lists of most frequently purchased categories.
+     */
+    @Override
+    public Map<Integer, List<String>> getAgeAndMostCategory() {
+        return fromCube(OrderCube::getAgeAndMostCategory, shopStatisticService::getAgeAndMostCategory);
+    }
+
+    /**
+     * Retrieves a map of client ages and their most frequently purchased products from the cube.
+     *
+     * @return A map of client ages to lists of most frequently purchased products.
+     */
+    @Override
+    public Map<Integer, List<Product>> getAgeAndMostProduct() {
+        return fromCube(OrderCube::getAgeAndMostProduct, shopStatisticService::getAgeAndMostProduct);
+    }
+
+    /**
+     * Retrieves statistics about product prices grouped by category.
+     * <p>
+     * The statistics cover all products, not only the ordered ones, so they are always delegated to
+     * {@link ShopStatisticServiceImpl}.
+     * </p>
+     *
+     * @return A map of categories to product price statistics.
+     */
+    @Override
+    public Map<String, Statistic<Product, BigDecimal>> getCategoryAndPriceStatistic() {
+        return shopStatisticService.getCategoryAndPriceStatistic();
+    }
+
+    /**
+     * Retrieves a map of product categories and their most frequent clients from the cube.
+     *
+     * @return A map of product categories to lists of the most frequent clients.
+     */
+    @Override
+    public Map<String, List<Client>> getCategoryAndMostClient() {
+        return fromCube(OrderCube::getCategoryAndMostClient, shopStatisticService::getCategoryAndMostClient);
+    }
+
+    /**
+     * Retrieves a map of clients and their associated debit values from the cube.
+     *
+     * @return A map of clients to their debit values.
+     */
+    @Override
+    public Map<Client, BigDecimal> getClientsAndDebit() {
+        return fromCube(OrderCube::getClientsAndDebit, shopStatisticService::getClientsAndDebit);
+    }
+
+    /**
+     * Runs the query on the cube if it is loaded, otherwise falls back to the database.
+     *
+     * @param query    the query on the cube
+     * @param fallback the query on the database
+     * @return the result of the query
+     */
+    private <T> T fromCube(Function<OrderCube, T> query, Supplier<T> fallback) {
+        return orderCube.isLoaded() ? query.apply(orderCube) : fallback.get();
+    }
+
+    /**
+     * Retrieves a list of clients with the highest total payment amounts
+     * for the orders placed within a time range, from {@link ShopStatisticServiceImpl}.
+     *
+     * @param range The time range of the orders.
+     * @return A list of clients with the highest total payment amounts within the range.
+     */
+    @Override
+    public List<Client> getClientWithBiggerPayment(TimeRange range) {
+        return shopStatisticService.getClientWithBiggerPayment(range);
+    }
+
+    /**
+     * Retrieves a list of clients who have spent the most in a specific product category
+     * for the orders placed within a time range, from {@link ShopStatisticServiceImpl}.
+     *
+     * @param category The category to filter by.
+     * @param range The time range of the orders.
+     * @return A list of clients who have spent the most in the specified category within the range.
+     */
+    @Override
+    public List<Client> getClientWithBiggerPaymentInCategory(String category, TimeRange range) {
+        return shopStatisticService.getClientWithBiggerPaymentInCategory(category, range);
+    }
+
+    /**
+     * Retrieves a map of client ages and their most frequently purchased product categories
+     * for the orders placed within a time range, from {@link ShopStatisticServiceImpl}.
+     *
+     * @param range The time range of the orders.
+     * @return A map of client ages to lists of most frequently purchased categories within the range.
+     */
+    @Override
+    public Map<Integer, List<String>> getAgeAndMostCategory(TimeRange range) {
+        return shopStatisticService.getAgeAndMostCategory(range);
+    }
+
+    /**
+     * Retrieves a map of client ages and their most frequently purchased products
+     * for the orders placed within a time range, from {@link ShopStatisticServiceImpl}.
+     *
+     * @param range The time range of the orders.
+     * @return A map of client ages to lists of most frequently purchased products within the range.
+     */
+    @Override
+    public Map<Integer, List<Product>> getAgeAndMostProduct(TimeRange range) {
+        return shopStatisticService.getAgeAndMostProduct(range);
+    }
+
+    /**
+     * Retrieves a map of product categories and their most frequent clients
+     * for the orders placed within a time range, from {@link ShopStatisticServiceImpl}.
+     *
+     * @param range The time range of the orders.
+     * @return A map of product categories to lists of the most frequent clients within the range.
+     */
+    @Override
+    public Map<String, List<Client>> getCategoryAndMostClient(TimeRange range) {
+        return shopStatisticService.getCategoryAndMostClient(range);
+    }
+
+    /**
+     * Retrieves a map of clients and their associated debit values
+     * for the orders placed within a time range, from {@link ShopStatisticServiceImpl}.
+     *
+     * @param range The time range of the orders.
+     * @return A map of clients to their debit values within the range.
+     */
+    @Override
+    public Map<Client, BigDecimal> getClientsAndDebit(TimeRange range) {
+        return shopStatisticService.getClientsAndDebit(range);
+    }
+}
@@ -0,0 +1,273 @@
+package com.app.service.impl;
+
+import com.app.event.EmailQueuedEvent;
+import com.app.persistence.entity.EmailOutboxEntity;
+import com.app.persistence.repository.EmailOutboxRepository;
+import com.app.service.EmailOutboxService;
+import com.app.service.EmailService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * Implementation of the {@link EmailOutboxService} interface that keeps the emails in the `email_outbox` table.
+ * <p>
+ * The outbox is drained by a limited number of workers. Every worker claims a batch of due emails in a short
+ * transaction, leasing them so no other worker picks them up, sends the whole batch over one connection to the
+ * mail server and then removes the sent emails. A failed email is retried after a backoff which doubles with every
+ * attempt, until the maximum number of attempts is reached; it then stays in the outbox for inspection.
+ * </p>
+ * <p>
+ * The outbox is dispatched on a fixed delay, and as soon as an email is queued by
+ * {@link com.app.listener.EmailOutboxListener}. Concurrent requests to dispatch are merged, so at most one dispatch
+ * runs at a time and a request made while it runs is served by it.
+ * </p>
+ */
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+
+    /**
+     * The maximum length of the stored error of a failed attempt.
+     */
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Settings settings;
+    private final Clock clock;
+    private final Executor workers;
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+    private final AtomicBoolean requested = new AtomicBoolean();
+
+    /**
+     * Constructor that initializes the {@link EmailOutboxServiceImpl}.
+     *
+     * @param emailOutboxRepository the repository of the emails in the outbox
+     * @param emailService          the service sending the emails
+     * @param transactionTemplate   the template running the claims and the results of the attempts in transactions
+     * @param eventPublisher        the publisher of the {@link EmailQueuedEvent}
+     * @param settings              the batch size, concurrency and retry settings
+     * @param workers               the executor running the workers, allowing at least as many of them at once
+     *                              as the configured concurrency
+     * @param clock                 the clock used to schedule the attempts
+     */
+    public EmailOutboxServiceImpl(
+            EmailOutboxRepository emailOutboxRepository,
+            EmailService emailService,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            Settings settings,
+            Executor workers,
+            Clock clock) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.settings = settings;
+        this.workers = workers;
+        this.clock = clock;
+    }
+
+    /**
+     * Queues an email in the current transaction and publishes an {@link EmailQueuedEvent}.
+     *
+     * @param email   the recipient's email address
+     * @param subject the subject of the email
+     * @param body    the body content of the email
+     */
+    @Override
+    public void enqueue(String email, String subject, String body) {
+        var id = emailOutboxRepository
+                .save(EmailOutboxEntity
+                        .builder()
+                        .recipient(email)
+                        .subject(subject)
+                        .body(body)
+                        .nextAttemptAt(clock.instant())
+                        .build())
+                .getId();
+
+        eventPublisher.publishEvent(new EmailQueuedEvent(id));
+    }
+
+    /**
+     * Sends the queued emails which are due, until none are left.
+     * <p>
+     * If a dispatch is already running, this call only asks it to check the outbox once more and returns at once.
+     * </p>
+     *
+     * @return the number of emails sent by this call
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:1000}")
+    public int dispatch() {
+        requested.set(true);
+
+        var sent = 0;
+        while (requested.get() && dispatching.compareAndSet(false, true)) {
+            try {
+                while (requested.getAndSet(false)) {
+                    sent += drainConcurrently();
+                }
+            } finally {
+                dispatching.set(false);
+            }
+        }
+        return sent;
+    }
+
+    /**
+     * Drains the outbox with the configured number of workers and waits for all of them.
+     *
+     * @return the number of sent emails
+     */
+    private int drainConcurrently() {
+        var drains = IntStream
+                .range(0, settings.concurrency())
+                .mapToObj(worker -> CompletableFuture.supplyAsync(this::drain, workers))
+                .toList();
+
+        return drains
+                .stream()
+                .mapToInt(CompletableFuture::join)
+                .sum();
+    }
+
+    /**
+     * Claims and sends batches of due emails until none are left.
+     *
+     * @return the number of sent emails
+     */
+    private int drain() {
+        var sent = 0;
+        for (var batch = claim(); !batch.isEmpty(); batch = claim()) {
+            sent += send(batch);
+        }
+        return sent;
+    }
+
+    /**
+     * Claims a batch of due emails, counting the attempt and leasing the emails until it finishes.
+     *
+     * @return the claimed emails, empty if none are due
+     */
+    private List<EmailOutboxEntity> claim() {
+        return transactionTemplate.execute(status -> {
+            var now = clock.instant();
+            var due = emailOutboxRepository.findDue(now, settings.maxAttempts(), Limit.of(settings.batchSize()));
+
+            due.forEach(email -> {
+                email.setAttempts(email.getAttempts() + 1);
+                email.setNextAttemptAt(now.plus(settings.lease()));
+            });
+            return due;
+        });
+    }
+
+    /**
+     * Sends a claimed batch over one connection, removes the sent emails and schedules the next attempt
+     * of the failed ones.
+     *
+     * @param batch the claimed emails
+     * @return the number of sent emails
+     */
+    private int send(List<EmailOutboxEntity> batch) {
+        var messages = batch
+                .stream()
+                .map(EmailOutboxEntity::toSimpleMailMessage)
+                .toList();
+
+        var failedMessages = emailService.send(messages);
+
+        var sentIds = new ArrayList<Long>();
+        var errors = new HashMap<Long, Exception>();
+        for (var i = 0; i < batch.size(); i++) {
+            var cause = failedMessages.get(messages.get(i));
+            if (cause == null) {
+                sentIds.add(batch.get(i).getId());
+            } else {
+                errors.put(batch.get(i).getId(), cause);
+            }
+        }
+
+        transactionTemplate.execute(status -> {
+            emailOutboxRepository.deleteAllByIdInBatch(sentIds);
+
+            var now = clock.instant();
+            emailOutboxRepository.findAllById(errors.keySet()).forEach(email -> {
+                email.setNextAttemptAt(now.plus(settings.backoff(email.getAttempts())));
+                email.setLastError(error(errors.get(email.getId())));
+            });
+            return null;
+        });
+        return sentIds.size();
+    }
+
+    private static String error(Exception cause) {
+        var error = String.valueOf(cause.getMessage());
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    /**
+     * The settings of the outbox.
+     *
+     * @param batchSize      the maximum number of emails sent over one connection
+     * @param concurrency    the maximum number of batches sent at the same time
+     * @param maxAttempts    the number of attempts after which an email is no longer sent
+     * @param initialBackoff the delay after the first failed attempt, doubled after every next one
+     * @param maxBackoff     the maximum delay between two attempts
+     * @param lease          how long a claimed email is not picked up again, so it is retried if the
+     *                       application stops while sending it
+     */
+    public record Settings(
+            int batchSize,
+            int concurrency,
+            int maxAttempts,
+            Duration initialBackoff,
+            Duration maxBackoff,
+            Duration lease) {
+
+        /**
+         * Validates the settings.
+         *
+         * @throws IllegalArgumentException if a number is not positive or a delay is not positive
+         */
+        public Settings {
+            if (batchSize < 1 || concurrency < 1 || maxAttempts < 1) {
+                throw new IllegalArgumentException("Email outbox batch size, concurrency and max attempts must be positive");
+            }
+
+            if (!isPositive(initialBackoff) || !isPositive(maxBackoff) || !isPositive(lease)) {
+                throw new IllegalArgumentException("Email outbox backoff and lease must be positive");
+            }
+        }
+
+        /**
+         * Computes the delay before the next attempt.
+         *
+         * @param attempts the number of attempts made so far
+         * @return the initial backoff doubled for every attempt after the first one, at most the maximum backoff
+         */
+        public Duration backoff(int attempts) {
+            var backoff = initialBackoff.multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 30));
+            return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+        }
+
+        private static boolean isPositive(Duration duration) {
+            return duration != null && duration.isPositive();
+        }
+    }
+}
@@ -2,10 +2,16 @@ package com.app.service.impl;
 
 import com.app.service.EmailService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Implementation of the {@link EmailService} interface that provides functionality for sending emails.
  * <p>
@@ -41,4 +47,40 @@ public class EmailServiceImpl implements EmailService {
         simpleMailMessage.setText(body);
         mailSender.send(simpleMailMessage);
     }
+
+    /**
+     * Sends the messages over a single connection to the mail server.
+     * <p>
+     * All messages are passed to the {@link JavaMailSender} at once, which connects to the server once and sends
+     * them one after another. A message rejected by the server does not stop the others. When the server cannot be
+     * reached at all, every message is reported as failed.
+     * </p>
+     *
+     * @param messages the messages to send
+     * @return the messages which could not be sent with the cause of the failure, empty if all were sent
+     */
+    @Override
+    public Map<SimpleMailMessage, Exception> send(List<SimpleMailMessage> messages) {
+        var failed = new LinkedHashMap<SimpleMailMessage, Exception>();
+        if (messages.isEmpty()) {
+            return failed;
+        }
+
+        try {
+            mailSender.send(messages.toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, cause) -> {
+                if (message instanceof SimpleMailMessage simpleMailMessage) {
+                    failed.put(simpleMailMessage, cause);
+                }
+            });
+
+            if (failed.isEmpty()) {
+                messages.forEach(message -> failed.put(message, e));
+            }
+        } catch (MailException e) {
+            messages.forEach(message -> failed.put(message, e));
+        }
+        return failed;
+    }
 }
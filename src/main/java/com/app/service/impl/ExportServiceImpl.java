@@ -0,0 +1,148 @@
+package com.app.service.impl;
+
+import com.app.exporter.ExportFormat;
+import com.app.exporter.RowWriter;
+import com.app.model.Client;
+import com.app.model.Product;
+import com.app.persistence.repository.OrderExportRepository;
+import com.app.persistence.repository.OrderRepository;
+import com.app.service.ExportService;
+import com.app.service.ShopStatisticService;
+import com.app.statistic.cache.CachedStatistic;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the {@link ExportService} interface.
+ * <p>
+ * The orders are read from the forward-only cursor of the {@link OrderExportRepository} fragment, and every row of
+ * the cursor is written by the {@link RowWriter} straight from the result set, without creating entities or DTOs.
+ * The statistics are exported from the results of the {@link ShopStatisticService}, so they are answered from the
+ * statistic cache like the statistic endpoints; those results are aggregates per client, product or category and
+ * are flattened into rows while they are written.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportServiceImpl implements ExportService {
+
+    private static final List<String> CLIENT_COLUMNS =
+            List.of("client_id", "client_name", "client_surname", "client_age", "client_cash");
+
+    private static final List<String> PRODUCT_COLUMNS =
+            List.of("product_id", "product_name", "product_category", "product_price");
+
+    private final OrderRepository orderRepository;
+    private final ShopStatisticService shopStatisticService;
+
+    @Override
+    public void exportOrders(Long after, ExportFormat format, OutputStream out) throws IOException {
+        try (var writer = RowWriter.open(format, out, OrderExportRepository.EXPORT_COLUMNS)) {
+            orderRepository.exportAll(after, resultSet -> {
+                try {
+                    writer.write(resultSet);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void exportStatistic(CachedStatistic statistic, String category, ExportFormat format, OutputStream out)
+            throws IOException {
+        if (statistic == null) {
+            throw new IllegalArgumentException("Statistic cannot be null");
+        }
+
+        switch (statistic) {
+            case CLIENT_WITH_BIGGER_PAYMENT -> writeClients(
+                    shopStatisticService.getClientWithBiggerPayment(), format, out);
+            case CLIENT_WITH_BIGGER_PAYMENT_IN_CATEGORY -> writeClients(
+                    shopStatisticService.getClientWithBiggerPaymentInCategory(category), format, out);
+            case AGE_AND_MOST_CATEGORY -> {
+                var result = shopStatisticService.getAgeAndMostCategory();
+                try (var writer = RowWriter.open(format, out, List.of("age", "category"))) {
+                    for (var entry : result.entrySet()) {
+                        for (var mostCategory : entry.getValue()) {
+                            writer.write(entry.getKey(), mostCategory);
+                        }
+                    }
+                }
+            }
+            case AGE_AND_MOST_PRODUCT -> {
+                var result = shopStatisticService.getAgeAndMostProduct();
+                try (var writer = RowWriter.open(format, out, columns(List.of("age"), PRODUCT_COLUMNS))) {
+                    for (var entry : result.entrySet()) {
+                        for (var product : entry.getValue()) {
+                            writer.write(values(new Object[]{entry.getKey()}, productValues(product)));
+                        }
+                    }
+                }
+            }
+            case CATEGORY_AND_PRICE_STATISTIC -> {
+                var result = shopStatisticService.getCategoryAndPriceStatistic();
+                try (var writer = RowWriter.open(format, out, columns(List.of("extreme"), PRODUCT_COLUMNS))) {
+                    for (var priceStatistic : result.values()) {
+                        for (var product : priceStatistic.getMin()) {
+                            writer.write(values(new Object[]{"min"}, productValues(product)));
+                        }
+                        for (var product : priceStatistic.getMax()) {
+                            writer.write(values(new Object[]{"max"}, productValues(product)));
+                        }
+                    }
+                }
+            }
+            case CATEGORY_AND_MOST_CLIENT -> {
+                var result = shopStatisticService.getCategoryAndMostClient();
+                try (var writer = RowWriter.open(format, out, columns(List.of("category"), CLIENT_COLUMNS))) {
+                    for (var entry : result.entrySet()) {
+                        for (var client : entry.getValue()) {
+                            writer.write(values(new Object[]{entry.getKey()}, clientValues(client)));
+                        }
+                    }
+                }
+            }
+            case CLIENTS_AND_DEBIT -> {
+                var result = shopStatisticService.getClientsAndDebit();
+                try (var writer = RowWriter.open(format, out, columns(CLIENT_COLUMNS, List.of("debit")))) {
+                    for (var entry : result.entrySet()) {
+                        writer.write(values(clientValues(entry.getKey()), new Object[]{entry.getValue()}));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeClients(List<Client> clients, ExportFormat format, OutputStream out) throws IOException {
+        try (var writer = RowWriter.open(format, out, CLIENT_COLUMNS)) {
+            for (var client : clients) {
+                writer.write(clientValues(client));
+            }
+        }
+    }
+
+    private static Object[] clientValues(Client client) {
+        var clientDto = client.toClientDto();
+        return new Object[]{clientDto.id(), clientDto.name(), clientDto.surname(), clientDto.age(), clientDto.cash()};
+    }
+
+    private static Object[] productValues(Product product) {
+        var productDto = product.toProductDto();
+        return new Object[]{productDto.id(), productDto.name(), productDto.category(), productDto.price()};
+    }
+
+    private static List<String> columns(List<String> first, List<String> second) {
+        return Stream.concat(first.stream(), second.stream()).toList();
+    }
+
+    private static Object[] values(Object[] first, Object[] second) {
+        return Stream.concat(Stream.of(first), Stream.of(second)).toArray();
+    }
+}
@@ -0,0 +1,91 @@
+package com.app.service.impl;
+
+import com.app.controller.dto.ClientDto;
+import com.app.controller.dto.order.OrderAddDto;
+import com.app.controller.dto.product.ProductDto;
+import com.app.importer.*;
+import com.app.service.ImportService;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * Implementation of the {@link ImportService} interface running the imports in the {@link ImportPipeline}.
+ * <p>
+ * The records are read one by one with a Jackson {@link com.fasterxml.jackson.databind.MappingIterator}, which
+ * tokenizes the input incrementally, so only the chunks in the pipeline are held in memory whatever the size of the
+ * data. A JSON array and newline delimited JSON are read by the same streaming parser, which accepts a sequence of
+ * root-level values as well as the elements of a root-level array. CSV is read by the streaming CSV parser, with the
+ * columns named by the header row.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ImportServiceImpl implements ImportService {
+
+    /**
+     * Maps the CSV columns to the fields named by the header row; unknown columns are ignored and empty values are
+     * read as missing, like absent JSON fields.
+     */
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.emptySchema().withHeader();
+
+    private final ObjectMapper objectMapper;
+    private final ImportPipeline importPipeline;
+    private final ClientImportHandler clientImportHandler;
+    private final ProductImportHandler productImportHandler;
+    private final OrderImportHandler orderImportHandler;
+
+    @Override
+    public ImportReport importClients(InputStream data, ImportFormat format) {
+        return importPipeline.run(read(data, format, ClientDto.class), clientImportHandler);
+    }
+
+    @Override
+    public ImportReport importProducts(InputStream data, ImportFormat format) {
+        return importPipeline.run(read(data, format, ProductDto.class), productImportHandler);
+    }
+
+    @Override
+    public ImportReport importOrders(InputStream data, ImportFormat format) {
+        return importPipeline.run(read(data, format, OrderAddDto.class), orderImportHandler);
+    }
+
+    /**
+     * Starts reading the records.
+     *
+     * @param data   the records
+     * @param format the format of the records
+     * @param type   the type of the records
+     * @param <T>    the type of the records
+     * @return an iterator reading the records one by one
+     * @throws IllegalArgumentException if the format is null or the data cannot be read
+     */
+    private <T> Iterator<T> read(InputStream data, ImportFormat format, Class<T> type) {
+        if (format == null) {
+            throw new IllegalArgumentException("Import format cannot be null");
+        }
+
+        try {
+            return switch (format) {
+                case JSON, NDJSON -> objectMapper.readerFor(type).readValues(data);
+                case CSV -> CSV_MAPPER.readerFor(type).with(CSV_SCHEMA).readValues(data);
+            };
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Import data cannot be read: " + e.getMessage());
+        }
+    }
+}
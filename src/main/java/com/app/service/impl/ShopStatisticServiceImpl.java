@@ -1,20 +1,32 @@
 package com.app.service.impl;
 
 import com.app.model.Client;
-import com.app.persistence.entity.ClientEntity;
 import com.app.persistence.entity.view.*;
 import com.app.model.Product;
+import com.app.persistence.repository.CategoryRepository;
+import com.app.persistence.repository.ClientRepository;
+import com.app.persistence.repository.ClientSpendRepository;
+import com.app.persistence.repository.OrderDimensionRollupRepository;
 import com.app.persistence.repository.OrderRepository;
+import com.app.persistence.repository.OrderRollupRepository;
 import com.app.persistence.repository.ProductRepository;
 import com.app.service.ShopStatisticService;
 import com.app.statistic.Statistic;
-import com.app.statistic.impl.StatisticImpl;
+import com.app.statistic.TimeRange;
+import com.app.statistic.impl.RunningStatisticImpl;
+import com.app.statistic.leaderboard.CategoryLeaderboard;
+import com.app.statistic.query.QueryEngine;
+import com.app.statistic.query.QueryEngines;
+import com.app.statistic.rollup.RollupRetention;
+import com.app.statistic.rollup.RollupStatistics;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -24,19 +36,41 @@ import java.util.stream.Collectors;
  * This service uses repositories for orders and products to gather statistical data about customer behavior, product sales,
  * and spending patterns. The results are aggregated and returned in a variety of formats, such as maps, lists, and statistics.
  * </p>
+ * <p>
+ * The statistics over a {@link TimeRange} are computed by {@link RollupStatistics}, so they do not group the orders of
+ * the range. The whole days of the range are read from the daily rollups of the dimension of the statistic through the
+ * {@link OrderDimensionRollupRepository}, a row per day and client, client and category, or age and category or
+ * product, and the hours at its edges from the hourly rollups through the {@link OrderRollupRepository}. The clients
+ * and products of the result are then loaded by their IDs. Before the {@link RollupRetention#hourlyHorizon()}, only the daily rollups
+ * are kept, so a range whose bounds before it are not at the start of a day is rejected rather than widened.
+ * </p>
+ * <p>
+ * All statistics are computed in read-only transactions, so they can be served by a replica of the database, and
+ * Hibernate neither snapshots nor dirty checks what they read. The clients and products of the results are read
+ * into {@link ClientView} and {@link ProductView} records instead of managed entities.
+ * </p>
  */
-@Transactional
+@Transactional(readOnly = true)
 @Service
 @AllArgsConstructor
 public class ShopStatisticServiceImpl implements ShopStatisticService {
 
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
+    private final ClientSpendRepository clientSpendRepository;
+    private final ClientRepository clientRepository;
+    private final CategoryLeaderboard categoryLeaderboard;
+    private final OrderRollupRepository orderRollupRepository;
+    private final OrderDimensionRollupRepository orderDimensionRollupRepository;
+    private final QueryEngines queryEngines;
+    private final CategoryRepository categoryRepository;
+    private final RollupRetention rollupRetention;
 
     /**
      * Retrieves a list of clients with the highest total payment amounts.
      * <p>
-     * This method queries the {@link OrderRepository} to find clients who have spent the most, and then maps the result
+     * This method reads the incrementally maintained `client_spend` aggregate through the {@link ClientSpendRepository},
+     * so the answer comes from the index on the total spending instead of grouping all orders, and then maps the result
      * to a list of {@link Client} objects.
      * </p>
      *
@@ -44,21 +78,24 @@ public class ShopStatisticServiceImpl implements ShopStatisticService {
      */
     @Override
     public List<Client> getClientWithBiggerPayment() {
-        return orderRepository
-                .getClientWithBiggerPayment()
+        return clientSpendRepository
+                .findClientsWithBiggestSpend()
                 .stream()
-                .map(ClientEntity::toClient)
+                .map(ClientView::toClient)
                 .toList();
     }
 
     /**
      * Retrieves a list of clients who have spent the most in a specific product category.
      * <p>
-     * This method allows filtering by category and uses the {@link OrderRepository} to find clients who have spent the most
-     * in the specified category, returning the result as a list of {@link Client} objects.
+     * This method reads the IDs of the top spenders in the category from the incrementally maintained
+     * {@link CategoryLeaderboard}, so it does not depend on the number of orders, and reads the clients
+     * with the {@link ClientRepository}, returning the result as a list of {@link Client} objects. The leaderboard
+     * is keyed by the spelling the category was registered with, which the {@link CategoryRepository} resolves
+     * the category to.
      * </p>
      *
-     * @param category The category to filter by.
+     * @param category The category to filter by, in any case.
      * @return A list of clients who have spent the most in the specified category.
      * @throws IllegalArgumentException if the category is null or empty.
      */
@@ -72,17 +109,15 @@ public class ShopStatisticServiceImpl implements ShopStatisticService {
             throw new IllegalArgumentException("Category cannot be empty");
         }
 
-        return orderRepository
-                .getClientWithBiggerPaymentInCategory(category)
-                .stream()
-                .map(ClientEntity::toClient)
-                .toList();
+        var registered = categoryRepository.findCanonicalName(category);
+        return registered == null ? List.of() : findClients(categoryLeaderboard.getTopClientIds(registered));
     }
 
     /**
      * Retrieves a map of client ages and their most frequently purchased product categories.
      * <p>
-     * This method queries the {@link OrderRepository} to fetch the age of clients along with their most purchased product category.
+     * This method queries the {@link OrderRepository} to fetch the age of clients along with their most purchased product category,
+     * with the query of the {@link QueryEngine} configured for the statistic.
      * The result is returned as a map where the keys are client ages, and the values are lists of categories.
      * </p>
      *
@@ -90,8 +125,12 @@ public class ShopStatisticServiceImpl implements ShopStatisticService {
      */
     @Override
     public Map<Integer, List<String>> getAgeAndMostCategory() {
-        return orderRepository
-                .getAgeAndMostCategory()
+        var projections = switch (queryEngines.ageAndMostCategory()) {
+            case CORRELATED -> orderRepository.getAgeAndMostCategory();
+            case WINDOW -> orderRepository.getAgeAndMostCategoryRanked();
+        };
+
+        return projections
                 .stream()
                 .collect(Collectors.toMap(
                         AgeMostOftenCategoryProjection::getAge,
@@ -106,7 +145,8 @@ public class ShopStatisticServiceImpl implements ShopStatisticService {
     /**
      * Retrieves a map of client ages and their most frequently purchased products.
      * <p>
-     * This method queries the {@link OrderRepository} to fetch client ages along with their most purchased products.
+     * This method queries the {@link OrderRepository} to fetch client ages along with their most purchased products,
+     * with the query of the {@link QueryEngine} configured for the statistic.
      * The result is returned as a map where the keys are client ages, and the values are lists of {@link Product} objects.
      * </p>
      *
@@ -114,7 +154,12 @@ public class ShopStatisticServiceImpl implements ShopStatisticService {
      */
     @Override
     public Map<Integer, List<Product>> getAgeAndMostProduct() {
-        return orderRepository.getAgeAndMostProduct()
+        var projections = switch (queryEngines.ageAndMostProduct()) {
+            case CORRELATED -> orderRepository.getAgeAndMostProduct();
+            case WINDOW -> orderRepository.getAgeAndMostProductRanked();
+        };
+
+        return projections
                 .stream()
                 .collect(Collectors.toMap(
                         AgeAndMostProductProjection::getAge,
@@ -130,29 +175,27 @@ public class ShopStatisticServiceImpl implements ShopStatisticService {
     /**
      * Retrieves statistics about product prices grouped by category.
      * <p>
-     * This method uses the {@link ProductRepository} to get statistics about product prices within each category.
-     * The statistics are returned as a map of category names to {@link Statistic} objects that contain the price statistics.
+     * This method streams all products from the {@link ProductRepository} once and collects them per category into
+     * {@link RunningStatisticImpl} objects, which keep the count, sum, minimum and maximum of the prices. The statistics
+     * are returned as a map of category names to {@link Statistic} objects that contain the price statistics.
      * </p>
      *
      * @return A map of categories to product price statistics.
      */
     @Override
     public Map<String, Statistic<Product, BigDecimal>> getCategoryAndPriceStatistic() {
-        return productRepository
-                .getCategoryAndPriceStatistic()
-                .stream()
-                .collect(
-                        Collectors.toMap(
-                                PriceStatisticByCategoryProjection::getCategory,
-                                StatisticImpl::fromView,
-                                Statistic::merge)
-                );
+        try (var products = productRepository.streamProductPrices()) {
+            return products.collect(Collectors.groupingBy(
+                    ProductPriceProjection::getCategory,
+                    RunningStatisticImpl.collector()));
+        }
     }
 
     /**
      * Retrieves a map of product categories and their most frequent clients.
      * <p>
-     * This method queries the {@link OrderRepository} to fetch the most frequent clients for each product category.
+     * This method queries the {@link OrderRepository} to fetch the most frequent clients for each product category,
+     * with the query of the {@link QueryEngine} configured for the statistic.
      * The result is returned as a map where the keys are product categories, and the values are lists of {@link Client} objects.
      * </p>
      *
@@ -160,7 +203,12 @@ public class ShopStatisticServiceImpl implements ShopStatisticService {
      */
     @Override
     public Map<String, List<Client>> getCategoryAndMostClient() {
-        return orderRepository.getCategoryAndMostClient()
+        var projections = switch (queryEngines.categoryAndMostClient()) {
+            case CORRELATED -> orderRepository.getCategoryAndMostClient();
+            case WINDOW -> orderRepository.getCategoryAndMostClientRanked();
+        };
+
+        return projections
                 .stream()
                 .collect(Collectors.toMap(
                         CategoryAndMostClientProjection::getCategory,
@@ -177,15 +225,16 @@ public class ShopStatisticServiceImpl implements ShopStatisticService {
     /**
      * Retrieves a map of clients and their associated debit values.
      * <p>
-     * This method queries the {@link OrderRepository} to fetch each client along with their debit value, and returns the result
-     * as a map of {@link Client} objects to their corresponding debit values.
+     * This method reads the balance kept in the incrementally maintained `client_spend` aggregate through the
+     * {@link ClientSpendRepository}, so only the clients in debit are read from the index on the balance instead of
+     * grouping all orders, and returns the result as a map of {@link Client} objects to their corresponding debit values.
      * </p>
      *
      * @return A map of clients to their debit values.
      */
     @Override
     public Map<Client, BigDecimal> getClientsAndDebit() {
-        return orderRepository.getClientAndDebit()
+        return clientSpendRepository.findClientsInDebit()
                 .stream()
                 .collect(Collectors.toMap(
                         view -> new Client(
@@ -194,4 +243,164 @@ public class ShopStatisticServiceImpl implements ShopStatisticService {
                         ClientAndDebitDto::getDebit
                 ));
     }
+
+    /**
+     * Retrieves a list of clients with the highest total payment amounts for the orders placed within a time range.
+     *
+     * @param range The time range of the orders.
+     * @return A list of clients with the highest total payment amounts within the range.
+     * @throws IllegalArgumentException if the range is null, or a bound before the hourly rollups kept is not at midnight.
+     */
+    @Override
+    public List<Client> getClientWithBiggerPayment(TimeRange range) {
+        return findClients(rollups(range, orderDimensionRollupRepository::findClientRollups).getTopClientIds(null));
+    }
+
+    /**
+     * Retrieves a list of clients who have spent the most in a specific product category for the orders placed
+     * within a time range.
+     *
+     * @param category The category to filter by, in any case.
+     * @param range    The time range of the orders.
+     * @return A list of clients who have spent the most in the specified category within the range.
+     * @throws IllegalArgumentException if the category is null or empty, the range is null, or a bound before the hourly
+     *                                  rollups kept is not at midnight.
+     */
+    @Override
+    public List<Client> getClientWithBiggerPaymentInCategory(String category, TimeRange range) {
+        if (category == null) {
+            throw new IllegalArgumentException("Category cannot be null");
+        }
+
+        if (category.isEmpty()) {
+            throw new IllegalArgumentException("Category cannot be empty");
+        }
+
+        var registered = categoryRepository.findCanonicalName(category);
+        if (registered == null) {
+            return List.of();
+        }
+
+        var categoryId = categoryRepository.findCategoryId(registered);
+        return findClients(rollups(range, (fromDay, toDay) -> orderDimensionRollupRepository
+                .findClientRollupsInCategory(categoryId, fromDay, toDay))
+                .getTopClientIds(registered));
+    }
+
+    /**
+     * Retrieves a map of client ages and their most frequently purchased product categories for the orders placed
+     * within a time range.
+     *
+     * @param range The time range of the orders.
+     * @return A map of client ages to lists of most frequently purchased categories within the range.
+     * @throws IllegalArgumentException if the range is null, or a bound before the hourly rollups kept is not at midnight.
+     */
+    @Override
+    public Map<Integer, List<String>> getAgeAndMostCategory(TimeRange range) {
+        return rollups(range, orderDimensionRollupRepository::findAgeCategoryRollups).getAgeAndMostCategory();
+    }
+
+    /**
+     * Retrieves a map of client ages and their most frequently purchased products for the orders placed within
+     * a time range.
+     *
+     * @param range The time range of the orders.
+     * @return A map of client ages to lists of most frequently purchased products within the range.
+     * @throws IllegalArgumentException if the range is null, or a bound before the hourly rollups kept is not at midnight.
+     */
+    @Override
+    public Map<Integer, List<Product>> getAgeAndMostProduct(TimeRange range) {
+        var productIds = rollups(range, orderDimensionRollupRepository::findAgeProductRollups).getAgeAndMostProductIds();
+        var products = productRepository
+                .findViewsByIdIn(productIds.values().stream().flatMap(List::stream).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(ProductView::id, ProductView::toProduct));
+
+        return productIds.entrySet()
+                .stream()
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        entry -> entry.getValue().stream().map(products::get).filter(Objects::nonNull).toList()));
+    }
+
+    /**
+     * Retrieves a map of product categories and their most frequent clients for the orders placed within a time range.
+     *
+     * @param range The time range of the orders.
+     * @return A map of product categories to lists of the most frequent clients within the range.
+     * @throws IllegalArgumentException if the range is null, or a bound before the hourly rollups kept is not at midnight.
+     */
+    @Override
+    public Map<String, List<Client>> getCategoryAndMostClient(TimeRange range) {
+        var clientIds = rollups(range, orderDimensionRollupRepository::findClientCategoryRollups)
+                .getCategoryAndMostClientIds();
+        var clients = clientsById(clientIds.values().stream().flatMap(List::stream).distinct().toList());
+
+        return clientIds.entrySet()
+                .stream()
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        entry -> entry.getValue().stream().map(clients::get).filter(Objects::nonNull).toList()));
+    }
+
+    /**
+     * Retrieves a map of clients whose orders placed within a time range exceed their cash, and their debit values.
+     * <p>
+     * The debit is the cash of the client reduced by the total price of their orders within the range.
+     * </p>
+     *
+     * @param range The time range of the orders.
+     * @return A map of clients to their debit values within the range.
+     * @throws IllegalArgumentException if the range is null, or a bound before the hourly rollups kept is not at midnight.
+     */
+    @Override
+    public Map<Client, BigDecimal> getClientsAndDebit(TimeRange range) {
+        var amounts = rollups(range, orderDimensionRollupRepository::findClientRollups).getAmountByClient();
+
+        return clientRepository
+                .findViewsByIdIn(amounts.keySet())
+                .stream()
+                .filter(client -> client.cash().compareTo(amounts.get(client.id())) < 0)
+                .collect(Collectors.toMap(
+                        ClientView::toClient,
+                        client -> client.cash().subtract(amounts.get(client.id()))));
+    }
+
+    /**
+     * Reads the hourly rollups of the edges of the range and the daily rollups of its whole days in the dimension of
+     * the statistic.
+     */
+    private RollupStatistics rollups(
+            TimeRange range, BiFunction<Instant, Instant, List<OrderRollupProjection>> dailyRollups) {
+        if (range == null) {
+            throw new IllegalArgumentException("Range cannot be null");
+        }
+
+        range.requireWholeDaysBefore(rollupRetention.hourlyHorizon());
+        var rollups = new ArrayList<>(orderRollupRepository.findHourlyInRange(
+                range.fromHour(), range.fromDay(), range.toDay(), range.toHour()));
+        if (range.fromDay().isBefore(range.toDay())) {
+            rollups.addAll(dailyRollups.apply(range.fromDay(), range.toDay()));
+        }
+        return new RollupStatistics(rollups);
+    }
+
+    /**
+     * Reads the clients with the given IDs, in the order of the IDs.
+     */
+    private List<Client> findClients(List<Long> ids) {
+        var clients = clientsById(ids);
+        return ids
+                .stream()
+                .map(clients::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private Map<Long, Client> clientsById(List<Long> ids) {
+        return clientRepository
+                .findViewsByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(ClientView::id, ClientView::toClient));
+    }
 }
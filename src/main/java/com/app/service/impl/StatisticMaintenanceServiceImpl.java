@@ -0,0 +1,198 @@
+package com.app.service.impl;
+
+import com.app.controller.dto.statistic.StatisticCacheStatsDto;
+import com.app.persistence.entity.BaseEntity;
+import com.app.persistence.entity.view.ClientAndDebitDto;
+import com.app.persistence.entity.view.ClientView;
+import com.app.persistence.repository.CategoryRepository;
+import com.app.persistence.repository.ClientSpendRepository;
+import com.app.persistence.repository.OrderRepository;
+import com.app.persistence.repository.OrderRollupRepository;
+import com.app.service.StatisticMaintenanceService;
+import com.app.statistic.cache.StatisticCache;
+import com.app.statistic.leaderboard.CategoryLeaderboard;
+import com.app.statistic.rollup.RollupRetention;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link StatisticMaintenanceService} interface.
+ * <p>
+ * This service rebuilds the aggregates and the {@link CategoryLeaderboard} maintained by the order write paths and
+ * compares them with the original grouping queries of the {@link OrderRepository}. A rebuild invalidates the
+ * {@link StatisticCache}, because the cached statistics may have been computed from the previous state.
+ * </p>
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class StatisticMaintenanceServiceImpl implements StatisticMaintenanceService {
+
+    private final ClientSpendRepository clientSpendRepository;
+    private final OrderRepository orderRepository;
+    private final CategoryLeaderboard categoryLeaderboard;
+    private final StatisticCache statisticCache;
+    private final CategoryRepository categoryRepository;
+    private final OrderRollupRepository orderRollupRepository;
+    private final RollupRetention rollupRetention;
+
+    /**
+     * Removes all rows of the `client_spend` aggregate and recomputes them from the `orders` table.
+     *
+     * @return the number of clients present in the rebuilt aggregate
+     */
+    @Override
+    public Long rebuildClientSpend() {
+        clientSpendRepository.deleteAllInBatch();
+        var clients = (long) clientSpendRepository.rebuildFromOrders();
+        invalidateStatisticCache();
+        return clients;
+    }
+
+    /**
+     * Compares the clients with the biggest payment read from the aggregate with the ones computed from all orders.
+     *
+     * @return {@code true} if both sources return the same clients, {@code false} otherwise
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Boolean verifyClientSpend() {
+        var fromAggregate = clientSpendRepository.findClientsWithBiggestSpend()
+                .stream()
+                .map(ClientView::id)
+                .collect(Collectors.toSet());
+
+        var fromOrders = orderRepository.getClientWithBiggerPayment()
+                .stream()
+                .map(ClientView::id)
+                .collect(Collectors.toSet());
+
+        return fromAggregate.equals(fromOrders);
+    }
+
+    /**
+     * Compares the clients in debit and their debit read from the balances of the aggregate with the ones computed
+     * from all orders.
+     * <p>
+     * The debits are compared by value, regardless of their scale.
+     * </p>
+     *
+     * @return {@code true} if both sources return the same clients with the same debit, {@code false} otherwise
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Boolean verifyClientDebit() {
+        return debitsById(clientSpendRepository.findClientsInDebit())
+                .equals(debitsById(orderRepository.getClientAndDebit()));
+    }
+
+    /**
+     * Streams the spending of each client in each category from the `orders` table into a new leaderboard,
+     * which then replaces the current one.
+     * <p>
+     * The transaction is not read-only, so the orders are read from the primary database even when the read-only
+     * transactions are served by replicas, and the leaderboard does not miss orders a replica has not received yet.
+     * </p>
+     *
+     * @return the number of categories present in the rebuilt leaderboard
+     */
+    @Override
+    public Long rebuildCategoryLeaderboard() {
+        var categories = (long) categoryLeaderboard.rebuild(orderRepository::streamCategorySpend);
+        invalidateStatisticCache();
+        return categories;
+    }
+
+    /**
+     * Compares the top spenders in the category read from the leaderboard with the ones computed from all orders.
+     *
+     * @param category the category to verify, in any case
+     * @return {@code true} if both sources return the same clients, {@code false} otherwise
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Boolean verifyCategoryLeaderboard(String category) {
+        var registered = categoryRepository.findCanonicalName(category);
+        var fromLeaderboard = registered == null
+                ? Set.<Long>of()
+                : Set.copyOf(categoryLeaderboard.getTopClientIds(registered));
+
+        var fromOrders = orderRepository.getClientWithBiggerPaymentInCategory(category)
+                .stream()
+                .map(BaseEntity::getId)
+                .collect(Collectors.toSet());
+
+        return fromLeaderboard.equals(fromOrders);
+    }
+
+    /**
+     * Reads the counters of the cache of every shop statistic.
+     *
+     * @return the counters of the cache keyed by the name of the statistic, in the order of the statistics
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, StatisticCacheStatsDto> getStatisticCacheStats() {
+        var stats = new LinkedHashMap<String, StatisticCacheStatsDto>();
+        statisticCache.getStats().forEach((statistic, counters) ->
+                stats.put(statistic.getKey(), counters.toStatisticCacheStatsDto()));
+        return stats;
+    }
+
+    /**
+     * Removes the hourly rollups of the days before the {@link RollupRetention#hourlyHorizon()}.
+     * <p>
+     * The rollups are compacted every `statistic.rollups.compaction-interval-ms` milliseconds. The statistics over
+     * a range reaching before the horizon read whole days there, so removing the rollups does not change them.
+     * </p>
+     *
+     * @return the number of removed hourly rollups
+     */
+    @Override
+    @Scheduled(
+            initialDelayString = "${statistic.rollups.compaction-interval-ms:3600000}",
+            fixedDelayString = "${statistic.rollups.compaction-interval-ms:3600000}")
+    public Long compactOrderRollups() {
+        return (long) orderRollupRepository.deleteHourlyBefore(rollupRetention.hourlyHorizon());
+    }
+
+    /**
+     * Maps the IDs of the clients in debit to their debit without trailing zeros.
+     */
+    private static Map<Long, BigDecimal> debitsById(List<ClientAndDebitDto> clientsInDebit) {
+        return clientsInDebit
+                .stream()
+                .collect(Collectors.toMap(
+                        ClientAndDebitDto::getId,
+                        clientAndDebit -> clientAndDebit.getDebit().stripTrailingZeros()));
+    }
+
+    /**
+     * Invalidates the whole {@link StatisticCache} once the current transaction commits, or at once without one.
+     */
+    private void invalidateStatisticCache() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            statisticCache.invalidateAll();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                statisticCache.invalidateAll();
+            }
+        });
+    }
+}
@@ -1,6 +1,7 @@
 package com.app.service.impl;
 
 import com.app.controller.dto.user.*;
+import com.app.event.UserRoleChangedEvent;
 import com.app.exception.InvalidCredentialsException;
 import com.app.exception.ResourceAlreadyExistException;
 import com.app.exception.UserAlreadyActivatedException;
@@ -125,7 +126,9 @@ public class UserServiceImpl implements UserService {
                     if (token.validate().isPresent()) {
                         throw new ResourceAlreadyExistException("Token already exists");
                     } else {
+                        // The new token is saved in this transaction, so the old one is deleted first
                         verificationTokenRepository.delete(token);
+                        verificationTokenRepository.flush();
                     }
                 });
 
@@ -167,6 +170,9 @@ public class UserServiceImpl implements UserService {
 
     /**
      * Changes the role of an existing user.
+     * <p>
+     * A {@link UserRoleChangedEvent} is published, so the cached principal of the user is evicted.
+     * </p>
      *
      * @param changeRoleDto the DTO containing the user ID and the new role
      * @return the ID of the user whose role was changed
@@ -177,8 +183,11 @@ public class UserServiceImpl implements UserService {
         var userEntity = userRepository.findById(changeRoleDto.userId())
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
 
-        return userRepository.save(userEntity.toNewRoleEntity(changeRoleDto.newRole()))
+        var id = userRepository.save(userEntity.toNewRoleEntity(changeRoleDto.newRole()))
                 .getId();
+
+        eventPublisher.publishEvent(new UserRoleChangedEvent(id));
+        return id;
     }
 
     /**
@@ -2,15 +2,20 @@ package com.app.service.impl.crud;
 
 import com.app.controller.dto.ClientDto;
 import com.app.converter.many.ClientsConverter;
+import com.app.event.OrdersRemovedEvent;
+import com.app.event.ShopDataChangedEvent;
 import com.app.exception.ResourceAlreadyExistException;
 import com.app.model.Client;
 import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.view.ClientKey;
 import com.app.persistence.repository.ClientRepository;
 import com.app.converter.single.Converter;
 import com.app.service.ClientService;
 import com.app.validator.Validator;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -26,6 +31,7 @@ public class ClientServiceImpl extends GenericServiceImpl<ClientEntity, Client>
     private final Validator<ClientDto> validator;
     private final ClientRepository clientRepository;
     private final ClientsConverter clientsConverter;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a new {@link ClientServiceImpl} with the specified dependencies.
@@ -38,17 +44,20 @@ public class ClientServiceImpl extends GenericServiceImpl<ClientEntity, Client>
      * @param validator        the {@link Validator} used to validate client DTOs
      * @param clientRepository the {@link ClientRepository} for checking if clients already exist
      * @param clientsConverter the {@link ClientsConverter} to convert a list of client DTOs into entities
+     * @param eventPublisher   the publisher used to announce the changes of clients and the removal of their orders
      */
     public ClientServiceImpl(
             ClientRepository repository,
             Converter<ClientEntity, Client> converter,
             Validator<ClientDto> validator,
             ClientRepository clientRepository,
-            ClientsConverter clientsConverter) {
+            ClientsConverter clientsConverter,
+            ApplicationEventPublisher eventPublisher) {
         super(repository, converter);
         this.validator = validator;
         this.clientRepository = clientRepository;
         this.clientsConverter = clientsConverter;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -72,35 +81,64 @@ public class ClientServiceImpl extends GenericServiceImpl<ClientEntity, Client>
             throw new ResourceAlreadyExistException("Client already exists");
         }
 
-        // Save the client and return the ID
-        return repository.save(clientDto.toClientEntity()).getId();
+        // Save the client, announce the change and return the ID
+        var id = repository.save(clientDto.toClientEntity()).getId();
+        eventPublisher.publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.CLIENTS));
+        return id;
     }
 
     /**
      * Adds a list of clients to the system.
      * <p>
-     * This method validates each client DTO, checks if each client already exists, and saves the list of clients
-     * in the repository. If a client with the same name and surname exists, a {@link ResourceAlreadyExistException} is thrown
-     * with the specific client's details.
+     * This method validates each client DTO, checks that no client appears twice in the list and that none of them
+     * already exists, and saves the list of clients in the repository. The existing clients are looked up for the
+     * whole list at once, in chunks, instead of with one query per client. If a client with the same name and
+     * surname exists, a {@link ResourceAlreadyExistException} is thrown with the specific client's details.
      * </p>
      *
      * @param clientsDto a list of {@link ClientDto} objects containing the client data to be added
      * @return a list of IDs of the newly added clients
-     * @throws ResourceAlreadyExistException if any client in the list already exists
+     * @throws ResourceAlreadyExistException if any client in the list already exists or appears in the list twice
      */
     public List<Long> addClients(List<ClientDto> clientsDto) {
-        // Validate each client DTO and check for existing clients
+        // Validate each client DTO and check for clients repeated in the list
+        var keys = new HashSet<ClientKey>();
         clientsDto.forEach(c -> {
             Validator.validate(c, validator);
-            if (clientRepository.findByNameAndSurname(c.name(), c.surname()).isPresent()) {
-                throw new ResourceAlreadyExistException("Client: %s already exists".formatted(c));
+            if (!keys.add(c.toClientKey().ignoringCase())) {
+                throw new ResourceAlreadyExistException("Client: %s is repeated in the list".formatted(c));
             }
         });
 
-        // Save all clients and return their IDs
-        return repository.saveAll(clientsConverter.toEntityList(clientsDto))
+        // Check for existing clients with a few queries for the whole list
+        var existingKeys = clientRepository.findExistingKeys(
+                clientsDto.stream().map(ClientDto::toClientKey).toList());
+        clientsDto.stream()
+                .filter(c -> existingKeys.contains(c.toClientKey().ignoringCase()))
+                .findFirst()
+                .ifPresent(c -> {
+                    throw new ResourceAlreadyExistException("Client: %s already exists".formatted(c));
+                });
+
+        // Save all clients, announce the change and return their IDs
+        var ids = repository.saveAll(clientsConverter.toEntityList(clientsDto))
                 .stream()
                 .map(ClientEntity::getId)
                 .toList();
+
+        eventPublisher.publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.CLIENTS));
+        return ids;
+    }
+
+    /**
+     * Publishes an {@link OrdersRemovedEvent} for the orders removed together with the clients
+     * and a {@link ShopDataChangedEvent} for the change of clients.
+     *
+     * @param ids the IDs of the clients that are about to be removed
+     */
+    @Override
+    protected void beforeRemove(List<Long> ids) {
+        eventPublisher.publishEvent(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.CLIENTS, ids));
+        eventPublisher.publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.CLIENTS));
     }
 }
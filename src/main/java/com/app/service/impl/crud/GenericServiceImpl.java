@@ -3,10 +3,15 @@ package com.app.service.impl.crud;
 import com.app.converter.single.Converter;
 import com.app.persistence.repository.CrudRepository;
 import com.app.service.CrudService;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * A generic implementation of the {@link CrudService} interface providing basic CRUD operations
@@ -15,13 +20,35 @@ import java.util.List;
  * This class provides common functionality for retrieving, deleting, and converting entities from the repository.
  * Subclasses can extend this class to customize or extend the behavior for specific entity types.
  * </p>
+ * <p>
+ * Reads run in read-only transactions, so they can be served by a replica of the database. Removal runs in a single
+ * transaction, in which the elements are found by the same methods without starting a read-only transaction.
+ * Subclasses can override {@link #beforeRemove(List)} to react to a removal while the removed elements are still
+ * present in the database.
+ * </p>
+ * <p>
+ * Pages are read by ID (keyset pagination). Streaming reads the entities from a database cursor and clears
+ * the persistence context every {@value #STREAM_CLEAR_INTERVAL} entities, so memory use does not grow with
+ * the number of entities.
+ * </p>
  *
  * @param <T> the entity type, which corresponds to the persistence model (e.g., entity)
  * @param <U> the model type, which corresponds to the service or DTO model (e.g., business model)
  */
+@Transactional
 @RequiredArgsConstructor
 public abstract class GenericServiceImpl<T, U> implements CrudService<U> {
 
+    /**
+     * The maximum number of entities in a page.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * The number of streamed entities after which the persistence context is cleared.
+     */
+    protected static final int STREAM_CLEAR_INTERVAL = 500;
+
     /**
      * The repository used for interacting with the data source (e.g., database).
      */
@@ -32,6 +59,12 @@ public abstract class GenericServiceImpl<T, U> implements CrudService<U> {
      */
     protected final Converter<T, U> converter;
 
+    /**
+     * The entity manager whose persistence context is cleared while streaming.
+     */
+    @PersistenceContext
+    protected EntityManager entityManager;
+
     /**
      * Finds an entity by its ID and converts it to the model type.
      * <p>
@@ -43,6 +76,7 @@ public abstract class GenericServiceImpl<T, U> implements CrudService<U> {
      * @throws EntityNotFoundException if the entity with the specified ID is not found
      */
     @Override
+    @Transactional(readOnly = true)
     public U findById(Long id) {
         return converter.toModel(repository
                 .findById(id).orElseThrow(()
@@ -60,6 +94,7 @@ public abstract class GenericServiceImpl<T, U> implements CrudService<U> {
      * @throws EntityNotFoundException if not all entities are found
      */
     @Override
+    @Transactional(readOnly = true)
     public List<U> findAllByIds(List<Long> ids) {
         var elements = repository.findAllById(ids)
                 .stream()
@@ -72,6 +107,66 @@ public abstract class GenericServiceImpl<T, U> implements CrudService<U> {
         throw new EntityNotFoundException("Not all elements were found.");
     }
 
+    /**
+     * Finds a page of entities ordered by ID, starting after the given ID, and converts them to the model type.
+     *
+     * @param after the ID of the last entity of the previous page, {@code 0} for the first page
+     * @param size  the maximum number of entities in the page
+     * @return a list of converted models {@link U}
+     * @throws IllegalArgumentException if the ID is null or negative, or the size is not between 1 and {@value #MAX_PAGE_SIZE}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<U> findPage(Long after, int size) {
+        validatePage(after, size);
+
+        return repository.findPageAfter(after, Limit.of(size))
+                .stream()
+                .map(converter::toModel)
+                .toList();
+    }
+
+    /**
+     * Reads all entities ordered by ID, starting after the given ID, from a database cursor, converts them
+     * to the model type and passes them to the action one by one.
+     *
+     * @param after  the ID after which the entities start, {@code 0} for all entities
+     * @param action the action receiving every converted model {@link U}
+     * @throws IllegalArgumentException if the ID is null or negative
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Long after, Consumer<U> action) {
+        validatePage(after, 1);
+
+        try (var entities = repository.streamAllAfter(after)) {
+            var streamed = 0;
+            for (var iterator = entities.iterator(); iterator.hasNext(); ) {
+                action.accept(converter.toModel(iterator.next()));
+                if (++streamed % STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Validates the start and the size of a page.
+     *
+     * @param after the ID after which the page starts
+     * @param size  the maximum number of elements in the page
+     * @throws IllegalArgumentException if the ID is null or negative, or the size is not between 1 and {@value #MAX_PAGE_SIZE}
+     */
+    protected static void validatePage(Long after, int size) {
+        if (after == null || after < 0) {
+            throw new IllegalArgumentException("Page start cannot be null or negative");
+        }
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and %d".formatted(MAX_PAGE_SIZE));
+        }
+    }
+
     /**
      * Removes an entity by its ID.
      * <p>
@@ -85,6 +180,7 @@ public abstract class GenericServiceImpl<T, U> implements CrudService<U> {
     @Override
     public Long removeElement(Long id) {
         var element = findById(id);
+        beforeRemove(List.of(id));
         repository.delete(converter.toEntity(element));
         return id;
     }
@@ -104,7 +200,19 @@ public abstract class GenericServiceImpl<T, U> implements CrudService<U> {
     public List<Long> removeAllByIds(List<Long> ids) {
         var elements = findAllByIds(ids);
 
+        beforeRemove(ids);
         repository.deleteAll(elements.stream().map(converter::toEntity).toList());
         return ids;
     }
+
+    /**
+     * Hook called after the elements to remove have been found and before they are deleted.
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     *
+     * @param ids the IDs of the elements that are about to be removed
+     */
+    protected void beforeRemove(List<Long> ids) {
+    }
 }
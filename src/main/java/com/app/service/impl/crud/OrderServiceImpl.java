@@ -3,6 +3,9 @@ package com.app.service.impl.crud;
 import com.app.controller.dto.order.OrderAddDto;
 import com.app.controller.dto.order.OrdersAddDto;
 import com.app.converter.single.Converter;
+import com.app.event.OrdersAddedEvent;
+import com.app.event.OrdersRemovedEvent;
+import com.app.event.ShopDataChangedEvent;
 import com.app.model.Order;
 import com.app.persistence.entity.OrderEntity;
 import com.app.persistence.repository.ClientRepository;
@@ -11,6 +14,7 @@ import com.app.persistence.repository.OrderRepository;
 import com.app.persistence.repository.ProductRepository;
 import com.app.service.OrderService;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +26,7 @@ import java.util.List;
  * necessary validations before saving orders.
  * <p>
  * The service methods ensure that clients and products are validated before an order is created.
+ * Every order write and removal is published as an event, so derived statistics can be kept in sync.
  * </p>
  */
 @Transactional
@@ -31,6 +36,7 @@ public class OrderServiceImpl extends GenericServiceImpl<OrderEntity, Order> imp
     private final ClientRepository clientRepository;
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor that initializes the {@link OrderServiceImpl} with necessary repositories and a converter.
@@ -40,17 +46,20 @@ public class OrderServiceImpl extends GenericServiceImpl<OrderEntity, Order> imp
      * @param clientRepository  the repository for {@link com.app.persistence.entity.ClientEntity} used for client lookup
      * @param orderRepository   the repository for {@link OrderEntity} used for order persistence
      * @param productRepository the repository for {@link com.app.persistence.entity.ProductEntity} used for product lookup
+     * @param eventPublisher    the publisher used to announce added and removed orders
      */
     public OrderServiceImpl(
             CrudRepository<OrderEntity> repository,
             Converter<OrderEntity, Order> converter,
             ClientRepository clientRepository,
             OrderRepository orderRepository,
-            ProductRepository productRepository) {
+            ProductRepository productRepository,
+            ApplicationEventPublisher eventPublisher) {
         super(repository, converter);
         this.clientRepository = clientRepository;
         this.orderRepository = orderRepository;
         this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -61,30 +70,45 @@ public class OrderServiceImpl extends GenericServiceImpl<OrderEntity, Order> imp
      *
      * @param orderAddDto the DTO containing information about the order to be added
      * @return the ID of the created order
-     * @throws EntityNotFoundException if the client or product specified in the DTO is not found
+     * @throws IllegalArgumentException if the client or product ID is null
+     * @throws EntityNotFoundException  if the client or product specified in the DTO is not found
      */
     public Long addOrder(OrderAddDto orderAddDto) {
+        if (orderAddDto.clientId() == null) {
+            throw new IllegalArgumentException("Client ID cannot be null");
+        }
+
+        if (orderAddDto.productId() == null) {
+            throw new IllegalArgumentException("Product ID cannot be null");
+        }
+
         var clientEntity = clientRepository.findById(orderAddDto.clientId())
                 .orElseThrow(() -> new EntityNotFoundException("Client not found"));
         var productEntity = productRepository.findById(orderAddDto.productId())
                 .orElseThrow(() -> new EntityNotFoundException("Product not found"));
 
-        return orderRepository.save(OrderEntity
+        var orderEntity = orderRepository.save(OrderEntity
                 .builder()
                 .clientEntity(clientEntity)
                 .productEntity(productEntity)
-                .build()).getId();
+                .build());
+
+        eventPublisher.publishEvent(new OrdersAddedEvent(List.of(orderEntity)));
+        eventPublisher.publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.ORDERS));
+        return orderEntity.getId();
     }
 
     /**
      * Adds multiple orders based on the provided {@link OrdersAddDto}.
      * <p>
      * This method validates that the client exists and that all products specified in the DTO are found in the database.
-     * If any product is not found, an {@link EntityNotFoundException} is thrown.
+     * If any product is not found, an {@link EntityNotFoundException} is thrown. A product listed several times is
+     * ordered once with the number of its occurrences as the quantity. The orders are written with
+     * multi-row insert statements by {@link OrderRepository#insertAll(List)}.
      * </p>
      *
      * @param ordersAddDto the DTO containing information about multiple orders to be added
-     * @return a list of IDs of the created orders
+     * @return a list of IDs of the created orders, one per distinct product
      * @throws EntityNotFoundException if the client or any of the products specified in the DTO are not found
      */
     public List<Long> addOrders(OrdersAddDto ordersAddDto) {
@@ -93,15 +117,32 @@ public class OrderServiceImpl extends GenericServiceImpl<OrderEntity, Order> imp
                 .findById(ordersAddDto.clientId())
                 .orElseThrow(() -> new EntityNotFoundException("Client not found"));
 
-        var productsEntity = productRepository.findAllById(ordersAddDto.productsId());
+        var productIds = List.copyOf(ordersAddDto.quantities().keySet());
+        var productsEntity = productRepository.findAllById(productIds);
 
-        if (productsEntity.size() != ordersAddDto.productsId().size()) {
+        if (productsEntity.size() != productIds.size()) {
             throw new EntityNotFoundException("Not all products were found");
         }
 
-        return orderRepository.saveAll(ordersAddDto.orderEntityList(clientEntity, productsEntity))
+        var orderEntities = orderRepository.insertAll(ordersAddDto.orderEntityList(clientEntity, productsEntity));
+
+        eventPublisher.publishEvent(new OrdersAddedEvent(orderEntities));
+        eventPublisher.publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.ORDERS));
+        return orderEntities
                 .stream()
                 .map(OrderEntity::getId)
                 .toList();
     }
+
+    /**
+     * Publishes an {@link OrdersRemovedEvent} for the orders that are about to be removed
+     * and a {@link ShopDataChangedEvent} for the change of orders.
+     *
+     * @param ids the IDs of the orders that are about to be removed
+     */
+    @Override
+    protected void beforeRemove(List<Long> ids) {
+        eventPublisher.publishEvent(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.ORDERS, ids));
+        eventPublisher.publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.ORDERS));
+    }
 }
@@ -4,17 +4,25 @@ import com.app.controller.dto.product.ProductDto;
 import com.app.controller.dto.product.ProductsFilterDto;
 import com.app.converter.single.Converter;
 import com.app.converter.many.ProductsConverter;
+import com.app.event.OrdersRemovedEvent;
+import com.app.event.ShopDataChangedEvent;
 import com.app.exception.ResourceAlreadyExistException;
 import com.app.model.Product;
 import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.entity.view.ProductKey;
+import com.app.persistence.repository.CategoryRepository;
 import com.app.persistence.repository.CrudRepository;
 import com.app.persistence.repository.ProductRepository;
 import com.app.persistence.repository.specification.ProductSpecification;
 import com.app.service.ProductService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Implementation of the {@link ProductService} interface that provides CRUD operations for managing products.
@@ -29,8 +37,10 @@ import java.util.List;
 @Service
 public class ProductServiceImpl extends GenericServiceImpl<ProductEntity, Product> implements ProductService {
     private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
     private final ProductsConverter productsConverterImpl;
     private final ProductSpecification productSpecification;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor that initializes the {@link ProductServiceImpl} with necessary repositories, converters, and specifications.
@@ -38,19 +48,25 @@ public class ProductServiceImpl extends GenericServiceImpl<ProductEntity, Produc
      * @param repository            the repository for {@link ProductEntity} used by the generic service
      * @param converter             the converter used to convert between {@link ProductEntity} and {@link Product}
      * @param productRepository     the repository for {@link ProductEntity} used for product persistence
+     * @param categoryRepository    the repository holding the dictionary of the product categories
      * @param productsConverterImpl the converter used to convert a list of DTOs to entities
      * @param productSpecification  the specification used for dynamic product filtering
+     * @param eventPublisher        the publisher used to announce the changes of products and the removal of their orders
      */
     public ProductServiceImpl(
             CrudRepository<ProductEntity> repository,
             Converter<ProductEntity, Product> converter,
             ProductRepository productRepository,
+            CategoryRepository categoryRepository,
             ProductsConverter productsConverterImpl,
-            ProductSpecification productSpecification) {
+            ProductSpecification productSpecification,
+            ApplicationEventPublisher eventPublisher) {
         super(repository, converter);
         this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
         this.productsConverterImpl = productsConverterImpl;
         this.productSpecification = productSpecification;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -70,44 +86,64 @@ public class ProductServiceImpl extends GenericServiceImpl<ProductEntity, Produc
             throw new ResourceAlreadyExistException("Product already exists");
         }
 
-        return productRepository.save(productDto.toProductEntity()).getId();
+        var id = productRepository.save(productDto.toProductEntity()).getId();
+        eventPublisher.publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.PRODUCTS));
+        return id;
     }
 
     /**
      * Adds multiple products based on the provided list of {@link ProductDto}.
      * <p>
-     * This method checks each product in the list to ensure that no product with the same name and category
-     * already exists. If any product already exists, it throws a {@link ResourceAlreadyExistException}.
+     * This method checks that no product appears twice in the list and that no product with the same name and
+     * category already exists. The existing products are looked up for the whole list at once, in chunks, instead of
+     * with one query per product. If any product already exists, it throws a {@link ResourceAlreadyExistException}.
      * After validation, it saves all products and returns the list of generated product IDs.
      * </p>
      *
      * @param productsDto the list of DTOs containing information about the products to be added
      * @return a list of IDs of the created products
-     * @throws ResourceAlreadyExistException if any product with the same name and category already exists
+     * @throws ResourceAlreadyExistException if any product already exists or appears in the list twice
      */
     public List<Long> addProducts(List<ProductDto> productsDto) {
 
+        var keys = new HashSet<ProductKey>();
         productsDto.forEach(productDto -> {
-            if (productRepository.findByNameAndCategory(
-                    productDto.name(), productDto.category()).isPresent()) {
-                throw new ResourceAlreadyExistException("Product: %s already exists".formatted(productDto));
+            if (!keys.add(productDto.toProductKey().ignoringCase())) {
+                throw new ResourceAlreadyExistException("Product: %s is repeated in the list".formatted(productDto));
             }
         });
 
-        return productRepository.saveAll(productsConverterImpl.toProductEntities(productsDto))
+        var existingKeys = productRepository.findExistingKeys(
+                productsDto.stream().map(ProductDto::toProductKey).toList());
+        productsDto.stream()
+                .filter(productDto -> existingKeys.contains(productDto.toProductKey().ignoringCase()))
+                .findFirst()
+                .ifPresent(productDto -> {
+                    throw new ResourceAlreadyExistException("Product: %s already exists".formatted(productDto));
+                });
+
+        var ids = productRepository.saveAll(productsConverterImpl.toProductEntities(productsDto))
                 .stream()
                 .map(ProductEntity::getId)
                 .toList();
+
+        eventPublisher.publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.PRODUCTS));
+        return ids;
     }
 
     /**
      * Retrieves a list of all product categories.
+     * <p>
+     * The categories are read from the in-memory dictionary of the {@link CategoryRepository}, without querying
+     * the products.
+     * </p>
      *
-     * @return a list of all categories available in the product repository
+     * @return a list of all categories, in alphabetical order
      */
     @Override
+    @Transactional(readOnly = true)
     public List<String> getCategories() {
-        return productRepository.getAllCategories();
+        return categoryRepository.getAllCategoryNames();
     }
 
     /**
@@ -122,6 +158,7 @@ public class ProductServiceImpl extends GenericServiceImpl<ProductEntity, Produc
      * @throws IllegalArgumentException if the category is null or empty
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Product> getProductsByCategory(String category) {
 
         if (category == null) {
@@ -147,6 +184,7 @@ public class ProductServiceImpl extends GenericServiceImpl<ProductEntity, Produc
      * @return a list of products that match the filter criteria
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Product> filterProducts(ProductsFilterDto productsFilterDto) {
 
         return productRepository
@@ -156,4 +194,81 @@ public class ProductServiceImpl extends GenericServiceImpl<ProductEntity, Produc
                 .map(ProductEntity::toProduct)
                 .toList();
     }
+
+    /**
+     * Filters products based on the specified {@link ProductsFilterDto} and returns a page of them ordered by ID.
+     * <p>
+     * The page starts after the given ID (keyset pagination), so only the products of the page are read.
+     * </p>
+     *
+     * @param productsFilterDto the DTO containing the filter criteria for the products
+     * @param after             the ID of the last product of the previous page, {@code 0} for the first page
+     * @param size              the maximum number of products in the page
+     * @return a list of products of the page that match the filter criteria
+     * @throws IllegalArgumentException if the ID is null or negative, or the size is not between 1 and {@value #MAX_PAGE_SIZE}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> filterProductsPage(ProductsFilterDto productsFilterDto, Long after, int size) {
+        validatePage(after, size);
+
+        return findFilteredPage(productsFilterDto, after, size)
+                .stream()
+                .map(ProductEntity::toProduct)
+                .toList();
+    }
+
+    /**
+     * Filters products based on the specified {@link ProductsFilterDto} and passes them, ordered by ID,
+     * to the action one by one.
+     * <p>
+     * The products are read in pages of {@value #STREAM_CLEAR_INTERVAL}, and the persistence context is cleared
+     * after every page, so memory use does not grow with the number of matching products.
+     * </p>
+     *
+     * @param productsFilterDto the DTO containing the filter criteria for the products
+     * @param action            the action receiving every matching product
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamFilteredProducts(ProductsFilterDto productsFilterDto, Consumer<Product> action) {
+        var after = 0L;
+        List<ProductEntity> page;
+        do {
+            page = findFilteredPage(productsFilterDto, after, STREAM_CLEAR_INTERVAL);
+            page.forEach(productEntity -> action.accept(productEntity.toProduct()));
+            if (!page.isEmpty()) {
+                after = page.getLast().getId();
+            }
+            entityManager.clear();
+        } while (page.size() == STREAM_CLEAR_INTERVAL);
+    }
+
+    /**
+     * Reads a page of the products matching the filter, ordered by ID and starting after the given ID.
+     *
+     * @param productsFilterDto the DTO containing the filter criteria for the products
+     * @param after             the ID after which the page starts
+     * @param size              the maximum number of products in the page
+     * @return the product entities of the page
+     */
+    private List<ProductEntity> findFilteredPage(ProductsFilterDto productsFilterDto, Long after, int size) {
+        return productRepository.findBy(
+                productSpecification
+                        .dynamicFilter(productsFilterDto.toProductFilterSpecification())
+                        .and(productSpecification.idGreaterThan(after)),
+                query -> query.sortBy(Sort.by("id")).limit(size).all());
+    }
+
+    /**
+     * Publishes an {@link OrdersRemovedEvent} for the orders removed together with the products
+     * and a {@link ShopDataChangedEvent} for the change of products.
+     *
+     * @param ids the IDs of the products that are about to be removed
+     */
+    @Override
+    protected void beforeRemove(List<Long> ids) {
+        eventPublisher.publishEvent(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.PRODUCTS, ids));
+        eventPublisher.publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.PRODUCTS));
+    }
 }
@@ -0,0 +1,114 @@
+package com.app.statistic;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * A range of time for which shop statistics are computed, from its start inclusive to its end exclusive.
+ * <p>
+ * The statistics over a range are answered from the hourly and daily buckets of the `order_rollups` table,
+ * so the range is widened to whole hours: its start is rounded down and its end rounded up. The whole days
+ * within the widened range are read from the daily buckets and the hours before and after them from the hourly
+ * buckets. The hourly buckets are kept only for a while, see {@link #requireWholeDaysBefore(Instant)}.
+ * </p>
+ *
+ * @param from the start of the range, inclusive
+ * @param to   the end of the range, exclusive
+ */
+public record TimeRange(Instant from, Instant to) {
+
+    /**
+     * Creates a time range.
+     *
+     * @throws IllegalArgumentException if a bound is null or the start is not before the end
+     */
+    public TimeRange {
+        if (from == null) {
+            throw new IllegalArgumentException("Range start cannot be null");
+        }
+
+        if (to == null) {
+            throw new IllegalArgumentException("Range end cannot be null");
+        }
+
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Range start must be before range end");
+        }
+    }
+
+    /**
+     * Retrieves the start of the range rounded down to a whole hour.
+     *
+     * @return the start of the first hourly bucket in the range
+     */
+    public Instant fromHour() {
+        return from.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    /**
+     * Retrieves the end of the range rounded up to a whole hour.
+     *
+     * @return the end of the last hourly bucket in the range
+     */
+    public Instant toHour() {
+        var hour = to.truncatedTo(ChronoUnit.HOURS);
+        return hour.equals(to) ? hour : hour.plus(1, ChronoUnit.HOURS);
+    }
+
+    /**
+     * Retrieves the start of the first whole day in the range.
+     * <p>
+     * If the range contains no whole day, the end of the range is returned, so no daily bucket is read.
+     * </p>
+     *
+     * @return the start of the first daily bucket in the range
+     */
+    public Instant fromDay() {
+        var day = fromHour().truncatedTo(ChronoUnit.DAYS);
+        if (day.isBefore(fromHour())) {
+            day = day.plus(1, ChronoUnit.DAYS);
+        }
+        return day.isBefore(toDayBound()) ? day : toHour();
+    }
+
+    /**
+     * Retrieves the end of the last whole day in the range.
+     * <p>
+     * If the range contains no whole day, the end of the range is returned, so no daily bucket is read.
+     * </p>
+     *
+     * @return the end of the last daily bucket in the range
+     */
+    public Instant toDay() {
+        var day = toDayBound();
+        return fromDay().isBefore(day) ? day : toHour();
+    }
+
+    /**
+     * Checks that the range is in whole days where it starts or ends before the given time.
+     * <p>
+     * The hourly buckets older than the retention of the rollups are removed, and only the daily buckets are kept
+     * for that time, so a bound before it which is not at the start of a day cannot be answered. Such a range is
+     * rejected instead of being widened, so the statistics never cover other orders than the ones asked for.
+     * </p>
+     *
+     * @param horizon the start of the oldest hourly bucket kept, at the start of a day
+     * @return this range
+     * @throws IllegalArgumentException if a bound before the horizon is not at the start of a day
+     */
+    public TimeRange requireWholeDaysBefore(Instant horizon) {
+        if (!isWholeDayOrAfter(from, horizon) || !isWholeDayOrAfter(to, horizon)) {
+            throw new IllegalArgumentException(
+                    "Range bounds before %s must be at the start of a day".formatted(horizon));
+        }
+        return this;
+    }
+
+    private static boolean isWholeDayOrAfter(Instant bound, Instant horizon) {
+        return !bound.isBefore(horizon) || bound.truncatedTo(ChronoUnit.DAYS).equals(bound);
+    }
+
+    private Instant toDayBound() {
+        return toHour().truncatedTo(ChronoUnit.DAYS);
+    }
+}
@@ -0,0 +1,53 @@
+package com.app.statistic.cache;
+
+import com.app.event.ShopDataChangedEvent.Source;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The shop statistics kept by the {@link StatisticCache}, together with the data they are computed from.
+ * <p>
+ * Removing a product or a client removes its orders as well, so every statistic computed from orders depends on
+ * all three sources. The price statistics are computed from products only.
+ * </p>
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CachedStatistic {
+
+    CLIENT_WITH_BIGGER_PAYMENT("client-with-bigger-payment", EnumSet.allOf(Source.class)),
+    CLIENT_WITH_BIGGER_PAYMENT_IN_CATEGORY("client-with-bigger-payment-in-category", EnumSet.allOf(Source.class)),
+    AGE_AND_MOST_CATEGORY("age-and-most-category", EnumSet.allOf(Source.class)),
+    AGE_AND_MOST_PRODUCT("age-and-most-product", EnumSet.allOf(Source.class)),
+    CATEGORY_AND_PRICE_STATISTIC("category-and-price-statistic", EnumSet.of(Source.PRODUCTS)),
+    CATEGORY_AND_MOST_CLIENT("category-and-most-client", EnumSet.allOf(Source.class)),
+    CLIENTS_AND_DEBIT("clients-and-debit", EnumSet.allOf(Source.class));
+
+    /**
+     * The name of the statistic in the `statistic.cache` properties and in the cache statistics.
+     */
+    private final String key;
+
+    /**
+     * The kinds of data whose change makes the cached results stale.
+     */
+    private final Set<Source> sources;
+
+    /**
+     * Finds the statistic with the given key.
+     *
+     * @param key the key of the statistic, such as {@code clients-and-debit}
+     * @return the statistic
+     * @throws IllegalArgumentException if no statistic has the key
+     */
+    public static CachedStatistic ofKey(String key) {
+        return Arrays.stream(values())
+                .filter(statistic -> statistic.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Statistic %s does not exist".formatted(key)));
+    }
+}
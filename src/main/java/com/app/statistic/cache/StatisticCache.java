@@ -0,0 +1,248 @@
+package com.app.statistic.cache;
+
+import com.app.controller.dto.statistic.StatisticCacheStatsDto;
+import com.app.event.ShopDataChangedEvent.Source;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of the results of the shop statistics.
+ * <p>
+ * Every {@link CachedStatistic} has its own region bounded by a time to live and a maximum number of results, one
+ * result per argument of the statistic. When a region is full, the least recently read result is evicted. A change
+ * of orders, products or clients invalidates every region of a statistic computed from that data.
+ * </p>
+ * <p>
+ * A result whose computation started before an invalidation is returned to its caller but not stored, so a result
+ * read from a transaction that has not seen the latest change never outlives the invalidation. Neither is a result
+ * whose computation started within the settle window after an invalidation, while it may have been read from a
+ * replica which has not received the change yet. Each region counts its hits, misses, evictions and invalidations.
+ * </p>
+ * <p>
+ * The class is thread safe: every region is locked on its own and the lock is never held while a result is computed.
+ * </p>
+ */
+public class StatisticCache {
+
+    private final Map<CachedStatistic, Region> regions = new EnumMap<>(CachedStatistic.class);
+    private final Duration settleWindow;
+    private final Clock clock;
+
+    /**
+     * Creates a cache with the given bounds of each statistic, storing results again right after an invalidation.
+     * A statistic without bounds is not cached.
+     *
+     * @param bounds the bounds of the cached statistics
+     * @param clock  the clock used to expire the results
+     */
+    public StatisticCache(Map<CachedStatistic, Bounds> bounds, Clock clock) {
+        this(bounds, Duration.ZERO, clock);
+    }
+
+    /**
+     * Creates a cache with the given bounds of each statistic. A statistic without bounds is not cached.
+     *
+     * @param bounds       the bounds of the cached statistics
+     * @param settleWindow how long after an invalidation the computed results are not stored
+     * @param clock        the clock used to expire the results
+     */
+    public StatisticCache(Map<CachedStatistic, Bounds> bounds, Duration settleWindow, Clock clock) {
+        for (var statistic : CachedStatistic.values()) {
+            regions.put(statistic, new Region(bounds.getOrDefault(statistic, Bounds.DISABLED)));
+        }
+        this.settleWindow = settleWindow;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached result of a statistic for an argument, computing and storing it when it is missing or expired.
+     *
+     * @param statistic the statistic
+     * @param argument  the argument of the statistic, or any constant for statistics without arguments
+     * @param query     computes the result when it is not cached
+     * @param <T>       the type of the result
+     * @return the result of the statistic
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(CachedStatistic statistic, Object argument, Supplier<T> query) {
+        return (T) regions.get(statistic).get(argument, (Supplier<Object>) query);
+    }
+
+    /**
+     * Invalidates the results of all statistics computed from the changed data.
+     *
+     * @param source the kind of data that changed
+     */
+    public void invalidate(Source source) {
+        regions.forEach((statistic, region) -> {
+            if (statistic.getSources().contains(source)) {
+                region.invalidate();
+            }
+        });
+    }
+
+    /**
+     * Invalidates the results of all statistics.
+     */
+    public void invalidateAll() {
+        regions.values().forEach(Region::invalidate);
+    }
+
+    /**
+     * Reads the counters and the current number of results of every statistic.
+     *
+     * @return the statistics of the cache regions, in the order of {@link CachedStatistic}
+     */
+    public Map<CachedStatistic, Stats> getStats() {
+        var stats = new EnumMap<CachedStatistic, Stats>(CachedStatistic.class);
+        regions.forEach((statistic, region) -> stats.put(statistic, region.stats()));
+        return stats;
+    }
+
+    /**
+     * The bounds of the results of one statistic.
+     *
+     * @param ttl     how long a result is kept after it was computed
+     * @param maxSize the maximum number of results, one per argument
+     */
+    public record Bounds(Duration ttl, int maxSize) {
+
+        /**
+         * Bounds which keep no results at all.
+         */
+        public static final Bounds DISABLED = new Bounds(Duration.ZERO, 0);
+
+        /**
+         * Validates the bounds.
+         *
+         * @throws IllegalArgumentException if the time to live or the maximum size is negative
+         */
+        public Bounds {
+            if (ttl == null || ttl.isNegative()) {
+                throw new IllegalArgumentException("Cache ttl cannot be negative");
+            }
+
+            if (maxSize < 0) {
+                throw new IllegalArgumentException("Cache max size cannot be negative");
+            }
+        }
+
+        private boolean isDisabled() {
+            return ttl.isZero() || maxSize == 0;
+        }
+    }
+
+    /**
+     * The counters of one statistic.
+     *
+     * @param hits          the number of reads answered from the cache
+     * @param misses        the number of reads which computed the result
+     * @param evictions     the number of results removed because they expired or the region was full
+     * @param invalidations the number of times the region was invalidated by a change of data
+     * @param size          the current number of results
+     */
+    public record Stats(long hits, long misses, long evictions, long invalidations, int size) {
+
+        /**
+         * Converts the counters to a {@link StatisticCacheStatsDto} together with the share of reads answered
+         * from the cache.
+         *
+         * @return the DTO of the counters
+         */
+        public StatisticCacheStatsDto toStatisticCacheStatsDto() {
+            var reads = hits + misses;
+            return new StatisticCacheStatsDto(
+                    hits, misses, evictions, invalidations, size, reads == 0 ? 0 : (double) hits / reads);
+        }
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    /**
+     * The results of a single statistic.
+     */
+    private final class Region {
+
+        private final Bounds bounds;
+        private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder invalidations = new LongAdder();
+
+        /**
+         * Incremented by every invalidation, so a result computed before it can be recognized.
+         */
+        private long generation;
+
+        /**
+         * The time in milliseconds from which a started computation has seen the last invalidated change.
+         */
+        private long settlesAt;
+
+        private Region(Bounds bounds) {
+            this.bounds = bounds;
+        }
+
+        private Object get(Object argument, Supplier<Object> query) {
+            if (bounds.isDisabled()) {
+                misses.increment();
+                return query.get();
+            }
+
+            long startGeneration;
+            long startedAt;
+            synchronized (this) {
+                startedAt = clock.millis();
+                var entry = entries.get(argument);
+                if (entry != null) {
+                    if (startedAt < entry.expiresAt()) {
+                        hits.increment();
+                        return entry.value();
+                    }
+                    entries.remove(argument);
+                    evictions.increment();
+                }
+                startGeneration = generation;
+            }
+
+            misses.increment();
+            var value = query.get();
+
+            synchronized (this) {
+                if (startGeneration == generation && startedAt >= settlesAt) {
+                    entries.put(argument, new Entry(value, clock.millis() + bounds.ttl().toMillis()));
+                    evictOverflow();
+                }
+            }
+            return value;
+        }
+
+        private void evictOverflow() {
+            var iterator = entries.values().iterator();
+            while (entries.size() > bounds.maxSize()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+
+        private synchronized void invalidate() {
+            generation++;
+            settlesAt = clock.millis() + settleWindow.toMillis();
+            entries.clear();
+            invalidations.increment();
+        }
+
+        private synchronized Stats stats() {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), entries.size());
+        }
+    }
+}
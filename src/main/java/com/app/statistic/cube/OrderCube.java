@@ -0,0 +1,592 @@
+package com.app.statistic.cube;
+
+import com.app.model.Client;
+import com.app.model.Product;
+import com.app.persistence.entity.OrderEntity;
+import com.app.persistence.entity.view.OrderCubeRowProjection;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory, column oriented copy of the join of orders with their clients and products, used to answer
+ * shop statistics without grouping queries in the database.
+ * <p>
+ * Every order is one row spread over primitive arrays: the ordinals of its client, product, client age and product
+ * category, its quantity, and its total price as a long scaled by {@link #PRICE_SCALE} decimal places. The frequency
+ * statistics count the ordered units, not the rows. Clients, products, ages
+ * and categories are dictionary encoded, so each statistic is a single pass over the arrays that accumulates into
+ * counters indexed by those ordinals. The frequency statistics count into a sparse map per key, so their memory
+ * grows with the pairs that were actually ordered, not with the product of the two dictionaries.
+ * </p>
+ * <p>
+ * The rows are kept sorted by order ID, so an order is found by a binary search of the IDs instead of an index
+ * holding an object per order. The orders are loaded in the order of their IDs, and new orders get increasing IDs
+ * from the ID blocks, so they are appended; an order with a lower ID is inserted in its place.
+ * </p>
+ * <p>
+ * Removed orders are only marked and skipped by the queries; the columns are compacted once more than half of
+ * the rows are marked, which keeps the rows sorted. Writes received before {@link #load(Stream)} is done are queued
+ * and replayed after the loaded orders, because they may have been committed after the orders were read. Replaying
+ * a write the load has already read changes nothing, since adding an order which is present and removing an order
+ * which is absent are skipped. The class is thread safe: queries share a read lock and writes take the write lock.
+ * </p>
+ */
+public class OrderCube {
+
+    /**
+     * Number of decimal places kept for prices and cash, the same as the scale of the database columns.
+     */
+    public static final int PRICE_SCALE = 2;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Number of loaded rows appended while the write lock is held once.
+     */
+    private static final int LOAD_BATCH_SIZE = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> clientOrdinals = new HashMap<>();
+    private final List<Client> clients = new ArrayList<>();
+    private long[] clientCash = new long[INITIAL_CAPACITY];
+
+    private final Map<Long, Integer> productOrdinals = new HashMap<>();
+    private final List<Product> products = new ArrayList<>();
+
+    private final Map<Integer, Integer> ageOrdinals = new HashMap<>();
+    private final List<Integer> ages = new ArrayList<>();
+
+    private final Map<String, Integer> categoryOrdinals = new HashMap<>();
+    private final List<String> categories = new ArrayList<>();
+
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+    private int size;
+    private long[] orderIds = new long[INITIAL_CAPACITY];
+    private int[] clientColumn = new int[INITIAL_CAPACITY];
+    private int[] productColumn = new int[INITIAL_CAPACITY];
+    private int[] ageColumn = new int[INITIAL_CAPACITY];
+    private int[] categoryColumn = new int[INITIAL_CAPACITY];
+    private int[] quantityColumn = new int[INITIAL_CAPACITY];
+    private long[] amountColumn = new long[INITIAL_CAPACITY];
+
+    private final List<Runnable> pending = new ArrayList<>();
+    private boolean loaded;
+
+    /**
+     * Replaces the content of the cube with the given orders, replays the writes queued until then and marks it
+     * as loaded.
+     * <p>
+     * The rows are appended to the columns while they are read, in batches, each holding the write lock for a short
+     * time only. Until the load is done, the cube is not loaded and the writes are queued.
+     * </p>
+     *
+     * @param rows all orders ordered by ID, with the columns of their clients and products
+     */
+    public void load(Stream<OrderCubeRowProjection> rows) {
+        write(() -> {
+            loaded = false;
+            clientOrdinals.clear();
+            clients.clear();
+            productOrdinals.clear();
+            products.clear();
+            ageOrdinals.clear();
+            ages.clear();
+            categoryOrdinals.clear();
+            categories.clear();
+            removed.clear();
+            removedCount = 0;
+            size = 0;
+        });
+
+        var iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            write(() -> {
+                for (int i = 0; i < LOAD_BATCH_SIZE && iterator.hasNext(); i++) {
+                    add(iterator.next());
+                }
+            });
+        }
+
+        write(() -> {
+            pending.forEach(Runnable::run);
+            pending.clear();
+            loaded = true;
+        });
+    }
+
+    /**
+     * Checks whether the cube has been loaded and can answer queries.
+     *
+     * @return {@code true} if {@link #load(Stream)} has been called
+     */
+    public boolean isLoaded() {
+        return read(() -> loaded);
+    }
+
+    /**
+     * Appends newly saved orders to the cube. Orders which are already present are skipped.
+     *
+     * @param orders the saved orders, with their clients and products initialized
+     */
+    public void addOrders(List<OrderEntity> orders) {
+        apply(() -> orders.stream()
+                .sorted(Comparator.comparing(OrderEntity::getId))
+                .forEach(this::add));
+    }
+
+    /**
+     * Removes the orders with the given IDs.
+     *
+     * @param ids the IDs of the orders
+     */
+    public void removeOrders(List<Long> ids) {
+        apply(() -> {
+            ids.stream()
+                    .mapToInt(this::rowOf)
+                    .filter(row -> row >= 0)
+                    .forEach(this::markRemoved);
+            compactIfNeeded();
+        });
+    }
+
+    /**
+     * Removes all orders of the products with the given IDs.
+     *
+     * @param ids the IDs of the products
+     */
+    public void removeOrdersOfProducts(List<Long> ids) {
+        apply(() -> {
+            ids.stream()
+                    .map(productOrdinals::get)
+                    .filter(Objects::nonNull)
+                    .forEach(product -> markRemoved(productColumn, product));
+            compactIfNeeded();
+        });
+    }
+
+    /**
+     * Removes all orders of the clients with the given IDs.
+     *
+     * @param ids the IDs of the clients
+     */
+    public void removeOrdersOfClients(List<Long> ids) {
+        apply(() -> {
+            ids.stream()
+                    .map(clientOrdinals::get)
+                    .filter(Objects::nonNull)
+                    .forEach(client -> markRemoved(clientColumn, client));
+            compactIfNeeded();
+        });
+    }
+
+    /**
+     * Finds the clients with the highest total price of their orders.
+     *
+     * @return the clients with the highest total payment, or an empty list if there are no orders
+     */
+    public List<Client> getClientWithBiggerPayment() {
+        return read(() -> topPayers(-1));
+    }
+
+    /**
+     * Finds the clients with the highest total price of their orders within one product category.
+     *
+     * @param category the product category
+     * @return the clients with the highest total payment in the category, or an empty list if there are no such orders
+     */
+    public List<Client> getClientWithBiggerPaymentInCategory(String category) {
+        return read(() -> {
+            var ordinal = categoryOrdinals.get(category);
+            return ordinal == null ? List.of() : topPayers(ordinal);
+        });
+    }
+
+    /**
+     * Finds the most often ordered product categories for every client age.
+     *
+     * @return a map of client ages to their most often ordered categories
+     */
+    public Map<Integer, List<String>> getAgeAndMostCategory() {
+        return read(() -> {
+            var counts = counters(ages.size());
+
+            for (int row = removed.nextClearBit(0); row < size; row = removed.nextClearBit(row + 1)) {
+                counts.get(ageColumn[row]).merge(categoryColumn[row], (long) quantityColumn[row], Long::sum);
+            }
+
+            return mostFrequent(counts, ages, categories);
+        });
+    }
+
+    /**
+     * Finds the most often ordered products for every client age.
+     *
+     * @return a map of client ages to their most often ordered products
+     */
+    public Map<Integer, List<Product>> getAgeAndMostProduct() {
+        return read(() -> {
+            var counts = counters(ages.size());
+
+            for (int row = removed.nextClearBit(0); row < size; row = removed.nextClearBit(row + 1)) {
+                counts.get(ageColumn[row]).merge(productColumn[row], (long) quantityColumn[row], Long::sum);
+            }
+
+            return mostFrequent(counts, ages, products);
+        });
+    }
+
+    /**
+     * Finds the clients with the most orders in every product category.
+     *
+     * @return a map of product categories to the clients with the most orders in them
+     */
+    public Map<String, List<Client>> getCategoryAndMostClient() {
+        return read(() -> {
+            var counts = counters(categories.size());
+
+            for (int row = removed.nextClearBit(0); row < size; row = removed.nextClearBit(row + 1)) {
+                counts.get(categoryColumn[row]).merge(clientColumn[row], (long) quantityColumn[row], Long::sum);
+            }
+
+            return mostFrequent(counts, categories, clients);
+        });
+    }
+
+    /**
+     * Finds the clients whose total price of orders exceeds their cash.
+     *
+     * @return a map of clients to their cash reduced by the total price of their orders, which is always negative
+     */
+    public Map<Client, BigDecimal> getClientsAndDebit() {
+        return read(() -> {
+            var spend = new long[clients.size()];
+            var counts = new int[clients.size()];
+            sumByClient(-1, spend, counts);
+
+            var result = new HashMap<Client, BigDecimal>();
+            for (int client = 0; client < counts.length; client++) {
+                var debit = clientCash[client] - spend[client];
+                if (counts[client] > 0 && debit < 0) {
+                    result.put(clients.get(client), BigDecimal.valueOf(debit, PRICE_SCALE));
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Sums the prices of the orders, optionally limited to one category, per client and returns the clients
+     * with the highest sum.
+     *
+     * @param category the category ordinal, or a negative value for all categories
+     * @return the clients with the highest sum
+     */
+    private List<Client> topPayers(int category) {
+        var spend = new long[clients.size()];
+        var counts = new int[clients.size()];
+        sumByClient(category, spend, counts);
+
+        var max = Long.MIN_VALUE;
+        var result = new ArrayList<Client>();
+        for (int client = 0; client < counts.length; client++) {
+            if (counts[client] == 0 || spend[client] < max) {
+                continue;
+            }
+            if (spend[client] > max) {
+                max = spend[client];
+                result.clear();
+            }
+            result.add(clients.get(client));
+        }
+        return result;
+    }
+
+    private void sumByClient(int category, long[] spend, int[] counts) {
+        for (int row = removed.nextClearBit(0); row < size; row = removed.nextClearBit(row + 1)) {
+            if (category < 0 || categoryColumn[row] == category) {
+                spend[clientColumn[row]] += amountColumn[row];
+                counts[clientColumn[row]]++;
+            }
+        }
+    }
+
+    /**
+     * Creates an empty sparse map of counters for every key, keyed by the ordinals of the counted values.
+     *
+     * @param keys the number of keys
+     * @return the counters of every key
+     */
+    private static List<Map<Integer, Long>> counters(int keys) {
+        var counts = new ArrayList<Map<Integer, Long>>(keys);
+        for (int key = 0; key < keys; key++) {
+            counts.add(new HashMap<>());
+        }
+        return counts;
+    }
+
+    /**
+     * Reads the counters of every key and maps every key with at least one count to the values with the highest
+     * count.
+     *
+     * @param counts the counters of every key, keyed by the ordinals of the values
+     * @param keys   the dictionary of the keys
+     * @param values the dictionary of the values
+     * @return a map of keys to their most frequent values
+     */
+    private static <K, V> Map<K, List<V>> mostFrequent(List<Map<Integer, Long>> counts, List<K> keys, List<V> values) {
+        var result = new HashMap<K, List<V>>();
+
+        for (int key = 0; key < keys.size(); key++) {
+            var max = 0L;
+            var most = new ArrayList<V>();
+            for (var count : counts.get(key).entrySet()) {
+                if (count.getValue() < max) {
+                    continue;
+                }
+                if (count.getValue() > max) {
+                    max = count.getValue();
+                    most.clear();
+                }
+                most.add(values.get(count.getKey()));
+            }
+            if (max > 0) {
+                result.put(keys.get(key), most);
+            }
+        }
+        return result;
+    }
+
+    private void add(OrderEntity order) {
+        var row = insertionRow(order.getId());
+        if (row < 0) {
+            return;
+        }
+
+        var clientEntity = order.getClientEntity();
+        var productEntity = order.getProductEntity();
+        insert(row, order.getId(),
+                clientOrdinal(clientEntity.getId(), clientEntity.getCash(), clientEntity::toClient),
+                productOrdinal(productEntity.getId(), productEntity::toProduct),
+                ordinal(ageOrdinals, ages, clientEntity.getAge()),
+                ordinal(categoryOrdinals, categories, productEntity.getCategory()),
+                order.getQuantity(),
+                order.getAmount());
+    }
+
+    private void add(OrderCubeRowProjection order) {
+        var row = insertionRow(order.getOrderId());
+        if (row < 0) {
+            return;
+        }
+
+        insert(row, order.getOrderId(),
+                clientOrdinal(order.getClientId(), order.getClientCash(), () -> new Client(
+                        order.getClientId(), order.getClientName(), order.getClientSurname(),
+                        order.getClientAge(), order.getClientCash())),
+                productOrdinal(order.getProductId(), () -> new Product(
+                        order.getProductId(), order.getProductName(), order.getCategory(), order.getProductPrice())),
+                ordinal(ageOrdinals, ages, order.getClientAge()),
+                ordinal(categoryOrdinals, categories, order.getCategory()),
+                order.getQuantity(),
+                order.getAmount());
+    }
+
+    /**
+     * Finds the row at which an order has to be inserted to keep the rows sorted by order ID. An order with a
+     * higher ID than all present orders is appended without a search.
+     *
+     * @param orderId the ID of the order
+     * @return the row at which the order is inserted, or {@code -1} if an order with the same ID is present
+     */
+    private int insertionRow(long orderId) {
+        if (size == 0 || orderIds[size - 1] < orderId) {
+            return size;
+        }
+
+        var row = rowOf(orderId);
+        return row >= 0 ? -1 : -row - 1;
+    }
+
+    /**
+     * Inserts an order at the given row, moving the following rows down by one row.
+     */
+    private void insert(int row, long orderId, int client, int product, int age, int category, int quantity,
+                        BigDecimal amount) {
+        if (size == orderIds.length) {
+            resize(size * 2);
+        }
+        if (row < size) {
+            shift(row);
+        }
+
+        orderIds[row] = orderId;
+        clientColumn[row] = client;
+        productColumn[row] = product;
+        ageColumn[row] = age;
+        categoryColumn[row] = category;
+        quantityColumn[row] = quantity;
+        amountColumn[row] = scaled(amount);
+        size++;
+    }
+
+    /**
+     * Moves the rows from the given one to the end of the columns down by one row, making room for an insertion.
+     */
+    private void shift(int from) {
+        var length = size - from;
+        System.arraycopy(orderIds, from, orderIds, from + 1, length);
+        System.arraycopy(clientColumn, from, clientColumn, from + 1, length);
+        System.arraycopy(productColumn, from, productColumn, from + 1, length);
+        System.arraycopy(ageColumn, from, ageColumn, from + 1, length);
+        System.arraycopy(categoryColumn, from, categoryColumn, from + 1, length);
+        System.arraycopy(quantityColumn, from, quantityColumn, from + 1, length);
+        System.arraycopy(amountColumn, from, amountColumn, from + 1, length);
+
+        var moved = removed.get(from, size);
+        removed.clear(from, size);
+        moved.stream().forEach(row -> removed.set(from + 1 + row));
+    }
+
+    /**
+     * Finds the row of an order with a binary search of the sorted order IDs.
+     *
+     * @param orderId the ID of the order
+     * @return the row of the order, or {@code -(insertion row) - 1} if it is not present
+     */
+    private int rowOf(long orderId) {
+        return Arrays.binarySearch(orderIds, 0, size, orderId);
+    }
+
+    private int clientOrdinal(Long id, BigDecimal cash, Supplier<Client> client) {
+        var ordinal = clientOrdinals.get(id);
+        if (ordinal != null) {
+            return ordinal;
+        }
+
+        ordinal = clients.size();
+        if (ordinal == clientCash.length) {
+            clientCash = Arrays.copyOf(clientCash, ordinal * 2);
+        }
+        clientCash[ordinal] = scaled(cash);
+        clients.add(client.get());
+        clientOrdinals.put(id, ordinal);
+        return ordinal;
+    }
+
+    private int productOrdinal(Long id, Supplier<Product> product) {
+        var ordinal = productOrdinals.get(id);
+        if (ordinal != null) {
+            return ordinal;
+        }
+
+        ordinal = products.size();
+        products.add(product.get());
+        productOrdinals.put(id, ordinal);
+        return ordinal;
+    }
+
+    private static <T> int ordinal(Map<T, Integer> ordinals, List<T> dictionary, T value) {
+        return ordinals.computeIfAbsent(value, key -> {
+            dictionary.add(key);
+            return dictionary.size() - 1;
+        });
+    }
+
+    private static long scaled(BigDecimal value) {
+        return value
+                .setScale(PRICE_SCALE, RoundingMode.HALF_UP)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    private void markRemoved(int[] column, int ordinal) {
+        for (int row = removed.nextClearBit(0); row < size; row = removed.nextClearBit(row + 1)) {
+            if (column[row] == ordinal) {
+                markRemoved(row);
+            }
+        }
+    }
+
+    private void markRemoved(int row) {
+        if (!removed.get(row)) {
+            removed.set(row);
+            removedCount++;
+        }
+    }
+
+    /**
+     * Moves the remaining rows to the front of the columns, in the same order, once more than half of the rows are
+     * removed.
+     */
+    private void compactIfNeeded() {
+        if (removedCount * 2 <= size) {
+            return;
+        }
+
+        var live = 0;
+        for (int row = removed.nextClearBit(0); row < size; row = removed.nextClearBit(row + 1)) {
+            orderIds[live] = orderIds[row];
+            clientColumn[live] = clientColumn[row];
+            productColumn[live] = productColumn[row];
+            ageColumn[live] = ageColumn[row];
+            categoryColumn[live] = categoryColumn[row];
+            quantityColumn[live] = quantityColumn[row];
+            amountColumn[live] = amountColumn[row];
+            live++;
+        }
+
+        size = live;
+        removed.clear();
+        removedCount = 0;
+        resize(Math.max(INITIAL_CAPACITY, size * 2));
+    }
+
+    private void resize(int capacity) {
+        orderIds = Arrays.copyOf(orderIds, capacity);
+        clientColumn = Arrays.copyOf(clientColumn, capacity);
+        productColumn = Arrays.copyOf(productColumn, capacity);
+        ageColumn = Arrays.copyOf(ageColumn, capacity);
+        categoryColumn = Arrays.copyOf(categoryColumn, capacity);
+        quantityColumn = Arrays.copyOf(quantityColumn, capacity);
+        amountColumn = Arrays.copyOf(amountColumn, capacity);
+    }
+
+    /**
+     * Applies a write to the loaded cube, or queues it until the cube is loaded.
+     */
+    private void apply(Runnable change) {
+        write(() -> {
+            if (loaded) {
+                change.run();
+            } else {
+                pending.add(change);
+            }
+        });
+    }
+
+    private <T> T read(Supplier<T> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            update.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.app.statistic.impl;
+
+import com.app.controller.dto.product.StatisticDto;
+import com.app.converter.many.ProductsConverter;
+import com.app.model.Product;
+import com.app.persistence.entity.view.ProductPriceProjection;
+import com.app.statistic.Statistic;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collector;
+
+/**
+ * Implementation of the {@link Statistic} interface that is built from single products in one streaming pass.
+ * <p>
+ * Instead of a precomputed average, the statistic keeps the number of products, the sum of their prices, the minimum
+ * and maximum prices and the products having them. Two partial statistics of the same category can therefore be merged
+ * into exactly the statistic of all their products, so a category can be split into partitions, for example by
+ * {@link #collector()} in a parallel stream, and the partitions combined afterwards.
+ * </p>
+ */
+@ToString
+@EqualsAndHashCode
+public class RunningStatisticImpl implements Statistic<Product, BigDecimal> {
+
+    /**
+     * Number of additional decimal places of the average, the same as MySQL adds to the average of a decimal column.
+     */
+    private static final int AVG_EXTRA_SCALE = 4;
+
+    /**
+     * The number of products in the statistic.
+     */
+    @Getter
+    private long count;
+
+    /**
+     * The sum of the prices of the products in the statistic.
+     */
+    @Getter
+    private BigDecimal sum = BigDecimal.ZERO;
+
+    /**
+     * The minimum price, or {@code null} if the statistic is empty.
+     */
+    private BigDecimal minPrice;
+
+    /**
+     * The maximum price, or {@code null} if the statistic is empty.
+     */
+    private BigDecimal maxPrice;
+
+    /**
+     * The list of products with the minimum price.
+     */
+    @Getter
+    private final List<Product> min = new ArrayList<>();
+
+    /**
+     * The list of products with the maximum price.
+     */
+    @Getter
+    private final List<Product> max = new ArrayList<>();
+
+    /**
+     * Creates a collector which builds one {@link RunningStatisticImpl} from a stream of products.
+     * <p>
+     * The collector is unordered and its combiner is {@link #merge(Statistic)}, so it can be used with parallel streams.
+     * </p>
+     *
+     * @return a collector of product prices into a statistic
+     */
+    public static Collector<ProductPriceProjection, ?, Statistic<Product, BigDecimal>> collector() {
+        return Collector.<ProductPriceProjection, RunningStatisticImpl, Statistic<Product, BigDecimal>>of(
+                RunningStatisticImpl::new,
+                RunningStatisticImpl::accept,
+                RunningStatisticImpl::merge,
+                statistic -> statistic,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Adds a single product to the statistic.
+     *
+     * @param productPriceProjection the product with its price
+     */
+    public void accept(ProductPriceProjection productPriceProjection) {
+        var price = productPriceProjection.getPrice();
+        var product = new Product(
+                productPriceProjection.getId(), productPriceProjection.getName(),
+                productPriceProjection.getCategory(), price);
+
+        count++;
+        sum = sum.add(price);
+        minPrice = keep(minPrice, min, price, List.of(product), -1);
+        maxPrice = keep(maxPrice, max, price, List.of(product), 1);
+    }
+
+    /**
+     * Merges another running statistic into this one. The counts and sums are added, so the average of the result
+     * is the average of all products of both statistics, and the minimum and maximum products are combined.
+     *
+     * @param statistic the {@link RunningStatisticImpl} to merge with
+     * @return the current {@link RunningStatisticImpl} instance, with the merged data
+     * @throws IllegalArgumentException if the statistic is not a {@link RunningStatisticImpl}
+     */
+    @Override
+    public RunningStatisticImpl merge(Statistic<Product, BigDecimal> statistic) {
+        if (!(statistic instanceof RunningStatisticImpl other)) {
+            throw new IllegalArgumentException("Only running statistics can be merged");
+        }
+
+        if (other.count == 0) {
+            return this;
+        }
+
+        count += other.count;
+        sum = sum.add(other.sum);
+        minPrice = keep(minPrice, min, other.minPrice, other.min, -1);
+        maxPrice = keep(maxPrice, max, other.maxPrice, other.max, 1);
+        return this;
+    }
+
+    /**
+     * Calculates the average price of the products in the statistic.
+     *
+     * @return the average price, or {@code null} if the statistic is empty
+     */
+    public BigDecimal getAvg() {
+        return count == 0
+                ? null
+                : sum.divide(BigDecimal.valueOf(count), sum.scale() + AVG_EXTRA_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Converts the statistical data into a {@link StatisticDto} object for easier consumption on the client side.
+     *
+     * @param productsConverterImpl the converter used to transform product entities into DTOs
+     * @return a {@link StatisticDto} object containing the minimum, maximum, and average product data
+     */
+    @Override
+    public StatisticDto toStatisticDto(ProductsConverter productsConverterImpl) {
+        return new StatisticDto(
+                productsConverterImpl.toDtoList(min),
+                productsConverterImpl.toDtoList(max),
+                getAvg()
+        );
+    }
+
+    /**
+     * Keeps the extreme of the current and the candidate price, together with the products having it.
+     *
+     * @param current    the current extreme price, or {@code null} if there is none yet
+     * @param products   the products having the current extreme price, updated in place
+     * @param candidate  the candidate price
+     * @param candidates the products having the candidate price
+     * @param direction  {@code -1} to keep the minimum, {@code 1} to keep the maximum
+     * @return the new extreme price
+     */
+    private static BigDecimal keep(
+            BigDecimal current, List<Product> products, BigDecimal candidate, List<Product> candidates, int direction) {
+        var comparison = current == null ? direction : Integer.signum(candidate.compareTo(current));
+
+        if (comparison == direction) {
+            products.clear();
+        }
+        if (comparison == direction || comparison == 0) {
+            products.addAll(candidates);
+            return comparison == 0 ? current : candidate;
+        }
+        return current;
+    }
+}
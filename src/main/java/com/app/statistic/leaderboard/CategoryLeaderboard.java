@@ -0,0 +1,218 @@
+package com.app.statistic.leaderboard;
+
+import com.app.persistence.entity.view.CategorySpendProjection;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory leaderboard of the clients with the biggest spending in every product category.
+ * <p>
+ * For every category the leaderboard keeps the spending and number of orders of each client, and the same clients
+ * ordered by their spending. Adding or subtracting orders of a client takes O(log n) in the number of clients who
+ * ordered in the category, and reading the top spenders does not depend on the number of orders at all.
+ * </p>
+ * <p>
+ * The class is thread safe: the categories are kept in a concurrent map and every category is locked on its own.
+ * </p>
+ * <p>
+ * A rebuild does not lose or double count the changes made while it runs. The snapshot of the spending is opened
+ * only once no change is between {@link #beginUpdate()} and {@link #endUpdate()}, so every change committed before
+ * the snapshot has already been applied. The changes applied while the snapshot is streamed are also queued, and
+ * replayed onto the rebuilt leaderboard before it replaces the current one.
+ * </p>
+ */
+public class CategoryLeaderboard {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile Map<String, Board> boards = new ConcurrentHashMap<>();
+    private volatile Queue<Consumer<Map<String, Board>>> replay;
+
+    /**
+     * Marks the start of a change the current thread is about to commit and apply. A rebuild does not open its
+     * snapshot until the change is applied and {@link #endUpdate()} is called by the same thread.
+     */
+    public void beginUpdate() {
+        lock.readLock().lock();
+    }
+
+    /**
+     * Marks the end of a change started with {@link #beginUpdate()}, whether it was applied or not.
+     */
+    public void endUpdate() {
+        lock.readLock().unlock();
+    }
+
+    /**
+     * Adds the spending of orders of a client in a category.
+     *
+     * @param category   the product category
+     * @param clientId   the ID of the client
+     * @param amount     the total price of the orders
+     * @param orderCount the number of the orders
+     */
+    public void add(String category, Long clientId, BigDecimal amount, long orderCount) {
+        update(boards -> add(boards, category, clientId, amount, orderCount));
+    }
+
+    /**
+     * Subtracts the spending of removed orders of a client in a category. The client leaves the leaderboard
+     * of the category when none of their orders are left.
+     *
+     * @param category   the product category
+     * @param clientId   the ID of the client
+     * @param amount     the total price of the removed orders
+     * @param orderCount the number of the removed orders
+     */
+    public void subtract(String category, Long clientId, BigDecimal amount, long orderCount) {
+        update(boards -> {
+            var board = boards.get(category);
+            if (board != null) {
+                board.add(clientId, amount.negate(), -orderCount);
+            }
+        });
+    }
+
+    /**
+     * Removes the clients from the leaderboards of all categories.
+     *
+     * @param clientIds the IDs of the clients
+     */
+    public void removeClients(Collection<Long> clientIds) {
+        update(boards -> boards.values().forEach(board -> board.remove(clientIds)));
+    }
+
+    /**
+     * Finds the IDs of the clients with the biggest spending in a category.
+     *
+     * @param category the product category
+     * @return the IDs of the top spenders, or an empty list if nobody ordered in the category
+     */
+    public List<Long> getTopClientIds(String category) {
+        var board = boards.get(category);
+        return board == null ? List.of() : board.top();
+    }
+
+    /**
+     * Replaces the content of the leaderboard with the given spending, without exposing a partially built state.
+     * <p>
+     * The snapshot is opened while no change is in progress, and the changes applied while it is streamed are
+     * replayed onto the rebuilt leaderboard before it is published. The stream is closed once it is read.
+     * </p>
+     *
+     * @param snapshot opens the stream of the spending of the clients per category, possibly with several entries
+     *                 per client and category
+     * @return the number of categories in the rebuilt leaderboard
+     */
+    public synchronized int rebuild(Supplier<? extends Stream<? extends CategorySpendProjection>> snapshot) {
+        var pending = new ConcurrentLinkedQueue<Consumer<Map<String, Board>>>();
+
+        Stream<? extends CategorySpendProjection> spending;
+        lock.writeLock().lock();
+        try {
+            spending = snapshot.get();
+            replay = pending;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        var rebuilt = new ConcurrentHashMap<String, Board>();
+        try (spending) {
+            spending.forEach(spend -> add(
+                    rebuilt, spend.getCategory(), spend.getClientId(), spend.getAmount(), spend.getOrderCount()));
+        } catch (RuntimeException e) {
+            replay = null;
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(change -> change.accept(rebuilt));
+            boards = rebuilt;
+            replay = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return rebuilt.size();
+    }
+
+    /**
+     * Applies a change to the current leaderboard and queues it for the rebuild in progress, if there is one.
+     */
+    private void update(Consumer<Map<String, Board>> change) {
+        lock.readLock().lock();
+        try {
+            change.accept(boards);
+            var pending = replay;
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void add(Map<String, Board> boards, String category, Long clientId, BigDecimal amount, long orderCount) {
+        boards.computeIfAbsent(category, key -> new Board())
+                .add(clientId, amount, orderCount);
+    }
+
+    /**
+     * Leaderboard of a single category.
+     */
+    private static final class Board {
+
+        private final Map<Long, Spend> spendByClient = new HashMap<>();
+        private final TreeMap<BigDecimal, Set<Long>> clientsBySpend = new TreeMap<>();
+
+        synchronized void add(Long clientId, BigDecimal amount, long orderCount) {
+            var previous = spendByClient.get(clientId);
+            if (previous != null) {
+                detach(clientId, previous.amount());
+            }
+
+            var current = previous == null
+                    ? new Spend(amount, orderCount)
+                    : new Spend(previous.amount().add(amount), previous.orderCount() + orderCount);
+
+            if (current.orderCount() > 0) {
+                spendByClient.put(clientId, current);
+                clientsBySpend.computeIfAbsent(current.amount(), key -> new HashSet<>()).add(clientId);
+            } else {
+                spendByClient.remove(clientId);
+            }
+        }
+
+        synchronized void remove(Collection<Long> clientIds) {
+            clientIds.forEach(clientId -> {
+                var previous = spendByClient.remove(clientId);
+                if (previous != null) {
+                    detach(clientId, previous.amount());
+                }
+            });
+        }
+
+        synchronized List<Long> top() {
+            var top = clientsBySpend.lastEntry();
+            return top == null ? List.of() : List.copyOf(top.getValue());
+        }
+
+        private void detach(Long clientId, BigDecimal amount) {
+            var clients = clientsBySpend.get(amount);
+            clients.remove(clientId);
+            if (clients.isEmpty()) {
+                clientsBySpend.remove(amount);
+            }
+        }
+    }
+
+    private record Spend(BigDecimal amount, long orderCount) {
+    }
+}
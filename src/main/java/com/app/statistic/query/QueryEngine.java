@@ -0,0 +1,23 @@
+package com.app.statistic.query;
+
+/**
+ * The ways the database computes the "most often" statistics, which keep, for every group, all the members
+ * with the biggest number of ordered units.
+ * <p>
+ * Both engines give the same rows, ties included, and differ only in how the database reaches them.
+ * </p>
+ */
+public enum QueryEngine {
+
+    /**
+     * Compares the units of every group with the maximum found by a correlated subquery, which groups the orders
+     * again for every group of the outer query.
+     */
+    CORRELATED,
+
+    /**
+     * Groups the orders once and keeps the members ranked first by a {@code RANK()} window function over the group,
+     * which ranks all tied members first.
+     */
+    WINDOW
+}
@@ -0,0 +1,24 @@
+package com.app.statistic.query;
+
+/**
+ * The {@link QueryEngine} chosen for every "most often" statistic.
+ *
+ * @param ageAndMostCategory    the engine of the most often ordered categories per client age
+ * @param ageAndMostProduct     the engine of the most often ordered products per client age
+ * @param categoryAndMostClient the engine of the clients ordering most often per category
+ */
+public record QueryEngines(
+        QueryEngine ageAndMostCategory,
+        QueryEngine ageAndMostProduct,
+        QueryEngine categoryAndMostClient) {
+
+    /**
+     * Creates the engines using the same engine for every statistic.
+     *
+     * @param engine the engine of all statistics
+     * @return the engines
+     */
+    public static QueryEngines of(QueryEngine engine) {
+        return new QueryEngines(engine, engine, engine);
+    }
+}
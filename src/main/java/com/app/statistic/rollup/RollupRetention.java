@@ -0,0 +1,43 @@
+package com.app.statistic.rollup;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * How long the hourly buckets of the `order_rollups` table are kept.
+ * <p>
+ * Every order is counted in an hourly and a daily bucket, so the hourly buckets only add the edge hours of a
+ * {@link com.app.statistic.TimeRange} to its whole days. Once they are older than the retention they are removed,
+ * which keeps their number bounded, and the ranges reaching further back must be in whole days there.
+ * </p>
+ *
+ * @param hourly the time for which the hourly buckets are kept
+ * @param clock  the clock telling the current time
+ */
+public record RollupRetention(Duration hourly, Clock clock) {
+
+    /**
+     * Creates the retention of the rollups.
+     *
+     * @throws IllegalArgumentException if the retention is null or negative
+     */
+    public RollupRetention {
+        if (hourly == null || hourly.isNegative()) {
+            throw new IllegalArgumentException("Hourly rollup retention cannot be negative");
+        }
+    }
+
+    /**
+     * Retrieves the start of the oldest hourly bucket kept, which is the start of a day, so whole days of hourly
+     * buckets are removed at once.
+     *
+     * @return the time before which only the daily buckets are kept
+     */
+    public Instant hourlyHorizon() {
+        return clock.instant()
+                .minus(hourly)
+                .truncatedTo(ChronoUnit.DAYS);
+    }
+}
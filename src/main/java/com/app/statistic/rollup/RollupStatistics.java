@@ -0,0 +1,119 @@
+package com.app.statistic.rollup;
+
+import com.app.persistence.entity.view.OrderRollupProjection;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Computes the shop statistics over a time range from the rollups of the orders within it.
+ * <p>
+ * The rows are the hourly rollups of every client and product at the edges of the range, read from the
+ * `order_rollups` table, and the daily rollups of its whole days in the dimension of the statistic, read from the
+ * `order_dimension_rollups` table. A row of a dimension only carries the columns of its keys, so the rows given
+ * to the statistics must hold the columns the called method reads.
+ * </p>
+ * <p>
+ * The statistics are answered with the IDs of the clients and products, which the caller loads afterwards, so the
+ * rows only have to carry the IDs, the client age and the product category. Every method is a single pass over the
+ * rows that sums the amounts or ordered units per group and keeps the values with the highest sum in every group.
+ * </p>
+ */
+public class RollupStatistics {
+
+    private final List<OrderRollupProjection> rollups;
+
+    /**
+     * Creates the statistics of the given rows.
+     *
+     * @param rollups the rollups of the orders within the range
+     */
+    public RollupStatistics(List<OrderRollupProjection> rollups) {
+        this.rollups = rollups;
+    }
+
+    /**
+     * Finds the clients with the highest total price of their orders, optionally within one product category.
+     *
+     * @param category the product category, or null for all categories
+     * @return the IDs of the clients with the highest total payment, or an empty list if there are no such orders
+     */
+    public List<Long> getTopClientIds(String category) {
+        var amounts = new HashMap<Long, BigDecimal>();
+        rollups.stream()
+                .filter(rollup -> category == null || category.equals(rollup.getCategory()))
+                .forEach(rollup -> amounts.merge(rollup.getClientId(), rollup.getAmount(), BigDecimal::add));
+
+        return amounts.values()
+                .stream()
+                .max(Comparator.naturalOrder())
+                .map(max -> amounts.entrySet()
+                        .stream()
+                        .filter(entry -> entry.getValue().compareTo(max) == 0)
+                        .map(Map.Entry::getKey)
+                        .sorted()
+                        .toList())
+                .orElse(List.of());
+    }
+
+    /**
+     * Finds the most often ordered product categories for every client age.
+     *
+     * @return a map of client ages to their most often ordered categories
+     */
+    public Map<Integer, List<String>> getAgeAndMostCategory() {
+        return mostFrequent(OrderRollupProjection::getClientAge, OrderRollupProjection::getCategory);
+    }
+
+    /**
+     * Finds the most often ordered products for every client age.
+     *
+     * @return a map of client ages to the IDs of their most often ordered products
+     */
+    public Map<Integer, List<Long>> getAgeAndMostProductIds() {
+        return mostFrequent(OrderRollupProjection::getClientAge, OrderRollupProjection::getProductId);
+    }
+
+    /**
+     * Finds the clients with the most orders in every product category.
+     *
+     * @return a map of product categories to the IDs of the clients with the most orders in them
+     */
+    public Map<String, List<Long>> getCategoryAndMostClientIds() {
+        return mostFrequent(OrderRollupProjection::getCategory, OrderRollupProjection::getClientId);
+    }
+
+    /**
+     * Sums the prices of the orders per client.
+     *
+     * @return a map of client IDs to the total price of their orders
+     */
+    public Map<Long, BigDecimal> getAmountByClient() {
+        var amounts = new HashMap<Long, BigDecimal>();
+        rollups.forEach(rollup -> amounts.merge(rollup.getClientId(), rollup.getAmount(), BigDecimal::add));
+        return amounts;
+    }
+
+    /**
+     * Counts the ordered units per key and value and maps every key to the values with the highest count.
+     */
+    private <K, V> Map<K, List<V>> mostFrequent(
+            Function<OrderRollupProjection, K> key, Function<OrderRollupProjection, V> value) {
+        var counts = new HashMap<K, Map<V, Long>>();
+        rollups.forEach(rollup -> counts
+                .computeIfAbsent(key.apply(rollup), k -> new LinkedHashMap<>())
+                .merge(value.apply(rollup), rollup.getQuantity(), Long::sum));
+
+        var result = new HashMap<K, List<V>>();
+        counts.forEach((k, values) -> {
+            var max = Collections.max(values.values());
+            result.put(k, new ArrayList<>(values.entrySet()
+                    .stream()
+                    .filter(entry -> entry.getValue().equals(max))
+                    .map(Map.Entry::getKey)
+                    .toList()));
+        });
+        return result;
+    }
+}
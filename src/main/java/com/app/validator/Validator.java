@@ -1,5 +1,7 @@
 package com.app.validator;
 
+import java.util.regex.Pattern;
+
 /**
  * A generic interface for validating objects of type {@link T}.
  * Implementations of this interface should define the validation logic for the specific type {@link T}.
@@ -56,13 +58,14 @@ public interface Validator<T> {
     }
 
     /**
-     * Checks if a given string matches the specified regular expression.
+     * Checks if a given string matches the specified compiled regular expression.
+     * The pattern should be compiled once, when the validator is created, instead of on every check.
      *
      * @param s the string to check
-     * @param regex the regular expression
+     * @param pattern the compiled regular expression
      * @return {@code true} if the string matches the regular expression, {@code false} otherwise
      */
-    static boolean stringRegexCheck(String s, String regex) {
-        return s.matches(regex);
+    static boolean stringRegexCheck(String s, Pattern pattern) {
+        return pattern.matcher(s).matches();
     }
 }
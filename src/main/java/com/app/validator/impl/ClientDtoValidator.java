@@ -2,11 +2,13 @@ package com.app.validator.impl;
 
 import com.app.controller.dto.ClientDto;
 import com.app.validator.Validator;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.regex.Pattern;
 
 /**
  * Implementation of the {@link Validator} interface for validating {@link ClientDto} objects.
@@ -54,6 +56,25 @@ public class ClientDtoValidator implements Validator<ClientDto> {
     @Value("${validate.client.min.cash}")
     private BigDecimal minCash;
 
+    private Pattern namePattern;
+    private Pattern surnamePattern;
+    private String minNameLengthMessage;
+    private String minSurnameLengthMessage;
+    private String minAgeMessage;
+
+    /**
+     * Compiles the regular expressions and builds the messages which depend on the configuration, so they are not
+     * created again for every validated client.
+     */
+    @PostConstruct
+    public void init() {
+        namePattern = Pattern.compile(nameRegex);
+        surnamePattern = Pattern.compile(surnameRegex);
+        minNameLengthMessage = "Client name must have at least " + minNameLength + " characters";
+        minSurnameLengthMessage = "Client surname must have at least " + minSurnameLength + " characters";
+        minAgeMessage = "Client is too young, min age is: " + minAge;
+    }
+
     /**
      * Validates the given {@link ClientDto} object by checking the following:
      * <ul>
@@ -77,11 +98,11 @@ public class ClientDtoValidator implements Validator<ClientDto> {
 
         // Check if the client's name meets the minimum length requirement
         if (Validator.stringMinLength(client.name(), minNameLength)) {
-            return "Client name must have at least " + minNameLength + " characters";
+            return minNameLengthMessage;
         }
 
         // Check if the client's name matches the regular expression
-        if (!Validator.stringRegexCheck(client.name(), nameRegex)) {
+        if (!Validator.stringRegexCheck(client.name(), namePattern)) {
             return "Client name contains invalid characters";
         }
 
@@ -92,17 +113,17 @@ public class ClientDtoValidator implements Validator<ClientDto> {
 
         // Check if the client's surname meets the minimum length requirement
         if (Validator.stringMinLength(client.surname(), minSurnameLength)) {
-            return "Client surname must have at least " + minSurnameLength + " characters";
+            return minSurnameLengthMessage;
         }
 
         // Check if the client's surname matches the regular expression
-        if (!Validator.stringRegexCheck(client.surname(), surnameRegex)) {
+        if (!Validator.stringRegexCheck(client.surname(), surnamePattern)) {
             return "Client surname contains invalid characters";
         }
 
         // Check if the client's age is greater than or equal to the minimum allowed age
         if (client.age() < minAge) {
-            return "Client is too young, min age is: " + minAge;
+            return minAgeMessage;
         }
 
         // Check if the client's cash is greater than the minimum required amount
@@ -2,10 +2,13 @@ package com.app.validator.impl;
 
 import com.app.controller.dto.user.CreateUserDto;
 import com.app.validator.Validator;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.regex.Pattern;
+
 /**
  * Implementation of the {@link Validator} interface for validating {@link CreateUserDto} objects.
  * This class ensures that the user creation data follows the required validation rules such as
@@ -64,6 +67,29 @@ public class CreateUserDtoValidator implements Validator<CreateUserDto> {
      */
     private final Validator<String> passwordValidator;
 
+    private Pattern usernamePattern;
+    private Pattern namePattern;
+    private Pattern surnamePattern;
+    private Pattern emailPattern;
+    private String usernameMinLengthMessage;
+    private String nameMinLengthMessage;
+    private String surnameMinLengthMessage;
+
+    /**
+     * Compiles the regular expressions and builds the messages which depend on the configuration, so they are not
+     * created again for every validated user.
+     */
+    @PostConstruct
+    public void init() {
+        usernamePattern = Pattern.compile(usernameRegex);
+        namePattern = Pattern.compile(nameRegex);
+        surnamePattern = Pattern.compile(surnameRegex);
+        emailPattern = Pattern.compile(emailRegex);
+        usernameMinLengthMessage = "Username must be at least " + usernameMinLength + " characters";
+        nameMinLengthMessage = "Name must be at least " + nameMinLength + " characters";
+        surnameMinLengthMessage = "Surname must be at least " + surnameMinLength + " characters";
+    }
+
     /**
      * Validates the provided {@link CreateUserDto} object by ensuring all fields adhere to the specified validation rules.
      * The validation checks for the following:
@@ -95,10 +121,10 @@ public class CreateUserDtoValidator implements Validator<CreateUserDto> {
         }
 
         if (Validator.stringMinLength(createUserDto.username(), usernameMinLength)) {
-            return "Username must be at least " + usernameMinLength + " characters";
+            return usernameMinLengthMessage;
         }
 
-        if (!Validator.stringRegexCheck(createUserDto.username(), usernameRegex)) {
+        if (!Validator.stringRegexCheck(createUserDto.username(), usernamePattern)) {
             return "Username contains illegal characters";
         }
 
@@ -108,10 +134,10 @@ public class CreateUserDtoValidator implements Validator<CreateUserDto> {
         }
 
         if (Validator.stringMinLength(createUserDto.name(), nameMinLength)) {
-            return "Name must be at least " + nameMinLength + " characters";
+            return nameMinLengthMessage;
         }
 
-        if (!Validator.stringRegexCheck(createUserDto.name(), nameRegex)) {
+        if (!Validator.stringRegexCheck(createUserDto.name(), namePattern)) {
             return "Name contains illegal characters";
         }
 
@@ -121,10 +147,10 @@ public class CreateUserDtoValidator implements Validator<CreateUserDto> {
         }
 
         if (Validator.stringMinLength(createUserDto.surname(), surnameMinLength)) {
-            return "Surname must be at least " + surnameMinLength + " characters";
+            return surnameMinLengthMessage;
         }
 
-        if (!Validator.stringRegexCheck(createUserDto.surname(), surnameRegex)) {
+        if (!Validator.stringRegexCheck(createUserDto.surname(), surnamePattern)) {
             return "Surname contains illegal characters";
         }
 
@@ -134,7 +160,7 @@ public class CreateUserDtoValidator implements Validator<CreateUserDto> {
         }
 
         // Validate the email address
-        if (!Validator.stringRegexCheck(createUserDto.email(), emailRegex)) {
+        if (!Validator.stringRegexCheck(createUserDto.email(), emailPattern)) {
             return "Email address is invalid";
         }
 
@@ -2,9 +2,12 @@ package com.app.validator.impl;
 
 import com.app.controller.dto.user.EmailDto;
 import com.app.validator.Validator;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.regex.Pattern;
+
 /**
  * Implementation of the {@link Validator} interface for validating {@link EmailDto} objects.
  * This class ensures that the email provided in the {@link EmailDto} is not null and follows a valid format
@@ -19,6 +22,16 @@ public class EmailDtoValidator implements Validator<EmailDto> {
     @Value("${validate.user.email.regex}")
     private String emailRegex;
 
+    private Pattern emailPattern;
+
+    /**
+     * Compiles the regular expression once, instead of on every validated e-mail.
+     */
+    @PostConstruct
+    public void init() {
+        emailPattern = Pattern.compile(emailRegex);
+    }
+
     /**
      * Validates the provided {@link EmailDto} object by ensuring the email is not null and matches the
      * required regular expression pattern.
@@ -34,7 +47,7 @@ public class EmailDtoValidator implements Validator<EmailDto> {
         }
 
         // Check if the email matches the regex pattern
-        if (!Validator.stringRegexCheck(emailDto.email(), emailRegex)) {
+        if (!Validator.stringRegexCheck(emailDto.email(), emailPattern)) {
             return "E-mail does not match regex";
         }
 
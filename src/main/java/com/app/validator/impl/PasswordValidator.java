@@ -1,6 +1,7 @@
 package com.app.validator.impl;
 
 import com.app.validator.Validator;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -29,6 +30,26 @@ public class PasswordValidator implements Validator<String> {
     @Value("${validate.user.password.min.length}")
     private int passwordMinLength;
 
+    /**
+     * The compiled password regular expressions, each with the message returned when it is not matched.
+     */
+    private List<PasswordRule> passwordRules = List.of();
+    private String passwordMinLengthMessage;
+
+    /**
+     * Compiles the regular expressions and builds the messages which depend on the configuration, so they are not
+     * created again for every validated password.
+     */
+    @PostConstruct
+    public void init() {
+        passwordRules = passwordRegexs
+                .stream()
+                .map(regex -> new PasswordRule(
+                        Pattern.compile(regex), "Password should have at least one: " + regex + " character"))
+                .toList();
+        passwordMinLengthMessage = "Password must be at least " + passwordMinLength + " characters";
+    }
+
     /**
      * Validates the provided password by ensuring it meets the required length and
      * matches all the configured regular expressions.
@@ -59,20 +80,21 @@ public class PasswordValidator implements Validator<String> {
 
         // Check if the password meets the minimum length requirement
         if (Validator.stringMinLength(password, passwordMinLength)) {
-            return "Password must be at least " + passwordMinLength + " characters";
+            return passwordMinLengthMessage;
         }
 
         // Check if the password matches each regular expression
-        for (var regex : passwordRegexs) {
-            var pattern = Pattern.compile(regex);
-            var matcher = pattern.matcher(password);
+        for (var rule : passwordRules) {
             // If any regex is not matched, return an appropriate error message
-            if (!matcher.find()) {
-                return "Password should have at least one: " + regex + " character";
+            if (!rule.pattern().matcher(password).find()) {
+                return rule.message();
             }
         }
 
         // If all checks pass, return an empty string
         return "";
     }
+
+    private record PasswordRule(Pattern pattern, String message) {
+    }
 }
@@ -1,6 +1,7 @@
 package com.app.validator.impl;
 
 import com.app.controller.dto.product.ProductDto;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -8,6 +9,7 @@ import org.springframework.validation.Errors;
 import org.springframework.validation.Validator;
 
 import java.math.BigDecimal;
+import java.util.regex.Pattern;
 
 /**
  * Validator for validating {@link ProductDto} objects.
@@ -47,6 +49,25 @@ public class ProductDtoValidator implements Validator {
     @Value("${validate.product.min.price}")
     private BigDecimal minPrice;
 
+    private Pattern namePattern;
+    private Pattern categoryPattern;
+    private String nameMinLengthMessage;
+    private String categoryMinLengthMessage;
+    private String minPriceMessage;
+
+    /**
+     * Compiles the regular expressions and builds the messages which depend on the configuration, so they are not
+     * created again for every validated product.
+     */
+    @PostConstruct
+    public void init() {
+        namePattern = Pattern.compile(nameRegex);
+        categoryPattern = Pattern.compile(categoryRegex);
+        nameMinLengthMessage = "Product name must be at least " + nameMinLength + " characters";
+        categoryMinLengthMessage = "Product category must be at least " + categoryMinLength + " characters";
+        minPriceMessage = "Product price must be greater than " + minPrice;
+    }
+
     /**
      * {@inheritDoc}
      * This method checks if the given class is {@link ProductDto}.
@@ -91,10 +112,10 @@ public class ProductDtoValidator implements Validator {
             return;
         }
         if (stringMinLength(name, nameMinLength)) {
-            errors.rejectValue("name", "Product name must be at least " + nameMinLength + " characters");
+            errors.rejectValue("name", nameMinLengthMessage);
             return;
         }
-        if (!stringRegexCheck(name, nameRegex)) {
+        if (!stringRegexCheck(name, namePattern)) {
             errors.rejectValue("name", "Product name contains invalid characters");
         }
     }
@@ -114,10 +135,10 @@ public class ProductDtoValidator implements Validator {
             return;
         }
         if (stringMinLength(category, categoryMinLength)) {
-            errors.rejectValue("category", "Product category must be at least " + categoryMinLength + " characters");
+            errors.rejectValue("category", categoryMinLengthMessage);
             return;
         }
-        if (!stringRegexCheck(category, categoryRegex)) {
+        if (!stringRegexCheck(category, categoryPattern)) {
             errors.rejectValue("category", "Product category contains invalid characters");
         }
     }
@@ -136,7 +157,7 @@ public class ProductDtoValidator implements Validator {
             return;
         }
         if (price.compareTo(minPrice) <= 0) {
-            errors.rejectValue("price", "Product price must be greater than " + minPrice);
+            errors.rejectValue("price", minPriceMessage);
         }
     }
 
@@ -162,13 +183,13 @@ public class ProductDtoValidator implements Validator {
     }
 
     /**
-     * Checks if the given string matches the specified regular expression.
+     * Checks if the given string matches the specified compiled regular expression.
      *
      * @param s the string to check
-     * @param regex the regular expression
+     * @param pattern the compiled regular expression
      * @return true if the string matches the regex, false otherwise
      */
-    private boolean stringRegexCheck(String s, String regex) {
-        return s.matches(regex);
+    private boolean stringRegexCheck(String s, Pattern pattern) {
+        return pattern.matcher(s).matches();
     }
 }
@@ -9,78 +9,130 @@ VALUES (1, 'Jan', 'Kos', 18, 2000),
        (8, 'Agata', 'Mrowiec', 26, 9000),
        (9, 'Darek', 'Marjankowski', 58, 3000);
 
-INSERT INTO products(id, name, category, price)
-VALUES (1, 'camera', 'electronics', 1400),
-       (2, 'pan tadeusz', 'book', 120),
-       (3, 'scooter', 'automotive', 8050),
-       (4, 'chicken', 'groceries', 29),
-       (5, 'beans', 'groceries', 13),
-       (6, 'pepper', 'groceries', 10),
-       (7, 'cream', 'cosmetics', 18),
-       (8, 'flight', 'book', 130),
-       (9, 'tires', 'automotive', 1854),
-       (10, 'paper', 'office supplies', 30),
-       (11, 'powder', 'cosmetics', 38),
-       (12, 'shoes', 'clothing', 290),
-       (13, 'monitor', 'electronics', 800),
-       (14, 'keyboard', 'electronics', 90),
-       (15, 'potato', 'groceries', 10),
-       (16, 'flour', 'groceries', 8),
-       (17, 'coffee', 'groceries', 12),
-       (18, 'table', 'home', 950),
-       (19, 'socks', 'clothing', 30),
-       (20, 'underwear', 'clothing', 35),
-       (21, 'buns', 'groceries', 3),
-       (22, 'glass', 'home', 19),
-       (23, 'windows', 'home', 5400),
-       (24, 'desk', 'home', 300),
-       (25, 'phone', 'electronics', 1200),
-       (26, 't-shirt', 'clothing', 86),
-       (27, 'computer', 'electronics', 2400),
-       (28, 'bread', 'groceries', 24),
-       (29, 'car', 'automotive', 24000),
-       (30, 'alternator', 'automotive', 2400);
+INSERT INTO categories(id, name)
+VALUES (1, 'electronics'),
+       (2, 'book'),
+       (3, 'automotive'),
+       (4, 'groceries'),
+       (5, 'cosmetics'),
+       (6, 'office supplies'),
+       (7, 'clothing'),
+       (8, 'home');
 
-INSERT INTO orders(id, client_id, product_id)
-values (1,1,2),
-       (2,1,2),
-       (3,1,4),
-       (4,1,10),
-       (5,1,10),
-       (6,2,3),
-       (7,2,15),
-       (8,2,15),
-       (9,2,15),
-       (10,2,20),
-       (11,3,1),
-       (12,3,1),
-       (13,3,2),
-       (14,3,20),
-       (15,3,22),
-       (16,3,23),
-       (17,3,24),
-       (18,1,2),
-       (19,1,2),
-       (20,1,2),
-       (21,1,2),
-       (22,1,29),
-       (23,1,30),
-       (24,1,24),
-       (25,4,3),
-       (26,4,3),
-       (27,4,25),
-       (28,4,18),
-       (29,4,18),
-       (30,5,4),
-       (31,5,4),
-       (32,5,5),
-       (33,5,13),
-       (34,5,14),
-       (35,9,1),
-       (36,9,1),
-       (37,9,11),
-       (38,9,12),
-       (39,9,27),
-       (40,9,26);
+INSERT INTO products(id, name, category_id, price)
+VALUES (1, 'camera', 1, 1400),
+       (2, 'pan tadeusz', 2, 120),
+       (3, 'scooter', 3, 8050),
+       (4, 'chicken', 4, 29),
+       (5, 'beans', 4, 13),
+       (6, 'pepper', 4, 10),
+       (7, 'cream', 5, 18),
+       (8, 'flight', 2, 130),
+       (9, 'tires', 3, 1854),
+       (10, 'paper', 6, 30),
+       (11, 'powder', 5, 38),
+       (12, 'shoes', 7, 290),
+       (13, 'monitor', 1, 800),
+       (14, 'keyboard', 1, 90),
+       (15, 'potato', 4, 10),
+       (16, 'flour', 4, 8),
+       (17, 'coffee', 4, 12),
+       (18, 'table', 8, 950),
+       (19, 'socks', 7, 30),
+       (20, 'underwear', 7, 35),
+       (21, 'buns', 4, 3),
+       (22, 'glass', 8, 19),
+       (23, 'windows', 8, 5400),
+       (24, 'desk', 8, 300),
+       (25, 'phone', 1, 1200),
+       (26, 't-shirt', 7, 86),
+       (27, 'computer', 1, 2400),
+       (28, 'bread', 4, 24),
+       (29, 'car', 3, 24000),
+       (30, 'alternator', 3, 2400);
 
+INSERT INTO orders(id, client_id, product_id, created_at, quantity, unit_price)
+values (1,1,2,'2024-05-01 16:13:00',1,120),
+       (2,1,2,'2024-05-01 23:26:00',1,120),
+       (3,1,4,'2024-05-02 06:39:00',1,29),
+       (4,1,10,'2024-05-02 13:52:00',1,30),
+       (5,1,10,'2024-05-02 20:05:00',1,30),
+       (6,2,3,'2024-05-03 03:18:00',1,8050),
+       (7,2,15,'2024-05-03 10:31:00',1,10),
+       (8,2,15,'2024-05-03 17:44:00',1,10),
+       (9,2,15,'2024-05-04 00:57:00',1,10),
+       (10,2,20,'2024-05-04 07:10:00',1,35),
+       (11,3,1,'2024-05-04 14:23:00',1,1400),
+       (12,3,1,'2024-05-04 21:36:00',1,1400),
+       (13,3,2,'2024-05-05 04:49:00',1,120),
+       (14,3,20,'2024-05-05 11:02:00',1,35),
+       (15,3,22,'2024-05-05 18:15:00',1,19),
+       (16,3,23,'2024-05-06 01:28:00',1,5400),
+       (17,3,24,'2024-05-06 08:41:00',1,300),
+       (18,1,2,'2024-05-06 15:54:00',1,120),
+       (19,1,2,'2024-05-06 22:07:00',1,120),
+       (20,1,2,'2024-05-07 05:20:00',1,120),
+       (21,1,2,'2024-05-07 12:33:00',1,120),
+       (22,1,29,'2024-05-07 19:46:00',1,24000),
+       (23,1,30,'2024-05-08 02:59:00',1,2400),
+       (24,1,24,'2024-05-08 09:12:00',1,300),
+       (25,4,3,'2024-05-08 16:25:00',1,8050),
+       (26,4,3,'2024-05-08 23:38:00',1,8050),
+       (27,4,25,'2024-05-09 06:51:00',1,1200),
+       (28,4,18,'2024-05-09 13:04:00',1,950),
+       (29,4,18,'2024-05-09 20:17:00',1,950),
+       (30,5,4,'2024-05-10 03:30:00',1,29),
+       (31,5,4,'2024-05-10 10:43:00',1,29),
+       (32,5,5,'2024-05-10 17:56:00',1,13),
+       (33,5,13,'2024-05-11 00:09:00',1,800),
+       (34,5,14,'2024-05-11 07:22:00',1,90),
+       (35,9,1,'2024-05-11 14:35:00',1,1400),
+       (36,9,1,'2024-05-11 21:48:00',1,1400),
+       (37,9,11,'2024-05-12 04:01:00',1,38),
+       (38,9,12,'2024-05-12 11:14:00',1,290),
+       (39,9,27,'2024-05-12 18:27:00',1,2400),
+       (40,9,26,'2024-05-13 01:40:00',1,86);
 
+INSERT INTO client_spend(client_id, total_spent, order_count, balance)
+SELECT o.client_id, SUM(o.unit_price * o.quantity), COUNT(*), c.cash - SUM(o.unit_price * o.quantity)
+FROM orders o
+JOIN clients c ON c.id = o.client_id
+GROUP BY o.client_id, c.cash;
+
+INSERT INTO order_rollups(granularity, bucket_start, client_id, product_id, amount, quantity)
+SELECT 'HOUR', DATE_FORMAT(o.created_at, '%Y-%m-%d %H:00:00'), o.client_id, o.product_id, SUM(o.unit_price * o.quantity), SUM(o.quantity)
+FROM orders o
+GROUP BY DATE_FORMAT(o.created_at, '%Y-%m-%d %H:00:00'), o.client_id, o.product_id;
+
+INSERT INTO order_rollups(granularity, bucket_start, client_id, product_id, amount, quantity)
+SELECT 'DAY', DATE(o.created_at), o.client_id, o.product_id, SUM(o.unit_price * o.quantity), SUM(o.quantity)
+FROM orders o
+GROUP BY DATE(o.created_at), o.client_id, o.product_id;
+
+INSERT INTO order_dimension_rollups(dimension, day_start, first_key, second_key, amount, quantity)
+SELECT 'CLIENT', r.bucket_start, r.client_id, 0, SUM(r.amount), SUM(r.quantity)
+FROM order_rollups r
+WHERE r.granularity = 'DAY'
+GROUP BY r.bucket_start, r.client_id;
+
+INSERT INTO order_dimension_rollups(dimension, day_start, first_key, second_key, amount, quantity)
+SELECT 'CLIENT_CATEGORY', r.bucket_start, r.client_id, COALESCE(p.category_id, 0), SUM(r.amount), SUM(r.quantity)
+FROM order_rollups r
+JOIN products p ON p.id = r.product_id
+WHERE r.granularity = 'DAY'
+GROUP BY r.bucket_start, r.client_id, COALESCE(p.category_id, 0);
+
+INSERT INTO order_dimension_rollups(dimension, day_start, first_key, second_key, amount, quantity)
+SELECT 'AGE_CATEGORY', r.bucket_start, c.age, COALESCE(p.category_id, 0), SUM(r.amount), SUM(r.quantity)
+FROM order_rollups r
+JOIN clients c ON c.id = r.client_id
+JOIN products p ON p.id = r.product_id
+WHERE r.granularity = 'DAY'
+GROUP BY r.bucket_start, c.age, COALESCE(p.category_id, 0);
+
+INSERT INTO order_dimension_rollups(dimension, day_start, first_key, second_key, amount, quantity)
+SELECT 'AGE_PRODUCT', r.bucket_start, c.age, r.product_id, SUM(r.amount), SUM(r.quantity)
+FROM order_rollups r
+JOIN clients c ON c.id = r.client_id
+WHERE r.granularity = 'DAY'
+GROUP BY r.bucket_start, c.age, r.product_id;
@@ -0,0 +1,98 @@
+-- The schema of the entities as it was created by Hibernate before the migrations owned it.
+
+create table clients (
+    id      bigint not null,
+    name    varchar(255),
+    surname varchar(255),
+    age     integer,
+    cash    decimal(38, 2),
+    primary key (id),
+    constraint uk_clients_name_surname unique (name, surname)
+) engine = InnoDB;
+
+create table products (
+    id       bigint not null,
+    name     varchar(255),
+    category varchar(255),
+    price    decimal(38, 2),
+    primary key (id),
+    constraint uk_products_name_category unique (name, category)
+) engine = InnoDB;
+
+create table orders (
+    id         bigint         not null,
+    client_id  bigint,
+    product_id bigint,
+    created_at datetime(6)    not null,
+    quantity   integer        not null,
+    unit_price decimal(38, 2) not null,
+    primary key (id),
+    constraint fk_orders_client foreign key (client_id) references clients (id),
+    constraint fk_orders_product foreign key (product_id) references products (id)
+) engine = InnoDB;
+
+create table client_spend (
+    client_id   bigint not null,
+    total_spent decimal(38, 2),
+    order_count bigint,
+    balance     decimal(38, 2),
+    primary key (client_id)
+) engine = InnoDB;
+
+create index idx_client_spend_total_spent on client_spend (total_spent);
+create index idx_client_spend_balance on client_spend (balance);
+
+create table order_rollups (
+    granularity  enum ('DAY','HOUR') not null,
+    bucket_start datetime(6)         not null,
+    client_id    bigint              not null,
+    product_id   bigint              not null,
+    amount       decimal(38, 2),
+    quantity     bigint,
+    primary key (bucket_start, client_id, product_id, granularity)
+) engine = InnoDB;
+
+create index idx_order_rollups_client_id on order_rollups (client_id);
+create index idx_order_rollups_product_id on order_rollups (product_id);
+
+create table users (
+    id       bigint not null,
+    username varchar(255),
+    name     varchar(255),
+    surname  varchar(255),
+    email    varchar(255),
+    password varchar(255),
+    role     enum ('ROLE_ADMIN','ROLE_LEADER','ROLE_WORKER'),
+    enable   bit,
+    primary key (id)
+) engine = InnoDB;
+
+create table verification_token (
+    id         bigint not null,
+    token      varchar(255),
+    time_stamp bigint,
+    user_id    bigint,
+    primary key (id),
+    constraint uk_verification_token_user unique (user_id),
+    constraint fk_verification_token_user foreign key (user_id) references users (id)
+) engine = InnoDB;
+
+create table email_outbox (
+    id              bigint  not null,
+    recipient       varchar(255),
+    subject         varchar(255),
+    body            varchar(2000),
+    attempts        integer not null,
+    next_attempt_at datetime(6),
+    last_error      varchar(255),
+    primary key (id)
+) engine = InnoDB;
+
+create index idx_email_outbox_next_attempt_at on email_outbox (next_attempt_at);
+
+-- The rows of the entity tables are created by the IdBlockInitializer at startup.
+create table id_blocks (
+    sequence_name varchar(255) not null,
+    next_val      bigint,
+    primary key (sequence_name)
+) engine = InnoDB;
@@ -0,0 +1,19 @@
+-- Covering indexes of the statistics queries. InnoDB appends the primary key to every secondary index,
+-- so the id of the row is covered as well.
+
+-- Queries grouping the orders by client, or joining them from the clients: the biggest payments, the debits,
+-- the most often ordered categories and products per age, and the rebuild of client_spend.
+-- It replaces the index MySQL created for the foreign key on client_id.
+create index idx_orders_client_product on orders (client_id, product_id, quantity, unit_price);
+
+-- Queries joining the orders from the products of a category: the biggest payments in a category,
+-- the clients ordering most often per category and the category spending.
+-- It replaces the index MySQL created for the foreign key on product_id.
+create index idx_orders_product_client on orders (product_id, client_id, quantity, unit_price);
+
+-- The price statistics, the categories and the products of a category, which read the name and price
+-- of the products from the index.
+create index idx_products_category_price on products (category, price, name);
+
+-- The statistics per client age, which join the clients of an age.
+create index idx_clients_age on clients (age);
@@ -0,0 +1,33 @@
+-- The categories of the products move to a dictionary table, so the products store, compare and group
+-- a small integer instead of the name of their category.
+
+create table categories (
+    id   integer      not null auto_increment,
+    name varchar(255) not null,
+    primary key (id),
+    constraint uk_categories_name unique (name)
+) engine = InnoDB;
+
+insert into categories (name)
+select distinct category
+from products
+where category is not null;
+
+alter table products
+    add column category_id integer;
+
+update products p
+    join categories c on c.name = p.category
+set p.category_id = c.id;
+
+-- The unique key and the covering index of the price statistics are recreated on the ID of the category.
+alter table products
+    drop index uk_products_name_category,
+    drop index idx_products_category_price,
+    drop column category;
+
+alter table products
+    add constraint uk_products_name_category unique (name, category_id),
+    add constraint fk_products_category foreign key (category_id) references categories (id);
+
+create index idx_products_category_price on products (category_id, price, name);
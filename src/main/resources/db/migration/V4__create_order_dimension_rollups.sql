@@ -0,0 +1,42 @@
+-- Daily rollups of the orders per dimension of the statistics over a time range, so the whole days of a range are
+-- read as a row per day and client, client and category, age and category, or age and product, instead of a row
+-- per day, client and product from order_rollups. The second key of the CLIENT dimension, and the category of
+-- a product without one, is 0.
+create table order_dimension_rollups (
+    dimension  enum ('AGE_CATEGORY','AGE_PRODUCT','CLIENT','CLIENT_CATEGORY') not null,
+    day_start  datetime(6)                                                   not null,
+    first_key  bigint                                                        not null,
+    second_key bigint                                                        not null,
+    amount     decimal(38, 2),
+    quantity   bigint,
+    primary key (dimension, day_start, first_key, second_key)
+) engine = InnoDB;
+
+-- The existing orders are counted from the daily order_rollups.
+insert into order_dimension_rollups (dimension, day_start, first_key, second_key, amount, quantity)
+select 'CLIENT', r.bucket_start, r.client_id, 0, sum(r.amount), sum(r.quantity)
+from order_rollups r
+where r.granularity = 'DAY'
+group by r.bucket_start, r.client_id;
+
+insert into order_dimension_rollups (dimension, day_start, first_key, second_key, amount, quantity)
+select 'CLIENT_CATEGORY', r.bucket_start, r.client_id, coalesce(p.category_id, 0), sum(r.amount), sum(r.quantity)
+from order_rollups r
+join products p on p.id = r.product_id
+where r.granularity = 'DAY'
+group by r.bucket_start, r.client_id, coalesce(p.category_id, 0);
+
+insert into order_dimension_rollups (dimension, day_start, first_key, second_key, amount, quantity)
+select 'AGE_CATEGORY', r.bucket_start, c.age, coalesce(p.category_id, 0), sum(r.amount), sum(r.quantity)
+from order_rollups r
+join clients c on c.id = r.client_id
+join products p on p.id = r.product_id
+where r.granularity = 'DAY'
+group by r.bucket_start, c.age, coalesce(p.category_id, 0);
+
+insert into order_dimension_rollups (dimension, day_start, first_key, second_key, amount, quantity)
+select 'AGE_PRODUCT', r.bucket_start, c.age, r.product_id, sum(r.amount), sum(r.quantity)
+from order_rollups r
+join clients c on c.id = r.client_id
+where r.granularity = 'DAY'
+group by r.bucket_start, c.age, r.product_id;
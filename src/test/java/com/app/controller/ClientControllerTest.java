@@ -1,5 +1,8 @@
 package com.app.controller;
 import com.app.converter.many.ClientsConverter;
+import com.app.importer.ImportFormat;
+import com.app.importer.ImportReport;
+import com.app.service.ImportService;
 import com.app.service.ClientService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
@@ -14,6 +17,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import java.io.InputStream;
+import java.util.function.Consumer;
 import java.util.List;
 
 import static com.app.data.ClientData.*;
@@ -27,6 +32,9 @@ public class ClientControllerTest {
     @MockBean
     private ClientService clientService;
 
+    @MockBean
+    private ImportService importService;
+
     @MockBean
     private ClientsConverter clientsConverter;
 
@@ -130,4 +138,88 @@ public class ClientControllerTest {
                 .andExpect(jsonPath("$.data[0]", Matchers.is(1)))
                 .andExpect(jsonPath("$.data[1]", Matchers.is(2)));
     }
+
+    @Test
+    @DisplayName("When retrieving a page of clients, then it should return the clients and the start of the next page.")
+    @SneakyThrows
+    public void test7() {
+
+        Mockito.when(clientService.findPage(0L, 2))
+                .thenReturn(List.of(CLIENT1, CLIENT2));
+
+        Mockito.when(clientsConverter.toDtoList(List.of(CLIENT1, CLIENT2)))
+                .thenReturn(List.of(CLIENT_DTO1, CLIENT_DTO2));
+
+        mockMvc.perform(get("/clients/page")
+                        .queryParam("after", "0")
+                        .queryParam("size", "2"))
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON.toString()))
+                .andExpect(status().isFound())
+                .andExpect(jsonPath("$.data.items[0].id", Matchers.is(1)))
+                .andExpect(jsonPath("$.data.items[1].id", Matchers.is(2)))
+                .andExpect(jsonPath("$.data.nextAfter", Matchers.is(2)));
+    }
+
+    @Test
+    @DisplayName("When streaming clients, then it should write all of them as a JSON array.")
+    @SneakyThrows
+    public void test8() {
+
+        Mockito.doAnswer(invocationOnMock -> {
+                    Consumer<Object> action = invocationOnMock.getArgument(1);
+                    action.accept(CLIENT1);
+                    action.accept(CLIENT2);
+                    return null;
+                })
+                .when(clientService)
+                .streamAll(ArgumentMatchers.eq(0L), ArgumentMatchers.any());
+
+        var mvcResult = mockMvc.perform(get("/clients/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON.toString()))
+                .andExpect(status().isFound())
+                .andExpect(jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$[0].id", Matchers.is(1)))
+                .andExpect(jsonPath("$[1].id", Matchers.is(2)));
+    }
+
+    @Test
+    @DisplayName("When importing clients, then it should return the report of the import with the errors by row")
+    @SneakyThrows
+    public void test9() {
+
+        Mockito.when(importService.importClients(ArgumentMatchers.any(InputStream.class), ArgumentMatchers.eq(ImportFormat.JSON)))
+                .thenReturn(new ImportReport(3, 2, 1, List.of(new ImportReport.RowError(2, "Record repeats row 1"))));
+
+        mockMvc.perform(post("/clients/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"name": "Adam", "surname": "Nowak", "age": 20, "cash": 100}]"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rows").value(3))
+                .andExpect(jsonPath("$.data.imported").value(2))
+                .andExpect(jsonPath("$.data.rejected").value(1))
+                .andExpect(jsonPath("$.data.errors[0].row").value(2))
+                .andExpect(jsonPath("$.data.errors[0].message").value("Record repeats row 1"));
+    }
+
+    @Test
+    @DisplayName("When importing clients as CSV, then it should run the import of the CSV records")
+    @SneakyThrows
+    public void test10() {
+
+        Mockito.when(importService.importClients(ArgumentMatchers.any(InputStream.class), ArgumentMatchers.eq(ImportFormat.CSV)))
+                .thenReturn(new ImportReport(1, 1, 0, List.of()));
+
+        mockMvc.perform(post("/clients/import")
+                        .contentType("text/csv;charset=UTF-8")
+                        .content("""
+                                name,surname,age,cash
+                                Adam,Nowak,20,100"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(1));
+    }
 }
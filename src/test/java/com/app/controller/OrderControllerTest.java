@@ -3,10 +3,16 @@ package com.app.controller;
 import com.app.controller.dto.order.OrdersAddDto;
 import com.app.converter.many.ClientsConverter;
 import com.app.converter.many.OrdersConverter;
+import com.app.exporter.ExportFormat;
+import com.app.importer.ImportFormat;
+import com.app.importer.ImportReport;
 import com.app.service.ClientService;
+import com.app.service.ExportService;
+import com.app.service.ImportService;
 import com.app.service.OrderService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
+import org.assertj.core.api.Assertions;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,7 +25,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static com.app.data.ClientData.*;
 import static com.app.data.OrderData.*;
@@ -35,6 +47,12 @@ public class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private ImportService importService;
+
+    @MockBean
+    private ExportService exportService;
+
     @MockBean
     private OrdersConverter ordersConverter;
 
@@ -141,4 +159,154 @@ public class OrderControllerTest {
                 .andExpect(jsonPath("$.data[1]", Matchers.is(2)));
     }
 
+    @Test
+    @DisplayName("When retrieving a page of orders, then it should return the orders and the start of the next page.")
+    @SneakyThrows
+    public void test7() {
+
+        Mockito.when(orderService.findPage(0L, 2))
+                .thenReturn(List.of(ORDER1, ORDER2));
+
+        Mockito.when(ordersConverter.toOrderFindDto(List.of(ORDER1, ORDER2)))
+                .thenReturn(List.of(ORDER_FIND_DTO1, ORDER_FIND_DTO2));
+
+        mockMvc.perform(get("/orders/page")
+                        .queryParam("after", "0")
+                        .queryParam("size", "2"))
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON.toString()))
+                .andExpect(status().isFound())
+                .andExpect(jsonPath("$.data.items[0].id", Matchers.is(1)))
+                .andExpect(jsonPath("$.data.items[1].id", Matchers.is(2)))
+                .andExpect(jsonPath("$.data.nextAfter", Matchers.is(2)));
+    }
+
+    @Test
+    @DisplayName("When streaming orders, then it should write all of them as a JSON array.")
+    @SneakyThrows
+    public void test8() {
+
+        Mockito.doAnswer(invocationOnMock -> {
+                    Consumer<Object> action = invocationOnMock.getArgument(1);
+                    action.accept(ORDER1);
+                    action.accept(ORDER2);
+                    return null;
+                })
+                .when(orderService)
+                .streamAll(ArgumentMatchers.eq(0L), ArgumentMatchers.any());
+
+        var mvcResult = mockMvc.perform(get("/orders/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON.toString()))
+                .andExpect(status().isFound())
+                .andExpect(jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$[0].id", Matchers.is(1)))
+                .andExpect(jsonPath("$[1].id", Matchers.is(2)));
+    }
+
+    @Test
+    @DisplayName("When importing orders, then it should return the report of the import with the errors by row")
+    @SneakyThrows
+    public void test9() {
+
+        Mockito.when(importService.importOrders(ArgumentMatchers.any(InputStream.class), ArgumentMatchers.eq(ImportFormat.JSON)))
+                .thenReturn(new ImportReport(3, 2, 1, List.of(new ImportReport.RowError(2, "Record repeats row 1"))));
+
+        mockMvc.perform(post("/orders/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"clientId": 1, "productId": 10}]"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rows").value(3))
+                .andExpect(jsonPath("$.data.imported").value(2))
+                .andExpect(jsonPath("$.data.rejected").value(1))
+                .andExpect(jsonPath("$.data.errors[0].row").value(2))
+                .andExpect(jsonPath("$.data.errors[0].message").value("Record repeats row 1"));
+    }
+
+    @Test
+    @DisplayName("When importing orders as newline delimited JSON, then it should run the import of the NDJSON records")
+    @SneakyThrows
+    public void test10() {
+
+        Mockito.when(importService.importOrders(ArgumentMatchers.any(InputStream.class), ArgumentMatchers.eq(ImportFormat.NDJSON)))
+                .thenReturn(new ImportReport(2, 2, 0, List.of()));
+
+        mockMvc.perform(post("/orders/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("""
+                                {"clientId": 1, "productId": 10}
+                                {"clientId": 2, "productId": 11}"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(2));
+    }
+
+    @Test
+    @DisplayName("When exporting orders, then it should stream the rows as a CSV file")
+    @SneakyThrows
+    public void test11() {
+
+        Mockito.doAnswer(invocationOnMock -> {
+                    invocationOnMock.<OutputStream>getArgument(2).write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+                    return null;
+                })
+                .when(exportService)
+                .exportOrders(ArgumentMatchers.eq(10L), ArgumentMatchers.eq(ExportFormat.CSV), ArgumentMatchers.any());
+
+        var mvcResult = mockMvc.perform(get("/orders/export").param("after", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isFound())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders.csv\""))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string("id\n1\n"));
+    }
+
+    @Test
+    @DisplayName("When exporting orders to a client accepting gzip, then it should compress the rows")
+    @SneakyThrows
+    public void test12() {
+
+        Mockito.doAnswer(invocationOnMock -> {
+                    invocationOnMock.<OutputStream>getArgument(2).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                    return null;
+                })
+                .when(exportService)
+                .exportOrders(ArgumentMatchers.eq(0L), ArgumentMatchers.eq(ExportFormat.NDJSON), ArgumentMatchers.any());
+
+        var mvcResult = mockMvc.perform(get("/orders/export")
+                        .param("format", "ndjson")
+                        .header("Accept-Encoding", "deflate, gzip;q=0.8"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var response = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isFound())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn()
+                .getResponse();
+
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            Assertions.assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo("{\"id\":1}\n");
+        }
+    }
+
+    @Test
+    @DisplayName("When exporting orders in an unsupported format, then it should return status bad request")
+    @SneakyThrows
+    public void test13() {
+
+        mockMvc.perform(get("/orders/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Export format xml is not supported"));
+
+        Mockito.verifyNoInteractions(exportService);
+    }
 }
@@ -3,6 +3,9 @@ package com.app.controller;
 import com.app.controller.dto.product.ProductDto;
 import com.app.controller.dto.product.ProductsFilterDto;
 import com.app.converter.many.ProductsConverter;
+import com.app.importer.ImportFormat;
+import com.app.importer.ImportReport;
+import com.app.service.ImportService;
 import com.app.service.ProductService;
 import com.app.validator.impl.ProductDtoValidator;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -20,7 +23,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.validation.Errors;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.util.function.Consumer;
 import java.util.List;
 
 import static com.app.data.ClientData.CLIENT_DTO1;
@@ -36,6 +41,9 @@ public class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ImportService importService;
+
     @MockBean
     private ProductsConverter productsConverter;
 
@@ -247,4 +255,109 @@ public class ProductControllerTest {
                 .andExpect(jsonPath("$.data[0].id").value(1))
                 .andExpect(jsonPath("$.data[1].id").value(2 ));
     }
+
+    @Test
+    @DisplayName("When retrieving a page of products, then it should return the products and the start of the next page.")
+    @SneakyThrows
+    public void test11() {
+
+        Mockito.when(productService.findPage(0L, 2))
+                .thenReturn(List.of(PRODUCT1, PRODUCT2));
+
+        Mockito.when(productsConverter.toDtoList(List.of(PRODUCT1, PRODUCT2)))
+                .thenReturn(List.of(PRODUCT_DTO1, PRODUCT_DTO2));
+
+        mockMvc.perform(get("/products/page")
+                        .queryParam("after", "0")
+                        .queryParam("size", "2"))
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON.toString()))
+                .andExpect(status().isFound())
+                .andExpect(jsonPath("$.data.items[0].id", Matchers.is(1)))
+                .andExpect(jsonPath("$.data.items[1].id", Matchers.is(2)))
+                .andExpect(jsonPath("$.data.nextAfter", Matchers.is(2)));
+    }
+
+    @Test
+    @DisplayName("When streaming products, then it should write all of them as a JSON array.")
+    @SneakyThrows
+    public void test12() {
+
+        Mockito.doAnswer(invocationOnMock -> {
+                    Consumer<Object> action = invocationOnMock.getArgument(1);
+                    action.accept(PRODUCT1);
+                    action.accept(PRODUCT2);
+                    return null;
+                })
+                .when(productService)
+                .streamAll(ArgumentMatchers.eq(0L), ArgumentMatchers.any());
+
+        var mvcResult = mockMvc.perform(get("/products/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON.toString()))
+                .andExpect(status().isFound())
+                .andExpect(jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$[0].id", Matchers.is(1)))
+                .andExpect(jsonPath("$[1].id", Matchers.is(2)));
+    }
+
+    @Test
+    @DisplayName("When retrieving a page of filtered products, then it should return the products and no next page " +
+            "when the page is not full.")
+    @SneakyThrows
+    public void test13() {
+        var filterDto = new ProductsFilterDto(BigDecimal.ONE, BigDecimal.TEN, null);
+
+        Mockito.when(productService.filterProductsPage(filterDto, 0L, 10))
+                .thenReturn(List.of(PRODUCT1, PRODUCT2));
+
+        Mockito.when(productsConverter.toDtoList(List.of(PRODUCT1, PRODUCT2)))
+                .thenReturn(List.of(PRODUCT_DTO1, PRODUCT_DTO2));
+
+        mockMvc.perform(post("/products/filter/page")
+                        .queryParam("size", "10")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(filterDto)))
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].id").value(1))
+                .andExpect(jsonPath("$.data.items[1].id").value(2))
+                .andExpect(jsonPath("$.data.nextAfter").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("When importing products, then it should return the report of the import with the errors by row")
+    @SneakyThrows
+    public void test14() {
+
+        Mockito.when(importService.importProducts(ArgumentMatchers.any(InputStream.class), ArgumentMatchers.eq(ImportFormat.JSON)))
+                .thenReturn(new ImportReport(3, 2, 1, List.of(new ImportReport.RowError(2, "Record repeats row 1"))));
+
+        mockMvc.perform(post("/products/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"name": "Apple", "category": "groceries", "price": 2}]"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rows").value(3))
+                .andExpect(jsonPath("$.data.imported").value(2))
+                .andExpect(jsonPath("$.data.rejected").value(1))
+                .andExpect(jsonPath("$.data.errors[0].row").value(2))
+                .andExpect(jsonPath("$.data.errors[0].message").value("Record repeats row 1"));
+    }
+
+    @Test
+    @DisplayName("When importing products in an unsupported format, then it should return status bad request")
+    @SneakyThrows
+    public void test15() {
+
+        mockMvc.perform(post("/products/import")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("Apple groceries 2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Import content type text/plain is not supported"));
+
+        Mockito.verifyNoInteractions(importService);
+    }
 }
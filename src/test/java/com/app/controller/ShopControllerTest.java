@@ -7,8 +7,12 @@ import com.app.controller.dto.product.StatisticDto;
 import com.app.converter.many.impl.ClientsConverterImpl;
 import com.app.converter.many.impl.ProductsConverterImpl;
 import com.app.converter.many.impl.ShopConverterImpl;
+import com.app.exporter.ExportFormat;
+import com.app.service.ExportService;
 import com.app.service.ShopStatisticService;
-import com.app.statistic.impl.StatisticImpl;
+import com.app.statistic.TimeRange;
+import com.app.statistic.cache.CachedStatistic;
+import com.app.statistic.rollup.RollupRetention;
 import lombok.SneakyThrows;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
@@ -22,7 +26,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -47,6 +54,12 @@ public class ShopControllerTest {
     @MockBean
     private ProductsConverterImpl productsConverterImpl;
 
+    @MockBean
+    private ExportService exportService;
+
+    @MockBean
+    private RollupRetention rollupRetention;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -136,7 +149,7 @@ public class ShopControllerTest {
         var inOrder = Mockito.inOrder(shopStatisticService, productsConverterImpl);
 
         Mockito.when(shopStatisticService.getCategoryAndPriceStatistic())
-                .thenReturn(Map.of("home", new StatisticImpl(List.of(PRODUCT1), List.of(PRODUCT2), BigDecimal.TWO)));
+                .thenReturn(Map.of("home", STATISTIC_2));
 
         Mockito.when(productsConverterImpl.categoryAndPriceStatisticDto(ArgumentMatchers.anyMap()))
                 .thenReturn(List.of(new CategoryAndPriceStatisticDto("home",
@@ -236,4 +249,112 @@ public class ShopControllerTest {
         inOrder.verify(clientsConverter, Mockito.times(1))
                 .toClientAndDebitDto(ArgumentMatchers.anyMap());
     }
+
+    @Test
+    @DisplayName("When exporting a statistic, then it should stream its rows as a file named after the statistic")
+    @SneakyThrows
+    public void test8() {
+
+        Mockito.doAnswer(invocationOnMock -> {
+                    invocationOnMock.<OutputStream>getArgument(3).write("client_id\n1\n".getBytes(StandardCharsets.UTF_8));
+                    return null;
+                })
+                .when(exportService)
+                .exportStatistic(
+                        ArgumentMatchers.eq(CachedStatistic.CLIENT_WITH_BIGGER_PAYMENT_IN_CATEGORY),
+                        ArgumentMatchers.eq("home"),
+                        ArgumentMatchers.eq(ExportFormat.CSV),
+                        ArgumentMatchers.any());
+
+        var mvcResult = mockMvc.perform(get("/shop/export/client-with-bigger-payment-in-category")
+                        .param("category", "home"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"client-with-bigger-payment-in-category.csv\""))
+                .andExpect(content().string("client_id\n1\n"));
+    }
+
+    @Test
+    @DisplayName("When exporting a statistic which does not exist, then it should return status bad request")
+    @SneakyThrows
+    public void test9() {
+
+        mockMvc.perform(get("/shop/export/best-clients"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Statistic best-clients does not exist"));
+
+        Mockito.verifyNoInteractions(exportService);
+    }
+
+    @Test
+    @DisplayName("When retrieving clients with debit within a time range, the system should read the statistic of the range.")
+    @SneakyThrows
+    public void test10() {
+
+        var range = new TimeRange(Instant.parse("2024-05-01T00:00:00Z"), Instant.parse("2024-05-08T00:00:00Z"));
+
+        Mockito.when(rollupRetention.hourlyHorizon())
+                .thenReturn(Instant.parse("2024-05-05T00:00:00Z"));
+
+        Mockito.when(shopStatisticService.getClientsAndDebit(range))
+                .thenReturn(Map.of(CLIENT1, BigDecimal.valueOf(-200)));
+
+        Mockito.when(clientsConverter.toClientAndDebitDto(Map.of(CLIENT1, BigDecimal.valueOf(-200))))
+                .thenReturn(List.of(CLIENT_AND_DEBIT_DTO1));
+
+        mockMvc.perform(get("/shop/clients/debits")
+                        .param("from", "2024-05-01T00:00:00Z")
+                        .param("to", "2024-05-08T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].debitAmount").value(-200));
+
+        Mockito.verify(shopStatisticService, Mockito.never())
+                .getClientsAndDebit();
+    }
+
+    @Test
+    @DisplayName("When a time range has only an end or ends before it starts, then it should return status bad request")
+    @SneakyThrows
+    public void test11() {
+
+        mockMvc.perform(get("/shop/clients/top")
+                        .param("to", "2024-05-08T00:00:00Z"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Range start cannot be null"));
+
+        mockMvc.perform(get("/shop/clients/age/category")
+                        .param("from", "2024-05-08T00:00:00Z")
+                        .param("to", "2024-05-01T00:00:00Z"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Range start must be before range end"));
+
+        Mockito.verifyNoInteractions(shopStatisticService);
+    }
+
+    @Test
+    @DisplayName("When a bound of a time range before the hourly rollups kept is not at midnight, then it should return status bad request")
+    @SneakyThrows
+    public void test12() {
+
+        Mockito.when(rollupRetention.hourlyHorizon())
+                .thenReturn(Instant.parse("2024-05-05T00:00:00Z"));
+
+        mockMvc.perform(get("/shop/clients/top")
+                        .param("from", "2024-05-01T10:30:00Z")
+                        .param("to", "2024-05-08T00:00:00Z"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Range bounds before 2024-05-05T00:00:00Z must be at the start of a day"));
+
+        mockMvc.perform(get("/shop/clients/debits")
+                        .param("from", "2024-05-01T00:00:00Z")
+                        .param("to", "2024-05-03T08:00:00Z"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Range bounds before 2024-05-05T00:00:00Z must be at the start of a day"));
+
+        Mockito.verifyNoInteractions(shopStatisticService);
+    }
 }
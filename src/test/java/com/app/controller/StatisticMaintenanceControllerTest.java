@@ -0,0 +1,118 @@
+package com.app.controller;
+
+import com.app.controller.dto.statistic.StatisticCacheStatsDto;
+import com.app.service.StatisticMaintenanceService;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StatisticMaintenanceController.class)
+@AutoConfigureMockMvc(addFilters = false)
+public class StatisticMaintenanceControllerTest {
+
+    @MockBean
+    private StatisticMaintenanceService statisticMaintenanceService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("When rebuilding the client spend aggregate, then it should return the number of clients in it")
+    @SneakyThrows
+    public void test1() {
+
+        Mockito.when(statisticMaintenanceService.rebuildClientSpend())
+                .thenReturn(5L);
+
+        mockMvc.perform(post("/maintenance/statistics/client-spend/rebuild"))
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(5L));
+    }
+
+    @Test
+    @DisplayName("When verifying the client spend aggregate, then it should return the verification result")
+    @SneakyThrows
+    public void test2() {
+
+        Mockito.when(statisticMaintenanceService.verifyClientSpend())
+                .thenReturn(true);
+
+        mockMvc.perform(get("/maintenance/statistics/client-spend/verify"))
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(true));
+    }
+
+    @Test
+    @DisplayName("When rebuilding the category leaderboard, then it should return the number of categories in it")
+    @SneakyThrows
+    public void test3() {
+
+        Mockito.when(statisticMaintenanceService.rebuildCategoryLeaderboard())
+                .thenReturn(3L);
+
+        mockMvc.perform(post("/maintenance/statistics/category-leaderboard/rebuild"))
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(3L));
+    }
+
+    @Test
+    @DisplayName("When verifying the category leaderboard, then it should return the verification result for the category")
+    @SneakyThrows
+    public void test4() {
+
+        Mockito.when(statisticMaintenanceService.verifyCategoryLeaderboard("home"))
+                .thenReturn(false);
+
+        mockMvc.perform(get("/maintenance/statistics/category-leaderboard/verify/home"))
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(false));
+    }
+
+    @Test
+    @DisplayName("When reading the statistic cache counters, then it should return the counters of every statistic")
+    @SneakyThrows
+    public void test5() {
+
+        Mockito.when(statisticMaintenanceService.getStatisticCacheStats())
+                .thenReturn(Map.of("clients-and-debit", new StatisticCacheStatsDto(3, 1, 0, 2, 1, 0.75)));
+
+        mockMvc.perform(get("/maintenance/statistics/cache"))
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data['clients-and-debit'].hits").value(3))
+                .andExpect(jsonPath("$.data['clients-and-debit'].misses").value(1))
+                .andExpect(jsonPath("$.data['clients-and-debit'].invalidations").value(2))
+                .andExpect(jsonPath("$.data['clients-and-debit'].hitRatio").value(0.75));
+    }
+
+    @Test
+    @DisplayName("When verifying the client debit balances, then it should return the verification result")
+    @SneakyThrows
+    public void test6() {
+
+        Mockito.when(statisticMaintenanceService.verifyClientDebit())
+                .thenReturn(false);
+
+        mockMvc.perform(get("/maintenance/statistics/client-debit/verify"))
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(false));
+    }
+}
@@ -5,6 +5,7 @@ import com.app.controller.dto.order.ClientAndDebitDto;
 import com.app.controller.dto.order.GroupByDto;
 import com.app.model.Client;
 import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.view.ClientView;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -20,6 +21,15 @@ public interface ClientData {
     Client CLIENT3 = new Client(
             3L, "C", "CC", 11, BigDecimal.valueOf(360));
 
+    ClientView CLIENT_VIEW1 = new ClientView(
+            1L, "A", "AA", 30, BigDecimal.valueOf(2000));
+
+    ClientView CLIENT_VIEW2 = new ClientView(
+            2L, "B", "BB", 30, BigDecimal.valueOf(1500));
+
+    ClientView CLIENT_VIEW3 = new ClientView(
+            3L, "C", "CC", 11, BigDecimal.valueOf(360));
+
     ClientDto CLIENT_DTO1 = new ClientDto(
             1L, "A", "AA", 30, BigDecimal.valueOf(2000));
 
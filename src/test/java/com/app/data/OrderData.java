@@ -9,21 +9,23 @@ import static com.app.data.ClientData.*;
 import static com.app.data.ProductData.*;
 
 public interface OrderData {
-    Order ORDER1 = new Order(1L, CLIENT1, PRODUCT1);
-    Order ORDER2 = new Order(2L, CLIENT2, PRODUCT2);
-    Order ORDER3 = new Order(3L, CLIENT3, PRODUCT3);
+    Order ORDER1 = new Order(1L, CLIENT1, PRODUCT1, 1, PRODUCT1.toProductDto().price());
+    Order ORDER2 = new Order(2L, CLIENT2, PRODUCT2, 1, PRODUCT2.toProductDto().price());
+    Order ORDER3 = new Order(3L, CLIENT3, PRODUCT3, 1, PRODUCT3.toProductDto().price());
 
     OrderAddDto ORDER_ADD_DTO1 = new OrderAddDto(1L,1L);
 
-    OrderFindDto ORDER_FIND_DTO1 = new OrderFindDto(1L, CLIENT_DTO1, PRODUCT_DTO1);
-    OrderFindDto ORDER_FIND_DTO2 = new OrderFindDto(2L, CLIENT_DTO2, PRODUCT_DTO2);
-    OrderFindDto ORDER_FIND_DTO3 = new OrderFindDto(3L, CLIENT_DTO3, PRODUCT_DTO3);
+    OrderFindDto ORDER_FIND_DTO1 = new OrderFindDto(1L, CLIENT_DTO1, PRODUCT_DTO1, 1, PRODUCT_DTO1.price());
+    OrderFindDto ORDER_FIND_DTO2 = new OrderFindDto(2L, CLIENT_DTO2, PRODUCT_DTO2, 1, PRODUCT_DTO2.price());
+    OrderFindDto ORDER_FIND_DTO3 = new OrderFindDto(3L, CLIENT_DTO3, PRODUCT_DTO3, 1, PRODUCT_DTO3.price());
 
     OrderEntity ORDER_ENTITY1 = OrderEntity
             .builder()
             .id(1L)
             .clientEntity(CLIENT_ENTITY_READ_1)
             .productEntity(PRODUCT_ENTITY_READ1)
+            .quantity(1)
+            .unitPrice(PRODUCT_ENTITY_READ1.getPrice())
             .build();
 
     OrderEntity ORDER_ENTITY2 = OrderEntity
@@ -31,6 +33,8 @@ public interface OrderData {
             .id(2L)
             .clientEntity(CLIENT_ENTITY_READ_2)
             .productEntity(PRODUCT_ENTITY_READ2)
+            .quantity(1)
+            .unitPrice(PRODUCT_ENTITY_READ2.getPrice())
             .build();
 
     OrderEntity ORDER_ENTITY3 = OrderEntity
@@ -38,6 +42,8 @@ public interface OrderData {
             .id(3L)
             .clientEntity(CLIENT_ENTITY_READ_3)
             .productEntity(PRODUCT_ENTITY_READ3)
+            .quantity(1)
+            .unitPrice(PRODUCT_ENTITY_READ3.getPrice())
             .build();
 
     OrderEntity ORDER_ENTITY4 = OrderEntity
@@ -45,6 +51,8 @@ public interface OrderData {
             .id(4L)
             .clientEntity(CLIENT_ENTITY_READ_2)
             .productEntity(PRODUCT_ENTITY_READ4)
+            .quantity(1)
+            .unitPrice(PRODUCT_ENTITY_READ4.getPrice())
             .build();
 
     OrderEntity ORDER_ENTITY5 = OrderEntity
@@ -52,6 +60,8 @@ public interface OrderData {
             .id(5L)
             .clientEntity(CLIENT_ENTITY_READ_2)
             .productEntity(PRODUCT_ENTITY_READ3)
+            .quantity(1)
+            .unitPrice(PRODUCT_ENTITY_READ3.getPrice())
             .build();
 
     OrderEntity ORDER_ENTITY6 = OrderEntity
@@ -59,6 +69,8 @@ public interface OrderData {
             .id(6L)
             .clientEntity(CLIENT_ENTITY_READ_1)
             .productEntity(PRODUCT_ENTITY_READ1)
+            .quantity(1)
+            .unitPrice(PRODUCT_ENTITY_READ1.getPrice())
             .build();
 
     OrderEntity ORDER_ENTITY7 = OrderEntity
@@ -66,6 +78,8 @@ public interface OrderData {
             .id(7L)
             .clientEntity(CLIENT_ENTITY_READ_5)
             .productEntity(PRODUCT_ENTITY_READ3)
+            .quantity(1)
+            .unitPrice(PRODUCT_ENTITY_READ3.getPrice())
             .build();
 
     OrderEntity ORDER_ENTITY8 = OrderEntity
@@ -73,6 +87,8 @@ public interface OrderData {
             .id(8L)
             .clientEntity(CLIENT_ENTITY_READ_6)
             .productEntity(PRODUCT_ENTITY_READ3)
+            .quantity(1)
+            .unitPrice(PRODUCT_ENTITY_READ3.getPrice())
             .build();
 
     OrderEntity ORDER_ENTITY9 = OrderEntity
@@ -80,5 +96,7 @@ public interface OrderData {
             .id(9L)
             .clientEntity(CLIENT_ENTITY_READ_1)
             .productEntity(PRODUCT_ENTITY_READ1)
+            .quantity(1)
+            .unitPrice(PRODUCT_ENTITY_READ1.getPrice())
             .build();
 }
@@ -6,11 +6,14 @@ import com.app.controller.dto.product.ProductDto;
 import com.app.controller.dto.product.StatisticDto;
 import com.app.model.Product;
 import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.entity.view.ProductPriceProjection;
+import com.app.persistence.entity.view.ProductView;
 import com.app.statistic.Statistic;
-import com.app.statistic.impl.StatisticImpl;
+import com.app.statistic.impl.RunningStatisticImpl;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ProductData {
     Product PRODUCT1 = new Product(
@@ -22,6 +25,12 @@ public interface ProductData {
     Product PRODUCT3 = new Product(
             3L, "desk", "home", BigDecimal.valueOf(59.10));
 
+    ProductView PRODUCT_VIEW1 = new ProductView(
+            1L, "Apple", "groceries", BigDecimal.valueOf(2.3));
+
+    ProductView PRODUCT_VIEW3 = new ProductView(
+            3L, "desk", "home", BigDecimal.valueOf(59.10));
+
     ProductDto PRODUCT_DTO1 = new ProductDto(
             1L, "Apple", "groceries", BigDecimal.valueOf(2.3));
 
@@ -84,17 +93,15 @@ public interface ProductData {
             .price(BigDecimal.valueOf(59.10))
             .build();
 
-    Statistic<Product, BigDecimal> STATISTIC_1 = new StatisticImpl(
-            List.of(PRODUCT1),List.of(PRODUCT2), BigDecimal.valueOf(2));
+    Statistic<Product, BigDecimal> STATISTIC_1 = statistic(PRODUCT_DTO1, PRODUCT_DTO2);
 
-    Statistic<Product, BigDecimal> STATISTIC_2 = new StatisticImpl(
-            List.of(PRODUCT3),List.of(PRODUCT3), BigDecimal.valueOf(59.10));
+    Statistic<Product, BigDecimal> STATISTIC_2 = statistic(PRODUCT_DTO3);
 
     StatisticDto STATISTIC_DTO1 = new StatisticDto(
-            List.of(PRODUCT_DTO1), List.of(PRODUCT_DTO2), BigDecimal.valueOf(2));
+            List.of(PRODUCT_DTO2), List.of(PRODUCT_DTO1), new BigDecimal("2.00000"));
 
     StatisticDto STATISTIC_DTO2 = new StatisticDto(
-            List.of(PRODUCT_DTO3), List.of(PRODUCT_DTO3), BigDecimal.valueOf(59.10));
+            List.of(PRODUCT_DTO3), List.of(PRODUCT_DTO3), new BigDecimal("59.10000"));
 
     CategoryAndPriceStatisticDto CATEGORY_AND_PRICE_STATISTIC_DTO1 =
             new CategoryAndPriceStatisticDto("groceries", STATISTIC_DTO1);
@@ -108,6 +115,29 @@ public interface ProductData {
     GroupByDto<Integer, ProductDto> GROUP_BY_PRODUCT_DTO2 = new GroupByDto<>(
             29, List.of(PRODUCT_DTO3));
 
-
-
+    private static Statistic<Product, BigDecimal> statistic(ProductDto... products) {
+        return Stream.of(products)
+                .map(product -> new ProductPriceProjection() {
+                    @Override
+                    public Long getId() {
+                        return product.id();
+                    }
+
+                    @Override
+                    public String getName() {
+                        return product.name();
+                    }
+
+                    @Override
+                    public String getCategory() {
+                        return product.category();
+                    }
+
+                    @Override
+                    public BigDecimal getPrice() {
+                        return product.price();
+                    }
+                })
+                .collect(RunningStatisticImpl.collector());
+    }
 }
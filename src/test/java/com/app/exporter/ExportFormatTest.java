@@ -0,0 +1,33 @@
+package com.app.exporter;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ExportFormatTest {
+
+    @Test
+    @DisplayName("When the name is one of the export formats, return the format ignoring the case")
+    public void test1() {
+        Assertions.assertThat(ExportFormat.of("csv"))
+                .isEqualTo(ExportFormat.CSV);
+        Assertions.assertThat(ExportFormat.of("NDJSON"))
+                .isEqualTo(ExportFormat.NDJSON);
+    }
+
+    @Test
+    @DisplayName("When the format is not supported, throw an exception")
+    public void test2() {
+        Assertions.assertThatThrownBy(() -> ExportFormat.of("xml"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Export format xml is not supported");
+    }
+
+    @Test
+    @DisplayName("When the format is null, throw an exception")
+    public void test3() {
+        Assertions.assertThatThrownBy(() -> ExportFormat.of(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Export format cannot be null");
+    }
+}
@@ -0,0 +1,102 @@
+package com.app.exporter;
+
+import lombok.SneakyThrows;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.List;
+
+public class RowWriterTest {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    private String written() {
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("When writing CSV rows, write the header row first and quote the values when needed")
+    public void test1() {
+        try (var writer = RowWriter.open(ExportFormat.CSV, out, List.of("id", "name", "price"))) {
+            writer.write(1L, "Apple, green", new BigDecimal("2.50"));
+            writer.write(2L, "Pear \"Conference\" green", null);
+        }
+
+        Assertions.assertThat(written())
+                .isEqualTo("""
+                        id,name,price
+                        1,"Apple, green",2.50
+                        2,"Pear ""Conference"" green",
+                        """);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("When writing NDJSON rows, write one object per line with a field per column")
+    public void test2() {
+        try (var writer = RowWriter.open(ExportFormat.NDJSON, out, List.of("id", "name", "price"))) {
+            writer.write(1L, "Apple", new BigDecimal("1E+1"));
+            writer.write(2, null, BigDecimal.ONE);
+        }
+
+        Assertions.assertThat(written())
+                .isEqualTo("""
+                        {"id":1,"name":"Apple","price":10}
+                        {"id":2,"name":null,"price":1}
+                        """);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("When writing rows of a result set, read the values by the position of the columns")
+    public void test3() {
+        var resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.getObject(1)).thenReturn(7L);
+        Mockito.when(resultSet.getObject(2)).thenReturn("Adam");
+
+        try (var writer = RowWriter.open(ExportFormat.NDJSON, out, List.of("id", "name"))) {
+            writer.write(resultSet);
+        }
+
+        Assertions.assertThat(written())
+                .isEqualTo("""
+                        {"id":7,"name":"Adam"}
+                        """);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("When a CSV export has no rows, write the header row only")
+    public void test4() {
+        RowWriter.open(ExportFormat.CSV, out, List.of("age", "category")).close();
+
+        Assertions.assertThat(written())
+                .isEqualTo("age,category\n");
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("When the number of values differs from the number of columns, throw an exception")
+    public void test5() {
+        try (var writer = RowWriter.open(ExportFormat.CSV, out, List.of("id", "name"))) {
+            Assertions.assertThatThrownBy(() -> writer.write(1L))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Export row must have 2 values");
+        }
+    }
+
+    @Test
+    @DisplayName("When there are no columns, throw an exception")
+    public void test6() {
+        Assertions.assertThatThrownBy(() -> RowWriter.open(ExportFormat.CSV, out, List.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Export columns cannot be empty");
+    }
+}
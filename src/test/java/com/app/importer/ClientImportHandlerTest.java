@@ -0,0 +1,100 @@
+package com.app.importer;
+
+import com.app.controller.dto.ClientDto;
+import com.app.event.ShopDataChangedEvent;
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.view.ClientKey;
+import com.app.persistence.repository.ClientRepository;
+import com.app.validator.Validator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@ExtendWith(MockitoExtension.class)
+public class ClientImportHandlerTest {
+
+    @Mock
+    private Validator<ClientDto> validator;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ClientImportHandler clientImportHandler;
+
+    @Captor
+    private ArgumentCaptor<List<ClientEntity>> clientEntitiesCaptor;
+
+    @Test
+    @DisplayName("When validating a client, return the message of the client validator.")
+    public void test1() {
+        var clientDto = new ClientDto(null, "Adam", "N", 20, BigDecimal.TEN);
+
+        Mockito.when(validator.validate(clientDto))
+                .thenReturn("Client surname must have at least 4 characters");
+
+        Assertions.assertThat(clientImportHandler.validate(clientDto))
+                .isEqualTo("Client surname must have at least 4 characters");
+    }
+
+    @Test
+    @DisplayName("When getting the key of a client, ignore the case of the name and surname.")
+    public void test2() {
+        Assertions.assertThat(clientImportHandler.key(new ClientDto(null, "ADAM", "Nowak", 20, BigDecimal.TEN)))
+                .isEqualTo(clientImportHandler.key(new ClientDto(null, "adam", "NOWAK", 30, BigDecimal.ONE)));
+    }
+
+    @Test
+    @DisplayName("When saving clients, reject the existing ones by index and save the others with one call.")
+    public void test3() {
+        var clientDto1 = new ClientDto(null, "Adam", "Nowak", 20, BigDecimal.TEN);
+        var clientDto2 = new ClientDto(null, "Ewa", "Kowalska", 30, BigDecimal.ONE);
+        var clientDto3 = new ClientDto(null, "Jan", "Nowak", 40, BigDecimal.TWO);
+
+        Mockito.when(clientRepository.findExistingKeys(List.of(
+                        clientDto1.toClientKey(), clientDto2.toClientKey(), clientDto3.toClientKey())))
+                .thenReturn(Set.of(new ClientKey("ewa", "kowalska")));
+
+        Assertions.assertThat(clientImportHandler.save(List.of(clientDto1, clientDto2, clientDto3)))
+                .isEqualTo(Map.of(1, "Client already exists"));
+
+        Mockito.verify(clientRepository, Mockito.times(1))
+                .saveAll(clientEntitiesCaptor.capture());
+
+        Assertions.assertThat(clientEntitiesCaptor.getValue())
+                .extracting(ClientEntity::getName)
+                .containsExactly("Adam", "Jan");
+
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.CLIENTS));
+    }
+
+    @Test
+    @DisplayName("When all clients of a chunk exist, do not save anything nor announce a change.")
+    public void test4() {
+        var clientDto = new ClientDto(null, "Adam", "Nowak", 20, BigDecimal.TEN);
+
+        Mockito.when(clientRepository.findExistingKeys(ArgumentMatchers.anyCollection()))
+                .thenReturn(Set.of(new ClientKey("adam", "nowak")));
+
+        Assertions.assertThat(clientImportHandler.save(List.of(clientDto)))
+                .isEqualTo(Map.of(0, "Client already exists"));
+
+        Mockito.verify(clientRepository, Mockito.never())
+                .saveAll(ArgumentMatchers.anyList());
+
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+}
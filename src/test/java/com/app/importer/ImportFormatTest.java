@@ -0,0 +1,43 @@
+package com.app.importer;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+public class ImportFormatTest {
+
+    @Test
+    @DisplayName("When the content type is one of the import formats, return the format")
+    public void test1() {
+        Assertions.assertThat(ImportFormat.of(MediaType.APPLICATION_JSON))
+                .isEqualTo(ImportFormat.JSON);
+        Assertions.assertThat(ImportFormat.of(MediaType.APPLICATION_NDJSON))
+                .isEqualTo(ImportFormat.NDJSON);
+        Assertions.assertThat(ImportFormat.of(MediaType.parseMediaType("text/csv")))
+                .isEqualTo(ImportFormat.CSV);
+    }
+
+    @Test
+    @DisplayName("When the content type has parameters, ignore them")
+    public void test2() {
+        Assertions.assertThat(ImportFormat.of(MediaType.parseMediaType("text/csv;charset=UTF-8")))
+                .isEqualTo(ImportFormat.CSV);
+    }
+
+    @Test
+    @DisplayName("When the content type is not supported, throw an exception")
+    public void test3() {
+        Assertions.assertThatThrownBy(() -> ImportFormat.of(MediaType.TEXT_PLAIN))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Import content type text/plain is not supported");
+    }
+
+    @Test
+    @DisplayName("When the content type is null, throw an exception")
+    public void test4() {
+        Assertions.assertThatThrownBy(() -> ImportFormat.of(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Import content type cannot be null");
+    }
+}
@@ -0,0 +1,285 @@
+package com.app.importer;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+@ExtendWith(MockitoExtension.class)
+public class ImportPipelineTest {
+
+    private static final ImportPipeline.Settings SETTINGS = new ImportPipeline.Settings(2, 3, 1, 100, 1000);
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final TestHandler handler = new TestHandler();
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.lenient().when(transactionTemplate.execute(ArgumentMatchers.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private ImportPipeline pipeline(ImportPipeline.Settings settings) {
+        return new ImportPipeline(transactionTemplate, settings, new SimpleAsyncTaskExecutor("test-import-"));
+    }
+
+    private ImportPipeline pipeline() {
+        return pipeline(SETTINGS);
+    }
+
+    private static ImportReport.RowError error(long row, String message) {
+        return new ImportReport.RowError(row, message);
+    }
+
+    @Test
+    @DisplayName("When all records are valid, save all of them in chunks of the configured size, each chunk in its own transaction.")
+    public void test1() {
+        var records = IntStream.rangeClosed(1, 5).mapToObj(i -> "record" + i).toList();
+
+        var report = pipeline().run(records.iterator(), handler);
+
+        Assertions.assertThat(report)
+                .isEqualTo(new ImportReport(5, 5, 0, List.of()));
+
+        Assertions.assertThat(handler.saved)
+                .containsExactlyInAnyOrderElementsOf(records);
+
+        Assertions.assertThat(handler.chunkSizes)
+                .containsExactlyInAnyOrder(2, 2, 1);
+
+        Mockito.verify(transactionTemplate, Mockito.times(3))
+                .execute(ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("When some records are invalid, report them by row and save the valid ones.")
+    public void test2() {
+        var records = List.of("record1", "invalid", "record3", "invalid", "record5");
+
+        var report = pipeline().run(records.iterator(), handler);
+
+        Assertions.assertThat(report)
+                .isEqualTo(new ImportReport(5, 3, 2, List.of(error(2, "Record is invalid"), error(4, "Record is invalid"))));
+
+        Assertions.assertThat(handler.saved)
+                .containsExactlyInAnyOrder("record1", "record3", "record5");
+    }
+
+    @Test
+    @DisplayName("When records repeat, keep the first one and report the others with the row of the first one, whatever chunk they are in.")
+    public void test3() {
+        var records = List.of("a", "b", "c", "a", "d", "b", "a");
+
+        var report = pipeline().run(records.iterator(), handler);
+
+        Assertions.assertThat(report)
+                .isEqualTo(new ImportReport(7, 4, 3, List.of(
+                        error(4, "Record repeats row 1"),
+                        error(6, "Record repeats row 2"),
+                        error(7, "Record repeats row 1"))));
+
+        Assertions.assertThat(handler.saved)
+                .containsExactlyInAnyOrder("a", "b", "c", "d");
+    }
+
+    @Test
+    @DisplayName("When records are null or rejected while saving, report them by row.")
+    public void test4() {
+        var records = Arrays.asList("record1", null, "rejected3", "record4");
+
+        var report = pipeline().run(records.iterator(), handler);
+
+        Assertions.assertThat(report)
+                .isEqualTo(new ImportReport(4, 2, 2, List.of(
+                        error(2, "Record cannot be null"),
+                        error(3, "Record is rejected"))));
+    }
+
+    @Test
+    @DisplayName("When a chunk cannot be saved, report all of its records and save the other chunks.")
+    public void test5() {
+        var records = List.of("record1", "record2", "boom", "record4", "record5");
+
+        var report = pipeline().run(records.iterator(), handler);
+
+        var reason = "Chunk of rows 3-4 was not saved: Database is down";
+        Assertions.assertThat(report)
+                .isEqualTo(new ImportReport(5, 3, 2, List.of(error(3, reason), error(4, reason))));
+
+        Assertions.assertThat(handler.saved)
+                .containsExactlyInAnyOrder("record1", "record2", "record5");
+    }
+
+    @Test
+    @DisplayName("When a record cannot be read, stop reading, report its row and save the records read before it.")
+    public void test6() {
+        var records = List.of("record1", "record2", "record3").iterator();
+        var failing = new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public String next() {
+                if (records.hasNext()) {
+                    return records.next();
+                }
+                throw new IllegalStateException("Unexpected end of input");
+            }
+        };
+
+        var report = pipeline().run(failing, handler);
+
+        Assertions.assertThat(report)
+                .isEqualTo(new ImportReport(4, 3, 1, List.of(error(4, "Record cannot be read: Unexpected end of input"))));
+
+        Assertions.assertThat(handler.saved)
+                .containsExactlyInAnyOrder("record1", "record2", "record3");
+    }
+
+    @Test
+    @DisplayName("When there are more errors than the maximum, count all of them and report the ones of the first rows.")
+    public void test7() {
+        var records = IntStream.rangeClosed(1, 1000).mapToObj(i -> "invalid").toList();
+
+        var report = pipeline(new ImportPipeline.Settings(7, 4, 2, 3, 1000)).run(records.iterator(), handler);
+
+        Assertions.assertThat(report)
+                .isEqualTo(new ImportReport(1000, 0, 1000, List.of(
+                        error(1, "Record is invalid"),
+                        error(2, "Record is invalid"),
+                        error(3, "Record is invalid"))));
+    }
+
+    @Test
+    @DisplayName("When there are many records, import them all through the bounded queues.")
+    public void test8() {
+        var records = IntStream.rangeClosed(1, 10_000).mapToObj(i -> "record" + i).toList();
+
+        var report = pipeline(new ImportPipeline.Settings(100, 4, 2, 10, 1000)).run(records.iterator(), handler);
+
+        Assertions.assertThat(report)
+                .isEqualTo(new ImportReport(10_000, 10_000, 0, List.of()));
+
+        Assertions.assertThat(handler.saved)
+                .hasSize(10_000);
+    }
+
+    @Test
+    @DisplayName("When the settings are not positive or the dedupe window is too small, throw an IllegalArgumentException.")
+    public void test9() {
+        Assertions.assertThatThrownBy(() -> new ImportPipeline.Settings(0, 1, 1, 0, 1000))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Import chunk size, workers and queue capacity must be positive");
+
+        Assertions.assertThatThrownBy(() -> new ImportPipeline.Settings(1, 1, 1, -1, 1000))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Import max reported errors cannot be negative");
+
+        Assertions.assertThatThrownBy(() -> new ImportPipeline.Settings(10, 2, 2, 0, 39))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Import dedupe window must hold at least chunk size * (workers + queue capacity) keys");
+    }
+
+    @Test
+    @DisplayName("When the key of a record cannot be computed, report its row and import the other records.")
+    public void test10() {
+        var records = List.of("record1", "nokey", "record3", "record4", "record5");
+
+        var report = pipeline().run(records.iterator(), handler);
+
+        Assertions.assertThat(report)
+                .isEqualTo(new ImportReport(5, 4, 1, List.of(error(2, "Record key cannot be computed: Record has no key"))));
+
+        Assertions.assertThat(handler.saved)
+                .containsExactlyInAnyOrder("record1", "record3", "record4", "record5");
+    }
+
+    @Test
+    @DisplayName("When a stage dies, abort the import and throw an IllegalStateException instead of waiting for it.")
+    @Timeout(value = 10, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    public void test11() {
+        var records = IntStream.rangeClosed(1, 100)
+                .mapToObj(i -> i == 3 ? "fatal" : "record" + i)
+                .toList();
+
+        Assertions.assertThatThrownBy(() -> pipeline(new ImportPipeline.Settings(2, 1, 1, 100, 1000)).run(records.iterator(), handler))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Import was aborted: Worker died")
+                .hasCauseInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    @DisplayName("When a record repeats a record older than the dedupe window, pass it on to the handler instead of keeping every key.")
+    public void test12() {
+        var records = List.of("a", "b", "c", "b", "d", "a");
+
+        var report = pipeline(new ImportPipeline.Settings(1, 1, 1, 100, 2)).run(records.iterator(), handler);
+
+        Assertions.assertThat(report)
+                .isEqualTo(new ImportReport(6, 5, 1, List.of(error(4, "Record repeats row 2"))));
+
+        Assertions.assertThat(handler.saved)
+                .containsExactlyInAnyOrder("a", "b", "c", "d", "a");
+    }
+
+    /**
+     * Accepts strings; rejects "invalid" in validation and "rejected..." when saving, and fails the chunk with "boom".
+     * Fails to compute the key of "nokey", and kills the saving worker with "fatal".
+     */
+    private static final class TestHandler implements ImportHandler<String> {
+
+        private final List<String> saved = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> chunkSizes = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String validate(String record) {
+            return record.equals("invalid") ? "Record is invalid" : "";
+        }
+
+        @Override
+        public Object key(String record) {
+            if (record.equals("nokey")) {
+                throw new IllegalArgumentException("Record has no key");
+            }
+            return record;
+        }
+
+        @Override
+        public Map<Integer, String> save(List<String> records) {
+            if (records.contains("fatal")) {
+                throw new AssertionError("Worker died");
+            }
+
+            if (records.contains("boom")) {
+                throw new IllegalStateException("Database is down");
+            }
+
+            chunkSizes.add(records.size());
+            var rejected = new HashMap<Integer, String>();
+            for (int i = 0; i < records.size(); i++) {
+                if (records.get(i).startsWith("rejected")) {
+                    rejected.put(i, "Record is rejected");
+                } else {
+                    saved.add(records.get(i));
+                }
+            }
+            return rejected;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.app.importer;
+
+import com.app.controller.dto.order.OrderAddDto;
+import com.app.event.OrdersAddedEvent;
+import com.app.event.ShopDataChangedEvent;
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.OrderEntity;
+import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.repository.ClientRepository;
+import com.app.persistence.repository.OrderRepository;
+import com.app.persistence.repository.ProductRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderImportHandlerTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private OrderImportHandler orderImportHandler;
+
+    @Captor
+    private ArgumentCaptor<List<OrderEntity>> orderEntitiesCaptor;
+
+    @Test
+    @DisplayName("When the client or product ID of an order is not positive, return a validation error.")
+    public void test1() {
+        Assertions.assertThat(orderImportHandler.validate(new OrderAddDto(0L, 1L)))
+                .isEqualTo("Client ID must be positive");
+
+        Assertions.assertThat(orderImportHandler.validate(new OrderAddDto(1L, -1L)))
+                .isEqualTo("Product ID must be positive");
+
+        Assertions.assertThat(orderImportHandler.validate(new OrderAddDto(1L, 1L)))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When the client or product ID of an order is missing, return a validation error instead of failing.")
+    public void test5() {
+        Assertions.assertThat(orderImportHandler.validate(new OrderAddDto(null, 1L)))
+                .isEqualTo("Client ID cannot be null");
+
+        Assertions.assertThat(orderImportHandler.validate(new OrderAddDto(1L, null)))
+                .isEqualTo("Product ID cannot be null");
+    }
+
+    @Test
+    @DisplayName("When getting the key of an order, return null so that orders may repeat.")
+    public void test2() {
+        Assertions.assertThat(orderImportHandler.key(new OrderAddDto(1L, 1L)))
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("When saving orders, load the clients and products of the chunk at once and reject the orders of missing ones.")
+    public void test3() {
+        var clientEntity = ClientEntity.builder().id(1L).name("Adam").build();
+        var productEntity = ProductEntity.builder().id(10L).name("Apple").build();
+
+        Mockito.when(clientRepository.findAllById(Set.of(1L, 2L)))
+                .thenReturn(List.of(clientEntity));
+
+        Mockito.when(productRepository.findAllById(Set.of(10L, 11L)))
+                .thenReturn(List.of(productEntity));
+
+        Mockito.when(orderRepository.insertAll(ArgumentMatchers.anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        var rejected = orderImportHandler.save(List.of(
+                new OrderAddDto(1L, 10L),
+                new OrderAddDto(2L, 10L),
+                new OrderAddDto(1L, 11L),
+                new OrderAddDto(1L, 10L)));
+
+        Assertions.assertThat(rejected)
+                .isEqualTo(Map.of(1, "Client not found", 2, "Product not found"));
+
+        Mockito.verify(orderRepository, Mockito.times(1))
+                .insertAll(orderEntitiesCaptor.capture());
+
+        Assertions.assertThat(orderEntitiesCaptor.getValue())
+                .hasSize(2)
+                .allSatisfy(orderEntity -> {
+                    Assertions.assertThat(orderEntity.getClientEntity()).isSameAs(clientEntity);
+                    Assertions.assertThat(orderEntity.getProductEntity()).isSameAs(productEntity);
+                });
+
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new OrdersAddedEvent(orderEntitiesCaptor.getValue()));
+
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.ORDERS));
+    }
+}
@@ -0,0 +1,88 @@
+package com.app.importer;
+
+import com.app.controller.dto.product.ProductDto;
+import com.app.event.ShopDataChangedEvent;
+import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.entity.view.ProductKey;
+import com.app.persistence.repository.ProductRepository;
+import com.app.validator.impl.ProductDtoValidator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.validation.Errors;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductImportHandlerTest {
+
+    @Mock
+    private ProductDtoValidator productValidator;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ProductImportHandler productImportHandler;
+
+    @Captor
+    private ArgumentCaptor<List<ProductEntity>> productEntitiesCaptor;
+
+    @Test
+    @DisplayName("When validating a product, join the codes of all rejected fields.")
+    public void test1() {
+        var productDto = new ProductDto(null, "A", "", BigDecimal.ZERO);
+
+        Mockito.doAnswer(invocation -> {
+                    var errors = invocation.<Errors>getArgument(1);
+                    errors.rejectValue("name", "Product name must be at least 3 characters");
+                    errors.rejectValue("price", "Product price must be greater than 0.1");
+                    return null;
+                })
+                .when(productValidator)
+                .validate(ArgumentMatchers.eq(productDto), ArgumentMatchers.any(Errors.class));
+
+        Assertions.assertThat(productImportHandler.validate(productDto))
+                .isEqualTo("Product name must be at least 3 characters\nProduct price must be greater than 0.1");
+    }
+
+    @Test
+    @DisplayName("When a product is valid, return an empty string.")
+    public void test2() {
+        Assertions.assertThat(productImportHandler.validate(new ProductDto(null, "Apple", "groceries", BigDecimal.ONE)))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When saving products, reject the existing ones by index and save the others with one call.")
+    public void test3() {
+        var productDto1 = new ProductDto(null, "Apple", "groceries", BigDecimal.ONE);
+        var productDto2 = new ProductDto(null, "desk", "home", BigDecimal.TEN);
+
+        Mockito.when(productRepository.findExistingKeys(List.of(productDto1.toProductKey(), productDto2.toProductKey())))
+                .thenReturn(Set.of(new ProductKey("apple", "groceries")));
+
+        Assertions.assertThat(productImportHandler.save(List.of(productDto1, productDto2)))
+                .isEqualTo(Map.of(0, "Product already exists"));
+
+        Mockito.verify(productRepository, Mockito.times(1))
+                .saveAll(productEntitiesCaptor.capture());
+
+        Assertions.assertThat(productEntitiesCaptor.getValue())
+                .extracting(ProductEntity::getName)
+                .containsExactly("desk");
+
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.PRODUCTS));
+    }
+}
@@ -0,0 +1,82 @@
+package com.app.integration;
+
+import com.app.config.ImportConfig;
+import com.app.controller.dto.ClientDto;
+import com.app.importer.ClientImportHandler;
+import com.app.importer.ImportPipeline;
+import com.app.importer.ImportReport;
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.repository.ClientRepository;
+import com.app.validator.impl.ClientDtoValidator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ImportConfig.class, ClientImportHandler.class, ClientDtoValidator.class})
+@TestPropertySource(properties = {
+        "bulk-import.chunk-size=10",
+        "bulk-import.workers=3",
+        "bulk-import.queue-capacity=2"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BulkImportIntegrationTest {
+
+    @Autowired
+    private ImportPipeline importPipeline;
+
+    @Autowired
+    private ClientImportHandler clientImportHandler;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @AfterEach
+    public void tearDown() {
+        clientRepository.deleteAllInBatch();
+    }
+
+    private static String letters(int number) {
+        return String.valueOf((char) ('a' + number / 26)) + (char) ('a' + number % 26);
+    }
+
+    @Test
+    @DisplayName("When importing clients, commit every valid client in chunks and report the invalid, repeated and existing ones by row.")
+    public void test1() {
+        clientRepository.save(ClientEntity.builder().name("Existing").surname("Client").age(30).cash(BigDecimal.TEN).build());
+
+        var clients = new ArrayList<>(IntStream
+                .range(0, 100)
+                .mapToObj(i -> new ClientDto(null, "Name" + letters(i), "Surname", 20, BigDecimal.TEN))
+                .toList());
+        clients.set(9, new ClientDto(null, "N", "Surname", 20, BigDecimal.TEN));
+        clients.set(49, new ClientDto(null, "NAMEAA", "SURNAME", 20, BigDecimal.TEN));
+        clients.set(99, new ClientDto(null, "Existing", "Client", 20, BigDecimal.TEN));
+
+        var report = importPipeline.run(clients.iterator(), clientImportHandler);
+
+        Assertions.assertThat(report)
+                .isEqualTo(new ImportReport(100, 97, 3, List.of(
+                        new ImportReport.RowError(10, "Client name must have at least 4 characters"),
+                        new ImportReport.RowError(50, "Record repeats row 1"),
+                        new ImportReport.RowError(100, "Client already exists"))));
+
+        Assertions.assertThat(clientRepository.count())
+                .isEqualTo(98);
+    }
+}
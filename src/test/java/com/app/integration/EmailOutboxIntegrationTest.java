@@ -0,0 +1,123 @@
+package com.app.integration;
+
+import com.app.config.EmailOutboxConfig;
+import com.app.persistence.entity.EmailOutboxEntity;
+import com.app.persistence.repository.EmailOutboxRepository;
+import com.app.service.EmailOutboxService;
+import com.app.service.impl.EmailServiceImpl;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.mail.MailSenderAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.stream.IntStream;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({EmailOutboxConfig.class, EmailServiceImpl.class})
+@ImportAutoConfiguration(MailSenderAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "email.outbox.batch-size=2",
+        "email.outbox.concurrency=2",
+        "email.outbox.max-attempts=2",
+        "email.outbox.poll-interval-ms=3600000"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmailOutboxIntegrationTest {
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private GreenMail greenMail;
+
+    @BeforeEach
+    public void setUp() {
+        greenMail = new GreenMail(new ServerSetup(2525, "localhost", "smtp"));
+        greenMail.getUserManager().setAuthRequired(false);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        greenMail.stop();
+        emailOutboxRepository.deleteAllInBatch();
+    }
+
+    private void enqueue(int count) {
+        transactionTemplate.executeWithoutResult(status -> IntStream
+                .range(0, count)
+                .forEach(i -> emailOutboxService.enqueue("user" + i + "@gmail.com", "subject", "body" + i)));
+    }
+
+    @Test
+    @DisplayName("When the outbox is dispatched, every queued email reaches the mail server and leaves the outbox.")
+    public void test1() {
+        greenMail.start();
+        enqueue(5);
+
+        Assertions.assertThat(emailOutboxService.dispatch())
+                .isEqualTo(5);
+
+        Assertions.assertThat(greenMail.getReceivedMessages())
+                .hasSize(5);
+
+        Assertions.assertThat(emailOutboxRepository.count())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("When the mail server is down, the emails stay in the outbox until the maximum number of attempts.")
+    public void test2() {
+        enqueue(3);
+
+        Assertions.assertThat(emailOutboxService.dispatch())
+                .isZero();
+
+        Assertions.assertThat(emailOutboxRepository.findAll())
+                .hasSize(3)
+                .allSatisfy(email -> {
+                    Assertions.assertThat(email.getAttempts()).isEqualTo(1);
+                    Assertions.assertThat(email.getNextAttemptAt()).isAfter(Instant.now());
+                    Assertions.assertThat(email.getLastError()).isNotNull();
+                });
+
+        transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.findAll().forEach(email -> {
+            email.setNextAttemptAt(Instant.now());
+            emailOutboxRepository.save(email);
+        }));
+        emailOutboxService.dispatch();
+
+        Assertions.assertThat(emailOutboxRepository.findAll())
+                .extracting(EmailOutboxEntity::getAttempts)
+                .containsOnly(2);
+
+        var due = transactionTemplate.execute(status ->
+                emailOutboxRepository.findDue(Instant.now().plusSeconds(86400), 2, Limit.of(10)));
+
+        Assertions.assertThat(due)
+                .isEmpty();
+    }
+}
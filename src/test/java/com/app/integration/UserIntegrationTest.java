@@ -121,7 +121,7 @@ public class UserIntegrationTest {
         clientRepository.save(CLIENT_ENTITY1);
         productRepository.save(PRODUCT_ENTITY_1);
 
-        var orderAddDto = new OrderAddDto(1, 1);
+        var orderAddDto = new OrderAddDto(1L, 1L);
 
         var accessToken = loginResult.getResponse().getCookie("AccessToken").getValue();
 
@@ -0,0 +1,175 @@
+package com.app.listener;
+
+import com.app.event.OrdersAddedEvent;
+import com.app.event.OrdersRemovedEvent;
+import com.app.persistence.entity.view.CategorySpendProjection;
+import com.app.persistence.repository.CategoryRepository;
+import com.app.persistence.repository.OrderRepository;
+import com.app.service.StatisticMaintenanceService;
+import com.app.statistic.leaderboard.CategoryLeaderboard;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.app.data.OrderData.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CategoryLeaderboardListenerTest {
+
+    @Mock
+    private CategoryLeaderboard categoryLeaderboard;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private StatisticMaintenanceService statisticMaintenanceService;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @InjectMocks
+    private CategoryLeaderboardListener categoryLeaderboardListener;
+
+    @Test
+    @DisplayName("When the application is ready, the leaderboard is rebuilt.")
+    public void test1() {
+
+        categoryLeaderboardListener.onApplicationReady();
+
+        Mockito.verify(statisticMaintenanceService, Mockito.times(1))
+                .rebuildCategoryLeaderboard();
+    }
+
+    @Test
+    @DisplayName("When orders are added, each of them is added to the leaderboard of its category, in its registered spelling.")
+    public void test2() {
+
+        Mockito.when(categoryRepository.findCanonicalName("groceries"))
+                .thenReturn("Groceries");
+        Mockito.when(categoryRepository.findCanonicalName("home"))
+                .thenReturn("home");
+
+        categoryLeaderboardListener.onOrdersAdded(new OrdersAddedEvent(List.of(ORDER_ENTITY1, ORDER_ENTITY4)));
+
+        Mockito.verify(categoryLeaderboard, Mockito.times(1))
+                .add("Groceries", 1L, BigDecimal.valueOf(2.3), 1);
+
+        Mockito.verify(categoryLeaderboard, Mockito.times(1))
+                .add("home", 2L, BigDecimal.valueOf(59.10), 1);
+    }
+
+    @Test
+    @DisplayName("When orders are removed without a transaction, their spending is subtracted immediately.")
+    public void test3() {
+
+        var spend = Mockito.mock(CategorySpendProjection.class);
+        Mockito.when(spend.getCategory()).thenReturn("home");
+        Mockito.when(spend.getClientId()).thenReturn(2L);
+        Mockito.when(spend.getAmount()).thenReturn(BigDecimal.TEN);
+        Mockito.when(spend.getOrderCount()).thenReturn(2L);
+
+        Mockito.when(orderRepository.getCategorySpendByOrderIds(List.of(4L, 5L)))
+                .thenReturn(List.of(spend));
+
+        categoryLeaderboardListener.onOrdersRemoved(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.ORDERS, List.of(4L, 5L)));
+
+        Mockito.verify(categoryLeaderboard, Mockito.times(1))
+                .subtract("home", 2L, BigDecimal.TEN, 2L);
+    }
+
+    @Test
+    @DisplayName("When products are removed in a transaction, their spending is subtracted only after the commit.")
+    public void test4() {
+
+        var spend = Mockito.mock(CategorySpendProjection.class);
+        Mockito.when(spend.getCategory()).thenReturn("home");
+        Mockito.when(spend.getClientId()).thenReturn(2L);
+        Mockito.when(spend.getAmount()).thenReturn(BigDecimal.TEN);
+        Mockito.when(spend.getOrderCount()).thenReturn(1L);
+
+        Mockito.when(orderRepository.getCategorySpendByProductIds(List.of(4L)))
+                .thenReturn(List.of(spend));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            categoryLeaderboardListener.onOrdersRemoved(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.PRODUCTS, List.of(4L)));
+
+            Mockito.verifyNoInteractions(categoryLeaderboard);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Mockito.verify(categoryLeaderboard, Mockito.times(1))
+                .subtract("home", 2L, BigDecimal.TEN, 1L);
+    }
+
+    @Test
+    @DisplayName("When clients are removed, they are removed from the leaderboard without querying orders.")
+    public void test5() {
+
+        categoryLeaderboardListener.onOrdersRemoved(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.CLIENTS, List.of(1L)));
+
+        Mockito.verify(categoryLeaderboard, Mockito.times(1))
+                .removeClients(List.of(1L));
+
+        Mockito.verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("When orders are added in a transaction, the update is begun before the commit, applied after it and then ended.")
+    public void test6() {
+
+        Mockito.when(categoryRepository.findCanonicalName("groceries"))
+                .thenReturn("groceries");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            categoryLeaderboardListener.onOrdersAdded(new OrdersAddedEvent(List.of(ORDER_ENTITY1)));
+
+            Mockito.verifyNoInteractions(categoryLeaderboard);
+
+            var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        var inOrder = Mockito.inOrder(categoryLeaderboard);
+        inOrder.verify(categoryLeaderboard).beginUpdate();
+        inOrder.verify(categoryLeaderboard).add("groceries", 1L, BigDecimal.valueOf(2.3), 1);
+        inOrder.verify(categoryLeaderboard).endUpdate();
+    }
+
+    @Test
+    @DisplayName("When the transaction rolls back before the commit, the leaderboard is not touched.")
+    public void test7() {
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            categoryLeaderboardListener.onOrdersRemoved(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.CLIENTS, List.of(1L)));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Mockito.verifyNoInteractions(categoryLeaderboard);
+    }
+}
@@ -0,0 +1,113 @@
+package com.app.listener;
+
+import com.app.event.OrdersAddedEvent;
+import com.app.event.OrdersRemovedEvent;
+import com.app.persistence.entity.view.ClientSpendDeltaProjection;
+import com.app.persistence.repository.ClientSpendRepository;
+import com.app.persistence.repository.OrderRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.app.data.OrderData.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ClientSpendListenerTest {
+
+    @Mock
+    private ClientSpendRepository clientSpendRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private ClientSpendListener clientSpendListener;
+
+    @Test
+    @DisplayName("When orders are added, the spending of each client is increased once by the sum of its orders.")
+    public void test1() {
+
+        clientSpendListener.onOrdersAdded(new OrdersAddedEvent(List.of(ORDER_ENTITY1, ORDER_ENTITY2, ORDER_ENTITY6)));
+
+        Mockito.verify(clientSpendRepository, Mockito.times(1))
+                .addSpend(1L, BigDecimal.valueOf(4.6), 2);
+
+        Mockito.verify(clientSpendRepository, Mockito.times(1))
+                .addSpend(2L, BigDecimal.valueOf(1.7), 1);
+
+        Mockito.verifyNoMoreInteractions(clientSpendRepository);
+    }
+
+    @Test
+    @DisplayName("When orders are removed, their spending is subtracted and empty aggregates are deleted.")
+    public void test2() {
+
+        var delta = Mockito.mock(ClientSpendDeltaProjection.class);
+        Mockito.when(delta.getClientId()).thenReturn(1L);
+        Mockito.when(delta.getAmount()).thenReturn(BigDecimal.valueOf(4.6));
+        Mockito.when(delta.getOrderCount()).thenReturn(2L);
+
+        Mockito.when(orderRepository.getClientSpendByOrderIds(List.of(1L, 6L)))
+                .thenReturn(List.of(delta));
+
+        var inOrder = Mockito.inOrder(clientSpendRepository);
+
+        clientSpendListener.onOrdersRemoved(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.ORDERS, List.of(1L, 6L)));
+
+        inOrder.verify(clientSpendRepository, Mockito.times(1))
+                .addSpend(1L, BigDecimal.valueOf(-4.6), -2L);
+
+        inOrder.verify(clientSpendRepository, Mockito.times(1))
+                .deleteEmpty();
+    }
+
+    @Test
+    @DisplayName("When products are removed, the spending on their orders is subtracted from the clients.")
+    public void test3() {
+
+        var delta = Mockito.mock(ClientSpendDeltaProjection.class);
+        Mockito.when(delta.getClientId()).thenReturn(2L);
+        Mockito.when(delta.getAmount()).thenReturn(BigDecimal.valueOf(59.1));
+        Mockito.when(delta.getOrderCount()).thenReturn(1L);
+
+        Mockito.when(orderRepository.getClientSpendByProductIds(List.of(4L)))
+                .thenReturn(List.of(delta));
+
+        clientSpendListener.onOrdersRemoved(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.PRODUCTS, List.of(4L)));
+
+        Mockito.verify(clientSpendRepository, Mockito.times(1))
+                .addSpend(2L, BigDecimal.valueOf(-59.1), -1L);
+
+        Mockito.verify(clientSpendRepository, Mockito.times(1))
+                .deleteEmpty();
+    }
+
+    @Test
+    @DisplayName("When removed orders have no spending, the aggregate is not touched.")
+    public void test4() {
+
+        Mockito.when(orderRepository.getClientSpendByProductIds(List.of(4L)))
+                .thenReturn(List.of());
+
+        clientSpendListener.onOrdersRemoved(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.PRODUCTS, List.of(4L)));
+
+        Mockito.verifyNoInteractions(clientSpendRepository);
+    }
+
+    @Test
+    @DisplayName("When clients are removed, their aggregates are deleted.")
+    public void test5() {
+
+        clientSpendListener.onOrdersRemoved(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.CLIENTS, List.of(1L, 2L)));
+
+        Mockito.verify(clientSpendRepository, Mockito.times(1))
+                .deleteAllByIdInBatch(List.of(1L, 2L));
+
+        Mockito.verifyNoInteractions(orderRepository);
+    }
+}
@@ -0,0 +1,31 @@
+package com.app.listener;
+
+import com.app.event.EmailQueuedEvent;
+import com.app.service.EmailOutboxService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailOutboxListenerTest {
+
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
+    @InjectMocks
+    private EmailOutboxListener emailOutboxListener;
+
+    @Test
+    @DisplayName("When an email is queued, the outbox is dispatched.")
+    public void test1() {
+
+        emailOutboxListener.onEmailQueued(new EmailQueuedEvent(1L));
+
+        Mockito.verify(emailOutboxService, Mockito.times(1))
+                .dispatch();
+    }
+}
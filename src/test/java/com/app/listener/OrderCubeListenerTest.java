@@ -0,0 +1,80 @@
+package com.app.listener;
+
+import com.app.event.OrdersAddedEvent;
+import com.app.event.OrdersRemovedEvent;
+import com.app.persistence.entity.view.OrderCubeRowProjection;
+import com.app.persistence.repository.OrderRepository;
+import com.app.statistic.cube.OrderCube;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static com.app.data.OrderData.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderCubeListenerTest {
+
+    @Mock
+    private OrderCube orderCube;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private OrderCubeListener orderCubeListener;
+
+    @Test
+    @DisplayName("When the application is ready, the cube is loaded with the streamed rows of all orders and the stream is closed.")
+    public void test1() {
+
+        var closed = new AtomicBoolean();
+        Stream<OrderCubeRowProjection> rows = Stream.<OrderCubeRowProjection>of().onClose(() -> closed.set(true));
+        Mockito.when(orderRepository.streamCubeRows())
+                .thenReturn(rows);
+
+        orderCubeListener.onApplicationReady();
+
+        Mockito.verify(orderCube, Mockito.times(1))
+                .load(rows);
+
+        Assertions.assertThat(closed)
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("When orders are added, they are appended to the cube.")
+    public void test2() {
+
+        orderCubeListener.onOrdersAdded(new OrdersAddedEvent(List.of(ORDER_ENTITY1)));
+
+        Mockito.verify(orderCube, Mockito.times(1))
+                .addOrders(List.of(ORDER_ENTITY1));
+    }
+
+    @Test
+    @DisplayName("When orders, products or clients are removed, the matching orders are removed from the cube.")
+    public void test3() {
+
+        orderCubeListener.onOrdersRemoved(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.ORDERS, List.of(1L)));
+        orderCubeListener.onOrdersRemoved(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.PRODUCTS, List.of(2L)));
+        orderCubeListener.onOrdersRemoved(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.CLIENTS, List.of(3L)));
+
+        Mockito.verify(orderCube, Mockito.times(1))
+                .removeOrders(List.of(1L));
+
+        Mockito.verify(orderCube, Mockito.times(1))
+                .removeOrdersOfProducts(List.of(2L));
+
+        Mockito.verify(orderCube, Mockito.times(1))
+                .removeOrdersOfClients(List.of(3L));
+    }
+}
@@ -0,0 +1,169 @@
+package com.app.listener;
+
+import com.app.event.OrdersAddedEvent;
+import com.app.event.OrdersRemovedEvent;
+import com.app.persistence.entity.OrderEntity;
+import com.app.persistence.entity.view.OrderRollupDeltaProjection;
+import com.app.persistence.repository.CategoryRepository;
+import com.app.persistence.repository.OrderDimensionRollupRepository;
+import com.app.persistence.repository.OrderRepository;
+import com.app.persistence.repository.OrderRollupRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static com.app.data.ClientData.*;
+import static com.app.data.ProductData.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderRollupListenerTest {
+
+    @Mock
+    private OrderRollupRepository orderRollupRepository;
+
+    @Mock
+    private OrderDimensionRollupRepository orderDimensionRollupRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @InjectMocks
+    private OrderRollupListener orderRollupListener;
+
+    private static OrderEntity order(Long id, String createdAt, int quantity) {
+        return OrderEntity
+                .builder()
+                .id(id)
+                .clientEntity(CLIENT_ENTITY_READ_1)
+                .productEntity(PRODUCT_ENTITY_READ1)
+                .createdAt(Instant.parse(createdAt))
+                .quantity(quantity)
+                .unitPrice(PRODUCT_ENTITY_READ1.getPrice())
+                .build();
+    }
+
+    private static OrderRollupDeltaProjection delta(String createdAt, Long clientId, Integer age, Long productId,
+                                                    String category, String amount, int quantity) {
+        var delta = Mockito.mock(OrderRollupDeltaProjection.class);
+        Mockito.when(delta.getCreatedAt()).thenReturn(Instant.parse(createdAt));
+        Mockito.when(delta.getClientId()).thenReturn(clientId);
+        Mockito.when(delta.getClientAge()).thenReturn(age);
+        Mockito.when(delta.getProductId()).thenReturn(productId);
+        Mockito.when(delta.getCategory()).thenReturn(category);
+        Mockito.when(delta.getAmount()).thenReturn(new BigDecimal(amount));
+        Mockito.when(delta.getQuantity()).thenReturn(quantity);
+        return delta;
+    }
+
+    @Test
+    @DisplayName("When orders are added, every hourly and daily bucket of a client and product is increased once by " +
+            "the total price and quantity of its orders.")
+    public void test1() {
+
+        Mockito.when(categoryRepository.findCategoryId("groceries"))
+                .thenReturn(3);
+
+        orderRollupListener.onOrdersAdded(new OrdersAddedEvent(List.of(
+                order(1L, "2024-05-01T10:15:00Z", 1),
+                order(2L, "2024-05-01T10:45:00Z", 2),
+                order(3L, "2024-05-01T12:05:00Z", 1))));
+
+        Mockito.verify(orderRollupRepository, Mockito.times(1))
+                .addRollup("HOUR", Instant.parse("2024-05-01T10:00:00Z"), 1L, 1L, BigDecimal.valueOf(6.9), 3);
+
+        Mockito.verify(orderRollupRepository, Mockito.times(1))
+                .addRollup("HOUR", Instant.parse("2024-05-01T12:00:00Z"), 1L, 1L, BigDecimal.valueOf(2.3), 1);
+
+        Mockito.verify(orderRollupRepository, Mockito.times(1))
+                .addRollup("DAY", Instant.parse("2024-05-01T00:00:00Z"), 1L, 1L, BigDecimal.valueOf(9.2), 4);
+
+        Mockito.verify(orderDimensionRollupRepository, Mockito.times(1))
+                .addRollups(Instant.parse("2024-05-01T00:00:00Z"), 1L, 30, 1L, 3L, BigDecimal.valueOf(9.2), 4);
+
+        Mockito.verifyNoMoreInteractions(orderRollupRepository, orderDimensionRollupRepository);
+    }
+
+    @Test
+    @DisplayName("When orders are removed, they are subtracted from their buckets and empty rollups are deleted.")
+    public void test2() {
+
+        var delta = delta("2024-05-01T10:15:00Z", 1L, 30, 2L, "groceries", "3.4", 2);
+        Mockito.when(categoryRepository.findCategoryId("groceries"))
+                .thenReturn(3);
+
+        Mockito.when(orderRepository.getRollupDeltaByOrderIds(List.of(1L)))
+                .thenReturn(List.of(delta));
+
+        var inOrder = Mockito.inOrder(orderRollupRepository, orderDimensionRollupRepository);
+
+        orderRollupListener.onOrdersRemoved(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.ORDERS, List.of(1L)));
+
+        inOrder.verify(orderRollupRepository, Mockito.times(1))
+                .addRollup("HOUR", Instant.parse("2024-05-01T10:00:00Z"), 1L, 2L, BigDecimal.valueOf(-3.4), -2);
+
+        inOrder.verify(orderRollupRepository, Mockito.times(1))
+                .addRollup("DAY", Instant.parse("2024-05-01T00:00:00Z"), 1L, 2L, BigDecimal.valueOf(-3.4), -2);
+
+        inOrder.verify(orderDimensionRollupRepository, Mockito.times(1))
+                .addRollups(Instant.parse("2024-05-01T00:00:00Z"), 1L, 30, 2L, 3L, BigDecimal.valueOf(-3.4), -2);
+
+        inOrder.verify(orderRollupRepository, Mockito.times(1))
+                .deleteEmpty();
+
+        inOrder.verify(orderDimensionRollupRepository, Mockito.times(1))
+                .deleteEmpty();
+    }
+
+    @Test
+    @DisplayName("When removed orders do not exist, the rollups are not touched.")
+    public void test3() {
+
+        Mockito.when(orderRepository.getRollupDeltaByOrderIds(List.of(9L)))
+                .thenReturn(List.of());
+
+        orderRollupListener.onOrdersRemoved(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.ORDERS, List.of(9L)));
+
+        Mockito.verifyNoInteractions(orderRollupRepository, orderDimensionRollupRepository);
+    }
+
+    @Test
+    @DisplayName("When products or clients are removed, their daily rollups are subtracted from the dimensions and all " +
+            "their rollups are deleted.")
+    public void test4() {
+
+        var delta = delta("2024-05-01T00:00:00Z", 1L, 30, 4L, null, "12", 3);
+        Mockito.when(orderRollupRepository.getDailyDeltaByProductIds(List.of(4L)))
+                .thenReturn(List.of(delta));
+        Mockito.when(orderRollupRepository.getDailyDeltaByClientIds(List.of(2L)))
+                .thenReturn(List.of());
+
+        var inOrder = Mockito.inOrder(orderRollupRepository, orderDimensionRollupRepository);
+
+        orderRollupListener.onOrdersRemoved(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.PRODUCTS, List.of(4L)));
+        orderRollupListener.onOrdersRemoved(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.CLIENTS, List.of(2L)));
+
+        inOrder.verify(orderDimensionRollupRepository, Mockito.times(1))
+                .addRollups(Instant.parse("2024-05-01T00:00:00Z"), 1L, 30, 4L, 0L, new BigDecimal("-12"), -3);
+
+        inOrder.verify(orderDimensionRollupRepository, Mockito.times(1))
+                .deleteEmpty();
+
+        inOrder.verify(orderRollupRepository, Mockito.times(1))
+                .deleteByProductIds(List.of(4L));
+
+        inOrder.verify(orderRollupRepository, Mockito.times(1))
+                .deleteByClientIds(List.of(2L));
+
+        Mockito.verifyNoMoreInteractions(orderDimensionRollupRepository);
+        Mockito.verifyNoInteractions(orderRepository);
+    }
+}
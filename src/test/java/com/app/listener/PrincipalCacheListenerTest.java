@@ -0,0 +1,31 @@
+package com.app.listener;
+
+import com.app.event.UserRoleChangedEvent;
+import com.app.security.cache.PrincipalCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class PrincipalCacheListenerTest {
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @InjectMocks
+    private PrincipalCacheListener principalCacheListener;
+
+    @Test
+    @DisplayName("When the role of a user changes, the cached principal of the user is evicted.")
+    public void test1() {
+
+        principalCacheListener.onUserRoleChanged(new UserRoleChangedEvent(1L));
+
+        Mockito.verify(principalCache, Mockito.times(1))
+                .evict(1L);
+    }
+}
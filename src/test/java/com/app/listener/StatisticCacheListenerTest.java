@@ -0,0 +1,31 @@
+package com.app.listener;
+
+import com.app.event.ShopDataChangedEvent;
+import com.app.statistic.cache.StatisticCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class StatisticCacheListenerTest {
+
+    @Mock
+    private StatisticCache statisticCache;
+
+    @InjectMocks
+    private StatisticCacheListener statisticCacheListener;
+
+    @Test
+    @DisplayName("When products change, the statistics computed from products are invalidated.")
+    public void test1() {
+
+        statisticCacheListener.onShopDataChanged(new ShopDataChangedEvent(ShopDataChangedEvent.Source.PRODUCTS));
+
+        Mockito.verify(statisticCache, Mockito.times(1))
+                .invalidate(ShopDataChangedEvent.Source.PRODUCTS);
+    }
+}
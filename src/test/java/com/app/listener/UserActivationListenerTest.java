@@ -3,7 +3,7 @@ package com.app.listener;
 import com.app.persistence.entity.VerificationTokenEntity;
 import com.app.persistence.repository.UserRepository;
 import com.app.persistence.repository.VerificationTokenRepository;
-import com.app.service.EmailService;
+import com.app.service.EmailOutboxService;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -27,7 +27,7 @@ public class UserActivationListenerTest {
     private VerificationTokenRepository verificationTokenRepository;
 
     @Mock
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
 
     @InjectMocks
     private UserActivationListener userActivationListener;
@@ -50,7 +50,7 @@ public class UserActivationListenerTest {
 
 
     @Test
-    @DisplayName("When a user found in the database, token is save in data base and email is sent.")
+    @DisplayName("When a user found in the database, token is save in data base and email is queued.")
     public void test2() {
 
         Mockito.when(userRepository.findById(ArgumentMatchers.anyLong()))
@@ -60,12 +60,12 @@ public class UserActivationListenerTest {
 
         userActivationListener.sendActivationEmail(USER_ACTIVATION_DTO1);
 
-        var inOder = Mockito.inOrder(userRepository, verificationTokenRepository, emailService);
+        var inOder = Mockito.inOrder(userRepository, verificationTokenRepository, emailOutboxService);
 
         inOder.verify(userRepository, Mockito.times(1)).findById(ArgumentMatchers.anyLong());
         inOder.verify(verificationTokenRepository, Mockito.times(1))
                 .save(ArgumentMatchers.any(VerificationTokenEntity.class));
-        inOder.verify(emailService, Mockito.times(1))
-                .send(ArgumentMatchers.contains(USER_ENTITY1.getEmail()), ArgumentMatchers.anyString(), ArgumentMatchers.anyString());
+        inOder.verify(emailOutboxService, Mockito.times(1))
+                .enqueue(ArgumentMatchers.contains(USER_ENTITY1.getEmail()), ArgumentMatchers.anyString(), ArgumentMatchers.anyString());
     }
 }
@@ -0,0 +1,105 @@
+package com.app.persistence.id;
+
+import com.app.config.IdGeneratorConfig;
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.repository.ClientRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(IdGeneratorConfig.class)
+@ExtendWith(SpringExtension.class)
+public class IdBlockInitializerTest {
+
+    @Autowired
+    private IdBlockInitializer idBlockInitializer;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Commits the current test transaction, so the `id_blocks` rows it changed are no longer locked for the
+     * separate transactions of the ID generator, and starts a new one.
+     */
+    private static void commit() {
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        TestTransaction.start();
+    }
+
+    private static ClientEntity client(int number) {
+        return ClientEntity
+                .builder()
+                .name("Client" + number)
+                .surname("Surname")
+                .age(30)
+                .cash(BigDecimal.valueOf(1000))
+                .build();
+    }
+
+    @Test
+    @DisplayName("When saving entities, their IDs are handed out in order from the reserved blocks.")
+    public void test1() {
+
+        var clients = clientRepository.saveAllAndFlush(IntStream
+                .range(0, PooledTableIdGenerator.DEFAULT_BLOCK_SIZE + 1)
+                .mapToObj(IdBlockInitializerTest::client)
+                .toList());
+
+        Assertions.assertThat(clients)
+                .extracting(ClientEntity::getId)
+                .startsWith(1L, 2L)
+                .endsWith((long) PooledTableIdGenerator.DEFAULT_BLOCK_SIZE + 1)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("When rows were inserted outside of the generator, the initializer moves the IDs past them.")
+    public void test2() {
+
+        jdbcTemplate.update("insert into clients (id, name, surname, age, cash) values (1000, 'Old', 'Client', 40, 10)");
+
+        idBlockInitializer.afterSingletonsInstantiated();
+        commit();
+
+        Assertions.assertThat(clientRepository.saveAndFlush(client(1)).getId())
+                .isGreaterThan(1000L);
+    }
+
+    @Test
+    @DisplayName("When the initializer runs again, it never lowers the reserved IDs.")
+    public void test3() {
+
+        var first = clientRepository.saveAndFlush(client(1));
+
+        idBlockInitializer.afterSingletonsInstantiated();
+        commit();
+
+        var second = clientRepository.saveAndFlush(client(2));
+
+        Assertions.assertThat(List.of(first.getId(), second.getId()))
+                .doesNotHaveDuplicates()
+                .isSorted();
+    }
+}
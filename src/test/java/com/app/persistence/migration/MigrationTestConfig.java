@@ -0,0 +1,20 @@
+package com.app.persistence.migration;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Runs the migrations on an empty schema, dropping what the tests creating the schema from the entities left behind.
+ */
+@TestConfiguration
+public class MigrationTestConfig {
+
+    @Bean
+    FlywayMigrationStrategy cleanMigrationStrategy() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
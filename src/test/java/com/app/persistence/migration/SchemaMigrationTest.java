@@ -0,0 +1,103 @@
+package com.app.persistence.migration;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.flyway.clean-disabled=false",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.defer-datasource-initialization=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(MigrationTestConfig.class)
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+public class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    /**
+     * Reads the columns of the indexes starting with `idx_`, in the order of the index.
+     */
+    private Map<String, String> storedIndexes() {
+        var indexes = new LinkedHashMap<String, String>();
+        jdbcTemplate.query("""
+                        select index_name, group_concat(column_name order by seq_in_index separator ', ')
+                        from information_schema.statistics
+                        where table_schema = database() and index_name like 'idx\\_%'
+                        group by table_name, index_name""",
+                resultSet -> {
+                    indexes.put(resultSet.getString(1), resultSet.getString(2));
+                });
+        return indexes;
+    }
+
+    @Test
+    @DisplayName("When the application starts, all migrations are applied and Hibernate validates the schema against the entities.")
+    public void test1() {
+
+        Assertions.assertThat(flyway.info().applied())
+                .extracting(migration -> migration.getVersion().getVersion())
+                .containsExactly("1", "2", "3", "4");
+
+        Assertions.assertThat(flyway.info().pending())
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When the schema is migrated, the covering indexes of the statistics exist with their columns in order.")
+    public void test2() {
+
+        Assertions.assertThat(storedIndexes())
+                .containsEntry("idx_orders_client_product", "client_id, product_id, quantity, unit_price")
+                .containsEntry("idx_orders_product_client", "product_id, client_id, quantity, unit_price")
+                .containsEntry("idx_products_category_price", "category_id, price, name")
+                .containsEntry("idx_clients_age", "age");
+    }
+
+    @Test
+    @DisplayName("When the schema is migrated, it has exactly the indexes declared on the entities.")
+    public void test3() {
+
+        var declared = entityManager
+                .getMetamodel()
+                .getEntities()
+                .stream()
+                .map(entity -> entity.getJavaType().getAnnotation(Table.class))
+                .filter(Objects::nonNull)
+                .flatMap(table -> Arrays.stream(table.indexes()))
+                .collect(Collectors.toMap(Index::name, index -> index.columnList().replaceAll("\\s*,\\s*", ", ")));
+
+        Assertions.assertThat(storedIndexes())
+                .containsExactlyInAnyOrderEntriesOf(declared);
+    }
+}
@@ -0,0 +1,376 @@
+package com.app.persistence.migration;
+
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.OrderEntity;
+import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.repository.CategoryRepository;
+import com.app.persistence.repository.ClientRepository;
+import com.app.persistence.repository.ClientSpendRepository;
+import com.app.persistence.repository.OrderRepository;
+import com.app.persistence.repository.OrderDimensionRollupRepository;
+import com.app.persistence.repository.OrderRollupRepository;
+import com.app.persistence.repository.ProductRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Explains the statistics queries on the migrated schema and fails when one of them reads a whole table instead of
+ * using an index.
+ * <p>
+ * The statement of every query is recorded by the {@link RecordingStatementInspector} while the query runs and is
+ * explained with the same parameters. A row of a derived table or a subquery result, whose name starts with `&lt;`,
+ * is not a table of the schema and may be read whole. The queries computing a value for every client may read
+ * the clients whole, as they need all of their rows anyway. A category is bound as its ID in the `categories` table,
+ * like the {@link com.app.persistence.entity.CategoryConverter} binds it.
+ * </p>
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.flyway.clean-disabled=false",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.defer-datasource-initialization=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.app.persistence.migration.RecordingStatementInspector"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(MigrationTestConfig.class)
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class StatisticQueryPlanTest {
+
+    private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.DAYS);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ClientSpendRepository clientSpendRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OrderRollupRepository orderRollupRepository;
+
+    @Autowired
+    private OrderDimensionRollupRepository orderDimensionRollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private List<Long> productIds;
+
+    /**
+     * Saves 300 clients of 60 ages, 60 products of 12 categories and 6000 orders placed over the last 30 days,
+     * builds the `client_spend`, `order_rollups` and `order_dimension_rollups` aggregates from them and analyzes the tables, so the optimizer
+     * chooses the plans it would choose for a real shop.
+     */
+    @BeforeAll
+    public void saveOrders() {
+        var random = new Random(42);
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var clients = clientRepository.saveAll(IntStream
+                    .range(0, 300)
+                    .mapToObj(i -> ClientEntity
+                            .builder()
+                            .name("Client" + i)
+                            .surname("Surname" + i)
+                            .age(10 + i % 60)
+                            .cash(BigDecimal.valueOf(random.nextInt(100_000)))
+                            .build())
+                    .toList());
+
+            var products = productRepository.saveAll(IntStream
+                    .range(0, 60)
+                    .mapToObj(i -> ProductEntity
+                            .builder()
+                            .name("Product" + i)
+                            .category("category" + i % 12)
+                            .price(BigDecimal.valueOf(1 + random.nextInt(1_000)))
+                            .build())
+                    .toList());
+            productIds = products.stream().map(ProductEntity::getId).toList();
+
+            orderRepository.insertAll(IntStream
+                    .range(0, 6000)
+                    .mapToObj(i -> {
+                        var order = new OrderEntity(
+                                clients.get(random.nextInt(clients.size())),
+                                products.get(random.nextInt(products.size())),
+                                1 + random.nextInt(5));
+                        order.setCreatedAt(NOW.minus(Duration.ofMinutes(random.nextInt(30 * 24 * 60))));
+                        return order;
+                    })
+                    .toList());
+
+            clientSpendRepository.rebuildFromOrders();
+            for (var granularity : Map.of("HOUR", "%Y-%m-%d %H:00:00", "DAY", "%Y-%m-%d 00:00:00").entrySet()) {
+                jdbcTemplate.update("""
+                                insert into order_rollups (granularity, bucket_start, client_id, product_id, amount, quantity)
+                                select ?, date_format(created_at, ?), client_id, product_id, sum(unit_price * quantity), sum(quantity)
+                                from orders
+                                group by date_format(created_at, ?), client_id, product_id""",
+                        granularity.getKey(), granularity.getValue(), granularity.getValue());
+            }
+            jdbcTemplate.update("""
+                    insert into order_dimension_rollups (dimension, day_start, first_key, second_key, amount, quantity)
+                    select 'CLIENT', r.bucket_start, r.client_id, 0, sum(r.amount), sum(r.quantity)
+                    from order_rollups r where r.granularity = 'DAY' group by r.bucket_start, r.client_id
+                    union all
+                    select 'CLIENT_CATEGORY', r.bucket_start, r.client_id, p.category_id, sum(r.amount), sum(r.quantity)
+                    from order_rollups r join products p on p.id = r.product_id where r.granularity = 'DAY'
+                    group by r.bucket_start, r.client_id, p.category_id
+                    union all
+                    select 'AGE_CATEGORY', r.bucket_start, c.age, p.category_id, sum(r.amount), sum(r.quantity)
+                    from order_rollups r join clients c on c.id = r.client_id join products p on p.id = r.product_id
+                    where r.granularity = 'DAY' group by r.bucket_start, c.age, p.category_id
+                    union all
+                    select 'AGE_PRODUCT', r.bucket_start, c.age, r.product_id, sum(r.amount), sum(r.quantity)
+                    from order_rollups r join clients c on c.id = r.client_id where r.granularity = 'DAY'
+                    group by r.bucket_start, c.age, r.product_id""");
+        });
+
+        jdbcTemplate.execute("""
+                analyze table clients, products, categories, orders, client_spend, order_rollups, order_dimension_rollups""");
+    }
+
+    /**
+     * Runs the query in a read-only transaction and explains the first statement it prepared.
+     *
+     * @param query      the query, whose result is consumed
+     * @param parameters the values of the parameters of the statement, in the order of their placeholders
+     * @return the rows of the plan
+     */
+    private List<Map<String, Object>> explain(Runnable query, Object... parameters) {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        RecordingStatementInspector.clear();
+        transactionTemplate.executeWithoutResult(status -> query.run());
+
+        return jdbcTemplate.queryForList("explain " + RecordingStatementInspector.first(), parameters);
+    }
+
+    /**
+     * Asserts that the plan reads every table of the schema through an index.
+     *
+     * @param plan        the rows of the plan
+     * @param readInWhole the aliases of the tables the query needs every row of, which may be read whole
+     */
+    private static void assertNoFullScan(List<Map<String, Object>> plan, String... readInWhole) {
+        var allowed = Set.of(readInWhole);
+
+        Assertions.assertThat(plan)
+                .filteredOn(row -> row.get("table") != null && !row.get("table").toString().startsWith("<"))
+                .filteredOn(row -> !allowed.contains(row.get("table").toString()))
+                .isNotEmpty()
+                .allSatisfy(row -> Assertions.assertThat(row.get("type"))
+                        .as("access type of %s in %s", row.get("table"), plan)
+                        .isNotEqualTo("ALL"));
+    }
+
+    private static void consume(Stream<?> stream) {
+        try (stream) {
+            stream.forEach(row -> {
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("When the clients with the biggest payment are read, no table but the clients, whose totals are all compared, is scanned whole.")
+    public void test1() {
+
+        assertNoFullScan(explain(orderRepository::getClientWithBiggerPayment), "ce1_0");
+    }
+
+    @Test
+    @DisplayName("When the clients with the biggest payment in a category are read, no table is scanned whole.")
+    public void test2() {
+
+        assertNoFullScan(explain(
+                () -> orderRepository.getClientWithBiggerPaymentInCategory("category1"),
+                categoryRepository.findCategoryId("category1"), categoryRepository.findCategoryId("category1")));
+    }
+
+    @Test
+    @DisplayName("When the most often ordered categories per age are read, no table is scanned whole.")
+    public void test3() {
+
+        assertNoFullScan(explain(orderRepository::getAgeAndMostCategory));
+    }
+
+    @Test
+    @DisplayName("When the most often ordered categories per age are ranked, no table is scanned whole.")
+    public void test4() {
+
+        assertNoFullScan(explain(orderRepository::getAgeAndMostCategoryRanked));
+    }
+
+    @Test
+    @DisplayName("When the clients ordering most often per category are read, no table is scanned whole.")
+    public void test5() {
+
+        assertNoFullScan(explain(orderRepository::getCategoryAndMostClient));
+    }
+
+    @Test
+    @DisplayName("When the clients ordering most often per category are ranked, no table is scanned whole.")
+    public void test6() {
+
+        assertNoFullScan(explain(orderRepository::getCategoryAndMostClientRanked));
+    }
+
+    @Test
+    @DisplayName("When the clients in debit are computed from the orders, no table but the clients, whose balances are all computed, is scanned whole.")
+    public void test7() {
+
+        assertNoFullScan(explain(orderRepository::getClientAndDebit), "ce1_0");
+    }
+
+    @Test
+    @DisplayName("When the most often ordered products per age are read, no table is scanned whole.")
+    public void test8() {
+
+        assertNoFullScan(explain(orderRepository::getAgeAndMostProduct));
+    }
+
+    @Test
+    @DisplayName("When the most often ordered products per age are ranked, no table is scanned whole.")
+    public void test9() {
+
+        assertNoFullScan(explain(orderRepository::getAgeAndMostProductRanked));
+    }
+
+    @Test
+    @DisplayName("When the spending of the clients on some products is read, no table is scanned whole.")
+    public void test10() {
+
+        var ids = productIds.subList(0, 2);
+
+        assertNoFullScan(explain(() -> orderRepository.getClientSpendByProductIds(ids), ids.toArray()));
+    }
+
+    @Test
+    @DisplayName("When the category spending on some products is read, no table is scanned whole.")
+    public void test11() {
+
+        var ids = productIds.subList(0, 2);
+
+        assertNoFullScan(explain(() -> orderRepository.getCategorySpendByProductIds(ids), ids.toArray()));
+    }
+
+    @Test
+    @DisplayName("When the category spending of all clients is streamed, no table is scanned whole.")
+    public void test12() {
+
+        assertNoFullScan(explain(() -> consume(orderRepository.streamCategorySpend())));
+    }
+
+    @Test
+    @DisplayName("When the categories are read, no table is scanned whole.")
+    public void test13() {
+
+        assertNoFullScan(explain(productRepository::getAllCategories));
+    }
+
+    @Test
+    @DisplayName("When the prices of all products are streamed, no table is scanned whole.")
+    public void test14() {
+
+        assertNoFullScan(explain(() -> consume(productRepository.streamProductPrices())));
+    }
+
+    @Test
+    @DisplayName("When the products of a category are read, no table is scanned whole.")
+    public void test15() {
+
+        assertNoFullScan(explain(() -> productRepository.findByCategory("category1"), categoryRepository.findCategoryId("category1")));
+    }
+
+    @Test
+    @DisplayName("When the clients with the biggest spending are read from client_spend, no table is scanned whole.")
+    public void test16() {
+
+        assertNoFullScan(explain(clientSpendRepository::findClientsWithBiggestSpend));
+    }
+
+    @Test
+    @DisplayName("When the clients in debit are read from client_spend, no table is scanned whole.")
+    public void test17() {
+
+        assertNoFullScan(explain(clientSpendRepository::findClientsInDebit));
+    }
+
+    @Test
+    @DisplayName("When the hourly rollups of the edges of a range are read, no table is scanned whole.")
+    public void test18() {
+
+        var fromHour = NOW.minus(Duration.ofDays(10)).plus(Duration.ofHours(5));
+        var fromDay = NOW.minus(Duration.ofDays(9));
+        var toDay = NOW.minus(Duration.ofDays(2));
+        var toHour = toDay.plus(Duration.ofHours(7));
+
+        assertNoFullScan(explain(
+                () -> orderRollupRepository.findHourlyInRange(fromHour, fromDay, toDay, toHour),
+                fromHour, fromDay, toDay, toHour));
+    }
+
+    @Test
+    @DisplayName("When the daily rollups of the dimensions of a range are read, no table is scanned whole.")
+    public void test19() {
+
+        var fromDay = NOW.minus(Duration.ofDays(9));
+        var toDay = NOW.minus(Duration.ofDays(2));
+        var categoryId = categoryRepository.findCategoryId("category1");
+
+        assertNoFullScan(explain(() -> orderDimensionRollupRepository.findClientRollups(fromDay, toDay), fromDay, toDay));
+        assertNoFullScan(explain(
+                () -> orderDimensionRollupRepository.findClientRollupsInCategory(categoryId, fromDay, toDay),
+                categoryId, fromDay, toDay));
+        assertNoFullScan(explain(
+                () -> orderDimensionRollupRepository.findClientCategoryRollups(fromDay, toDay), fromDay, toDay));
+        assertNoFullScan(explain(
+                () -> orderDimensionRollupRepository.findAgeCategoryRollups(fromDay, toDay), fromDay, toDay));
+        assertNoFullScan(explain(
+                () -> orderDimensionRollupRepository.findAgeProductRollups(fromDay, toDay), fromDay, toDay));
+    }
+}
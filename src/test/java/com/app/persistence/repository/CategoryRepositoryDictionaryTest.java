@@ -0,0 +1,179 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.ProductEntity;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+public class CategoryRepositoryDictionaryTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static ProductEntity product(String name, String category) {
+        return ProductEntity
+                .builder()
+                .name(name)
+                .category(category)
+                .price(BigDecimal.TEN)
+                .build();
+    }
+
+    @Test
+    @DisplayName("When a product of a new category is saved, the category is registered and the product stores its ID.")
+    public void test1() {
+
+        var id = productRepository.saveAndFlush(product("Chair", "furniture")).getId();
+        entityManager.clear();
+
+        var categoryId = categoryRepository.findCategoryId("furniture");
+
+        Assertions.assertThat(categoryId)
+                .isNotNull();
+        Assertions.assertThat(jdbcTemplate.queryForObject("select category_id from products where id = ?", Integer.class, id))
+                .isEqualTo(categoryId);
+        Assertions.assertThat(productRepository.findById(id))
+                .hasValueSatisfying(product -> Assertions.assertThat(product.getCategory()).isEqualTo("furniture"));
+    }
+
+    @Test
+    @DisplayName("When products of the same category are saved in different case, they share one category with the first spelling.")
+    public void test2() {
+
+        productRepository.saveAllAndFlush(List.of(product("Chair", "Furniture"), product("Table", "furniture")));
+        entityManager.clear();
+
+        Assertions.assertThat(categoryRepository.findCategoryId("FURNITURE"))
+                .isEqualTo(categoryRepository.findCategoryId("Furniture"));
+        Assertions.assertThat(productRepository.findByCategory("furniture"))
+                .extracting(ProductEntity::getName, ProductEntity::getCategory)
+                .containsExactlyInAnyOrder(
+                        Assertions.tuple("Chair", "Furniture"),
+                        Assertions.tuple("Table", "Furniture"));
+    }
+
+    @Test
+    @DisplayName("When the category does not exist, its ID is null and no product is found by it.")
+    public void test3() {
+
+        productRepository.saveAndFlush(product("Chair", "furniture"));
+
+        Assertions.assertThat(categoryRepository.findCategoryId("garden"))
+                .isNull();
+        Assertions.assertThat(productRepository.findByCategory("garden"))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When the categories are matched by a LIKE pattern, the wildcards and case are handled like in SQL.")
+    public void test4() {
+
+        productRepository.saveAllAndFlush(List.of(
+                product("Chair", "furniture"),
+                product("Rake", "garden"),
+                product("Pot", "garden_tools")));
+
+        Assertions.assertThat(categoryRepository.findCategoryNamesLike("FURN%"))
+                .containsExactly("furniture");
+        Assertions.assertThat(categoryRepository.findCategoryNamesLike("garde_"))
+                .containsExactly("garden");
+        Assertions.assertThat(categoryRepository.findCategoryNamesLike("garden\\_%"))
+                .containsExactly("garden_tools");
+        Assertions.assertThat(categoryRepository.findCategoryNamesLike("toys"))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When all categories are listed, the categories registered by the transaction are included in alphabetical order.")
+    public void test5() {
+
+        productRepository.saveAllAndFlush(List.of(product("Rake", "garden"), product("Chair", "furniture")));
+
+        Assertions.assertThat(categoryRepository.getAllCategoryNames())
+                .containsSubsequence("furniture", "garden");
+    }
+
+    @Test
+    @DisplayName("When the name of a category ID that does not exist is read, throw an IllegalStateException, translated by the repository.")
+    public void test6() {
+
+        Assertions.assertThatThrownBy(() -> categoryRepository.findCategoryName(Integer.MAX_VALUE))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("Category with id " + Integer.MAX_VALUE + " does not exist");
+    }
+
+    @Test
+    @DisplayName("When the category of a product is null, nothing is registered and null is stored.")
+    public void test7() {
+
+        var id = productRepository.saveAndFlush(product("Chair", null)).getId();
+
+        Assertions.assertThat(jdbcTemplate.queryForObject("select category_id from products where id = ?", Integer.class, id))
+                .isNull();
+        Assertions.assertThat(categoryRepository.findCategoryId(null))
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("When a category is inserted by another node after the dictionary was read, it is found by its name and ID.")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void test8() {
+
+        categoryRepository.getAllCategoryNames();
+        jdbcTemplate.update("insert into categories (name) values ('Garden Tools')");
+        try {
+            var id = jdbcTemplate.queryForObject("select id from categories where name = 'Garden Tools'", Integer.class);
+
+            Assertions.assertThat(categoryRepository.findCategoryName(id))
+                    .isEqualTo("Garden Tools");
+            Assertions.assertThat(categoryRepository.findCategoryId("Garden Tools"))
+                    .isEqualTo(id);
+            Assertions.assertThat(categoryRepository.findCanonicalName("GARDEN TOOLS"))
+                    .isEqualTo("Garden Tools");
+        } finally {
+            jdbcTemplate.update("delete from categories where name = 'Garden Tools'");
+        }
+    }
+
+    @Test
+    @DisplayName("When the canonical name of a category that does not exist is read, return null.")
+    public void test9() {
+
+        productRepository.saveAndFlush(product("Chair", "Furniture"));
+
+        Assertions.assertThat(categoryRepository.findCanonicalName("FURNITURE"))
+                .isEqualTo("Furniture");
+        Assertions.assertThat(categoryRepository.findCanonicalName("garden"))
+                .isNull();
+        Assertions.assertThat(categoryRepository.findCanonicalName(null))
+                .isNull();
+    }
+}
@@ -0,0 +1,79 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.view.ClientKey;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+public class ClientRepositoryFindExistingKeysTest {
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    private static ClientEntity client(String name, String surname) {
+        return ClientEntity
+                .builder()
+                .name(name)
+                .surname(surname)
+                .age(20)
+                .cash(BigDecimal.TEN)
+                .build();
+    }
+
+    @Test
+    @DisplayName("When we don't have clients in the database and return an empty set.")
+    public void test1() {
+
+        Assertions.assertThat(clientRepository.findExistingKeys(List.of(new ClientKey("Adam", "Nowak"))))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When names and surnames of different clients match crosswise, return only the existing combinations.")
+    public void test2() {
+
+        clientRepository.saveAll(List.of(client("Adam", "Nowak"), client("Ewa", "Kowalska")));
+
+        var keys = List.of(
+                new ClientKey("Adam", "Nowak"),
+                new ClientKey("Adam", "Kowalska"),
+                new ClientKey("Ewa", "Nowak"),
+                new ClientKey("Jan", "Nowak"));
+
+        Assertions.assertThat(clientRepository.findExistingKeys(keys))
+                .containsExactly(new ClientKey("adam", "nowak"));
+    }
+
+    @Test
+    @DisplayName("When the keys do not fit in one query, check them in chunks and return the existing ones from all chunks.")
+    public void test3() {
+
+        clientRepository.saveAll(List.of(client("Adam", "Nowak"), client("Ewa", "Kowalska")));
+
+        var keys = new ArrayList<>(IntStream
+                .range(0, CrudRepository.IN_CLAUSE_CHUNK_SIZE * 2)
+                .mapToObj(i -> new ClientKey("Name" + i, "Surname" + i))
+                .toList());
+        keys.addFirst(new ClientKey("Adam", "Nowak"));
+        keys.addLast(new ClientKey("Ewa", "Kowalska"));
+
+        Assertions.assertThat(clientRepository.findExistingKeys(keys))
+                .containsExactlyInAnyOrder(new ClientKey("adam", "nowak"), new ClientKey("ewa", "kowalska"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.view.ClientView;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+public class ClientRepositoryFindViewsByIdInTest {
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ClientEntity save(String name, int age) {
+        return clientRepository.save(ClientEntity
+                .builder()
+                .name(name)
+                .surname("Surname")
+                .age(age)
+                .cash(BigDecimal.TEN)
+                .build());
+    }
+
+    @Test
+    @DisplayName("When no ID matches a client, return an empty list.")
+    public void test1() {
+
+        Assertions.assertThat(clientRepository.findViewsByIdIn(List.of(1L)))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When reading clients by ID, return views of the existing ones without loading their entities.")
+    public void test2() {
+
+        var first = save("First", 20);
+        var second = save("Second", 30);
+        save("Third", 40);
+        entityManager.flush();
+        entityManager.clear();
+
+        Assertions.assertThat(clientRepository.findViewsByIdIn(List.of(first.getId(), second.getId(), 0L)))
+                .extracting(ClientView::id, ClientView::name, ClientView::age)
+                .containsExactlyInAnyOrder(
+                        Assertions.tuple(first.getId(), "First", 20),
+                        Assertions.tuple(second.getId(), "Second", 30));
+
+        Assertions.assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount())
+                .isZero();
+    }
+}
@@ -0,0 +1,125 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.view.ClientAndDebitDto;
+import com.app.persistence.entity.view.ClientView;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.app.data.OrderData.*;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+public class ClientSpendRepositoryTest {
+
+    @Autowired
+    private ClientSpendRepository clientSpendRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    @DisplayName("When the aggregate is empty, no client has the biggest spend.")
+    public void test1() {
+
+        Assertions.assertThat(clientSpendRepository.findClientsWithBiggestSpend())
+                .isEqualTo(List.of());
+    }
+
+    @Test
+    @DisplayName("When the aggregate is rebuilt from orders, it returns the same clients as the grouping query.")
+    public void test2() {
+
+        orderRepository
+                .saveAll(List.of(ORDER_ENTITY1, ORDER_ENTITY2, ORDER_ENTITY3));
+
+        Assertions.assertThat(clientSpendRepository.rebuildFromOrders())
+                .isEqualTo(3);
+
+        Assertions.assertThat(clientSpendRepository.findClientsWithBiggestSpend())
+                .extracting(ClientView::id)
+                .containsExactlyInAnyOrderElementsOf(orderRepository.getClientWithBiggerPayment()
+                        .stream()
+                        .map(ClientView::id)
+                        .toList())
+                .contains(3L);
+    }
+
+    @Test
+    @DisplayName("When spending is added and subtracted again, the empty aggregate is deleted.")
+    public void test3() {
+
+        orderRepository
+                .saveAll(List.of(ORDER_ENTITY1, ORDER_ENTITY2, ORDER_ENTITY3));
+
+        clientSpendRepository.addSpend(1L, BigDecimal.valueOf(100), 1);
+        clientSpendRepository.addSpend(3L, BigDecimal.valueOf(50), 1);
+        clientSpendRepository.addSpend(1L, BigDecimal.valueOf(-100), -1);
+
+        Assertions.assertThat(clientSpendRepository.deleteEmpty())
+                .isEqualTo(1);
+
+        Assertions.assertThat(clientSpendRepository.findClientsWithBiggestSpend())
+                .extracting(ClientView::id)
+                .containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("When the aggregate is rebuilt from orders, the clients in debit are the same as in the grouping query.")
+    public void test4() {
+
+        orderRepository
+                .saveAll(List.of(ORDER_ENTITY1, ORDER_ENTITY2, ORDER_ENTITY7, ORDER_ENTITY8));
+
+        clientSpendRepository.rebuildFromOrders();
+
+        var clientsInDebit = clientSpendRepository.findClientsInDebit();
+
+        Assertions.assertThat(clientsInDebit)
+                .extracting(ClientAndDebitDto::getId)
+                .containsExactlyInAnyOrder(3L, 4L);
+
+        Assertions.assertThat(clientsInDebit)
+                .filteredOn(clientAndDebit -> clientAndDebit.getId() == 3L)
+                .singleElement()
+                .satisfies(clientAndDebit -> Assertions.assertThat(clientAndDebit.getDebit())
+                        .isEqualByComparingTo(BigDecimal.valueOf(-39.1)));
+    }
+
+    @Test
+    @DisplayName("When spending is added to a client, the balance starts from the cash of the client and follows the spending.")
+    public void test5() {
+
+        orderRepository
+                .saveAll(List.of(ORDER_ENTITY1, ORDER_ENTITY2, ORDER_ENTITY3));
+
+        clientSpendRepository.addSpend(3L, BigDecimal.valueOf(300), 1);
+
+        Assertions.assertThat(clientSpendRepository.findClientsInDebit())
+                .isEqualTo(List.of());
+
+        clientSpendRepository.addSpend(3L, BigDecimal.valueOf(100), 1);
+
+        Assertions.assertThat(clientSpendRepository.findClientsInDebit())
+                .singleElement()
+                .satisfies(clientAndDebit -> {
+                    Assertions.assertThat(clientAndDebit.getId())
+                            .isEqualTo(3L);
+                    Assertions.assertThat(clientAndDebit.getDebit())
+                            .isEqualByComparingTo(BigDecimal.valueOf(-40));
+                });
+    }
+}
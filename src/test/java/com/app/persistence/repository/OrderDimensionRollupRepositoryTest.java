@@ -0,0 +1,158 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.entity.RollupDimension;
+import com.app.persistence.entity.view.OrderRollupProjection;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+public class OrderDimensionRollupRepositoryTest {
+
+    private static final Instant FROM_DAY = Instant.parse("2024-05-01T00:00:00Z");
+
+    private static final Instant TO_DAY = Instant.parse("2024-05-03T00:00:00Z");
+
+    @Autowired
+    private OrderDimensionRollupRepository orderDimensionRollupRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private ClientEntity client;
+
+    private ProductEntity product;
+
+    private long categoryId;
+
+    private void saveClientAndProduct() {
+        client = clientRepository.save(ClientEntity
+                .builder()
+                .name("Client")
+                .surname("Surname")
+                .age(30)
+                .cash(BigDecimal.valueOf(1000))
+                .build());
+
+        product = productRepository.save(ProductEntity
+                .builder()
+                .name("Chair")
+                .category("home")
+                .price(BigDecimal.valueOf(50))
+                .build());
+
+        categoryId = categoryRepository.findCategoryId("home");
+    }
+
+    private void add(String dayStart, int amount, long quantity) {
+        orderDimensionRollupRepository.addRollups(Instant.parse(dayStart), client.getId(), client.getAge(),
+                product.getId(), categoryId, BigDecimal.valueOf(amount), quantity);
+    }
+
+    private static String format(OrderRollupProjection rollup) {
+        return "%s:%s:%s:%s:%s:%d".formatted(
+                rollup.getClientId() == null ? "-" : "client",
+                rollup.getClientAge(),
+                rollup.getProductId() == null ? "-" : "product",
+                rollup.getCategory(),
+                rollup.getAmount() == null ? "-" : rollup.getAmount().setScale(0).toString(),
+                rollup.getQuantity());
+    }
+
+    @Test
+    @DisplayName("When rollups are added to the same day twice, the amounts and quantities are summed in one row per dimension.")
+    public void test1() {
+
+        saveClientAndProduct();
+        add("2024-05-01T00:00:00Z", 50, 1);
+        add("2024-05-01T00:00:00Z", 100, 2);
+
+        Assertions.assertThat(orderDimensionRollupRepository.findAll())
+                .hasSize(4)
+                .allSatisfy(rollup -> {
+                    Assertions.assertThat(rollup.getAmount().intValueExact()).isEqualTo(150);
+                    Assertions.assertThat(rollup.getQuantity()).isEqualTo(3);
+                })
+                .extracting(rollup -> rollup.getId().getDimension())
+                .containsExactlyInAnyOrder(RollupDimension.values());
+    }
+
+    @Test
+    @DisplayName("When reading whole days, every dimension sums the rollups of its days with the columns of its keys.")
+    public void test2() {
+
+        saveClientAndProduct();
+        add("2024-04-30T00:00:00Z", 10, 1);
+        add("2024-05-01T00:00:00Z", 50, 1);
+        add("2024-05-02T00:00:00Z", 100, 2);
+        add("2024-05-03T00:00:00Z", 10, 1);
+
+        Assertions.assertThat(orderDimensionRollupRepository.findClientRollups(FROM_DAY, TO_DAY))
+                .extracting(OrderDimensionRollupRepositoryTest::format)
+                .containsExactly("client:null:-:null:150:3");
+
+        Assertions.assertThat(orderDimensionRollupRepository.findClientRollupsInCategory(categoryId, FROM_DAY, TO_DAY))
+                .extracting(OrderDimensionRollupRepositoryTest::format)
+                .containsExactly("client:null:-:home:150:3");
+
+        Assertions.assertThat(orderDimensionRollupRepository.findClientRollupsInCategory(categoryId + 1, FROM_DAY, TO_DAY))
+                .isEmpty();
+
+        Assertions.assertThat(orderDimensionRollupRepository.findClientCategoryRollups(FROM_DAY, TO_DAY))
+                .extracting(OrderDimensionRollupRepositoryTest::format)
+                .containsExactly("client:null:-:home:150:3");
+
+        Assertions.assertThat(orderDimensionRollupRepository.findAgeCategoryRollups(FROM_DAY, TO_DAY))
+                .extracting(OrderDimensionRollupRepositoryTest::format)
+                .containsExactly("-:30:-:home:-:3");
+
+        Assertions.assertThat(orderDimensionRollupRepository.findAgeProductRollups(FROM_DAY, TO_DAY))
+                .extracting(OrderDimensionRollupRepositoryTest::format)
+                .containsExactly("-:30:product:null:-:3");
+    }
+
+    @Test
+    @DisplayName("When rollups are emptied, their rows are deleted.")
+    public void test3() {
+
+        saveClientAndProduct();
+        add("2024-05-01T00:00:00Z", 50, 1);
+        add("2024-05-02T00:00:00Z", 50, 1);
+        add("2024-05-01T00:00:00Z", -50, -1);
+
+        Assertions.assertThat(orderDimensionRollupRepository.deleteEmpty())
+                .isEqualTo(4);
+
+        Assertions.assertThat(orderDimensionRollupRepository.findAll())
+                .hasSize(4)
+                .allSatisfy(rollup -> Assertions.assertThat(rollup.getId().getDayStart())
+                        .isEqualTo(Instant.parse("2024-05-02T00:00:00Z")));
+
+        Assertions.assertThat(orderDimensionRollupRepository.findAll())
+                .extracting(rollup -> rollup.getId().getSecondKey())
+                .containsExactlyInAnyOrder(0L, categoryId, categoryId, product.getId());
+    }
+}
@@ -0,0 +1,101 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.OrderEntity;
+import com.app.persistence.entity.ProductEntity;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+public class OrderRepositoryExportAllTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private List<OrderEntity> saveOrders() {
+        var client = clientRepository.save(ClientEntity
+                .builder()
+                .name("Client")
+                .surname("Surname")
+                .age(30)
+                .cash(BigDecimal.valueOf(1000))
+                .build());
+
+        var products = productRepository.saveAll(List.of(
+                ProductEntity.builder().name("Milk").category("groceries").price(BigDecimal.valueOf(3)).build(),
+                ProductEntity.builder().name("Chair").category("home").price(BigDecimal.valueOf(50)).build()));
+
+        return orderRepository.insertAll(products
+                .stream()
+                .map(product -> new OrderEntity(client, product))
+                .toList());
+    }
+
+    @Test
+    @DisplayName("When exporting orders, every row holds the order joined with its client and product, ordered by ID.")
+    public void test1() {
+
+        var orders = saveOrders();
+        var client = orders.getFirst().getClientEntity();
+
+        var rows = new ArrayList<List<Object>>();
+        orderRepository.exportAll(0L, resultSet -> rows.add(List.of(
+                resultSet.getLong(1), resultSet.getLong(2), resultSet.getString(3), resultSet.getString(4),
+                resultSet.getInt(5), resultSet.getString(8), resultSet.getString(9),
+                resultSet.getBigDecimal(10).intValueExact(), resultSet.getInt(11),
+                resultSet.getBigDecimal(12).intValueExact())));
+
+        Assertions.assertThat(rows)
+                .containsExactly(
+                        List.of(orders.get(0).getId(), client.getId(), "Client", "Surname", 30,
+                                "Milk", "groceries", 3, 1, 3),
+                        List.of(orders.get(1).getId(), client.getId(), "Client", "Surname", 30,
+                                "Chair", "home", 50, 1, 50));
+    }
+
+    @Test
+    @DisplayName("When exporting orders after an ID, only the later orders are read.")
+    public void test2() {
+
+        var orders = saveOrders();
+
+        var ids = new ArrayList<Long>();
+        orderRepository.exportAll(orders.getFirst().getId(), resultSet -> ids.add(resultSet.getLong(1)));
+
+        Assertions.assertThat(ids)
+                .containsExactly(orders.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("When there are no orders, no row is read.")
+    public void test3() {
+
+        var ids = new ArrayList<Long>();
+        orderRepository.exportAll(0L, resultSet -> ids.add(resultSet.getLong(1)));
+
+        Assertions.assertThat(ids)
+                .isEmpty();
+    }
+}
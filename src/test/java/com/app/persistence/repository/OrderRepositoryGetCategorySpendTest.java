@@ -0,0 +1,86 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.view.CategorySpendProjection;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static com.app.data.OrderData.*;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+public class OrderRepositoryGetCategorySpendTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private static String format(CategorySpendProjection spend) {
+        return "%s:%d:%s:%d".formatted(
+                spend.getCategory(),
+                spend.getClientId(),
+                spend.getAmount().setScale(2),
+                spend.getOrderCount());
+    }
+
+    @Test
+    @DisplayName("When streaming the spending of all orders, one row per client and category is returned.")
+    public void test1() {
+
+        orderRepository
+                .saveAll(List.of(ORDER_ENTITY1, ORDER_ENTITY2, ORDER_ENTITY3, ORDER_ENTITY4, ORDER_ENTITY5));
+
+        try (var spending = orderRepository.streamCategorySpend()) {
+            Assertions.assertThat(spending.map(OrderRepositoryGetCategorySpendTest::format))
+                    .containsExactlyInAnyOrder(
+                            "groceries:1:2.30:1",
+                            "groceries:2:1.70:1",
+                            "home:2:118.20:2",
+                            "home:3:59.10:1");
+        }
+    }
+
+    @Test
+    @DisplayName("When selecting orders by their ids, only their spending is returned.")
+    public void test2() {
+
+        orderRepository
+                .saveAll(List.of(ORDER_ENTITY1, ORDER_ENTITY2, ORDER_ENTITY3, ORDER_ENTITY4, ORDER_ENTITY5));
+
+        Assertions.assertThat(orderRepository.getCategorySpendByOrderIds(List.of(2L, 4L, 5L))
+                        .stream()
+                        .map(OrderRepositoryGetCategorySpendTest::format))
+                .containsExactlyInAnyOrder(
+                        "groceries:2:1.70:1",
+                        "home:2:118.20:2");
+    }
+
+    @Test
+    @DisplayName("When selecting orders by their products, the spending of all their orders is returned.")
+    public void test3() {
+
+        orderRepository
+                .saveAll(List.of(ORDER_ENTITY1, ORDER_ENTITY2, ORDER_ENTITY3, ORDER_ENTITY4, ORDER_ENTITY5));
+
+        Assertions.assertThat(orderRepository.getCategorySpendByProductIds(List.of(3L))
+                        .stream()
+                        .map(OrderRepositoryGetCategorySpendTest::format))
+                .containsExactlyInAnyOrder(
+                        "home:2:59.10:1",
+                        "home:3:59.10:1");
+
+        Assertions.assertThat(orderRepository.getCategorySpendByProductIds(List.of(100L)))
+                .isEmpty();
+    }
+}
@@ -3,6 +3,7 @@ package com.app.persistence.repository;
 import com.app.persistence.entity.ClientEntity;
 import com.app.persistence.entity.OrderEntity;
 import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.entity.view.ClientView;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -101,6 +102,7 @@ public class OrderRepositoryGetClientWithBiggerPaymentInCategoryTest {
         System.out.println(orderRepository.findAll());
 
         Assertions.assertThat(orderRepository.getClientWithBiggerPayment())
-                .contains(CLIENT_ENTITY_READ_3, CLIENT_ENTITY_READ_2);
+                .extracting(ClientView::id)
+                .contains(CLIENT_ENTITY_READ_3.getId(), CLIENT_ENTITY_READ_2.getId());
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.app.persistence.repository;
 
+import com.app.persistence.entity.view.ClientView;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -41,7 +42,8 @@ public class OrderRepositoryGetClientWithBiggerPaymentTest {
         orderRepository.save(ORDER_ENTITY1);
 
         Assertions.assertThat(orderRepository.getClientWithBiggerPayment())
-                .contains(CLIENT_ENTITY_READ_1);
+                .extracting(ClientView::id)
+                .contains(CLIENT_ENTITY_READ_1.getId());
     }
 
     @Test
@@ -55,7 +57,8 @@ public class OrderRepositoryGetClientWithBiggerPaymentTest {
         System.out.println(orderRepository.findAll());
 
         Assertions.assertThat(orderRepository.getClientWithBiggerPayment())
-                .contains(CLIENT_ENTITY_READ_3);
+                .extracting(ClientView::id)
+                .contains(CLIENT_ENTITY_READ_3.getId());
     }
 
 
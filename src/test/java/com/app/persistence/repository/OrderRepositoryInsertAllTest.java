@@ -0,0 +1,81 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.OrderEntity;
+import com.app.persistence.entity.ProductEntity;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "orders.bulk-insert.batch-size=2")
+@ExtendWith(SpringExtension.class)
+public class OrderRepositoryInsertAllTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    @DisplayName("When inserting orders in several batches, the generated IDs are set in the order of the orders.")
+    public void test1() {
+
+        var client = clientRepository.save(ClientEntity
+                .builder()
+                .name("Client")
+                .surname("Surname")
+                .age(30)
+                .cash(BigDecimal.valueOf(1000))
+                .build());
+
+        var products = productRepository.saveAll(List.of(
+                ProductEntity.builder().name("Milk").category("groceries").price(BigDecimal.valueOf(3)).build(),
+                ProductEntity.builder().name("Chair").category("home").price(BigDecimal.valueOf(50)).build(),
+                ProductEntity.builder().name("Rake").category("garden").price(BigDecimal.valueOf(20)).build()));
+
+        var orders = orderRepository.insertAll(products
+                .stream()
+                .map(product -> new OrderEntity(client, product))
+                .toList());
+
+        Assertions.assertThat(orders)
+                .extracting(OrderEntity::getId)
+                .doesNotContainNull()
+                .isSorted()
+                .doesNotHaveDuplicates();
+
+        orders.forEach(order -> Assertions.assertThat(orderRepository.findById(order.getId()))
+                .hasValueSatisfying(found -> Assertions.assertThat(found.getProductEntity().getId())
+                        .isEqualTo(order.getProductEntity().getId())));
+    }
+
+    @Test
+    @DisplayName("When inserting no orders, nothing is written.")
+    public void test2() {
+
+        Assertions.assertThat(orderRepository.insertAll(List.of()))
+                .isEmpty();
+
+        Assertions.assertThat(orderRepository.count())
+                .isZero();
+    }
+}
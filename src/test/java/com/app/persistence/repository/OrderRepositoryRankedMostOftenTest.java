@@ -0,0 +1,179 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.OrderEntity;
+import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.entity.view.AgeAndMostProductProjection;
+import com.app.persistence.entity.view.AgeMostOftenCategoryProjection;
+import com.app.persistence.entity.view.CategoryAndMostClientProjection;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+public class OrderRepositoryRankedMostOftenTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private List<ClientEntity> clients;
+
+    private List<ProductEntity> products;
+
+    /**
+     * Saves orders where the two age groups and the two categories each have a tie:
+     * age 30 orders 4 units of groceries and of home, age 11 orders 3 units of the chair and of the milk,
+     * the clients 1 and 4 order 3 units of groceries, and the clients 2 and 3 order 3 units of home.
+     */
+    private void saveOrders() {
+        clients = clientRepository.saveAll(List.of(
+                client("Adam", 30), client("Bartek", 30), client("Cezary", 11), client("Dawid", 11)));
+
+        products = productRepository.saveAll(List.of(
+                product("Milk", "groceries"), product("Bread", "groceries"), product("Chair", "home")));
+
+        var milk = products.get(0);
+        var bread = products.get(1);
+        var chair = products.get(2);
+
+        orderRepository.insertAll(List.of(
+                new OrderEntity(clients.get(0), milk, 2),
+                new OrderEntity(clients.get(0), chair, 1),
+                new OrderEntity(clients.get(0), bread, 1),
+                new OrderEntity(clients.get(1), chair, 3),
+                new OrderEntity(clients.get(1), bread, 1),
+                new OrderEntity(clients.get(2), chair, 3),
+                new OrderEntity(clients.get(2), milk, 2),
+                new OrderEntity(clients.get(3), milk, 1),
+                new OrderEntity(clients.get(3), bread, 2)));
+    }
+
+    private static ClientEntity client(String name, int age) {
+        return ClientEntity
+                .builder()
+                .name(name)
+                .surname("Surname")
+                .age(age)
+                .cash(BigDecimal.valueOf(1000))
+                .build();
+    }
+
+    private static ProductEntity product(String name, String category) {
+        return ProductEntity
+                .builder()
+                .name(name)
+                .category(category)
+                .price(BigDecimal.TEN)
+                .build();
+    }
+
+    private static List<List<Object>> ageAndCategory(List<AgeMostOftenCategoryProjection> projections) {
+        return projections
+                .stream()
+                .map(projection -> List.<Object>of(projection.getAge(), projection.getCategory()))
+                .toList();
+    }
+
+    private static List<List<Object>> ageAndProduct(List<AgeAndMostProductProjection> projections) {
+        return projections
+                .stream()
+                .map(projection -> List.<Object>of(projection.getAge(), projection.getId()))
+                .toList();
+    }
+
+    private static List<List<Object>> categoryAndClient(List<CategoryAndMostClientProjection> projections) {
+        return projections
+                .stream()
+                .map(projection -> List.<Object>of(projection.getCategory(), projection.getId()))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("When we don't have orders in the database, the ranked queries return empty lists.")
+    public void test1() {
+
+        Assertions.assertThat(orderRepository.getAgeAndMostCategoryRanked())
+                .isEmpty();
+
+        Assertions.assertThat(orderRepository.getAgeAndMostProductRanked())
+                .isEmpty();
+
+        Assertions.assertThat(orderRepository.getCategoryAndMostClientRanked())
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When two categories tie in an age group, the ranked query returns both, like the correlated one.")
+    public void test2() {
+
+        saveOrders();
+
+        var ranked = ageAndCategory(orderRepository.getAgeAndMostCategoryRanked());
+
+        Assertions.assertThat(ranked)
+                .containsExactlyInAnyOrder(
+                        List.of(30, "groceries"),
+                        List.of(30, "home"),
+                        List.of(11, "groceries"));
+
+        Assertions.assertThat(ranked)
+                .containsExactlyInAnyOrderElementsOf(ageAndCategory(orderRepository.getAgeAndMostCategory()));
+    }
+
+    @Test
+    @DisplayName("When two products tie in an age group, the ranked query returns both, like the correlated one.")
+    public void test3() {
+
+        saveOrders();
+
+        var ranked = ageAndProduct(orderRepository.getAgeAndMostProductRanked());
+
+        Assertions.assertThat(ranked)
+                .containsExactlyInAnyOrder(
+                        List.of(30, products.get(2).getId()),
+                        List.of(11, products.get(2).getId()),
+                        List.of(11, products.get(0).getId()));
+
+        Assertions.assertThat(ranked)
+                .containsExactlyInAnyOrderElementsOf(ageAndProduct(orderRepository.getAgeAndMostProduct()));
+    }
+
+    @Test
+    @DisplayName("When two clients tie in a category, the ranked query returns both, like the correlated one.")
+    public void test4() {
+
+        saveOrders();
+
+        var ranked = categoryAndClient(orderRepository.getCategoryAndMostClientRanked());
+
+        Assertions.assertThat(ranked)
+                .containsExactlyInAnyOrder(
+                        List.of("groceries", clients.get(0).getId()),
+                        List.of("groceries", clients.get(3).getId()),
+                        List.of("home", clients.get(1).getId()),
+                        List.of("home", clients.get(2).getId()));
+
+        Assertions.assertThat(ranked)
+                .containsExactlyInAnyOrderElementsOf(categoryAndClient(orderRepository.getCategoryAndMostClient()));
+    }
+}
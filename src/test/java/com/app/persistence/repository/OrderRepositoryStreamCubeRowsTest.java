@@ -0,0 +1,74 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.view.OrderCubeRowProjection;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static com.app.data.OrderData.*;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+public class OrderRepositoryStreamCubeRowsTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private static String format(OrderCubeRowProjection row) {
+        return "%s %s:%d:%s:%s:%s:%s:%d:%s".formatted(
+                row.getClientName(),
+                row.getClientSurname(),
+                row.getClientAge(),
+                row.getClientCash().setScale(2),
+                row.getProductName(),
+                row.getCategory(),
+                row.getProductPrice().setScale(2),
+                row.getQuantity(),
+                row.getAmount().setScale(2));
+    }
+
+    @Test
+    @DisplayName("When we don't have orders in the database, the stream is empty.")
+    public void test1() {
+
+        try (var rows = orderRepository.streamCubeRows()) {
+            Assertions.assertThat(rows)
+                    .isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("When we have orders in the database, every order is streamed by ID with the columns of its client and product.")
+    public void test2() {
+
+        orderRepository
+                .saveAll(List.of(ORDER_ENTITY1, ORDER_ENTITY2, ORDER_ENTITY3));
+
+        try (var rows = orderRepository.streamCubeRows()) {
+            var streamed = rows.toList();
+
+            Assertions.assertThat(streamed)
+                    .extracting(OrderCubeRowProjection::getOrderId)
+                    .isSortedAccordingTo(Comparator.naturalOrder());
+
+            Assertions.assertThat(streamed.stream().map(OrderRepositoryStreamCubeRowsTest::format))
+                    .containsExactlyInAnyOrder(
+                            "A AA:30:2000.00:Apple:groceries:2.30:1:2.30",
+                            "B BB:30:1500.00:Banana:groceries:1.70:1:1.70",
+                            "C CC:11:360.00:desk:home:59.10:1:59.10");
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.entity.RollupGranularity;
+import com.app.persistence.entity.view.OrderRollupDeltaProjection;
+import com.app.persistence.entity.view.OrderRollupProjection;
+import com.app.statistic.TimeRange;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+public class OrderRollupRepositoryTest {
+
+    @Autowired
+    private OrderRollupRepository orderRollupRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private ClientEntity client;
+
+    private ProductEntity product;
+
+    private void saveClientAndProduct() {
+        client = clientRepository.save(ClientEntity
+                .builder()
+                .name("Client")
+                .surname("Surname")
+                .age(30)
+                .cash(BigDecimal.valueOf(1000))
+                .build());
+
+        product = productRepository.save(ProductEntity
+                .builder()
+                .name("Chair")
+                .category("home")
+                .price(BigDecimal.valueOf(50))
+                .build());
+    }
+
+    private void add(String granularity, String bucketStart, int amount, long quantity) {
+        orderRollupRepository.addRollup(granularity, Instant.parse(bucketStart), client.getId(), product.getId(),
+                BigDecimal.valueOf(amount), quantity);
+    }
+
+    private List<Long> hourlyQuantitiesInRange(String from, String to) {
+        var range = new TimeRange(Instant.parse(from), Instant.parse(to));
+        return orderRollupRepository
+                .findHourlyInRange(range.fromHour(), range.fromDay(), range.toDay(), range.toHour())
+                .stream()
+                .map(OrderRollupProjection::getQuantity)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("When rollups are added to the same bucket twice, the amounts and quantities are summed in one row.")
+    public void test1() {
+
+        saveClientAndProduct();
+        add("HOUR", "2024-05-01T10:00:00Z", 50, 1);
+        add("HOUR", "2024-05-01T10:00:00Z", 100, 2);
+
+        Assertions.assertThat(orderRollupRepository.findAll())
+                .singleElement()
+                .satisfies(rollup -> {
+                    Assertions.assertThat(rollup.getAmount().intValueExact()).isEqualTo(150);
+                    Assertions.assertThat(rollup.getQuantity()).isEqualTo(3);
+                });
+    }
+
+    @Test
+    @DisplayName("When reading the edges of a range, only the hourly rollups outside of its whole days are read.")
+    public void test2() {
+
+        saveClientAndProduct();
+        add("HOUR", "2024-05-01T09:00:00Z", 50, 1);
+        add("HOUR", "2024-05-01T22:00:00Z", 50, 2);
+        add("DAY", "2024-05-01T00:00:00Z", 150, 3);
+        add("HOUR", "2024-05-02T03:00:00Z", 50, 4);
+        add("HOUR", "2024-05-02T08:00:00Z", 50, 8);
+        add("DAY", "2024-05-02T00:00:00Z", 600, 12);
+
+        Assertions.assertThat(hourlyQuantitiesInRange("2024-05-01T10:00:00Z", "2024-05-02T05:00:00Z"))
+                .containsExactly(6L);
+
+        Assertions.assertThat(hourlyQuantitiesInRange("2024-05-01T00:00:00Z", "2024-05-02T05:00:00Z"))
+                .containsExactly(4L);
+
+        Assertions.assertThat(hourlyQuantitiesInRange("2024-05-01T00:00:00Z", "2024-05-03T00:00:00Z"))
+                .isEmpty();
+
+        Assertions.assertThat(hourlyQuantitiesInRange("2024-05-03T00:00:00Z", "2024-05-04T00:00:00Z"))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When rollups are emptied or their product or client is removed, the rows are deleted.")
+    public void test3() {
+
+        saveClientAndProduct();
+        add("HOUR", "2024-05-01T10:00:00Z", 50, 1);
+        add("HOUR", "2024-05-01T10:00:00Z", -50, -1);
+        add("DAY", "2024-05-01T00:00:00Z", 50, 1);
+
+        Assertions.assertThat(orderRollupRepository.deleteEmpty())
+                .isEqualTo(1);
+
+        Assertions.assertThat(orderRollupRepository.deleteByClientIds(List.of(client.getId() + 1)))
+                .isZero();
+
+        Assertions.assertThat(orderRollupRepository.deleteByProductIds(List.of(product.getId())))
+                .isEqualTo(1);
+
+        Assertions.assertThat(orderRollupRepository.findAll())
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When the hourly rollups before a time are removed, the later hourly and all daily rollups are kept.")
+    public void test4() {
+
+        saveClientAndProduct();
+        add("HOUR", "2024-05-01T10:00:00Z", 50, 1);
+        add("HOUR", "2024-05-01T23:00:00Z", 50, 2);
+        add("DAY", "2024-05-01T00:00:00Z", 100, 3);
+        add("HOUR", "2024-05-02T03:00:00Z", 50, 4);
+        add("DAY", "2024-05-02T00:00:00Z", 50, 4);
+
+        Assertions.assertThat(orderRollupRepository.deleteHourlyBefore(Instant.parse("2024-05-02T00:00:00Z")))
+                .isEqualTo(2);
+
+        Assertions.assertThat(hourlyQuantitiesInRange("2024-05-01T10:00:00Z", "2024-05-02T05:00:00Z"))
+                .containsExactly(4L);
+        Assertions.assertThat(orderRollupRepository.findAll())
+                .filteredOn(rollup -> rollup.getId().getGranularity() == RollupGranularity.DAY)
+                .hasSize(2);
+    }
+
+    @Test
+    @DisplayName("When the daily rollups of a client or product are read, the age of the client and the category of " +
+            "the product are joined and the hourly rollups are left out.")
+    public void test5() {
+
+        saveClientAndProduct();
+        add("HOUR", "2024-05-01T10:00:00Z", 50, 1);
+        add("DAY", "2024-05-01T00:00:00Z", 150, 3);
+
+        Assertions.assertThat(orderRollupRepository.getDailyDeltaByClientIds(List.of(client.getId())))
+                .singleElement()
+                .satisfies(rollup -> {
+                    Assertions.assertThat(rollup.getCreatedAt()).isEqualTo(Instant.parse("2024-05-01T00:00:00Z"));
+                    Assertions.assertThat(rollup.getClientAge()).isEqualTo(30);
+                    Assertions.assertThat(rollup.getCategory()).isEqualTo("home");
+                    Assertions.assertThat(rollup.getAmount().intValueExact()).isEqualTo(150);
+                    Assertions.assertThat(rollup.getQuantity()).isEqualTo(3);
+                });
+
+        Assertions.assertThat(orderRollupRepository.getDailyDeltaByProductIds(List.of(product.getId())))
+                .extracting(OrderRollupDeltaProjection::getProductId)
+                .containsExactly(product.getId());
+
+        Assertions.assertThat(orderRollupRepository.getDailyDeltaByProductIds(List.of(product.getId() + 1)))
+                .isEmpty();
+    }
+}
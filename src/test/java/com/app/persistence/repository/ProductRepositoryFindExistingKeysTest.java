@@ -0,0 +1,78 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.entity.view.ProductKey;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+public class ProductRepositoryFindExistingKeysTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private static ProductEntity product(String name, String category) {
+        return ProductEntity
+                .builder()
+                .name(name)
+                .category(category)
+                .price(BigDecimal.ONE)
+                .build();
+    }
+
+    @Test
+    @DisplayName("When we don't have products in the database and return an empty set.")
+    public void test1() {
+
+        Assertions.assertThat(productRepository.findExistingKeys(List.of(new ProductKey("Apple", "groceries"))))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When names and categories of different products match crosswise, return only the existing combinations.")
+    public void test2() {
+
+        productRepository.saveAll(List.of(product("Apple", "groceries"), product("desk", "home")));
+
+        var keys = List.of(
+                new ProductKey("Apple", "groceries"),
+                new ProductKey("Apple", "home"),
+                new ProductKey("desk", "groceries"),
+                new ProductKey("chair", "home"));
+
+        Assertions.assertThat(productRepository.findExistingKeys(keys))
+                .containsExactly(new ProductKey("apple", "groceries"));
+    }
+
+    @Test
+    @DisplayName("When the keys do not fit in one query, check them in chunks and return the existing ones from all chunks.")
+    public void test3() {
+
+        productRepository.saveAll(List.of(product("Apple", "groceries"), product("desk", "home")));
+
+        var keys = new ArrayList<>(IntStream
+                .range(0, CrudRepository.IN_CLAUSE_CHUNK_SIZE * 2)
+                .mapToObj(i -> new ProductKey("Product" + i, "category" + i))
+                .toList());
+        keys.addFirst(new ProductKey("Apple", "groceries"));
+        keys.addLast(new ProductKey("desk", "home"));
+
+        Assertions.assertThat(productRepository.findExistingKeys(keys))
+                .containsExactlyInAnyOrder(new ProductKey("apple", "groceries"), new ProductKey("desk", "home"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.app.persistence.repository;
+
+import com.app.persistence.entity.view.ProductPriceProjection;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static com.app.data.ProductData.*;
+
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+public class ProductRepositoryStreamProductPricesTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private static String format(ProductPriceProjection product) {
+        return "%s:%s:%s".formatted(product.getName(), product.getCategory(), product.getPrice().setScale(2));
+    }
+
+    @Test
+    @DisplayName("When we don't have products in the database, the stream is empty.")
+    public void test1() {
+
+        try (var products = productRepository.streamProductPrices()) {
+            Assertions.assertThat(products)
+                    .isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("When we have products in the database, every product is streamed with its category and price.")
+    public void test2() {
+
+        productRepository.saveAll(List.of(PRODUCT_ENTITY_1, PRODUCT_ENTITY_2, PRODUCT_ENTITY_3));
+
+        try (var products = productRepository.streamProductPrices()) {
+            Assertions.assertThat(products.map(ProductRepositoryStreamProductPricesTest::format))
+                    .containsExactlyInAnyOrder(
+                            "Apple:groceries:2.30",
+                            "Banana:groceries:1.70",
+                            "desk:home:59.10");
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.app.persistence.routing;
+
+import lombok.SneakyThrows;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = Mockito.mock(DataSource.class);
+    private final DataSource replica1 = Mockito.mock(DataSource.class);
+    private final DataSource replica2 = Mockito.mock(DataSource.class);
+
+    private final Connection primaryConnection = Mockito.mock(Connection.class);
+    private final Connection replica1Connection = Mockito.mock(Connection.class);
+    private final Connection replica2Connection = Mockito.mock(Connection.class);
+
+    private final MutableClock clock = new MutableClock();
+    private String session = "user";
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    @SneakyThrows
+    public void setUp() {
+        Mockito.when(primary.getConnection()).thenReturn(primaryConnection);
+        Mockito.lenient().when(replica1.getConnection()).thenReturn(replica1Connection);
+        Mockito.lenient().when(replica2.getConnection()).thenReturn(replica2Connection);
+
+        var replicas = new LinkedHashMap<String, DataSource>();
+        replicas.put("replica-0", replica1);
+        replicas.put("replica-1", replica2);
+
+        dataSource = new ReplicaRoutingDataSource(
+                primary,
+                replicas,
+                new ReplicaRoutingDataSource.Settings(Duration.ofSeconds(5), Duration.ofSeconds(1)),
+                () -> session,
+                clock);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @SneakyThrows
+    private Connection readOnly() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return dataSource.getConnection();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    @SneakyThrows
+    private Connection commitWrite() {
+        TransactionSynchronizationManager.initSynchronization();
+        var connection = dataSource.getConnection();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        return connection;
+    }
+
+    @Test
+    @DisplayName("When the transaction is read-only, the connections are taken from the replicas in turn.")
+    public void test1() {
+
+        Assertions.assertThat(List.of(readOnly(), readOnly(), readOnly()))
+                .containsExactly(replica1Connection, replica2Connection, replica1Connection);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("When the transaction is not read-only, the connection is taken from the primary.")
+    public void test2() {
+
+        Assertions.assertThat(dataSource.getConnection())
+                .isEqualTo(primaryConnection);
+    }
+
+    @Test
+    @DisplayName("When a write of the session committed, its reads go to the primary until the window passes.")
+    public void test3() {
+
+        Assertions.assertThat(commitWrite())
+                .isEqualTo(primaryConnection);
+
+        Assertions.assertThat(readOnly())
+                .isEqualTo(primaryConnection);
+
+        session = "other";
+        Assertions.assertThat(readOnly())
+                .isEqualTo(replica1Connection);
+
+        session = "user";
+        clock.advance(Duration.ofSeconds(5));
+        Assertions.assertThat(readOnly())
+                .isEqualTo(replica2Connection);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("When a write is not committed, the reads of the session stay on the replicas.")
+    public void test4() {
+
+        TransactionSynchronizationManager.initSynchronization();
+        dataSource.getConnection();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        Assertions.assertThat(readOnly())
+                .isEqualTo(replica1Connection);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("When a replica fails to give a connection, the primary is used and the replica is skipped afterwards.")
+    public void test5() {
+
+        Mockito.when(replica1.getConnection())
+                .thenThrow(new SQLException("Connection refused"));
+
+        Assertions.assertThat(readOnly())
+                .isEqualTo(primaryConnection);
+
+        Assertions.assertThat(dataSource.getReplicasUp())
+                .containsExactly("replica-1");
+
+        Assertions.assertThat(List.of(readOnly(), readOnly()))
+                .containsExactly(replica2Connection, replica2Connection);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("When the health check fails for every replica, the primary is used until a replica answers again.")
+    public void test6() {
+
+        Mockito.when(replica1Connection.isValid(ArgumentMatchers.anyInt()))
+                .thenReturn(false);
+        Mockito.when(replica2.getConnection())
+                .thenThrow(new SQLException("Connection refused"));
+
+        dataSource.checkReplicas();
+
+        Assertions.assertThat(dataSource.getReplicasUp())
+                .isEmpty();
+
+        Assertions.assertThat(readOnly())
+                .isEqualTo(primaryConnection);
+
+        Mockito.when(replica1Connection.isValid(ArgumentMatchers.anyInt()))
+                .thenReturn(true);
+
+        dataSource.checkReplicas();
+
+        Assertions.assertThat(dataSource.getReplicasUp())
+                .containsExactly("replica-0");
+
+        Assertions.assertThat(readOnly())
+                .isEqualTo(replica1Connection);
+    }
+
+    @Test
+    @DisplayName("When a write without a session committed, only the reads of the same thread go to the primary.")
+    public void test7() {
+
+        session = null;
+
+        Assertions.assertThat(commitWrite())
+                .isEqualTo(primaryConnection);
+
+        Assertions.assertThat(readOnly())
+                .isEqualTo(primaryConnection);
+
+        Assertions.assertThat(CompletableFuture.supplyAsync(this::readOnly).join())
+                .isEqualTo(replica1Connection);
+
+        clock.advance(Duration.ofSeconds(5));
+        Assertions.assertThat(readOnly())
+                .isEqualTo(replica2Connection);
+    }
+
+    @Test
+    @DisplayName("When the expired pins are swept, the sessions still within the window stay pinned.")
+    public void test8() {
+
+        commitWrite();
+        clock.advance(Duration.ofSeconds(4));
+        dataSource.sweepExpiredPins();
+
+        Assertions.assertThat(readOnly())
+                .isEqualTo(primaryConnection);
+
+        clock.advance(Duration.ofSeconds(1));
+        dataSource.sweepExpiredPins();
+
+        Assertions.assertThat(readOnly())
+                .isEqualTo(replica1Connection);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant = Instant.EPOCH;
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.app.persistence.specification.impl;
 
 import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.repository.CategoryRepository;
 import com.app.persistence.repository.specification.impl.ProductSpecificationImpl;
 import com.app.persistence.repository.specification.specification.ProductFilterSpecification;
 import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +17,8 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.jpa.domain.Specification;
 import java.math.BigDecimal;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.*;
 
@@ -33,23 +37,31 @@ public class ProductSpecificationImplTest {
     @Mock
     Predicate likePredicate;
 
+    @Mock
+    Path<Object> categoryPath;
+
+    @Mock
+    CategoryRepository categoryRepository;
+
     ProductSpecificationImpl productSpecification;
 
 
     @BeforeEach
     public void setUp() {
-        productSpecification = new ProductSpecificationImpl();
+        productSpecification = new ProductSpecificationImpl(categoryRepository);
     }
 
 
     @Test
-    @DisplayName("When filtering by category, verify that the correct method (cb.like) is invoked")
+    @DisplayName("When filtering by category, verify that the products of the matching categories are selected (path.in) instead of cb.like")
     public void test1() {
 
-        ProductFilterSpecification filterSpecification = new ProductFilterSpecification(null, null, "Electronics");
+        ProductFilterSpecification filterSpecification = new ProductFilterSpecification(null, null, "Electr%");
 
+        when(categoryRepository.findCategoryNamesLike("Electr%")).thenReturn(Set.of("electronics"));
         when(cb.conjunction()).thenReturn(initialPredicate);
-        when(cb.like(root.get("category"), "Electronics")).thenReturn(likePredicate);
+        doReturn(categoryPath).when(root).get("category");
+        when(categoryPath.in(Set.of("electronics"))).thenReturn(likePredicate);
         when(cb.and(initialPredicate, likePredicate)).thenReturn(likePredicate);
 
         Specification<ProductEntity> specification = productSpecification.dynamicFilter(filterSpecification);
@@ -57,10 +69,12 @@ public class ProductSpecificationImplTest {
 
         assertNotNull(resultPredicate);
 
-        Mockito.verify(cb, times(1))
-                .like(root.get("category"), "Electronics");
+        Mockito.verify(categoryPath, times(1))
+                .in(Set.of("electronics"));
         Mockito.verify(cb, times(1))
                 .and(initialPredicate, likePredicate);
+        Mockito.verify(cb, never())
+                .like(any(), anyString());
     }
 
     @Test
@@ -104,4 +118,26 @@ public class ProductSpecificationImplTest {
         Mockito.verify(cb, times(1))
                 .and(initialPredicate, likePredicate);
     }
+
+    @Test
+    @DisplayName("When filtering by a category no category matches, verify that no product is selected (cb.disjunction)")
+    public void test4() {
+
+        ProductFilterSpecification filterSpecification = new ProductFilterSpecification(null, null, "Toys");
+
+        when(categoryRepository.findCategoryNamesLike("Toys")).thenReturn(Set.of());
+        when(cb.conjunction()).thenReturn(initialPredicate);
+        when(cb.disjunction()).thenReturn(likePredicate);
+        when(cb.and(initialPredicate, likePredicate)).thenReturn(likePredicate);
+
+        Specification<ProductEntity> specification = productSpecification.dynamicFilter(filterSpecification);
+        Predicate resultPredicate = specification.toPredicate(root, null, cb);
+
+        assertNotNull(resultPredicate);
+
+        Mockito.verify(cb, times(1))
+                .and(initialPredicate, likePredicate);
+        Mockito.verify(root, never())
+                .get("category");
+    }
 }
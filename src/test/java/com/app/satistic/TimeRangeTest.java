@@ -0,0 +1,93 @@
+package com.app.satistic;
+
+import com.app.statistic.TimeRange;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+public class TimeRangeTest {
+
+    @Test
+    @DisplayName("When a bound is null or the start is not before the end, throw an exception")
+    public void test1() {
+        var now = Instant.parse("2024-05-01T10:00:00Z");
+
+        Assertions.assertThatThrownBy(() -> new TimeRange(null, now))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Range start cannot be null");
+
+        Assertions.assertThatThrownBy(() -> new TimeRange(now, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Range end cannot be null");
+
+        Assertions.assertThatThrownBy(() -> new TimeRange(now, now))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Range start must be before range end");
+    }
+
+    @Test
+    @DisplayName("When the range spans whole days, read the days between the hours at its edges")
+    public void test2() {
+        var range = new TimeRange(Instant.parse("2024-05-01T10:30:00Z"), Instant.parse("2024-05-04T05:10:00Z"));
+
+        Assertions.assertThat(range.fromHour()).isEqualTo(Instant.parse("2024-05-01T10:00:00Z"));
+        Assertions.assertThat(range.fromDay()).isEqualTo(Instant.parse("2024-05-02T00:00:00Z"));
+        Assertions.assertThat(range.toDay()).isEqualTo(Instant.parse("2024-05-04T00:00:00Z"));
+        Assertions.assertThat(range.toHour()).isEqualTo(Instant.parse("2024-05-04T06:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("When the range contains no whole day, read the hours only")
+    public void test3() {
+        var range = new TimeRange(Instant.parse("2024-05-01T10:30:00Z"), Instant.parse("2024-05-02T05:00:00Z"));
+
+        Assertions.assertThat(range.fromHour()).isEqualTo(Instant.parse("2024-05-01T10:00:00Z"));
+        Assertions.assertThat(range.fromDay()).isEqualTo(Instant.parse("2024-05-02T05:00:00Z"));
+        Assertions.assertThat(range.toDay()).isEqualTo(Instant.parse("2024-05-02T05:00:00Z"));
+        Assertions.assertThat(range.toHour()).isEqualTo(Instant.parse("2024-05-02T05:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("When the range starts and ends at midnight, read the days only")
+    public void test4() {
+        var range = new TimeRange(Instant.parse("2024-05-01T00:00:00Z"), Instant.parse("2024-05-03T00:00:00Z"));
+
+        Assertions.assertThat(range.fromHour()).isEqualTo(range.fromDay());
+        Assertions.assertThat(range.fromDay()).isEqualTo(Instant.parse("2024-05-01T00:00:00Z"));
+        Assertions.assertThat(range.toDay()).isEqualTo(Instant.parse("2024-05-03T00:00:00Z"));
+        Assertions.assertThat(range.toHour()).isEqualTo(range.toDay());
+    }
+
+    @Test
+    @DisplayName("When the range reaches before the horizon of the hourly rollups, require whole days before it")
+    public void test5() {
+        var horizon = Instant.parse("2024-05-02T00:00:00Z");
+        var range = new TimeRange(Instant.parse("2024-05-01T00:00:00Z"), Instant.parse("2024-05-02T05:10:00Z"));
+        var old = new TimeRange(Instant.parse("2024-04-28T00:00:00Z"), Instant.parse("2024-05-01T00:00:00Z"));
+        var recent = new TimeRange(Instant.parse("2024-05-02T10:30:00Z"), Instant.parse("2024-05-03T05:10:00Z"));
+
+        Assertions.assertThat(range.requireWholeDaysBefore(horizon))
+                .isSameAs(range);
+        Assertions.assertThat(old.requireWholeDaysBefore(horizon))
+                .isSameAs(old);
+        Assertions.assertThat(recent.requireWholeDaysBefore(horizon))
+                .isSameAs(recent);
+    }
+
+    @Test
+    @DisplayName("When a bound before the horizon of the hourly rollups is not at the start of a day, throw an exception")
+    public void test6() {
+        var horizon = Instant.parse("2024-05-02T00:00:00Z");
+        var start = new TimeRange(Instant.parse("2024-05-01T10:30:00Z"), Instant.parse("2024-05-02T05:10:00Z"));
+        var end = new TimeRange(Instant.parse("2024-04-28T00:00:00Z"), Instant.parse("2024-04-30T05:10:00Z"));
+
+        Assertions.assertThatThrownBy(() -> start.requireWholeDaysBefore(horizon))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Range bounds before 2024-05-02T00:00:00Z must be at the start of a day");
+        Assertions.assertThatThrownBy(() -> end.requireWholeDaysBefore(horizon))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Range bounds before 2024-05-02T00:00:00Z must be at the start of a day");
+    }
+}
@@ -0,0 +1,225 @@
+package com.app.satistic.cache;
+
+import com.app.controller.dto.statistic.StatisticCacheStatsDto;
+import com.app.event.ShopDataChangedEvent;
+import com.app.statistic.cache.CachedStatistic;
+import com.app.statistic.cache.StatisticCache;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StatisticCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger queries = new AtomicInteger();
+    private StatisticCache statisticCache;
+
+    @BeforeEach
+    public void setUp() {
+        statisticCache = new StatisticCache(Map.of(
+                CachedStatistic.CLIENTS_AND_DEBIT, new StatisticCache.Bounds(Duration.ofSeconds(10), 1),
+                CachedStatistic.CATEGORY_AND_PRICE_STATISTIC, new StatisticCache.Bounds(Duration.ofSeconds(10), 1),
+                CachedStatistic.CLIENT_WITH_BIGGER_PAYMENT_IN_CATEGORY, new StatisticCache.Bounds(Duration.ofSeconds(10), 2)),
+                clock);
+    }
+
+    private String query(String result) {
+        queries.incrementAndGet();
+        return result;
+    }
+
+    private String debit() {
+        return statisticCache.get(CachedStatistic.CLIENTS_AND_DEBIT, "", () -> query("debit"));
+    }
+
+    private String inCategory(String category) {
+        return statisticCache.get(
+                CachedStatistic.CLIENT_WITH_BIGGER_PAYMENT_IN_CATEGORY, category, () -> query(category));
+    }
+
+    @Test
+    @DisplayName("When a statistic is read twice, the second read is answered from the cache.")
+    public void test1() {
+
+        Assertions.assertThat(debit()).isEqualTo("debit");
+        Assertions.assertThat(debit()).isEqualTo("debit");
+
+        Assertions.assertThat(queries.get())
+                .isEqualTo(1);
+
+        Assertions.assertThat(statisticCache.getStats().get(CachedStatistic.CLIENTS_AND_DEBIT))
+                .isEqualTo(new StatisticCache.Stats(1, 1, 0, 0, 1));
+    }
+
+    @Test
+    @DisplayName("When the time to live of a result passes, the statistic is computed again and the result is evicted.")
+    public void test2() {
+
+        debit();
+        clock.advance(Duration.ofSeconds(10));
+        debit();
+
+        Assertions.assertThat(queries.get())
+                .isEqualTo(2);
+
+        Assertions.assertThat(statisticCache.getStats().get(CachedStatistic.CLIENTS_AND_DEBIT))
+                .isEqualTo(new StatisticCache.Stats(0, 2, 1, 0, 1));
+    }
+
+    @Test
+    @DisplayName("When more arguments are read than the maximum size, the least recently read result is evicted.")
+    public void test3() {
+
+        inCategory("home");
+        inCategory("garden");
+        inCategory("home");
+        inCategory("toys");
+        inCategory("home");
+        inCategory("garden");
+
+        Assertions.assertThat(queries.get())
+                .isEqualTo(4);
+
+        Assertions.assertThat(statisticCache.getStats().get(CachedStatistic.CLIENT_WITH_BIGGER_PAYMENT_IN_CATEGORY))
+                .isEqualTo(new StatisticCache.Stats(2, 4, 2, 0, 2));
+    }
+
+    @Test
+    @DisplayName("When clients change, the statistics computed from orders are invalidated and the price statistics are kept.")
+    public void test4() {
+
+        debit();
+        statisticCache.get(CachedStatistic.CATEGORY_AND_PRICE_STATISTIC, "", () -> query("prices"));
+
+        statisticCache.invalidate(ShopDataChangedEvent.Source.CLIENTS);
+
+        debit();
+        statisticCache.get(CachedStatistic.CATEGORY_AND_PRICE_STATISTIC, "", () -> query("prices"));
+
+        Assertions.assertThat(queries.get())
+                .isEqualTo(3);
+
+        Assertions.assertThat(statisticCache.getStats().get(CachedStatistic.CLIENTS_AND_DEBIT).invalidations())
+                .isEqualTo(1);
+
+        Assertions.assertThat(statisticCache.getStats().get(CachedStatistic.CATEGORY_AND_PRICE_STATISTIC).invalidations())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("When the cache is invalidated while a statistic is computed, the computed result is returned but not cached.")
+    public void test5() {
+
+        var result = statisticCache.get(CachedStatistic.CLIENTS_AND_DEBIT, "", () -> {
+            statisticCache.invalidate(ShopDataChangedEvent.Source.ORDERS);
+            return query("stale");
+        });
+
+        Assertions.assertThat(result)
+                .isEqualTo("stale");
+
+        Assertions.assertThat(debit())
+                .isEqualTo("debit");
+
+        Assertions.assertThat(queries.get())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("When a statistic has no bounds, it is computed on every read.")
+    public void test6() {
+
+        statisticCache.get(CachedStatistic.AGE_AND_MOST_CATEGORY, "", () -> query("age"));
+        statisticCache.get(CachedStatistic.AGE_AND_MOST_CATEGORY, "", () -> query("age"));
+
+        Assertions.assertThat(queries.get())
+                .isEqualTo(2);
+
+        Assertions.assertThat(statisticCache.getStats().get(CachedStatistic.AGE_AND_MOST_CATEGORY))
+                .isEqualTo(new StatisticCache.Stats(0, 2, 0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("When the bounds are negative, throw an IllegalArgumentException.")
+    public void test7() {
+
+        Assertions.assertThatThrownBy(() -> new StatisticCache.Bounds(Duration.ofSeconds(-1), 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cache ttl cannot be negative");
+
+        Assertions.assertThatThrownBy(() -> new StatisticCache.Bounds(Duration.ofSeconds(1), -1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cache max size cannot be negative");
+    }
+
+    @Test
+    @DisplayName("When converting the counters to a dto, the hit ratio is the share of reads answered from the cache.")
+    public void test8() {
+
+        Assertions.assertThat(new StatisticCache.Stats(3, 1, 0, 0, 1).toStatisticCacheStatsDto())
+                .isEqualTo(new StatisticCacheStatsDto(3, 1, 0, 0, 1, 0.75));
+
+        Assertions.assertThat(new StatisticCache.Stats(0, 0, 0, 0, 0).toStatisticCacheStatsDto().hitRatio())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("When a statistic is computed within the settle window after an invalidation, it is returned but not stored.")
+    public void test9() {
+
+        statisticCache = new StatisticCache(
+                Map.of(CachedStatistic.CLIENTS_AND_DEBIT, new StatisticCache.Bounds(Duration.ofSeconds(10), 1)),
+                Duration.ofSeconds(5),
+                clock);
+
+        debit();
+        statisticCache.invalidate(ShopDataChangedEvent.Source.ORDERS);
+
+        clock.advance(Duration.ofSeconds(4));
+        Assertions.assertThat(debit()).isEqualTo("debit");
+        Assertions.assertThat(debit()).isEqualTo("debit");
+
+        clock.advance(Duration.ofSeconds(1));
+        Assertions.assertThat(debit()).isEqualTo("debit");
+        Assertions.assertThat(debit()).isEqualTo("debit");
+
+        Assertions.assertThat(queries.get())
+                .isEqualTo(4);
+
+        Assertions.assertThat(statisticCache.getStats().get(CachedStatistic.CLIENTS_AND_DEBIT))
+                .isEqualTo(new StatisticCache.Stats(1, 4, 0, 1, 1));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant = Instant.EPOCH;
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.app.satistic.cube;
+
+import com.app.persistence.entity.OrderEntity;
+import com.app.persistence.entity.view.OrderCubeRowProjection;
+import com.app.statistic.cube.OrderCube;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.app.data.ClientData.*;
+import static com.app.data.OrderData.*;
+import static com.app.data.ProductData.*;
+
+public class OrderCubeTest {
+
+    private OrderCube orderCube;
+
+    @BeforeEach
+    public void setUp() {
+        orderCube = new OrderCube();
+    }
+
+    private static Stream<OrderCubeRowProjection> rows(OrderEntity... orders) {
+        return Stream.of(orders).map(order -> {
+            var row = Mockito.mock(OrderCubeRowProjection.class);
+            var client = order.getClientEntity();
+            var product = order.getProductEntity();
+            Mockito.when(row.getOrderId()).thenReturn(order.getId());
+            Mockito.when(row.getClientId()).thenReturn(client.getId());
+            Mockito.when(row.getClientName()).thenReturn(client.getName());
+            Mockito.when(row.getClientSurname()).thenReturn(client.getSurname());
+            Mockito.when(row.getClientAge()).thenReturn(client.getAge());
+            Mockito.when(row.getClientCash()).thenReturn(client.getCash());
+            Mockito.when(row.getProductId()).thenReturn(product.getId());
+            Mockito.when(row.getProductName()).thenReturn(product.getName());
+            Mockito.when(row.getCategory()).thenReturn(product.getCategory());
+            Mockito.when(row.getProductPrice()).thenReturn(product.getPrice());
+            Mockito.when(row.getQuantity()).thenReturn(order.getQuantity());
+            Mockito.when(row.getAmount()).thenReturn(order.getAmount());
+            return row;
+        });
+    }
+
+    private void loadAll() {
+        orderCube.load(rows(
+                ORDER_ENTITY1, ORDER_ENTITY2, ORDER_ENTITY3,
+                ORDER_ENTITY4, ORDER_ENTITY5, ORDER_ENTITY6,
+                ORDER_ENTITY7, ORDER_ENTITY8, ORDER_ENTITY9));
+    }
+
+    @Test
+    @DisplayName("When the cube is not loaded, it reports it and replays the added orders once it is loaded.")
+    public void test1() {
+
+        orderCube.addOrders(List.of(ORDER_ENTITY1));
+
+        Assertions.assertThat(orderCube.isLoaded())
+                .isFalse();
+
+        orderCube.load(Stream.of());
+
+        Assertions.assertThat(orderCube.isLoaded())
+                .isTrue();
+
+        Assertions.assertThat(orderCube.getClientWithBiggerPayment())
+                .isEqualTo(List.of(ORDER_ENTITY1.getClientEntity().toClient()));
+    }
+
+    @Test
+    @DisplayName("When the cube is loaded, it returns the clients with the biggest payment overall and in a category.")
+    public void test2() {
+
+        loadAll();
+
+        Assertions.assertThat(orderCube.getClientWithBiggerPayment())
+                .containsExactly(CLIENT_ENTITY_READ_2.toClient());
+
+        Assertions.assertThat(orderCube.getClientWithBiggerPaymentInCategory("groceries"))
+                .containsExactly(CLIENT_ENTITY_READ_1.toClient());
+
+        Assertions.assertThat(orderCube.getClientWithBiggerPaymentInCategory("toys"))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When the cube is loaded, it returns the most often ordered categories and products per age.")
+    public void test3() {
+
+        loadAll();
+
+        Assertions.assertThat(orderCube.getAgeAndMostCategory())
+                .isEqualTo(Map.of(
+                        30, List.of("groceries"),
+                        11, List.of("home"),
+                        16, List.of("home"),
+                        24, List.of("home")));
+
+        Assertions.assertThat(orderCube.getAgeAndMostProduct())
+                .isEqualTo(Map.of(
+                        30, List.of(PRODUCT_ENTITY_READ1.toProduct()),
+                        11, List.of(PRODUCT_ENTITY_READ3.toProduct()),
+                        16, List.of(PRODUCT_ENTITY_READ3.toProduct()),
+                        24, List.of(PRODUCT_ENTITY_READ3.toProduct())));
+    }
+
+    @Test
+    @DisplayName("When the cube is loaded, it returns the clients with the most orders per category and the clients in debit.")
+    public void test4() {
+
+        loadAll();
+
+        Assertions.assertThat(orderCube.getCategoryAndMostClient())
+                .isEqualTo(Map.of(
+                        "groceries", List.of(CLIENT_ENTITY_READ_1.toClient()),
+                        "home", List.of(CLIENT_ENTITY_READ_2.toClient())));
+
+        Assertions.assertThat(orderCube.getClientsAndDebit())
+                .isEqualTo(Map.of(
+                        CLIENT_ENTITY_READ_5.toClient(), new BigDecimal("-39.10"),
+                        CLIENT_ENTITY_READ_6.toClient(), new BigDecimal("-19.10")));
+    }
+
+    @Test
+    @DisplayName("When orders are added, the already present ones are skipped and the new ones change the result.")
+    public void test5() {
+
+        orderCube.load(rows(ORDER_ENTITY1, ORDER_ENTITY2));
+
+        orderCube.addOrders(List.of(ORDER_ENTITY1, ORDER_ENTITY4));
+
+        Assertions.assertThat(orderCube.getClientWithBiggerPayment())
+                .containsExactly(CLIENT_ENTITY_READ_2.toClient());
+
+        Assertions.assertThat(orderCube.getAgeAndMostCategory())
+                .isEqualTo(Map.of(30, List.of("groceries")));
+    }
+
+    @Test
+    @DisplayName("When orders are removed by their ids or by their products, they are no longer counted.")
+    public void test6() {
+
+        loadAll();
+
+        orderCube.removeOrders(List.of(4L, 5L, 100L));
+
+        Assertions.assertThat(orderCube.getClientWithBiggerPayment())
+                .containsExactly(CLIENT_ENTITY_READ_3.toClient(), CLIENT_ENTITY_READ_5.toClient(), CLIENT_ENTITY_READ_6.toClient());
+
+        orderCube.removeOrdersOfProducts(List.of(3L, 100L));
+
+        Assertions.assertThat(orderCube.getClientWithBiggerPayment())
+                .containsExactly(CLIENT_ENTITY_READ_1.toClient());
+
+        Assertions.assertThat(orderCube.getClientsAndDebit())
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When most orders are removed with their clients, the cube is compacted and stays consistent.")
+    public void test7() {
+
+        loadAll();
+
+        orderCube.removeOrdersOfClients(List.of(1L, 2L, 100L));
+
+        Assertions.assertThat(orderCube.getCategoryAndMostClient())
+                .isEqualTo(Map.of("home", List.of(
+                        CLIENT_ENTITY_READ_3.toClient(), CLIENT_ENTITY_READ_5.toClient(), CLIENT_ENTITY_READ_6.toClient())));
+
+        orderCube.removeOrders(List.of(3L, 7L));
+        orderCube.addOrders(List.of(OrderEntity.builder()
+                .id(10L)
+                .clientEntity(CLIENT_ENTITY_READ_1)
+                .productEntity(PRODUCT_ENTITY_READ4)
+                .quantity(1)
+                .unitPrice(PRODUCT_ENTITY_READ4.getPrice())
+                .build()));
+
+        Assertions.assertThat(orderCube.getClientWithBiggerPayment())
+                .containsExactly(CLIENT_ENTITY_READ_1.toClient(), CLIENT_ENTITY_READ_6.toClient());
+
+        Assertions.assertThat(orderCube.getAgeAndMostProduct())
+                .isEqualTo(Map.of(
+                        30, List.of(PRODUCT_ENTITY_READ4.toProduct()),
+                        24, List.of(PRODUCT_ENTITY_READ3.toProduct())));
+    }
+
+    @Test
+    @DisplayName("When writes are received during the load, the ones already read are skipped and the others replayed in order.")
+    public void test8() {
+
+        orderCube.addOrders(List.of(ORDER_ENTITY1, ORDER_ENTITY4));
+        orderCube.removeOrders(List.of(ORDER_ENTITY4.getId(), ORDER_ENTITY5.getId()));
+
+        orderCube.load(rows(ORDER_ENTITY1, ORDER_ENTITY5));
+
+        Assertions.assertThat(orderCube.getClientWithBiggerPayment())
+                .isEqualTo(List.of(ORDER_ENTITY1.getClientEntity().toClient()));
+
+        Assertions.assertThat(orderCube.getCategoryAndMostClient())
+                .isEqualTo(Map.of(ORDER_ENTITY1.getProductEntity().getCategory(), List.of(ORDER_ENTITY1.getClientEntity().toClient())));
+    }
+
+    @Test
+    @DisplayName("When orders with lower IDs than the present ones are added, they are inserted in place and found by their IDs, also after compaction.")
+    public void test9() {
+
+        orderCube.load(rows(ORDER_ENTITY1, ORDER_ENTITY5));
+
+        orderCube.addOrders(List.of(ORDER_ENTITY3, ORDER_ENTITY2));
+        orderCube.addOrders(List.of(ORDER_ENTITY3));
+
+        Assertions.assertThat(orderCube.getClientWithBiggerPayment())
+                .containsExactly(CLIENT_ENTITY_READ_2.toClient());
+
+        orderCube.removeOrders(List.of(ORDER_ENTITY2.getId(), ORDER_ENTITY5.getId()));
+
+        Assertions.assertThat(orderCube.getClientWithBiggerPayment())
+                .containsExactly(CLIENT_ENTITY_READ_3.toClient());
+
+        orderCube.removeOrders(List.of(ORDER_ENTITY3.getId()));
+        orderCube.addOrders(List.of(ORDER_ENTITY4));
+        orderCube.removeOrders(List.of(ORDER_ENTITY1.getId()));
+
+        Assertions.assertThat(orderCube.getClientWithBiggerPayment())
+                .containsExactly(CLIENT_ENTITY_READ_2.toClient());
+    }
+}
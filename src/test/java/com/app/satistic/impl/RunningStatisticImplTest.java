@@ -0,0 +1,164 @@
+package com.app.satistic.impl;
+
+import com.app.controller.dto.product.StatisticDto;
+import com.app.converter.many.ProductsConverter;
+import com.app.model.Product;
+import com.app.persistence.entity.view.ProductPriceProjection;
+import com.app.statistic.Statistic;
+import com.app.statistic.impl.RunningStatisticImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.app.data.ProductData.*;
+
+public class RunningStatisticImplTest {
+
+    private static ProductPriceProjection product(long id, String price) {
+        var projection = Mockito.mock(ProductPriceProjection.class);
+        Mockito.when(projection.getId()).thenReturn(id);
+        Mockito.when(projection.getName()).thenReturn("P" + id);
+        Mockito.when(projection.getCategory()).thenReturn("home");
+        Mockito.when(projection.getPrice()).thenReturn(new BigDecimal(price));
+        return projection;
+    }
+
+    private static RunningStatisticImpl of(ProductPriceProjection... products) {
+        var statistic = new RunningStatisticImpl();
+        for (var product : products) {
+            statistic.accept(product);
+        }
+        return statistic;
+    }
+
+    @Test
+    @DisplayName("When the statistic is empty, it has no products and no average.")
+    public void test1() {
+
+        var statistic = new RunningStatisticImpl();
+
+        Assertions.assertThat(statistic.getCount())
+                .isZero();
+
+        Assertions.assertThat(statistic.getMin())
+                .isEmpty();
+
+        Assertions.assertThat(statistic.getAvg())
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("When products are added, the count, sum, average and the products with the extreme prices are kept.")
+    public void test2() {
+
+        var statistic = of(product(1L, "2.00"), product(2L, "5.00"), product(3L, "2.00"), product(4L, "3.00"));
+
+        Assertions.assertThat(statistic.getCount())
+                .isEqualTo(4L);
+
+        Assertions.assertThat(statistic.getSum())
+                .isEqualTo(new BigDecimal("12.00"));
+
+        Assertions.assertThat(statistic.getAvg())
+                .isEqualTo(new BigDecimal("3.000000"));
+
+        Assertions.assertThat(statistic.getMin())
+                .containsExactly(new Product(1L, "P1", "home", null), new Product(3L, "P3", "home", null));
+
+        Assertions.assertThat(statistic.getMax())
+                .containsExactly(new Product(2L, "P2", "home", null));
+    }
+
+    @Test
+    @DisplayName("When two partial statistics are merged, the result equals the statistic of all their products.")
+    public void test3() {
+
+        var first = of(product(1L, "2.00"), product(2L, "9.00"));
+        var second = of(product(3L, "1.00"), product(4L, "9.00"), product(5L, "4.00"));
+
+        var merged = first.merge(second);
+
+        Assertions.assertThat(merged.getCount())
+                .isEqualTo(5L);
+
+        Assertions.assertThat(merged.getAvg())
+                .isEqualTo(new BigDecimal("5.000000"));
+
+        Assertions.assertThat(merged.getMin())
+                .containsExactly(new Product(3L, "P3", "home", null));
+
+        Assertions.assertThat(merged.getMax())
+                .containsExactlyInAnyOrder(new Product(2L, "P2", "home", null), new Product(4L, "P4", "home", null));
+    }
+
+    @Test
+    @DisplayName("When an empty statistic is merged in either direction, the result is unchanged.")
+    public void test4() {
+
+        var statistic = of(product(1L, "2.00"), product(2L, "4.00"));
+
+        Assertions.assertThat(statistic.merge(new RunningStatisticImpl()))
+                .isEqualTo(of(product(1L, "2.00"), product(2L, "4.00")));
+
+        Assertions.assertThat(new RunningStatisticImpl().merge(statistic))
+                .isEqualTo(of(product(1L, "2.00"), product(2L, "4.00")));
+    }
+
+    @Test
+    @DisplayName("When a statistic is merged with a statistic without counts, throw an IllegalArgumentException.")
+    @SuppressWarnings("unchecked")
+    public void test5() {
+
+        Statistic<Product, BigDecimal> statistic = Mockito.mock(Statistic.class);
+
+        Assertions.assertThatThrownBy(() -> new RunningStatisticImpl().merge(statistic))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Only running statistics can be merged");
+    }
+
+    @Test
+    @DisplayName("When products are collected by a parallel stream, the result equals the sequential one.")
+    public void test6() {
+
+        var products = IntStream.rangeClosed(1, 1000)
+                .mapToObj(i -> product(i, "%d.%02d".formatted(i % 97, i % 100)))
+                .toList();
+
+        var parallel = (RunningStatisticImpl) products.parallelStream().collect(RunningStatisticImpl.collector());
+        var sequential = (RunningStatisticImpl) products.stream().collect(RunningStatisticImpl.collector());
+
+        Assertions.assertThat(parallel.getCount())
+                .isEqualTo(sequential.getCount());
+
+        Assertions.assertThat(parallel.getAvg())
+                .isEqualTo(sequential.getAvg());
+
+        Assertions.assertThat(parallel.getMin())
+                .containsExactlyInAnyOrderElementsOf(sequential.getMin());
+
+        Assertions.assertThat(parallel.getMax())
+                .containsExactlyInAnyOrderElementsOf(sequential.getMax());
+    }
+
+    @Test
+    @DisplayName("When converting to a dto, the products are converted and the average is calculated.")
+    public void test7() {
+
+        var productsConverter = Mockito.mock(ProductsConverter.class);
+        var statistic = of(product(1L, "1.00"), product(2L, "2.00"));
+
+        Mockito.when(productsConverter.toDtoList(List.of(new Product(1L, "P1", "home", null))))
+                .thenReturn(List.of(PRODUCT_DTO1));
+
+        Mockito.when(productsConverter.toDtoList(List.of(new Product(2L, "P2", "home", null))))
+                .thenReturn(List.of(PRODUCT_DTO2));
+
+        Assertions.assertThat(statistic.toStatisticDto(productsConverter))
+                .isEqualTo(new StatisticDto(List.of(PRODUCT_DTO1), List.of(PRODUCT_DTO2), new BigDecimal("1.500000")));
+    }
+}
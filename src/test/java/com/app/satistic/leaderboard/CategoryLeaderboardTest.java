@@ -0,0 +1,211 @@
+package com.app.satistic.leaderboard;
+
+import com.app.persistence.entity.view.CategorySpendProjection;
+import com.app.statistic.leaderboard.CategoryLeaderboard;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+public class CategoryLeaderboardTest {
+
+    private CategoryLeaderboard categoryLeaderboard;
+
+    @BeforeEach
+    public void setUp() {
+        categoryLeaderboard = new CategoryLeaderboard();
+    }
+
+    private static CategorySpendProjection spend(String category, Long clientId, String amount, Long orderCount) {
+        var projection = Mockito.mock(CategorySpendProjection.class);
+        Mockito.when(projection.getCategory()).thenReturn(category);
+        Mockito.when(projection.getClientId()).thenReturn(clientId);
+        Mockito.when(projection.getAmount()).thenReturn(new BigDecimal(amount));
+        Mockito.when(projection.getOrderCount()).thenReturn(orderCount);
+        return projection;
+    }
+
+    @Test
+    @DisplayName("When nobody ordered in the category, the leaderboard returns an empty list.")
+    public void test1() {
+
+        categoryLeaderboard.add("home", 1L, BigDecimal.TEN, 1);
+
+        Assertions.assertThat(categoryLeaderboard.getTopClientIds("toys"))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When orders are added, the client with the biggest spending in the category is on top.")
+    public void test2() {
+
+        categoryLeaderboard.add("home", 1L, new BigDecimal("59.10"), 1);
+        categoryLeaderboard.add("home", 2L, new BigDecimal("30.00"), 1);
+        categoryLeaderboard.add("home", 2L, new BigDecimal("30.00"), 1);
+        categoryLeaderboard.add("groceries", 1L, new BigDecimal("2.30"), 1);
+
+        Assertions.assertThat(categoryLeaderboard.getTopClientIds("home"))
+                .containsExactly(2L);
+
+        Assertions.assertThat(categoryLeaderboard.getTopClientIds("groceries"))
+                .containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("When clients have the same spending with a different scale, all of them are returned.")
+    public void test3() {
+
+        categoryLeaderboard.add("home", 1L, new BigDecimal("59.1"), 1);
+        categoryLeaderboard.add("home", 2L, new BigDecimal("59.10"), 1);
+
+        Assertions.assertThat(categoryLeaderboard.getTopClientIds("home"))
+                .containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("When orders are subtracted, the ranking changes and clients without orders leave the leaderboard.")
+    public void test4() {
+
+        categoryLeaderboard.add("home", 1L, new BigDecimal("100"), 2);
+        categoryLeaderboard.add("home", 2L, new BigDecimal("60"), 1);
+
+        categoryLeaderboard.subtract("home", 1L, new BigDecimal("50"), 1);
+
+        Assertions.assertThat(categoryLeaderboard.getTopClientIds("home"))
+                .containsExactly(2L);
+
+        categoryLeaderboard.subtract("home", 2L, new BigDecimal("60"), 1);
+        categoryLeaderboard.subtract("toys", 2L, new BigDecimal("60"), 1);
+
+        Assertions.assertThat(categoryLeaderboard.getTopClientIds("home"))
+                .containsExactly(1L);
+
+        categoryLeaderboard.subtract("home", 1L, new BigDecimal("50"), 1);
+
+        Assertions.assertThat(categoryLeaderboard.getTopClientIds("home"))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When clients are removed, they leave the leaderboards of all categories.")
+    public void test5() {
+
+        categoryLeaderboard.add("home", 1L, new BigDecimal("100"), 1);
+        categoryLeaderboard.add("home", 2L, new BigDecimal("60"), 1);
+        categoryLeaderboard.add("groceries", 1L, new BigDecimal("5"), 1);
+
+        categoryLeaderboard.removeClients(List.of(1L, 3L));
+
+        Assertions.assertThat(categoryLeaderboard.getTopClientIds("home"))
+                .containsExactly(2L);
+
+        Assertions.assertThat(categoryLeaderboard.getTopClientIds("groceries"))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When the leaderboard is rebuilt, the previous content is replaced and the categories are counted.")
+    public void test6() {
+
+        categoryLeaderboard.add("toys", 5L, new BigDecimal("100"), 1);
+
+        var categories = categoryLeaderboard.rebuild(() -> Stream.of(
+                spend("home", 1L, "59.10", 1L),
+                spend("home", 2L, "40.00", 1L),
+                spend("home", 2L, "40.00", 1L),
+                spend("groceries", 1L, "2.30", 1L)));
+
+        Assertions.assertThat(categories)
+                .isEqualTo(2);
+
+        Assertions.assertThat(categoryLeaderboard.getTopClientIds("home"))
+                .containsExactly(2L);
+
+        Assertions.assertThat(categoryLeaderboard.getTopClientIds("toys"))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When changes are applied while the snapshot is streamed, they are replayed onto the rebuilt leaderboard.")
+    public void test7() {
+
+        var closed = new AtomicBoolean();
+
+        categoryLeaderboard.rebuild(() -> Stream.of(spend("home", 1L, "59.10", 1L), spend("home", 2L, "40.00", 1L))
+                .peek(spend -> {
+                    if (spend.getClientId() == 1L) {
+                        categoryLeaderboard.add("home", 2L, new BigDecimal("30.00"), 1);
+                        categoryLeaderboard.removeClients(List.of(1L));
+                    }
+                })
+                .onClose(() -> closed.set(true)));
+
+        Assertions.assertThat(categoryLeaderboard.getTopClientIds("home"))
+                .containsExactly(2L);
+
+        categoryLeaderboard.subtract("home", 2L, new BigDecimal("70.00"), 2);
+
+        Assertions.assertThat(categoryLeaderboard.getTopClientIds("home"))
+                .isEmpty();
+
+        Assertions.assertThat(closed)
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("When a change is in progress, the snapshot of the rebuild is opened only after it ends, and it is not replayed.")
+    public void test8() throws Exception {
+
+        var opened = new AtomicBoolean();
+
+        categoryLeaderboard.beginUpdate();
+        CompletableFuture<Integer> rebuild;
+        try {
+            rebuild = CompletableFuture.supplyAsync(() -> categoryLeaderboard.rebuild(() -> {
+                opened.set(true);
+                return Stream.of(spend("home", 1L, "59.10", 1L));
+            }));
+
+            Thread.sleep(100);
+
+            Assertions.assertThat(opened)
+                    .isFalse();
+
+            categoryLeaderboard.add("home", 2L, new BigDecimal("100"), 1);
+        } finally {
+            categoryLeaderboard.endUpdate();
+        }
+
+        Assertions.assertThat(rebuild.get(5, TimeUnit.SECONDS))
+                .isEqualTo(1);
+
+        Assertions.assertThat(categoryLeaderboard.getTopClientIds("home"))
+                .containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("When reading the snapshot fails, the current leaderboard is kept and changes no longer queued.")
+    public void test9() {
+
+        categoryLeaderboard.add("home", 1L, BigDecimal.TEN, 1);
+
+        Assertions.assertThatThrownBy(() -> categoryLeaderboard.rebuild(() -> Stream.<CategorySpendProjection>of(spend("home", 2L, "1", 1L))
+                        .peek(spend -> {
+                            throw new IllegalStateException("Connection lost");
+                        })))
+                .isInstanceOf(IllegalStateException.class);
+
+        categoryLeaderboard.add("home", 2L, new BigDecimal("100"), 1);
+
+        Assertions.assertThat(categoryLeaderboard.getTopClientIds("home"))
+                .containsExactly(2L);
+    }
+}
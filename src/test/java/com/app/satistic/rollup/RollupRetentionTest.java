@@ -0,0 +1,38 @@
+package com.app.satistic.rollup;
+
+import com.app.statistic.rollup.RollupRetention;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+public class RollupRetentionTest {
+
+    @Test
+    @DisplayName("When the horizon of the hourly rollups is read, it is the start of the day the retention reaches back to")
+    public void test1() {
+        var clock = Clock.fixed(Instant.parse("2024-05-10T12:30:00Z"), ZoneOffset.UTC);
+
+        Assertions.assertThat(new RollupRetention(Duration.ofDays(7), clock).hourlyHorizon())
+                .isEqualTo(Instant.parse("2024-05-03T00:00:00Z"));
+        Assertions.assertThat(new RollupRetention(Duration.ZERO, clock).hourlyHorizon())
+                .isEqualTo(Instant.parse("2024-05-10T00:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("When the retention is null or negative, throw an exception")
+    public void test2() {
+        var clock = Clock.systemUTC();
+
+        Assertions.assertThatThrownBy(() -> new RollupRetention(null, clock))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hourly rollup retention cannot be negative");
+        Assertions.assertThatThrownBy(() -> new RollupRetention(Duration.ofHours(-1), clock))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hourly rollup retention cannot be negative");
+    }
+}
@@ -0,0 +1,94 @@
+package com.app.satistic.rollup;
+
+import com.app.persistence.entity.view.OrderRollupProjection;
+import com.app.statistic.rollup.RollupStatistics;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public class RollupStatisticsTest {
+
+    private RollupStatistics rollupStatistics;
+
+    private static OrderRollupProjection rollup(
+            Long clientId, Integer age, Long productId, String category, String amount, Long quantity) {
+        var projection = Mockito.mock(OrderRollupProjection.class);
+        Mockito.lenient().when(projection.getClientId()).thenReturn(clientId);
+        Mockito.lenient().when(projection.getClientAge()).thenReturn(age);
+        Mockito.lenient().when(projection.getProductId()).thenReturn(productId);
+        Mockito.lenient().when(projection.getCategory()).thenReturn(category);
+        Mockito.lenient().when(projection.getAmount()).thenReturn(new BigDecimal(amount));
+        Mockito.lenient().when(projection.getQuantity()).thenReturn(quantity);
+        return projection;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        rollupStatistics = new RollupStatistics(List.of(
+                rollup(1L, 30, 1L, "groceries", "4.6", 2L),
+                rollup(1L, 30, 3L, "home", "40", 1L),
+                rollup(2L, 30, 1L, "groceries", "6.9", 3L),
+                rollup(3L, 11, 3L, "home", "44.6", 1L),
+                rollup(3L, 11, 4L, "toys", "10", 1L)));
+    }
+
+    @Test
+    @DisplayName("When finding the top clients, return all clients with the highest total amount")
+    public void test1() {
+        Assertions.assertThat(rollupStatistics.getTopClientIds(null))
+                .containsExactly(3L);
+
+        Assertions.assertThat(new RollupStatistics(List.of(
+                        rollup(1L, 30, 1L, "groceries", "5", 1L),
+                        rollup(2L, 30, 1L, "groceries", "5.00", 1L)))
+                        .getTopClientIds(null))
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("When finding the top clients in a category, sum only the orders of the category")
+    public void test2() {
+        Assertions.assertThat(rollupStatistics.getTopClientIds("home"))
+                .containsExactly(3L);
+
+        Assertions.assertThat(rollupStatistics.getTopClientIds("books"))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When finding the most frequent categories and products by age, count the orders of every group")
+    public void test3() {
+        Assertions.assertThat(rollupStatistics.getAgeAndMostCategory())
+                .isEqualTo(Map.of(30, List.of("groceries"), 11, List.of("home", "toys")));
+
+        Assertions.assertThat(rollupStatistics.getAgeAndMostProductIds())
+                .isEqualTo(Map.of(30, List.of(1L), 11, List.of(3L, 4L)));
+    }
+
+    @Test
+    @DisplayName("When finding the most frequent clients by category and the amount by client, group the rows")
+    public void test4() {
+        Assertions.assertThat(rollupStatistics.getCategoryAndMostClientIds())
+                .isEqualTo(Map.of("groceries", List.of(2L), "home", List.of(1L, 3L), "toys", List.of(3L)));
+
+        Assertions.assertThat(rollupStatistics.getAmountByClient())
+                .isEqualTo(Map.of(1L, new BigDecimal("44.6"), 2L, new BigDecimal("6.9"), 3L, new BigDecimal("54.6")));
+    }
+
+    @Test
+    @DisplayName("When there are no rows, every statistic is empty")
+    public void test5() {
+        var empty = new RollupStatistics(List.of());
+
+        Assertions.assertThat(empty.getTopClientIds(null)).isEmpty();
+        Assertions.assertThat(empty.getAgeAndMostCategory()).isEmpty();
+        Assertions.assertThat(empty.getCategoryAndMostClientIds()).isEmpty();
+        Assertions.assertThat(empty.getAmountByClient()).isEmpty();
+    }
+}
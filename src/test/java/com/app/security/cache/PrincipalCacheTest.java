@@ -0,0 +1,171 @@
+package com.app.security.cache;
+
+import com.app.security.dto.UsernamePasswordAuthenticationTokenDto;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PrincipalCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger loads = new AtomicInteger();
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    public void setUp() {
+        principalCache = new PrincipalCache(Duration.ofSeconds(10), 2, clock);
+    }
+
+    private UsernamePasswordAuthenticationTokenDto load(Long userId) {
+        loads.incrementAndGet();
+        return new UsernamePasswordAuthenticationTokenDto("user" + userId, "ROLE_USER");
+    }
+
+    private UsernamePasswordAuthenticationTokenDto get(Long userId) {
+        return principalCache.get(userId, this::load);
+    }
+
+    @Test
+    @DisplayName("When a principal is read twice, the second read is answered from the cache.")
+    public void test1() {
+
+        Assertions.assertThat(get(1L).username()).isEqualTo("user1");
+        Assertions.assertThat(get(1L).username()).isEqualTo("user1");
+
+        Assertions.assertThat(loads.get())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("When the time to live of a principal passes, the principal is loaded again.")
+    public void test2() {
+
+        get(1L);
+        clock.advance(Duration.ofSeconds(10));
+        get(1L);
+
+        Assertions.assertThat(loads.get())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("When more users are read than the maximum size, the least recently read principal is evicted.")
+    public void test3() {
+
+        get(1L);
+        get(2L);
+        get(1L);
+        get(3L);
+        get(1L);
+        get(2L);
+
+        Assertions.assertThat(loads.get())
+                .isEqualTo(4);
+
+        Assertions.assertThat(principalCache.size())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("When a principal is evicted, the next read loads it again.")
+    public void test4() {
+
+        get(1L);
+        get(2L);
+        principalCache.evict(1L);
+        get(1L);
+        get(2L);
+
+        Assertions.assertThat(loads.get())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("When a principal is evicted while it is loaded, the loaded principal is returned but not stored.")
+    public void test5() {
+
+        var principal = principalCache.get(1L, userId -> {
+            principalCache.evict(userId);
+            return load(userId);
+        });
+
+        Assertions.assertThat(principal.username())
+                .isEqualTo("user1");
+
+        Assertions.assertThat(principalCache.size())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("When loading a principal fails, nothing is stored and the next read loads it again.")
+    public void test6() {
+
+        Assertions.assertThatThrownBy(() -> principalCache.get(1L, userId -> {
+                    throw new IllegalArgumentException("Authorization failed");
+                }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Authorization failed");
+
+        get(1L);
+
+        Assertions.assertThat(loads.get())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("When the maximum size is zero, every read loads the principal.")
+    public void test7() {
+        principalCache = new PrincipalCache(Duration.ofSeconds(10), 0, clock);
+
+        get(1L);
+        get(1L);
+
+        Assertions.assertThat(loads.get())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("When the bounds are negative, throw an IllegalArgumentException.")
+    public void test8() {
+
+        Assertions.assertThatThrownBy(() -> new PrincipalCache(Duration.ofSeconds(-1), 1, clock))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Principal cache ttl cannot be negative");
+
+        Assertions.assertThatThrownBy(() -> new PrincipalCache(Duration.ofSeconds(1), -1, clock))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Principal cache max size cannot be negative");
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant = Instant.EPOCH;
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
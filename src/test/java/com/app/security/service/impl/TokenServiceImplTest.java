@@ -2,6 +2,7 @@ package com.app.security.service.impl;
 
 import com.app.config.AppConfig;
 import com.app.persistence.repository.UserRepository;
+import com.app.security.cache.PrincipalCache;
 import com.app.security.dto.RefreshTokenDto;
 import com.app.security.dto.TokensDto;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -45,6 +46,24 @@ public class TokenServiceImplTest {
     @Autowired
     private TokenServiceImpl tokenService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    public void setUp() {
+        principalCache.evictAll();
+    }
+
+    private String accessToken(Long userId) {
+        var currentTime = new Date();
+        return Jwts
+                .builder()
+                .subject(userId + "")
+                .issuedAt(currentTime)
+                .expiration(new Date(currentTime.getTime() + 300000))
+                .signWith(secretKey)
+                .compact();
+    }
 
     @Test
     @DisplayName("When trying to generate a token and the user is not found, throw an IllegalArgumentException.")
@@ -220,4 +239,59 @@ public class TokenServiceImplTest {
         Assertions.assertThat(tokensDto.accessToken()).isNotEmpty();
         Assertions.assertThat(tokensDto.refreshToken()).isNotEmpty();
     }
+
+    @Test
+    @DisplayName("When parsing the access token of the same user twice, the user is read from the database once.")
+    public void test11() {
+
+        Mockito.when(userRepository.findById(ArgumentMatchers.anyLong()))
+                .thenReturn(Optional.of(USER_ENTITY_ACCESS_TOKEN_1));
+
+        var token = accessToken(1L);
+
+        Assertions.assertThat(tokenService.parseAccessToken("Bearer " + token).getName())
+                .isEqualTo("AB");
+        Assertions.assertThat(tokenService.parseAccessToken("Bearer " + token).getName())
+                .isEqualTo("AB");
+
+        Mockito.verify(userRepository, Mockito.times(1))
+                .findById(1L);
+    }
+
+    @Test
+    @DisplayName("When the cached principal of a user is evicted, the next access token reads the user again.")
+    public void test12() {
+
+        Mockito.when(userRepository.findById(ArgumentMatchers.anyLong()))
+                .thenReturn(Optional.of(USER_ENTITY_ACCESS_TOKEN_1));
+
+        var token = accessToken(1L);
+
+        tokenService.parseAccessToken("Bearer " + token);
+        principalCache.evict(1L);
+        tokenService.parseAccessToken("Bearer " + token);
+
+        Mockito.verify(userRepository, Mockito.times(2))
+                .findById(1L);
+    }
+
+    @Test
+    @DisplayName("When the user of an access token is not found, nothing is cached and the next parse reads the user again.")
+    public void test13() {
+
+        Mockito.when(userRepository.findById(ArgumentMatchers.anyLong()))
+                .thenReturn(Optional.empty());
+
+        var token = accessToken(1L);
+
+        Assertions.assertThatThrownBy(() -> tokenService.parseAccessToken("Bearer " + token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Authorization failed");
+        Assertions.assertThatThrownBy(() -> tokenService.parseAccessToken("Bearer " + token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Authorization failed");
+
+        Mockito.verify(userRepository, Mockito.times(2))
+                .findById(1L);
+    }
 }
@@ -0,0 +1,183 @@
+package com.app.service.impl;
+
+import com.app.event.ShopDataChangedEvent;
+import com.app.statistic.TimeRange;
+import com.app.statistic.cache.CachedStatistic;
+import com.app.statistic.cache.StatisticCache;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.app.data.ClientData.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingShopStatisticServiceImplTest {
+
+    @Mock
+    private ShopStatisticServiceImpl shopStatisticService;
+
+    @Mock
+    private CubeShopStatisticServiceImpl cubeShopStatisticService;
+
+    @Mock
+    private ObjectProvider<CubeShopStatisticServiceImpl> cubeShopStatisticServiceProvider;
+
+    private StatisticCache statisticCache;
+
+    @BeforeEach
+    public void setUp() {
+        statisticCache = new StatisticCache(Arrays
+                .stream(CachedStatistic.values())
+                .collect(Collectors.toMap(
+                        Function.identity(),
+                        statistic -> new StatisticCache.Bounds(Duration.ofMinutes(1), 10))),
+                Clock.systemUTC());
+    }
+
+    private CachingShopStatisticServiceImpl service() {
+        return new CachingShopStatisticServiceImpl(
+                statisticCache, cubeShopStatisticServiceProvider, shopStatisticService);
+    }
+
+    @Test
+    @DisplayName("When the statistics are read twice, the database is queried only once for each of them.")
+    public void test1() {
+
+        Mockito.when(shopStatisticService.getClientWithBiggerPayment())
+                .thenReturn(List.of(CLIENT1));
+
+        Mockito.when(shopStatisticService.getClientsAndDebit())
+                .thenReturn(Map.of(CLIENT1, BigDecimal.ONE));
+
+        var service = service();
+
+        for (var i = 0; i < 2; i++) {
+            Assertions.assertThat(service.getClientWithBiggerPayment())
+                    .isEqualTo(List.of(CLIENT1));
+
+            Assertions.assertThat(service.getClientsAndDebit())
+                    .isEqualTo(Map.of(CLIENT1, BigDecimal.ONE));
+        }
+
+        Mockito.verify(shopStatisticService, Mockito.times(1))
+                .getClientWithBiggerPayment();
+
+        Mockito.verify(shopStatisticService, Mockito.times(1))
+                .getClientsAndDebit();
+    }
+
+    @Test
+    @DisplayName("When the clients in a category are read, the result is cached separately for every category.")
+    public void test2() {
+
+        Mockito.when(shopStatisticService.getClientWithBiggerPaymentInCategory("home"))
+                .thenReturn(List.of(CLIENT1));
+
+        Mockito.when(shopStatisticService.getClientWithBiggerPaymentInCategory("garden"))
+                .thenReturn(List.of(CLIENT2));
+
+        var service = service();
+
+        Assertions.assertThat(service.getClientWithBiggerPaymentInCategory("home"))
+                .isEqualTo(List.of(CLIENT1));
+
+        Assertions.assertThat(service.getClientWithBiggerPaymentInCategory("garden"))
+                .isEqualTo(List.of(CLIENT2));
+
+        Assertions.assertThat(service.getClientWithBiggerPaymentInCategory("home"))
+                .isEqualTo(List.of(CLIENT1));
+
+        Mockito.verify(shopStatisticService, Mockito.times(1))
+                .getClientWithBiggerPaymentInCategory("home");
+    }
+
+    @Test
+    @DisplayName("When orders change between two reads, the statistic is computed again.")
+    public void test3() {
+
+        Mockito.when(shopStatisticService.getAgeAndMostCategory())
+                .thenReturn(Map.of(30, List.of("home")), Map.of(30, List.of("garden")));
+
+        var service = service();
+
+        Assertions.assertThat(service.getAgeAndMostCategory())
+                .isEqualTo(Map.of(30, List.of("home")));
+
+        statisticCache.invalidate(ShopDataChangedEvent.Source.ORDERS);
+
+        Assertions.assertThat(service.getAgeAndMostCategory())
+                .isEqualTo(Map.of(30, List.of("garden")));
+    }
+
+    @Test
+    @DisplayName("When the category is null or empty, throw an IllegalArgumentException.")
+    public void test4() {
+
+        var service = service();
+
+        Assertions.assertThatThrownBy(() -> service.getClientWithBiggerPaymentInCategory(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Category cannot be null");
+
+        Assertions.assertThatThrownBy(() -> service.getClientWithBiggerPaymentInCategory(""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Category cannot be empty");
+
+        Mockito.verifyNoInteractions(shopStatisticService);
+    }
+
+    @Test
+    @DisplayName("When the order cube is enabled, the missing statistics are computed by the cube service.")
+    public void test5() {
+
+        Mockito.when(cubeShopStatisticServiceProvider.getIfAvailable())
+                .thenReturn(cubeShopStatisticService);
+
+        Mockito.when(cubeShopStatisticService.getCategoryAndMostClient())
+                .thenReturn(Map.of("home", List.of(CLIENT3)));
+
+        Assertions.assertThat(service().getCategoryAndMostClient())
+                .isEqualTo(Map.of("home", List.of(CLIENT3)));
+
+        Mockito.verifyNoInteractions(shopStatisticService);
+    }
+
+    @Test
+    @DisplayName("When the statistics are read within a time range, every read is computed without the cache.")
+    public void test6() {
+
+        var range = new TimeRange(Instant.parse("2024-05-01T00:00:00Z"), Instant.parse("2024-05-02T00:00:00Z"));
+
+        Mockito.when(shopStatisticService.getClientWithBiggerPayment(range))
+                .thenReturn(List.of(CLIENT1));
+
+        var service = service();
+
+        for (var i = 0; i < 2; i++) {
+            Assertions.assertThat(service.getClientWithBiggerPayment(range))
+                    .isEqualTo(List.of(CLIENT1));
+        }
+
+        Mockito.verify(shopStatisticService, Mockito.times(2))
+                .getClientWithBiggerPayment(range);
+
+        Assertions.assertThat(statisticCache.getStats().values())
+                .allMatch(stats -> stats.hits() == 0 && stats.misses() == 0);
+    }
+}
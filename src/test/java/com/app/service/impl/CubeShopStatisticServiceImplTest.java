@@ -0,0 +1,135 @@
+package com.app.service.impl;
+
+import com.app.persistence.repository.CategoryRepository;
+import com.app.statistic.cube.OrderCube;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static com.app.data.ClientData.*;
+import static com.app.data.ProductData.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CubeShopStatisticServiceImplTest {
+
+    @Mock
+    private OrderCube orderCube;
+
+    @Mock
+    private ShopStatisticServiceImpl shopStatisticService;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @InjectMocks
+    private CubeShopStatisticServiceImpl cubeShopStatisticService;
+
+    @Test
+    @DisplayName("When the cube is loaded, the order statistics are read from the cube.")
+    public void test1() {
+
+        Mockito.when(orderCube.isLoaded())
+                .thenReturn(true);
+
+        Mockito.when(orderCube.getClientWithBiggerPayment())
+                .thenReturn(List.of(CLIENT1));
+
+        Mockito.when(categoryRepository.findCanonicalName("home"))
+                .thenReturn("home");
+
+        Mockito.when(orderCube.getClientWithBiggerPaymentInCategory("home"))
+                .thenReturn(List.of(CLIENT2));
+
+        Mockito.when(orderCube.getAgeAndMostCategory())
+                .thenReturn(Map.of(30, List.of("home")));
+
+        Mockito.when(orderCube.getAgeAndMostProduct())
+                .thenReturn(Map.of(30, List.of(PRODUCT1)));
+
+        Mockito.when(orderCube.getCategoryAndMostClient())
+                .thenReturn(Map.of("home", List.of(CLIENT3)));
+
+        Mockito.when(orderCube.getClientsAndDebit())
+                .thenReturn(Map.of(CLIENT1, BigDecimal.ONE.negate()));
+
+        Assertions.assertThat(cubeShopStatisticService.getClientWithBiggerPayment())
+                .isEqualTo(List.of(CLIENT1));
+
+        Assertions.assertThat(cubeShopStatisticService.getClientWithBiggerPaymentInCategory("home"))
+                .isEqualTo(List.of(CLIENT2));
+
+        Assertions.assertThat(cubeShopStatisticService.getAgeAndMostCategory())
+                .isEqualTo(Map.of(30, List.of("home")));
+
+        Assertions.assertThat(cubeShopStatisticService.getAgeAndMostProduct())
+                .isEqualTo(Map.of(30, List.of(PRODUCT1)));
+
+        Assertions.assertThat(cubeShopStatisticService.getCategoryAndMostClient())
+                .isEqualTo(Map.of("home", List.of(CLIENT3)));
+
+        Assertions.assertThat(cubeShopStatisticService.getClientsAndDebit())
+                .isEqualTo(Map.of(CLIENT1, BigDecimal.ONE.negate()));
+
+        Mockito.verifyNoInteractions(shopStatisticService);
+    }
+
+    @Test
+    @DisplayName("When the cube is not loaded yet, the order statistics are delegated to the database.")
+    public void test2() {
+
+        Mockito.when(orderCube.isLoaded())
+                .thenReturn(false);
+
+        Mockito.when(shopStatisticService.getClientWithBiggerPayment())
+                .thenReturn(List.of(CLIENT1));
+
+        Mockito.when(shopStatisticService.getClientWithBiggerPaymentInCategory("home"))
+                .thenReturn(List.of(CLIENT2));
+
+        Assertions.assertThat(cubeShopStatisticService.getClientWithBiggerPayment())
+                .isEqualTo(List.of(CLIENT1));
+
+        Assertions.assertThat(cubeShopStatisticService.getClientWithBiggerPaymentInCategory("home"))
+                .isEqualTo(List.of(CLIENT2));
+
+        Mockito.verify(orderCube, Mockito.never())
+                .getClientWithBiggerPayment();
+    }
+
+    @Test
+    @DisplayName("When the category is null or empty, an exception is thrown.")
+    public void test3() {
+
+        Assertions.assertThatThrownBy(() -> cubeShopStatisticService.getClientWithBiggerPaymentInCategory(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Category cannot be null");
+
+        Assertions.assertThatThrownBy(() -> cubeShopStatisticService.getClientWithBiggerPaymentInCategory(""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Category cannot be empty");
+
+        Mockito.verifyNoInteractions(orderCube);
+    }
+
+    @Test
+    @DisplayName("When price statistics are requested, they are always delegated to the database.")
+    public void test4() {
+
+        Mockito.when(shopStatisticService.getCategoryAndPriceStatistic())
+                .thenReturn(Map.of());
+
+        Assertions.assertThat(cubeShopStatisticService.getCategoryAndPriceStatistic())
+                .isEqualTo(Map.of());
+
+        Mockito.verifyNoInteractions(orderCube);
+    }
+}
@@ -0,0 +1,203 @@
+package com.app.service.impl;
+
+import com.app.event.EmailQueuedEvent;
+import com.app.persistence.entity.EmailOutboxEntity;
+import com.app.persistence.repository.EmailOutboxRepository;
+import com.app.service.EmailService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailOutboxServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+    private static final EmailOutboxServiceImpl.Settings SETTINGS = new EmailOutboxServiceImpl.Settings(
+            2, 1, 3, Duration.ofSeconds(10), Duration.ofSeconds(40), Duration.ofMinutes(5));
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private EmailOutboxServiceImpl emailOutboxService;
+
+    @BeforeEach
+    public void setUp() {
+        emailOutboxService = new EmailOutboxServiceImpl(
+                emailOutboxRepository,
+                emailService,
+                transactionTemplate,
+                eventPublisher,
+                SETTINGS,
+                Runnable::run,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private void runTransactions() {
+        Mockito.when(transactionTemplate.execute(ArgumentMatchers.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static EmailOutboxEntity email(long id) {
+        return EmailOutboxEntity
+                .builder()
+                .id(id)
+                .recipient("user" + id + "@gmail.com")
+                .subject("subject")
+                .body("body" + id)
+                .nextAttemptAt(NOW)
+                .build();
+    }
+
+    @Test
+    @DisplayName("When an email is queued, it is saved as due now and an EmailQueuedEvent is published.")
+    public void test1() {
+        var saved = email(1L);
+
+        Mockito.when(emailOutboxRepository.save(ArgumentMatchers.any(EmailOutboxEntity.class)))
+                .thenReturn(saved);
+
+        emailOutboxService.enqueue("user1@gmail.com", "subject", "body1");
+
+        Mockito.verify(emailOutboxRepository, Mockito.times(1))
+                .save(ArgumentMatchers.argThat(email -> email.getRecipient().equals("user1@gmail.com")
+                        && email.getAttempts() == 0
+                        && email.getNextAttemptAt().equals(NOW)));
+
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new EmailQueuedEvent(1L));
+    }
+
+    @Test
+    @DisplayName("When the outbox is dispatched, due emails are claimed in batches, sent and removed.")
+    public void test2() {
+        runTransactions();
+        var first = email(1L);
+        var second = email(2L);
+        var third = email(3L);
+
+        Mockito.when(emailOutboxRepository.findDue(NOW, 3, Limit.of(2)))
+                .thenReturn(List.of(first, second), List.of(third), List.of());
+
+        Mockito.when(emailService.send(ArgumentMatchers.anyList()))
+                .thenReturn(Map.of());
+
+        Assertions.assertThat(emailOutboxService.dispatch())
+                .isEqualTo(3);
+
+        Mockito.verify(emailService, Mockito.times(1))
+                .send(List.of(first.toSimpleMailMessage(), second.toSimpleMailMessage()));
+        Mockito.verify(emailService, Mockito.times(1))
+                .send(List.of(third.toSimpleMailMessage()));
+        Mockito.verify(emailOutboxRepository, Mockito.times(1))
+                .deleteAllByIdInBatch(List.of(1L, 2L));
+        Mockito.verify(emailOutboxRepository, Mockito.times(1))
+                .deleteAllByIdInBatch(List.of(3L));
+
+        Assertions.assertThat(List.of(first, second, third))
+                .allSatisfy(email -> {
+                    Assertions.assertThat(email.getAttempts()).isEqualTo(1);
+                    Assertions.assertThat(email.getNextAttemptAt()).isEqualTo(NOW.plus(Duration.ofMinutes(5)));
+                });
+    }
+
+    @Test
+    @DisplayName("When an email of a batch fails, it stays in the outbox with its next attempt after a backoff.")
+    public void test3() {
+        runTransactions();
+        var first = email(1L);
+        var second = email(2L);
+        var failed = email(1L);
+        failed.setAttempts(1);
+
+        Mockito.when(emailOutboxRepository.findDue(NOW, 3, Limit.of(2)))
+                .thenReturn(List.of(first, second), List.of());
+
+        Mockito.when(emailService.send(ArgumentMatchers.anyList()))
+                .thenReturn(Map.of(first.toSimpleMailMessage(), new IllegalStateException("Rejected")));
+
+        Mockito.when(emailOutboxRepository.findAllById(ArgumentMatchers.anyIterable()))
+                .thenReturn(List.of(failed));
+
+        Assertions.assertThat(emailOutboxService.dispatch())
+                .isEqualTo(1);
+
+        Mockito.verify(emailOutboxRepository, Mockito.times(1))
+                .deleteAllByIdInBatch(List.of(2L));
+
+        Assertions.assertThat(failed.getNextAttemptAt())
+                .isEqualTo(NOW.plus(Duration.ofSeconds(10)));
+        Assertions.assertThat(failed.getLastError())
+                .isEqualTo("Rejected");
+    }
+
+    @Test
+    @DisplayName("When no emails are due, nothing is sent.")
+    public void test4() {
+        runTransactions();
+
+        Mockito.when(emailOutboxRepository.findDue(NOW, 3, Limit.of(2)))
+                .thenReturn(List.of());
+
+        Assertions.assertThat(emailOutboxService.dispatch())
+                .isZero();
+
+        Mockito.verify(emailService, Mockito.never())
+                .send(ArgumentMatchers.<List<SimpleMailMessage>>any());
+    }
+
+    @Test
+    @DisplayName("When computing the backoff, it doubles with every attempt up to the maximum backoff.")
+    public void test5() {
+
+        Assertions.assertThat(List.of(1, 2, 3, 4, 100))
+                .map(SETTINGS::backoff)
+                .containsExactly(
+                        Duration.ofSeconds(10),
+                        Duration.ofSeconds(20),
+                        Duration.ofSeconds(40),
+                        Duration.ofSeconds(40),
+                        Duration.ofSeconds(40));
+    }
+
+    @Test
+    @DisplayName("When the settings are not positive, throw an IllegalArgumentException.")
+    public void test6() {
+
+        Assertions.assertThatThrownBy(() -> new EmailOutboxServiceImpl.Settings(
+                        0, 1, 1, Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Email outbox batch size, concurrency and max attempts must be positive");
+
+        Assertions.assertThatThrownBy(() -> new EmailOutboxServiceImpl.Settings(
+                        1, 1, 1, Duration.ZERO, Duration.ofSeconds(1), Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Email outbox backoff and lease must be positive");
+    }
+}
@@ -1,6 +1,7 @@
 package com.app.service.impl;
 
-import com.app.service.EmailService;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,8 +11,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 @ExtendWith(MockitoExtension.class)
 public class EmailServiceTest {
@@ -34,4 +41,65 @@ public class EmailServiceTest {
         Mockito.verify(mailSender, Mockito.times(1))
                 .send(ArgumentMatchers.any(SimpleMailMessage.class));
     }
+
+    private static SimpleMailMessage message(int number) {
+        var message = new SimpleMailMessage();
+        message.setTo("user" + number + "@gmail.com");
+        message.setSubject("subject");
+        message.setText("body" + number);
+        return message;
+    }
+
+    @Test
+    @DisplayName("When sending a batch of emails, all of them reach the mail server and none is reported as failed.")
+    public void test2() throws Exception {
+        var greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+
+        try {
+            var javaMailSender = new JavaMailSenderImpl();
+            javaMailSender.setHost("localhost");
+            javaMailSender.setPort(greenMail.getSmtp().getPort());
+
+            var messages = IntStream.range(0, 3).mapToObj(EmailServiceTest::message).toList();
+
+            Assertions.assertThat(new EmailServiceImpl(javaMailSender).send(messages))
+                    .isEmpty();
+
+            Assertions.assertThat(greenMail.getReceivedMessages())
+                    .extracting(received -> received.getContent().toString().trim())
+                    .containsExactly("body0", "body1", "body2");
+        } finally {
+            greenMail.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("When some emails of a batch are rejected, only those are reported as failed.")
+    public void test3() {
+        var messages = IntStream.range(0, 3).mapToObj(EmailServiceTest::message).toList();
+        var cause = new IllegalStateException("Rejected");
+
+        Mockito.doThrow(new MailSendException(Map.of(messages.get(1), cause)))
+                .when(mailSender)
+                .send(ArgumentMatchers.any(SimpleMailMessage[].class));
+
+        Assertions.assertThat(emailService.send(messages))
+                .containsExactly(Map.entry(messages.get(1), cause));
+    }
+
+    @Test
+    @DisplayName("When the mail server cannot be reached, all emails of the batch are reported as failed.")
+    public void test4() {
+        var messages = List.of(message(0), message(1));
+        var cause = new MailSendException("Connection refused");
+
+        Mockito.doThrow(cause)
+                .when(mailSender)
+                .send(ArgumentMatchers.any(SimpleMailMessage[].class));
+
+        Assertions.assertThat(emailService.send(messages))
+                .containsOnlyKeys(messages)
+                .containsValue(cause);
+    }
 }
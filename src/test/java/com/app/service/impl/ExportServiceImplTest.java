@@ -0,0 +1,161 @@
+package com.app.service.impl;
+
+import com.app.exporter.ExportFormat;
+import com.app.persistence.repository.OrderRepository;
+import com.app.service.ShopStatisticService;
+import com.app.statistic.cache.CachedStatistic;
+import lombok.SneakyThrows;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.app.data.ClientData.*;
+import static com.app.data.ProductData.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ExportServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ShopStatisticService shopStatisticService;
+
+    @InjectMocks
+    private ExportServiceImpl exportService;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    private String written() {
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("When exporting orders, write every row of the cursor with the order, client, product, quantity and unit price columns")
+    public void test1() {
+        var resultSet = Mockito.mock(ResultSet.class);
+        var values = new Object[]{5L, 1L, "A", "AA", 30, new BigDecimal("2000.00"), 2L, "Banana", "groceries", new BigDecimal("1.70"), 2, new BigDecimal("1.50")};
+        for (int i = 0; i < values.length; i++) {
+            Mockito.when(resultSet.getObject(i + 1)).thenReturn(values[i]);
+        }
+        Mockito.doAnswer(invocation -> {
+                    invocation.<RowCallbackHandler>getArgument(1).processRow(resultSet);
+                    return null;
+                })
+                .when(orderRepository)
+                .exportAll(ArgumentMatchers.eq(4L), ArgumentMatchers.any());
+
+        exportService.exportOrders(4L, ExportFormat.CSV, out);
+
+        Assertions.assertThat(written())
+                .isEqualTo("""
+                        id,client_id,client_name,client_surname,client_age,client_cash,product_id,product_name,product_category,product_price,quantity,unit_price
+                        5,1,A,AA,30,2000.00,2,Banana,groceries,1.70,2,1.50
+                        """);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("When there are no orders, write the header row only")
+    public void test2() {
+        exportService.exportOrders(0L, ExportFormat.CSV, out);
+
+        Assertions.assertThat(written())
+                .startsWith("id,client_id,")
+                .hasLineCount(1);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("When exporting the clients with the biggest payment in a category, write a row per client")
+    public void test3() {
+        Mockito.when(shopStatisticService.getClientWithBiggerPaymentInCategory("home"))
+                .thenReturn(List.of(CLIENT1, CLIENT2));
+
+        exportService.exportStatistic(CachedStatistic.CLIENT_WITH_BIGGER_PAYMENT_IN_CATEGORY, "home", ExportFormat.NDJSON, out);
+
+        Assertions.assertThat(written())
+                .isEqualTo("""
+                        {"client_id":1,"client_name":"A","client_surname":"AA","client_age":30,"client_cash":2000}
+                        {"client_id":2,"client_name":"B","client_surname":"BB","client_age":30,"client_cash":1500}
+                        """);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("When exporting the most frequent categories by age, write a row per age and category")
+    public void test4() {
+        var result = new LinkedHashMap<Integer, List<String>>();
+        result.put(30, List.of("groceries", "home"));
+        result.put(11, List.of("toys"));
+        Mockito.when(shopStatisticService.getAgeAndMostCategory())
+                .thenReturn(result);
+
+        exportService.exportStatistic(CachedStatistic.AGE_AND_MOST_CATEGORY, null, ExportFormat.CSV, out);
+
+        Assertions.assertThat(written())
+                .isEqualTo("""
+                        age,category
+                        30,groceries
+                        30,home
+                        11,toys
+                        """);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("When exporting the price statistics, write a row per cheapest and most expensive product")
+    public void test5() {
+        Mockito.when(shopStatisticService.getCategoryAndPriceStatistic())
+                .thenReturn(Map.of("groceries", STATISTIC_1));
+
+        exportService.exportStatistic(CachedStatistic.CATEGORY_AND_PRICE_STATISTIC, null, ExportFormat.CSV, out);
+
+        Assertions.assertThat(written())
+                .isEqualTo("""
+                        extreme,product_id,product_name,product_category,product_price
+                        min,2,Banana,groceries,1.7
+                        max,1,Apple,groceries,2.3
+                        """);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("When exporting the clients with debit, write a row per client with the debit")
+    public void test6() {
+        Mockito.when(shopStatisticService.getClientsAndDebit())
+                .thenReturn(Map.of(CLIENT3, BigDecimal.valueOf(-40)));
+
+        exportService.exportStatistic(CachedStatistic.CLIENTS_AND_DEBIT, null, ExportFormat.CSV, out);
+
+        Assertions.assertThat(written())
+                .isEqualTo("""
+                        client_id,client_name,client_surname,client_age,client_cash,debit
+                        3,C,CC,11,360,-40
+                        """);
+    }
+
+    @Test
+    @DisplayName("When the statistic is null, throw an exception")
+    public void test7() {
+        Assertions.assertThatThrownBy(() -> exportService.exportStatistic(null, null, ExportFormat.CSV, out))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Statistic cannot be null");
+    }
+}
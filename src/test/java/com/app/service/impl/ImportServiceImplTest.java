@@ -0,0 +1,172 @@
+package com.app.service.impl;
+
+import com.app.controller.dto.ClientDto;
+import com.app.controller.dto.order.OrderAddDto;
+import com.app.controller.dto.product.ProductDto;
+import com.app.importer.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class ImportServiceImplTest {
+
+    private static final ImportReport REPORT = new ImportReport(2, 2, 0, List.of());
+
+    @Mock
+    private ImportPipeline importPipeline;
+
+    @Mock
+    private ClientImportHandler clientImportHandler;
+
+    @Mock
+    private ProductImportHandler productImportHandler;
+
+    @Mock
+    private OrderImportHandler orderImportHandler;
+
+    private ImportServiceImpl importService;
+
+    private final List<Object> read = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        importService = new ImportServiceImpl(
+                new ObjectMapper(), importPipeline, clientImportHandler, productImportHandler, orderImportHandler);
+    }
+
+    private static InputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private <T> void drainRecordsInto(ImportHandler<T> handler) {
+        Mockito.when(importPipeline.run(ArgumentMatchers.any(), ArgumentMatchers.eq(handler)))
+                .thenAnswer(invocation -> {
+                    invocation.<Iterator<?>>getArgument(0).forEachRemaining(read::add);
+                    return REPORT;
+                });
+    }
+
+    @Test
+    @DisplayName("When importing clients, read the JSON array element by element and run the client import.")
+    public void test1() {
+        drainRecordsInto(clientImportHandler);
+
+        var report = importService.importClients(json("""
+                [{"name": "Adam", "surname": "Nowak", "age": 20, "cash": 100},
+                 {"name": "Ewa", "surname": "Kowalska", "age": 30, "cash": 200}]"""), ImportFormat.JSON);
+
+        Assertions.assertThat(report)
+                .isEqualTo(REPORT);
+
+        Assertions.assertThat(read)
+                .containsExactly(
+                        new ClientDto(null, "Adam", "Nowak", 20, BigDecimal.valueOf(100)),
+                        new ClientDto(null, "Ewa", "Kowalska", 30, BigDecimal.valueOf(200)));
+    }
+
+    @Test
+    @DisplayName("When importing products, read the JSON array element by element and run the product import.")
+    public void test2() {
+        drainRecordsInto(productImportHandler);
+
+        importService.importProducts(json("""
+                [{"name": "Apple", "category": "groceries", "price": 2}]"""), ImportFormat.JSON);
+
+        Assertions.assertThat(read)
+                .containsExactly(new ProductDto(null, "Apple", "groceries", BigDecimal.valueOf(2)));
+    }
+
+    @Test
+    @DisplayName("When importing orders, read the JSON array element by element and run the order import.")
+    public void test3() {
+        drainRecordsInto(orderImportHandler);
+
+        importService.importOrders(json("""
+                [{"clientId": 1, "productId": 10}, {"clientId": 2, "productId": 11}]"""), ImportFormat.JSON);
+
+        Assertions.assertThat(read)
+                .containsExactly(new OrderAddDto(1L, 10L), new OrderAddDto(2L, 11L));
+    }
+
+    @Test
+    @DisplayName("When the import data is empty, run the import without records.")
+    public void test4() {
+        drainRecordsInto(clientImportHandler);
+
+        importService.importClients(json(""), ImportFormat.JSON);
+
+        Assertions.assertThat(read)
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When importing newline delimited JSON, read the records line by line.")
+    public void test5() {
+        drainRecordsInto(productImportHandler);
+
+        importService.importProducts(json("""
+                {"name": "Apple", "category": "groceries", "price": 2}
+                {"name": "Pear", "category": "groceries", "price": 3}
+                """), ImportFormat.NDJSON);
+
+        Assertions.assertThat(read)
+                .containsExactly(
+                        new ProductDto(null, "Apple", "groceries", BigDecimal.valueOf(2)),
+                        new ProductDto(null, "Pear", "groceries", BigDecimal.valueOf(3)));
+    }
+
+    @Test
+    @DisplayName("When importing CSV, read the records row by row with the columns named by the header row.")
+    public void test6() {
+        drainRecordsInto(clientImportHandler);
+
+        importService.importClients(json("""
+                surname,name,age,cash,note
+                Nowak,Adam,20,100.50,"first, regular"
+                "Kowalska ""Ewa"" Nowak",Ewa,30,200,
+                """), ImportFormat.CSV);
+
+        Assertions.assertThat(read)
+                .containsExactly(
+                        new ClientDto(null, "Adam", "Nowak", 20, new BigDecimal("100.50")),
+                        new ClientDto(null, "Ewa", "Kowalska \"Ewa\" Nowak", 30, BigDecimal.valueOf(200)));
+    }
+
+    @Test
+    @DisplayName("When a CSV value is empty, read it as a missing field.")
+    public void test7() {
+        drainRecordsInto(orderImportHandler);
+
+        importService.importOrders(json("""
+                clientId,productId
+                1,
+                """), ImportFormat.CSV);
+
+        Assertions.assertThat(read)
+                .containsExactly(new OrderAddDto(1L, null));
+    }
+
+    @Test
+    @DisplayName("When the import format is null, throw an exception.")
+    public void test8() {
+        Assertions.assertThatThrownBy(() -> importService.importClients(json("[]"), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Import format cannot be null");
+    }
+}
@@ -5,6 +5,8 @@ import com.app.persistence.entity.view.AgeMostOftenCategoryProjection;
 import com.app.persistence.repository.OrderRepository;
 import com.app.persistence.repository.ProductRepository;
 import com.app.service.impl.ShopStatisticServiceImpl;
+import com.app.statistic.query.QueryEngine;
+import com.app.statistic.query.QueryEngines;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
@@ -23,6 +26,9 @@ public class ShopStatisticServiceImplGetAgeAndMostCategoryTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Spy
+    private QueryEngines queryEngines = QueryEngines.of(QueryEngine.CORRELATED);
+
     @InjectMocks
     private ShopStatisticServiceImpl shopStatisticService;
 
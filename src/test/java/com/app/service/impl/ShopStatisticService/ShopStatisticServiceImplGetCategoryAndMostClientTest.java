@@ -6,6 +6,8 @@ import com.app.persistence.entity.view.AgeMostOftenCategoryProjection;
 import com.app.persistence.entity.view.CategoryAndMostClientProjection;
 import com.app.persistence.repository.OrderRepository;
 import com.app.service.impl.ShopStatisticServiceImpl;
+import com.app.statistic.query.QueryEngine;
+import com.app.statistic.query.QueryEngines;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
@@ -24,6 +27,9 @@ public class ShopStatisticServiceImplGetCategoryAndMostClientTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Spy
+    private QueryEngines queryEngines = QueryEngines.of(QueryEngine.CORRELATED);
+
     @InjectMocks
     private ShopStatisticServiceImpl shopStatisticService;
 
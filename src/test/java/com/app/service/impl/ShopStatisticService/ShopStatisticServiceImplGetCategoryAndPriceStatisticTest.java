@@ -2,10 +2,10 @@ package com.app.service.impl.ShopStatisticService;
 
 
 import com.app.model.Product;
-import com.app.persistence.entity.view.PriceStatisticByCategoryProjection;
+import com.app.persistence.entity.view.ProductPriceProjection;
 import com.app.persistence.repository.ProductRepository;
 import com.app.service.impl.ShopStatisticServiceImpl;
-import com.app.statistic.impl.StatisticImpl;
+import com.app.statistic.impl.RunningStatisticImpl;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,8 +15,9 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.List;
+import java.math.BigDecimal;
 import java.util.Map;
+import java.util.stream.Stream;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -28,92 +29,110 @@ public class ShopStatisticServiceImplGetCategoryAndPriceStatisticTest {
     @InjectMocks
     private ShopStatisticServiceImpl shopStatisticService;
 
+    private static ProductPriceProjection product(long id, String category, String price) {
+        var projection = Mockito.mock(ProductPriceProjection.class);
+        Mockito.when(projection.getId()).thenReturn(id);
+        Mockito.when(projection.getName()).thenReturn("P" + id);
+        Mockito.when(projection.getCategory()).thenReturn(category);
+        Mockito.when(projection.getPrice()).thenReturn(new BigDecimal(price));
+        return projection;
+    }
+
     @Test
-    @DisplayName("When the repository returns an empty list, the service should also return an empty map.")
+    @DisplayName("When the repository streams no products, the service should return an empty map.")
     public void test1() {
 
-        Mockito.when(productRepository.getCategoryAndPriceStatistic())
-                .thenReturn(List.of());
+        Mockito.when(productRepository.streamProductPrices())
+                .thenReturn(Stream.of());
 
         Assertions.assertThat(shopStatisticService.getCategoryAndPriceStatistic())
                 .isEqualTo(Map.of());
 
         Mockito.verify(productRepository, Mockito.times(1))
-                .getCategoryAndPriceStatistic();
+                .streamProductPrices();
     }
 
     @Test
-    @DisplayName("When the repository returns one element of PriceStatisticByCategoryProjection in the list, " +
-            "the service should return a map with one record.")
+    @DisplayName("When the repository streams one product, the service should return a map with one record " +
+            "where the product is both the cheapest and the most expensive one.")
     public void test2() {
 
-        var projection = Mockito.mock(PriceStatisticByCategoryProjection.class);
+        var products = Stream.of(product(1L, "home", "10.00"));
 
-        Mockito.when(projection.getCategory())
-                .thenReturn("home");
+        Mockito.when(productRepository.streamProductPrices())
+                .thenReturn(products);
 
-        Mockito.when(projection.getMinId())
-                .thenReturn(1L);
+        var result = shopStatisticService.getCategoryAndPriceStatistic();
 
-        Mockito.when(projection.getMaxId())
-                .thenReturn(1L);
+        Assertions.assertThat(result)
+                .containsOnlyKeys("home");
 
+        Assertions.assertThat(result.get("home").getMin())
+                .containsExactly(new Product(1L, null, null, null));
 
-        Mockito.when(productRepository.getCategoryAndPriceStatistic())
-                .thenReturn(List.of(projection));
-
-        Assertions.assertThat(shopStatisticService.getCategoryAndPriceStatistic())
-                .isEqualTo(Map.of("home", new StatisticImpl(
-                        List.of(new Product(1L, null, null, null)),
-                        List.of(new Product(1L, null, null, null)), null)
-                ));
+        Assertions.assertThat(result.get("home").getMax())
+                .containsExactly(new Product(1L, null, null, null));
 
-        Mockito.verify(productRepository, Mockito.times(1))
-                .getCategoryAndPriceStatistic();
+        Assertions.assertThat(((RunningStatisticImpl) result.get("home")).getAvg())
+                .isEqualTo(new BigDecimal("10.000000"));
     }
 
     @Test
-    @DisplayName("When the repository returns a list containing two categories and price statistics, " +
-            "the service should return a merged map.")
+    @DisplayName("When the repository streams products of two categories, the service should return " +
+            "the statistics of every category.")
     public void test3() {
 
-        var projection1 = Mockito.mock(PriceStatisticByCategoryProjection.class);
-        var projection2 = Mockito.mock(PriceStatisticByCategoryProjection.class);
+        var products = Stream.of(
+                product(1L, "home", "10.00"),
+                product(2L, "home", "30.00"),
+                product(3L, "groceries", "2.50"),
+                product(4L, "groceries", "1.50"),
+                product(5L, "groceries", "1.50"));
 
-        Mockito.when(projection1.getCategory())
-                .thenReturn("home");
+        Mockito.when(productRepository.streamProductPrices())
+                .thenReturn(products);
 
-        Mockito.when(projection1.getMinId())
-                .thenReturn(1L);
+        var result = shopStatisticService.getCategoryAndPriceStatistic();
 
-        Mockito.when(projection1.getMaxId())
-                .thenReturn(2L);
+        Assertions.assertThat(result)
+                .containsOnlyKeys("home", "groceries");
 
-        Mockito.when(projection2.getCategory())
-                .thenReturn("groceries");
+        Assertions.assertThat(result.values())
+                .allMatch(RunningStatisticImpl.class::isInstance);
 
-        Mockito.when(projection2.getMinId())
-                .thenReturn(3L);
+        Assertions.assertThat(result.get("home").getMin())
+                .containsExactly(new Product(1L, null, null, null));
 
-        Mockito.when(projection2.getMaxId())
-                .thenReturn(4L);
+        Assertions.assertThat(result.get("home").getMax())
+                .containsExactly(new Product(2L, null, null, null));
 
-        Mockito.when(productRepository.getCategoryAndPriceStatistic())
-                .thenReturn(List.of(projection1, projection2));
+        Assertions.assertThat(((RunningStatisticImpl) result.get("home")).getAvg())
+                .isEqualTo(new BigDecimal("20.000000"));
 
-        Assertions.assertThat(shopStatisticService.getCategoryAndPriceStatistic())
-                .isEqualTo(Map.of(
-                        "home", new StatisticImpl(
-                                List.of(new Product(1L, null, null, null)),
-                                List.of(new Product(2L, null, null, null)), null),
-                        "groceries", new StatisticImpl(
-                                List.of(new Product(3L, null, null, null)),
-                                List.of(new Product(4L, null, null, null)), null)
-                ));
+        Assertions.assertThat(result.get("groceries").getMin())
+                .containsExactly(new Product(4L, null, null, null), new Product(5L, null, null, null));
 
-        Mockito.verify(productRepository, Mockito.times(1))
-                .getCategoryAndPriceStatistic();
+        Assertions.assertThat(result.get("groceries").getMax())
+                .containsExactly(new Product(3L, null, null, null));
+
+        Assertions.assertThat(((RunningStatisticImpl) result.get("groceries")).getAvg())
+                .isEqualTo(new BigDecimal("1.833333"));
     }
-}
 
+    @Test
+    @DisplayName("When the statistics are collected, the stream of the repository should be closed.")
+    public void test4() {
+
+        var closed = new boolean[1];
+
+        var products = Stream.of(product(1L, "home", "10.00")).onClose(() -> closed[0] = true);
 
+        Mockito.when(productRepository.streamProductPrices())
+                .thenReturn(products);
+
+        shopStatisticService.getCategoryAndPriceStatistic();
+
+        Assertions.assertThat(closed[0])
+                .isTrue();
+    }
+}
@@ -1,14 +1,14 @@
 package com.app.service.impl.ShopStatisticService;
 
 
-import com.app.persistence.repository.OrderRepository;
-import com.app.persistence.repository.ProductRepository;
+import com.app.persistence.repository.CategoryRepository;
+import com.app.persistence.repository.ClientRepository;
 import com.app.service.impl.ShopStatisticServiceImpl;
+import com.app.statistic.leaderboard.CategoryLeaderboard;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -21,7 +21,13 @@ import static com.app.data.ClientData.*;
 @ExtendWith(MockitoExtension.class)
 public class ShopStatisticServiceImplGetClientWithBiggerPaymentInCategoryTest {
     @Mock
-    private OrderRepository orderRepository;
+    private ClientRepository clientRepository;
+
+    @Mock
+    private CategoryLeaderboard categoryLeaderboard;
+
+    @Mock
+    private CategoryRepository categoryRepository;
 
     @InjectMocks
     private ShopStatisticServiceImpl shopStatisticService;
@@ -47,48 +53,92 @@ public class ShopStatisticServiceImplGetClientWithBiggerPaymentInCategoryTest {
     }
 
     @Test
-    @DisplayName("When the repository returns an empty list, the service should also return an empty list.")
+    @DisplayName("When the leaderboard has no clients in the category, the service should return an empty list.")
     public void test3() {
 
-        Mockito.when(orderRepository.getClientWithBiggerPaymentInCategory(ArgumentMatchers.anyString()))
+        Mockito.when(categoryRepository.findCanonicalName("home"))
+                .thenReturn("home");
+
+        Mockito.when(categoryLeaderboard.getTopClientIds("home"))
+                .thenReturn(List.of());
+
+        Mockito.when(clientRepository.findViewsByIdIn(List.of()))
                 .thenReturn(List.of());
 
         Assertions.assertThat(shopStatisticService.getClientWithBiggerPaymentInCategory("home"))
                 .isEqualTo(List.of());
 
-        Mockito.verify(orderRepository, Mockito.times(1))
-                .getClientWithBiggerPaymentInCategory(ArgumentMatchers.anyString());
+        Mockito.verify(categoryLeaderboard, Mockito.times(1))
+                .getTopClientIds("home");
     }
 
     @Test
-    @DisplayName("When the repository returns one client entity, the service should return one client.")
+    @DisplayName("When the leaderboard returns one client id, the service should return one client.")
     public void test4() {
 
-        Mockito.when(orderRepository.getClientWithBiggerPaymentInCategory(
-                ArgumentMatchers.anyString()))
-                .thenReturn(List.of(CLIENT_ENTITY_READ_1));
+        Mockito.when(categoryRepository.findCanonicalName("home"))
+                .thenReturn("home");
+
+        Mockito.when(categoryLeaderboard.getTopClientIds("home"))
+                .thenReturn(List.of(1L));
+
+        Mockito.when(clientRepository.findViewsByIdIn(List.of(1L)))
+                .thenReturn(List.of(CLIENT_VIEW1));
 
         Assertions.assertThat(shopStatisticService.getClientWithBiggerPaymentInCategory("home"))
                 .isEqualTo(List.of(CLIENT1));
 
-        Mockito.verify(orderRepository, Mockito.times(1))
-                .getClientWithBiggerPaymentInCategory(ArgumentMatchers.anyString());
+        Mockito.verify(clientRepository, Mockito.times(1))
+                .findViewsByIdIn(List.of(1L));
     }
 
     @Test
-    @DisplayName("When the repository returns three clients entity, the service should return three clients.")
+    @DisplayName("When the leaderboard returns three client ids, the service should return three clients in the order of the leaderboard.")
     public void test5() {
 
-        Mockito.when(orderRepository.getClientWithBiggerPaymentInCategory(
-                        ArgumentMatchers.anyString()))
-                .thenReturn(List.of(CLIENT_ENTITY_READ_1,CLIENT_ENTITY_READ_2,CLIENT_ENTITY_READ_3));
+        Mockito.when(categoryRepository.findCanonicalName("home"))
+                .thenReturn("home");
+
+        Mockito.when(categoryLeaderboard.getTopClientIds("home"))
+                .thenReturn(List.of(1L, 2L, 3L));
+
+        Mockito.when(clientRepository.findViewsByIdIn(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(CLIENT_VIEW3, CLIENT_VIEW1, CLIENT_VIEW2));
 
         Assertions.assertThat(shopStatisticService.getClientWithBiggerPaymentInCategory("home"))
-                .isEqualTo(List.of(CLIENT1,CLIENT2,CLIENT3));
+                .isEqualTo(List.of(CLIENT1, CLIENT2, CLIENT3));
 
-        Mockito.verify(orderRepository, Mockito.times(1))
-                .getClientWithBiggerPaymentInCategory(ArgumentMatchers.anyString());
+        Mockito.verify(clientRepository, Mockito.times(1))
+                .findViewsByIdIn(List.of(1L, 2L, 3L));
     }
-}
 
+    @Test
+    @DisplayName("When the category is spelled in another case, the leaderboard is read with the registered spelling.")
+    public void test6() {
 
+        Mockito.when(categoryRepository.findCanonicalName("HOME"))
+                .thenReturn("Home");
+
+        Mockito.when(categoryLeaderboard.getTopClientIds("Home"))
+                .thenReturn(List.of(1L));
+
+        Mockito.when(clientRepository.findViewsByIdIn(List.of(1L)))
+                .thenReturn(List.of(CLIENT_VIEW1));
+
+        Assertions.assertThat(shopStatisticService.getClientWithBiggerPaymentInCategory("HOME"))
+                .isEqualTo(List.of(CLIENT1));
+    }
+
+    @Test
+    @DisplayName("When the category does not exist, return an empty list without reading the leaderboard.")
+    public void test7() {
+
+        Mockito.when(categoryRepository.findCanonicalName("garden"))
+                .thenReturn(null);
+
+        Assertions.assertThat(shopStatisticService.getClientWithBiggerPaymentInCategory("garden"))
+                .isEmpty();
+
+        Mockito.verifyNoInteractions(categoryLeaderboard, clientRepository);
+    }
+}
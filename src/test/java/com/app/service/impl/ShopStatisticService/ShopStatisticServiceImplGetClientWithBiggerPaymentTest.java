@@ -1,8 +1,7 @@
 package com.app.service.impl.ShopStatisticService;
 
 
-import com.app.persistence.repository.OrderRepository;
-import com.app.persistence.repository.ProductRepository;
+import com.app.persistence.repository.ClientSpendRepository;
 import com.app.service.impl.ShopStatisticServiceImpl;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -20,51 +19,51 @@ import static com.app.data.ClientData.*;
 @ExtendWith(MockitoExtension.class)
 public class ShopStatisticServiceImplGetClientWithBiggerPaymentTest {
     @Mock
-    private OrderRepository orderRepository;
+    private ClientSpendRepository clientSpendRepository;
 
     @InjectMocks
     private ShopStatisticServiceImpl shopStatisticService;
 
     @Test
-    @DisplayName("When the repository returns an empty list, the service should also return an empty list.")
+    @DisplayName("When the client spend aggregate returns an empty list, the service should also return an empty list.")
     public void test1() {
 
-        Mockito.when(orderRepository.getClientWithBiggerPayment())
+        Mockito.when(clientSpendRepository.findClientsWithBiggestSpend())
                 .thenReturn(List.of());
 
         Assertions.assertThat(shopStatisticService.getClientWithBiggerPayment())
                 .isEqualTo(List.of());
 
-        Mockito.verify(orderRepository, Mockito.times(1))
-                .getClientWithBiggerPayment();
+        Mockito.verify(clientSpendRepository, Mockito.times(1))
+                .findClientsWithBiggestSpend();
     }
 
     @Test
-    @DisplayName("When the repository returns one client entity, the service should return one client.")
+    @DisplayName("When the client spend aggregate returns one client view, the service should return one client.")
     public void test2() {
 
-        Mockito.when(orderRepository.getClientWithBiggerPayment())
-                .thenReturn(List.of(CLIENT_ENTITY_READ_1));
+        Mockito.when(clientSpendRepository.findClientsWithBiggestSpend())
+                .thenReturn(List.of(CLIENT_VIEW1));
 
         Assertions.assertThat(shopStatisticService.getClientWithBiggerPayment())
                 .isEqualTo(List.of(CLIENT1));
 
-        Mockito.verify(orderRepository, Mockito.times(1))
-                .getClientWithBiggerPayment();
+        Mockito.verify(clientSpendRepository, Mockito.times(1))
+                .findClientsWithBiggestSpend();
     }
 
     @Test
-    @DisplayName("When the repository returns three client entities, the service should return three clients.")
+    @DisplayName("When the client spend aggregate returns three client views, the service should return three clients.")
     public void test3() {
 
-        Mockito.when(orderRepository.getClientWithBiggerPayment())
-                .thenReturn(List.of(CLIENT_ENTITY_READ_1, CLIENT_ENTITY_READ_2, CLIENT_ENTITY_READ_3));
+        Mockito.when(clientSpendRepository.findClientsWithBiggestSpend())
+                .thenReturn(List.of(CLIENT_VIEW1, CLIENT_VIEW2, CLIENT_VIEW3));
 
         Assertions.assertThat(shopStatisticService.getClientWithBiggerPayment())
                 .isEqualTo(List.of(CLIENT1, CLIENT2, CLIENT3));
 
-        Mockito.verify(orderRepository, Mockito.times(1))
-                .getClientWithBiggerPayment();
+        Mockito.verify(clientSpendRepository, Mockito.times(1))
+                .findClientsWithBiggestSpend();
     }
 }
 
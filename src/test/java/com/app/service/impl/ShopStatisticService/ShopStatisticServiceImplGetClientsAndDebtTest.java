@@ -4,7 +4,7 @@ package com.app.service.impl.ShopStatisticService;
 import com.app.model.Client;
 import com.app.persistence.entity.view.AgeMostOftenCategoryProjection;
 import com.app.persistence.entity.view.ClientAndDebitDto;
-import com.app.persistence.repository.OrderRepository;
+import com.app.persistence.repository.ClientSpendRepository;
 import com.app.service.impl.ShopStatisticServiceImpl;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -23,7 +23,7 @@ import java.util.Map;
 @ExtendWith(MockitoExtension.class)
 public class ShopStatisticServiceImplGetClientsAndDebtTest {
     @Mock
-    private OrderRepository orderRepository;
+    private ClientSpendRepository clientSpendRepository;
 
     @InjectMocks
     private ShopStatisticServiceImpl shopStatisticService;
@@ -32,14 +32,14 @@ public class ShopStatisticServiceImplGetClientsAndDebtTest {
     @DisplayName("When the repository returns an empty list, the service should also return an empty map.")
     public void test1() {
 
-        Mockito.when(orderRepository.getClientAndDebit())
+        Mockito.when(clientSpendRepository.findClientsInDebit())
                 .thenReturn(List.of());
 
         Assertions.assertThat(shopStatisticService.getClientsAndDebit())
                 .isEqualTo(Map.of());
 
-        Mockito.verify(orderRepository, Mockito.times(1))
-                .getClientAndDebit();
+        Mockito.verify(clientSpendRepository, Mockito.times(1))
+                .findClientsInDebit();
     }
 
     @Test
@@ -50,7 +50,7 @@ public class ShopStatisticServiceImplGetClientsAndDebtTest {
         var clientAndDebitDto = new ClientAndDebitDto(
                 1L, null, null, 0, null, BigDecimal.valueOf(-5));
 
-        Mockito.when(orderRepository.getClientAndDebit())
+        Mockito.when(clientSpendRepository.findClientsInDebit())
                 .thenReturn(List.of(clientAndDebitDto));
 
         Assertions.assertThat(shopStatisticService.getClientsAndDebit())
@@ -58,8 +58,8 @@ public class ShopStatisticServiceImplGetClientsAndDebtTest {
                         new Client(1L, null, null, 0, null),
                         BigDecimal.valueOf(-5)));
 
-        Mockito.verify(orderRepository, Mockito.times(1))
-                .getClientAndDebit();
+        Mockito.verify(clientSpendRepository, Mockito.times(1))
+                .findClientsInDebit();
     }
 
     @Test
@@ -76,7 +76,7 @@ public class ShopStatisticServiceImplGetClientsAndDebtTest {
         var clientAndDebitDto3 = new ClientAndDebitDto(
                 3L, null, null, 0, null, BigDecimal.valueOf(-25));
 
-        Mockito.when(orderRepository.getClientAndDebit())
+        Mockito.when(clientSpendRepository.findClientsInDebit())
                 .thenReturn(List.of(clientAndDebitDto1, clientAndDebitDto2, clientAndDebitDto3));
 
         Assertions.assertThat(shopStatisticService.getClientsAndDebit())
@@ -87,8 +87,8 @@ public class ShopStatisticServiceImplGetClientsAndDebtTest {
                         new Client(3L, null, null, 0, null),
                         BigDecimal.valueOf(-25)));
 
-        Mockito.verify(orderRepository, Mockito.times(1))
-                .getClientAndDebit();
+        Mockito.verify(clientSpendRepository, Mockito.times(1))
+                .findClientsInDebit();
     }
 }
 
@@ -0,0 +1,223 @@
+package com.app.service.impl.ShopStatisticService;
+
+import com.app.persistence.entity.view.OrderRollupProjection;
+import com.app.persistence.repository.CategoryRepository;
+import com.app.persistence.repository.ClientRepository;
+import com.app.persistence.repository.OrderDimensionRollupRepository;
+import com.app.persistence.repository.OrderRollupRepository;
+import com.app.persistence.repository.ProductRepository;
+import com.app.service.impl.ShopStatisticServiceImpl;
+import com.app.statistic.TimeRange;
+import com.app.statistic.rollup.RollupRetention;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static com.app.data.ClientData.*;
+import static com.app.data.ProductData.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ShopStatisticServiceImplTimeRangeTest {
+
+    private static final TimeRange RANGE =
+            new TimeRange(Instant.parse("2024-05-01T10:30:00Z"), Instant.parse("2024-05-03T08:00:00Z"));
+
+    @Mock
+    private OrderRollupRepository orderRollupRepository;
+
+    @Mock
+    private OrderDimensionRollupRepository orderDimensionRollupRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Spy
+    private RollupRetention rollupRetention =
+            new RollupRetention(Duration.ofDays(7), Clock.fixed(Instant.parse("2024-05-05T12:00:00Z"), ZoneOffset.UTC));
+
+    @InjectMocks
+    private ShopStatisticServiceImpl shopStatisticService;
+
+    private static OrderRollupProjection rollup(Long clientId, Integer age, Long productId, String category,
+                                                String amount, Long quantity) {
+        var projection = Mockito.mock(OrderRollupProjection.class);
+        Mockito.lenient().when(projection.getClientId()).thenReturn(clientId);
+        Mockito.lenient().when(projection.getClientAge()).thenReturn(age);
+        Mockito.lenient().when(projection.getProductId()).thenReturn(productId);
+        Mockito.lenient().when(projection.getCategory()).thenReturn(category);
+        Mockito.lenient().when(projection.getAmount()).thenReturn(amount == null ? null : new BigDecimal(amount));
+        Mockito.lenient().when(projection.getQuantity()).thenReturn(quantity);
+        return projection;
+    }
+
+    private void edges(OrderRollupProjection... rollups) {
+        Mockito.when(orderRollupRepository.findHourlyInRange(
+                        Instant.parse("2024-05-01T10:00:00Z"),
+                        Instant.parse("2024-05-02T00:00:00Z"),
+                        Instant.parse("2024-05-03T00:00:00Z"),
+                        Instant.parse("2024-05-03T08:00:00Z")))
+                .thenReturn(List.of(rollups));
+    }
+
+    @Test
+    @DisplayName("When reading the top clients within a range, the daily client rollups of the whole days are added to " +
+            "the hourly rollups of the edges and the top clients are loaded.")
+    public void test1() {
+
+        edges(rollup(1L, 30, 1L, "groceries", "2000", 2L), rollup(3L, 11, 3L, "home", "600", 1L));
+        var rollups = List.of(rollup(3L, null, null, null, "1500", 3L));
+        Mockito.when(orderDimensionRollupRepository.findClientRollups(
+                        Instant.parse("2024-05-02T00:00:00Z"), Instant.parse("2024-05-03T00:00:00Z")))
+                .thenReturn(rollups);
+        Mockito.when(clientRepository.findViewsByIdIn(List.of(3L)))
+                .thenReturn(List.of(CLIENT_VIEW3));
+
+        Assertions.assertThat(shopStatisticService.getClientWithBiggerPayment(RANGE))
+                .containsExactly(CLIENT3);
+    }
+
+    @Test
+    @DisplayName("When reading the top clients in a category within a range, only the rollups of the category count, in any case.")
+    public void test2() {
+
+        edges(rollup(1L, 30, 1L, "groceries", "2000", 2L), rollup(3L, 11, 3L, "home", "59.10", 1L));
+        Mockito.when(categoryRepository.findCanonicalName("HOME"))
+                .thenReturn("home");
+        Mockito.when(categoryRepository.findCategoryId("home"))
+                .thenReturn(7);
+        var rollups = List.of(rollup(1L, null, null, "home", "100", 1L));
+        Mockito.when(orderDimensionRollupRepository.findClientRollupsInCategory(
+                        7L, Instant.parse("2024-05-02T00:00:00Z"), Instant.parse("2024-05-03T00:00:00Z")))
+                .thenReturn(rollups);
+        Mockito.when(clientRepository.findViewsByIdIn(List.of(1L)))
+                .thenReturn(List.of(CLIENT_VIEW1));
+
+        Assertions.assertThat(shopStatisticService.getClientWithBiggerPaymentInCategory("HOME", RANGE))
+                .containsExactly(CLIENT1);
+
+        Assertions.assertThatThrownBy(() -> shopStatisticService.getClientWithBiggerPaymentInCategory("", RANGE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Category cannot be empty");
+    }
+
+    @Test
+    @DisplayName("When reading the most frequent products by age within a range, the daily age and product rollups are " +
+            "counted and the products are loaded by ID.")
+    public void test3() {
+
+        edges(rollup(1L, 30, 1L, "groceries", "4.6", 2L), rollup(3L, 11, 3L, "home", "59.10", 1L));
+        var rollups = List.of(rollup(null, 30, 3L, null, null, 1L), rollup(null, 11, 3L, null, null, 4L));
+        Mockito.when(orderDimensionRollupRepository.findAgeProductRollups(
+                        Instant.parse("2024-05-02T00:00:00Z"), Instant.parse("2024-05-03T00:00:00Z")))
+                .thenReturn(rollups);
+        Mockito.when(productRepository.findViewsByIdIn(ArgumentMatchers.anyList()))
+                .thenReturn(List.of(PRODUCT_VIEW1, PRODUCT_VIEW3));
+
+        Assertions.assertThat(shopStatisticService.getAgeAndMostProduct(RANGE))
+                .isEqualTo(Map.of(30, List.of(PRODUCT1), 11, List.of(PRODUCT3)));
+    }
+
+    @Test
+    @DisplayName("When reading the clients with debit within a range, only the orders of the range reduce the cash.")
+    public void test4() {
+
+        edges(rollup(1L, 30, 1L, "groceries", "2000", 2L), rollup(3L, 11, 3L, "home", "100", 1L));
+        var rollups = List.of(rollup(3L, null, null, null, "300", 2L));
+        Mockito.when(orderDimensionRollupRepository.findClientRollups(
+                        Instant.parse("2024-05-02T00:00:00Z"), Instant.parse("2024-05-03T00:00:00Z")))
+                .thenReturn(rollups);
+        Mockito.when(clientRepository.findViewsByIdIn(ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(CLIENT_VIEW1, CLIENT_VIEW3));
+
+        Assertions.assertThat(shopStatisticService.getClientsAndDebit(RANGE))
+                .isEqualTo(Map.of(CLIENT3, new BigDecimal("-40")));
+    }
+
+    @Test
+    @DisplayName("When the range is null, throw an exception.")
+    public void test5() {
+
+        Assertions.assertThatThrownBy(() -> shopStatisticService.getAgeAndMostCategory(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Range cannot be null");
+
+        Mockito.verifyNoInteractions(orderRollupRepository);
+    }
+
+    @Test
+    @DisplayName("When the range starts at midnight before the hourly rollups kept, it is read in whole days from its start.")
+    public void test6() {
+
+        Mockito.when(orderRollupRepository.findHourlyInRange(
+                        Instant.parse("2024-04-20T00:00:00Z"),
+                        Instant.parse("2024-04-20T00:00:00Z"),
+                        Instant.parse("2024-05-03T00:00:00Z"),
+                        Instant.parse("2024-05-03T08:00:00Z")))
+                .thenReturn(List.of());
+        var rollups = List.of(rollup(1L, null, null, null, "2000", 2L));
+        Mockito.when(orderDimensionRollupRepository.findClientRollups(
+                        Instant.parse("2024-04-20T00:00:00Z"), Instant.parse("2024-05-03T00:00:00Z")))
+                .thenReturn(rollups);
+        Mockito.when(clientRepository.findViewsByIdIn(List.of(1L)))
+                .thenReturn(List.of(CLIENT_VIEW1));
+
+        var range = new TimeRange(Instant.parse("2024-04-20T00:00:00Z"), Instant.parse("2024-05-03T08:00:00Z"));
+
+        Assertions.assertThat(shopStatisticService.getClientWithBiggerPayment(range))
+                .containsExactly(CLIENT1);
+    }
+
+    @Test
+    @DisplayName("When the range starts within a day before the hourly rollups kept, throw an exception instead of widening it.")
+    public void test7() {
+
+        var range = new TimeRange(Instant.parse("2024-04-20T10:30:00Z"), Instant.parse("2024-05-03T08:00:00Z"));
+
+        Assertions.assertThatThrownBy(() -> shopStatisticService.getClientWithBiggerPayment(range))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Range bounds before 2024-04-28T00:00:00Z must be at the start of a day");
+
+        Mockito.verifyNoInteractions(orderRollupRepository);
+    }
+
+    @Test
+    @DisplayName("When the range contains no whole day, only the hourly rollups are read.")
+    public void test8() {
+
+        var rollups = List.of(rollup(1L, 30, 1L, "groceries", "4.6", 2L));
+        Mockito.when(orderRollupRepository.findHourlyInRange(
+                        Instant.parse("2024-05-03T10:00:00Z"),
+                        Instant.parse("2024-05-03T21:00:00Z"),
+                        Instant.parse("2024-05-03T21:00:00Z"),
+                        Instant.parse("2024-05-03T21:00:00Z")))
+                .thenReturn(rollups);
+
+        var range = new TimeRange(Instant.parse("2024-05-03T10:30:00Z"), Instant.parse("2024-05-03T20:15:00Z"));
+
+        Assertions.assertThat(shopStatisticService.getAgeAndMostCategory(range))
+                .isEqualTo(Map.of(30, List.of("groceries")));
+
+        Mockito.verifyNoInteractions(orderDimensionRollupRepository);
+    }
+}
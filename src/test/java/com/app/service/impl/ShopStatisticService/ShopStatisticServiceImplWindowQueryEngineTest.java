@@ -0,0 +1,119 @@
+package com.app.service.impl.ShopStatisticService;
+
+import com.app.model.Client;
+import com.app.model.Product;
+import com.app.persistence.entity.view.AgeAndMostProductProjection;
+import com.app.persistence.entity.view.AgeMostOftenCategoryProjection;
+import com.app.persistence.entity.view.CategoryAndMostClientProjection;
+import com.app.persistence.repository.OrderRepository;
+import com.app.service.impl.ShopStatisticServiceImpl;
+import com.app.statistic.query.QueryEngine;
+import com.app.statistic.query.QueryEngines;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@ExtendWith(MockitoExtension.class)
+public class ShopStatisticServiceImplWindowQueryEngineTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Spy
+    private QueryEngines queryEngines = QueryEngines.of(QueryEngine.WINDOW);
+
+    @InjectMocks
+    private ShopStatisticServiceImpl shopStatisticService;
+
+    @Test
+    @DisplayName("When the window engine is chosen for the categories per age, the ranked query is used.")
+    public void test1() {
+
+        var projection1 = Mockito.mock(AgeMostOftenCategoryProjection.class);
+        var projection2 = Mockito.mock(AgeMostOftenCategoryProjection.class);
+
+        Mockito.when(projection1.getAge())
+                .thenReturn(10);
+        Mockito.when(projection1.getCategory())
+                .thenReturn("home");
+        Mockito.when(projection2.getAge())
+                .thenReturn(10);
+        Mockito.when(projection2.getCategory())
+                .thenReturn("groceries");
+
+        Mockito.when(orderRepository.getAgeAndMostCategoryRanked())
+                .thenReturn(List.of(projection1, projection2));
+
+        Assertions.assertThat(shopStatisticService.getAgeAndMostCategory())
+                .isEqualTo(Map.of(10, List.of("home", "groceries")));
+
+        Mockito.verify(orderRepository, Mockito.never())
+                .getAgeAndMostCategory();
+    }
+
+    @Test
+    @DisplayName("When the window engine is chosen for the products per age, the ranked query is used.")
+    public void test2() {
+
+        var projection = Mockito.mock(AgeAndMostProductProjection.class);
+
+        Mockito.when(projection.getAge())
+                .thenReturn(30);
+        Mockito.when(projection.getId())
+                .thenReturn(1L);
+        Mockito.when(projection.getName())
+                .thenReturn("Milk");
+        Mockito.when(projection.getCategory())
+                .thenReturn("groceries");
+        Mockito.when(projection.getPrice())
+                .thenReturn(BigDecimal.valueOf(3));
+
+        Mockito.when(orderRepository.getAgeAndMostProductRanked())
+                .thenReturn(List.of(projection));
+
+        Assertions.assertThat(shopStatisticService.getAgeAndMostProduct())
+                .isEqualTo(Map.of(30, List.of(new Product(1L, "Milk", "groceries", BigDecimal.valueOf(3)))));
+
+        Mockito.verify(orderRepository, Mockito.never())
+                .getAgeAndMostProduct();
+    }
+
+    @Test
+    @DisplayName("When the window engine is chosen for the clients per category, the ranked query is used.")
+    public void test3() {
+
+        var projection = Mockito.mock(CategoryAndMostClientProjection.class);
+
+        Mockito.when(projection.getCategory())
+                .thenReturn("home");
+        Mockito.when(projection.getId())
+                .thenReturn(1L);
+        Mockito.when(projection.getName())
+                .thenReturn("Client");
+        Mockito.when(projection.getSurname())
+                .thenReturn("Surname");
+        Mockito.when(projection.getAge())
+                .thenReturn(30);
+        Mockito.when(projection.getCash())
+                .thenReturn(BigDecimal.TEN);
+
+        Mockito.when(orderRepository.getCategoryAndMostClientRanked())
+                .thenReturn(List.of(projection));
+
+        Assertions.assertThat(shopStatisticService.getCategoryAndMostClient())
+                .isEqualTo(Map.of("home", List.of(new Client(1L, "Client", "Surname", 30, BigDecimal.TEN))));
+
+        Mockito.verify(orderRepository, Mockito.never())
+                .getCategoryAndMostClient();
+    }
+}
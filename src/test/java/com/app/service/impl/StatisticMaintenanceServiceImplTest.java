@@ -0,0 +1,232 @@
+package com.app.service.impl;
+
+import com.app.controller.dto.statistic.StatisticCacheStatsDto;
+import com.app.persistence.repository.ClientSpendRepository;
+import com.app.persistence.entity.view.CategorySpendProjection;
+import com.app.persistence.entity.view.ClientAndDebitDto;
+import com.app.persistence.repository.CategoryRepository;
+import com.app.persistence.repository.OrderRepository;
+import com.app.persistence.repository.OrderRollupRepository;
+import com.app.statistic.cache.CachedStatistic;
+import com.app.statistic.cache.StatisticCache;
+import com.app.statistic.leaderboard.CategoryLeaderboard;
+import com.app.statistic.rollup.RollupRetention;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.app.data.ClientData.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StatisticMaintenanceServiceImplTest {
+
+    @Mock
+    private ClientSpendRepository clientSpendRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private CategoryLeaderboard categoryLeaderboard;
+
+    @Mock
+    private StatisticCache statisticCache;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private OrderRollupRepository orderRollupRepository;
+
+    @Spy
+    private RollupRetention rollupRetention =
+            new RollupRetention(Duration.ofDays(7), Clock.fixed(Instant.parse("2024-05-10T12:00:00Z"), ZoneOffset.UTC));
+
+    @InjectMocks
+    private StatisticMaintenanceServiceImpl statisticMaintenanceService;
+
+    @Test
+    @DisplayName("When rebuilding the client spend aggregate, the old rows are removed before it is recomputed.")
+    public void test1() {
+
+        var inOrder = Mockito.inOrder(clientSpendRepository, statisticCache);
+
+        Mockito.when(clientSpendRepository.rebuildFromOrders())
+                .thenReturn(3);
+
+        Assertions.assertThat(statisticMaintenanceService.rebuildClientSpend())
+                .isEqualTo(3L);
+
+        inOrder.verify(clientSpendRepository, Mockito.times(1))
+                .deleteAllInBatch();
+
+        inOrder.verify(clientSpendRepository, Mockito.times(1))
+                .rebuildFromOrders();
+
+        inOrder.verify(statisticCache, Mockito.times(1))
+                .invalidateAll();
+    }
+
+    @Test
+    @DisplayName("When the aggregate and the orders return the same clients in any order, the verification passes.")
+    public void test2() {
+
+        Mockito.when(clientSpendRepository.findClientsWithBiggestSpend())
+                .thenReturn(List.of(CLIENT_VIEW1, CLIENT_VIEW2));
+
+        Mockito.when(orderRepository.getClientWithBiggerPayment())
+                .thenReturn(List.of(CLIENT_VIEW2, CLIENT_VIEW1));
+
+        Assertions.assertThat(statisticMaintenanceService.verifyClientSpend())
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("When the aggregate and the orders return different clients, the verification fails.")
+    public void test3() {
+
+        Mockito.when(clientSpendRepository.findClientsWithBiggestSpend())
+                .thenReturn(List.of(CLIENT_VIEW1));
+
+        Mockito.when(orderRepository.getClientWithBiggerPayment())
+                .thenReturn(List.of(CLIENT_VIEW2));
+
+        Assertions.assertThat(statisticMaintenanceService.verifyClientSpend())
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("When rebuilding the category leaderboard, it opens the streamed spending as its snapshot.")
+    public void test4() {
+
+        var spend = Mockito.mock(CategorySpendProjection.class);
+
+        Mockito.when(orderRepository.streamCategorySpend())
+                .thenReturn(Stream.of(spend, spend));
+
+        Mockito.when(categoryLeaderboard.rebuild(ArgumentMatchers.any()))
+                .thenAnswer(invocation -> {
+                    Supplier<Stream<CategorySpendProjection>> snapshot = invocation.getArgument(0);
+                    try (var spending = snapshot.get()) {
+                        return (int) spending.count();
+                    }
+                });
+
+        Assertions.assertThat(statisticMaintenanceService.rebuildCategoryLeaderboard())
+                .isEqualTo(2L);
+
+        Mockito.verify(statisticCache, Mockito.times(1))
+                .invalidateAll();
+    }
+
+    @Test
+    @DisplayName("When the leaderboard and the orders return the same clients in the category, the verification passes.")
+    public void test5() {
+
+        Mockito.when(categoryRepository.findCanonicalName("home"))
+                .thenReturn("home");
+
+        Mockito.when(categoryLeaderboard.getTopClientIds("home"))
+                .thenReturn(List.of(2L, 1L));
+
+        Mockito.when(orderRepository.getClientWithBiggerPaymentInCategory("home"))
+                .thenReturn(List.of(CLIENT_ENTITY_READ_1, CLIENT_ENTITY_READ_2));
+
+        Assertions.assertThat(statisticMaintenanceService.verifyCategoryLeaderboard("home"))
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("When the leaderboard and the orders return different clients in the category, the verification fails.")
+    public void test6() {
+
+        Mockito.when(categoryRepository.findCanonicalName("home"))
+                .thenReturn("home");
+
+        Mockito.when(categoryLeaderboard.getTopClientIds("home"))
+                .thenReturn(List.of());
+
+        Mockito.when(orderRepository.getClientWithBiggerPaymentInCategory("home"))
+                .thenReturn(List.of(CLIENT_ENTITY_READ_1));
+
+        Assertions.assertThat(statisticMaintenanceService.verifyCategoryLeaderboard("home"))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("When reading the statistic cache counters, they are keyed by the statistic name with their hit ratio.")
+    public void test7() {
+
+        Mockito.when(statisticCache.getStats())
+                .thenReturn(Map.of(
+                        CachedStatistic.CLIENTS_AND_DEBIT, new StatisticCache.Stats(3, 1, 0, 2, 1),
+                        CachedStatistic.AGE_AND_MOST_PRODUCT, new StatisticCache.Stats(0, 0, 0, 0, 0)));
+
+        Assertions.assertThat(statisticMaintenanceService.getStatisticCacheStats())
+                .isEqualTo(Map.of(
+                        "clients-and-debit", new StatisticCacheStatsDto(3, 1, 0, 2, 1, 0.75),
+                        "age-and-most-product", new StatisticCacheStatsDto(0, 0, 0, 0, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("When the balances and the orders return the same clients with the same debit in any scale, the verification passes.")
+    public void test8() {
+
+        Mockito.when(clientSpendRepository.findClientsInDebit())
+                .thenReturn(List.of(
+                        new ClientAndDebitDto(3L, "C", "CC", 11, BigDecimal.valueOf(360), new BigDecimal("-40.00")),
+                        new ClientAndDebitDto(4L, "D", "DD", 20, BigDecimal.valueOf(10), new BigDecimal("-5.50"))));
+
+        Mockito.when(orderRepository.getClientAndDebit())
+                .thenReturn(List.of(
+                        new ClientAndDebitDto(4L, "D", "DD", 20, BigDecimal.valueOf(10), new BigDecimal("-5.5")),
+                        new ClientAndDebitDto(3L, "C", "CC", 11, BigDecimal.valueOf(360), BigDecimal.valueOf(-40))));
+
+        Assertions.assertThat(statisticMaintenanceService.verifyClientDebit())
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("When the balances and the orders return a different debit for a client, the verification fails.")
+    public void test9() {
+
+        Mockito.when(clientSpendRepository.findClientsInDebit())
+                .thenReturn(List.of(
+                        new ClientAndDebitDto(3L, "C", "CC", 11, BigDecimal.valueOf(360), BigDecimal.valueOf(-40))));
+
+        Mockito.when(orderRepository.getClientAndDebit())
+                .thenReturn(List.of(
+                        new ClientAndDebitDto(3L, "C", "CC", 11, BigDecimal.valueOf(360), BigDecimal.valueOf(-45))));
+
+        Assertions.assertThat(statisticMaintenanceService.verifyClientDebit())
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("When compacting the rollups, the hourly rollups of the days before the retention are removed.")
+    public void test10() {
+
+        Mockito.when(orderRollupRepository.deleteHourlyBefore(Instant.parse("2024-05-03T00:00:00Z")))
+                .thenReturn(48);
+
+        Assertions.assertThat(statisticMaintenanceService.compactOrderRollups())
+                .isEqualTo(48L);
+    }
+}
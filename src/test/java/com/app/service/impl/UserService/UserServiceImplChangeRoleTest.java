@@ -1,6 +1,7 @@
 package com.app.service.impl.UserService;
 
 import com.app.controller.dto.user.*;
+import com.app.event.UserRoleChangedEvent;
 import com.app.model.Role;
 import com.app.persistence.entity.UserEntity;
 import com.app.persistence.repository.UserRepository;
@@ -15,6 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -26,6 +28,9 @@ public class UserServiceImplChangeRoleTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -43,14 +48,16 @@ public class UserServiceImplChangeRoleTest {
 
         Mockito.verify(userRepository, Mockito.times(1))
                 .findById(ArgumentMatchers.anyLong());
+
+        Mockito.verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    @DisplayName("When changing a role, return the user ID upon successful completion.")
+    @DisplayName("When changing a role, return the user ID and publish a UserRoleChangedEvent.")
     public void test2(){
         var changeRoleDto = new ChangeRoleDto(1L, Role.ROLE_LEADER);
 
-        var inOrder = Mockito.inOrder(userRepository);
+        var inOrder = Mockito.inOrder(userRepository, eventPublisher);
 
         Mockito.when(userRepository.findById(ArgumentMatchers.anyLong()))
                 .thenReturn(Optional.of(USER_ENTITY1));
@@ -66,5 +73,8 @@ public class UserServiceImplChangeRoleTest {
 
         inOrder.verify(userRepository, Mockito.times(1))
                 .save(ArgumentMatchers.any(UserEntity.class));
+
+        inOrder.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new UserRoleChangedEvent(1L));
     }
 }
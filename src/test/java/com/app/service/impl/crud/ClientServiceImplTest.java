@@ -3,9 +3,12 @@ package com.app.service.impl.crud;
 import com.app.controller.dto.ClientDto;
 import com.app.converter.many.ClientsConverter;
 import com.app.converter.single.Converter;
+import com.app.event.OrdersRemovedEvent;
+import com.app.event.ShopDataChangedEvent;
 import com.app.exception.ResourceAlreadyExistException;
 import com.app.model.Client;
 import com.app.persistence.entity.ClientEntity;
+import com.app.persistence.entity.view.ClientKey;
 import com.app.persistence.repository.ClientRepository;
 import com.app.validator.Validator;
 import jakarta.persistence.EntityNotFoundException;
@@ -15,10 +18,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.app.data.ClientData.*;
 
@@ -34,6 +39,9 @@ public class ClientServiceImplTest {
     @Mock
     private ClientsConverter clientsConverter;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ClientServiceImpl service;
 
@@ -170,6 +178,12 @@ public class ClientServiceImplTest {
 
         inOrder.verify(repository, Mockito.times(1))
                 .delete(ArgumentMatchers.any(ClientEntity.class));
+
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.CLIENTS, List.of(1L)));
+
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.CLIENTS));
     }
 
     @Test
@@ -208,6 +222,12 @@ public class ClientServiceImplTest {
 
         inOrder.verify(repository, Mockito.times(1))
                 .deleteAll(ArgumentMatchers.anyList());
+
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.CLIENTS, List.of(1L, 2L)));
+
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.CLIENTS));
     }
 
 
@@ -277,6 +297,9 @@ public class ClientServiceImplTest {
 
             inOrder.verify(repository, Mockito.times(1))
                     .save(ArgumentMatchers.any(ClientEntity.class));
+
+            Mockito.verify(eventPublisher, Mockito.times(1))
+                    .publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.CLIENTS));
         }
     }
 
@@ -306,11 +329,8 @@ public class ClientServiceImplTest {
                             Validator.validate(ArgumentMatchers.any(), ArgumentMatchers.any()))
                     .thenAnswer(invocation -> null);
 
-            Mockito.when(repository.findByNameAndSurname("A", "B"))
-                    .thenReturn(Optional.empty());
-
-            Mockito.when(repository.findByNameAndSurname("AA", "BB"))
-                    .thenReturn(Optional.of(CLIENT_ENTITY_READ_1));
+            Mockito.when(repository.findExistingKeys(List.of(new ClientKey("A", "B"), new ClientKey("AA", "BB"))))
+                    .thenReturn(Set.of(new ClientKey("aa", "bb")));
 
             var clientDto1 = new ClientDto(1L, "A", "B", 10, BigDecimal.ONE);
             var clientDto2 = new ClientDto(1L, "AA", "BB", 20, BigDecimal.TWO);
@@ -320,7 +340,10 @@ public class ClientServiceImplTest {
                     .isInstanceOf(ResourceAlreadyExistException.class)
                     .hasMessage("Client: %s already exists".formatted(clientDto2));
 
-            Mockito.verify(repository, Mockito.times(2))
+            Mockito.verify(repository, Mockito.times(1))
+                    .findExistingKeys(ArgumentMatchers.anyCollection());
+
+            Mockito.verify(repository, Mockito.never())
                     .findByNameAndSurname(ArgumentMatchers.anyString(), ArgumentMatchers.anyString());
         }
     }
@@ -335,11 +358,8 @@ public class ClientServiceImplTest {
 
             var inOrder = Mockito.inOrder(repository, clientsConverter);
 
-            Mockito.when(repository.findByNameAndSurname("A", "B"))
-                    .thenReturn(Optional.empty());
-
-            Mockito.when(repository.findByNameAndSurname("AA", "BB"))
-                    .thenReturn(Optional.empty());
+            Mockito.when(repository.findExistingKeys(ArgumentMatchers.anyCollection()))
+                    .thenReturn(Set.of());
 
             Mockito.when(repository.saveAll(ArgumentMatchers.anyList()))
                     .thenReturn(List.of(CLIENT_ENTITY_READ_1, CLIENT_ENTITY_READ_2));
@@ -353,14 +373,41 @@ public class ClientServiceImplTest {
             Assertions.assertThat(service.addClients(List.of(clientDto1, clientDto2)))
                     .isEqualTo(List.of(1L, 2L));
 
-            inOrder.verify(repository, Mockito.times(2))
-                    .findByNameAndSurname(ArgumentMatchers.anyString(), ArgumentMatchers.anyString());
+            inOrder.verify(repository, Mockito.times(1))
+                    .findExistingKeys(ArgumentMatchers.anyCollection());
 
             inOrder.verify(clientsConverter, Mockito.times(1))
                     .toEntityList(ArgumentMatchers.anyList());
 
             inOrder.verify(repository, Mockito.times(1))
                     .saveAll(ArgumentMatchers.anyList());
+
+            Mockito.verify(eventPublisher, Mockito.times(1))
+                    .publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.CLIENTS));
+        }
+    }
+
+    @Test
+    @DisplayName("When adding clients and the same client appears twice in the list, throw an ResourceAlreadyExistException without querying the database.")
+    public void test14() {
+        try (MockedStatic<Validator> mockedStatic = Mockito.mockStatic(Validator.class)) {
+            mockedStatic.when(() ->
+                            Validator.validate(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                    .thenAnswer(invocation -> null);
+
+            var clientDto1 = new ClientDto(1L, "Adam", "Nowak", 10, BigDecimal.ONE);
+            var clientDto2 = new ClientDto(2L, "ADAM", "nowak", 20, BigDecimal.TWO);
+
+            Assertions.assertThatThrownBy(() ->
+                            service.addClients(List.of(clientDto1, clientDto2)))
+                    .isInstanceOf(ResourceAlreadyExistException.class)
+                    .hasMessage("Client: %s is repeated in the list".formatted(clientDto2));
+
+            Mockito.verify(repository, Mockito.never())
+                    .findExistingKeys(ArgumentMatchers.anyCollection());
+
+            Mockito.verify(repository, Mockito.never())
+                    .saveAll(ArgumentMatchers.anyList());
         }
     }
 }
@@ -4,6 +4,9 @@ import com.app.controller.dto.order.OrderAddDto;
 import com.app.controller.dto.order.OrdersAddDto;
 import com.app.converter.many.OrdersConverter;
 import com.app.converter.single.Converter;
+import com.app.event.OrdersAddedEvent;
+import com.app.event.OrdersRemovedEvent;
+import com.app.event.ShopDataChangedEvent;
 import com.app.model.Order;
 import com.app.persistence.entity.OrderEntity;
 import com.app.persistence.repository.ClientRepository;
@@ -16,11 +19,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
 
 import static com.app.data.ClientData.CLIENT_ENTITY_READ_1;
+import static com.app.data.OrderData.ORDER1;
 import static com.app.data.OrderData.ORDER_ENTITY1;
 import static com.app.data.OrderData.ORDER_ENTITY2;
 import static com.app.data.ProductData.PRODUCT_ENTITY_READ1;
@@ -44,6 +49,9 @@ public class OrderServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private OrderServiceImpl service;
 
@@ -117,6 +125,12 @@ public class OrderServiceImplTest {
 
         inOrder.verify(orderRepository, Mockito.times(1))
                 .save(ArgumentMatchers.any(OrderEntity.class));
+
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new OrdersAddedEvent(List.of(ORDER_ENTITY1)));
+
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.ORDERS));
     }
 
     @Test
@@ -178,7 +192,7 @@ public class OrderServiceImplTest {
         Mockito.when(productRepository.findAllById(ArgumentMatchers.anyList()))
                 .thenReturn(List.of(PRODUCT_ENTITY_READ1, PRODUCT_ENTITY_READ2));
 
-        Mockito.when(orderRepository.saveAll(ArgumentMatchers.anyList()))
+        Mockito.when(orderRepository.insertAll(ArgumentMatchers.anyList()))
                 .thenReturn(List.of(ORDER_ENTITY1, ORDER_ENTITY2));
 
         Assertions.assertThat(service.addOrders(ordersDto))
@@ -194,7 +208,85 @@ public class OrderServiceImplTest {
                 .findAllById(ArgumentMatchers.anyList());
 
         inOrder.verify(orderRepository, Mockito.times(1))
-                .saveAll(ArgumentMatchers.anyList());
+                .insertAll(ArgumentMatchers.anyList());
+
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new OrdersAddedEvent(List.of(ORDER_ENTITY1, ORDER_ENTITY2)));
+
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.ORDERS));
+
+    }
+
+    @Test
+    @DisplayName("When removing an order, an event about the removal is published before the delete.")
+    public void test7() {
+
+        var service = new OrderServiceImpl(
+                orderRepository, converter, clientRepository, orderRepository, productRepository, eventPublisher);
+        var inOrder = Mockito.inOrder(eventPublisher, orderRepository);
+
+        Mockito.when(orderRepository.findById(ArgumentMatchers.anyLong()))
+                .thenReturn(Optional.of(ORDER_ENTITY1));
+
+        Mockito.when(converter.toModel(ORDER_ENTITY1))
+                .thenReturn(ORDER1);
+
+        Mockito.when(converter.toEntity(ORDER1))
+                .thenReturn(ORDER_ENTITY1);
+
+        Assertions.assertThat(service.removeElement(1L))
+                .isEqualTo(1L);
+
+        inOrder.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.ORDERS, List.of(1L)));
+
+        inOrder.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.ORDERS));
+
+        inOrder.verify(orderRepository, Mockito.times(1))
+                .delete(ORDER_ENTITY1);
+    }
+
+    @Test
+    @DisplayName("When adding an orders with a repeated product, insert one order per product with the quantity.")
+    public void test8() {
+
+        var ordersDto = new OrdersAddDto(1L, List.of(1L, 2L, 1L));
+
+        Mockito.when(clientRepository.findById(ArgumentMatchers.anyLong()))
+                .thenReturn(Optional.of(CLIENT_ENTITY_READ_1));
+
+        Mockito.when(productRepository.findAllById(List.of(1L, 2L)))
+                .thenReturn(List.of(PRODUCT_ENTITY_READ1, PRODUCT_ENTITY_READ2));
+
+        Mockito.when(orderRepository.insertAll(ArgumentMatchers.anyList()))
+                .thenReturn(List.of(ORDER_ENTITY1, ORDER_ENTITY2));
+
+        Assertions.assertThat(service.addOrders(ordersDto))
+                .isEqualTo(List.of(1L, 2L));
+
+        var captor = ArgumentCaptor.<List<OrderEntity>>captor();
+        Mockito.verify(orderRepository, Mockito.times(1))
+                .insertAll(captor.capture());
+
+        Assertions.assertThat(captor.getValue())
+                .extracting(order -> order.getProductEntity().getId(), OrderEntity::getQuantity)
+                .containsExactly(Assertions.tuple(1L, 2), Assertions.tuple(2L, 1));
+    }
+
+    @Test
+    @DisplayName("When adding an order without a client or product ID, throw an IllegalArgumentException.")
+    public void test9() {
+
+        Assertions.assertThatThrownBy(() -> service.addOrder(new OrderAddDto(null, 1L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Client ID cannot be null");
+
+        Assertions.assertThatThrownBy(() -> service.addOrder(new OrderAddDto(1L, null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Product ID cannot be null");
 
+        Mockito.verifyNoInteractions(clientRepository, productRepository, orderRepository);
     }
-}
\ No newline at end of file
+}
@@ -4,9 +4,13 @@ import com.app.controller.dto.product.ProductDto;
 import com.app.controller.dto.product.ProductsFilterDto;
 import com.app.converter.many.ProductsConverter;
 import com.app.converter.single.Converter;
+import com.app.event.OrdersRemovedEvent;
+import com.app.event.ShopDataChangedEvent;
 import com.app.exception.ResourceAlreadyExistException;
 import com.app.model.Product;
 import com.app.persistence.entity.ProductEntity;
+import com.app.persistence.entity.view.ProductKey;
+import com.app.persistence.repository.CategoryRepository;
 import com.app.persistence.repository.ProductRepository;
 import com.app.persistence.repository.specification.ProductSpecification;
 import org.assertj.core.api.Assertions;
@@ -15,11 +19,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static com.app.data.ProductData.*;
 
@@ -29,6 +40,9 @@ public class ProductServiceImplTest {
     @Mock
     private ProductRepository repository;
 
+    @Mock
+    private CategoryRepository categoryRepository;
+
     @Mock
     private Converter<ProductEntity, Product> converter;
 
@@ -38,9 +52,21 @@ public class ProductServiceImplTest {
     @Mock
     private ProductSpecification productSpecification;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private ProductServiceImpl service;
 
+    private static List<ProductEntity> productEntities(int fromId, int count) {
+        return IntStream.range(fromId, fromId + count)
+                .<ProductEntity>mapToObj(id -> ProductEntity.builder().id((long) id).name("P" + id).category("home").build())
+                .toList();
+    }
+
     @Test
     @DisplayName("When adding a product and product already exist, throw an ResourceAlreadyExistException.")
     public void test1() {
@@ -83,17 +109,17 @@ public class ProductServiceImplTest {
 
         inOrder.verify(repository, Mockito.times(1))
                 .save(ArgumentMatchers.any(ProductEntity.class));
+
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.PRODUCTS));
     }
 
     @Test
     @DisplayName("When adding products and one of the products already exists, throw an ResourceAlreadyExistException.")
     public void test3() {
 
-        Mockito.when(repository.findByNameAndCategory("A", "C1"))
-                .thenReturn(Optional.empty());
-
-        Mockito.when(repository.findByNameAndCategory("AA", "C2"))
-                .thenReturn(Optional.of(PRODUCT_ENTITY_READ1));
+        Mockito.when(repository.findExistingKeys(List.of(new ProductKey("A", "C1"), new ProductKey("AA", "C2"))))
+                .thenReturn(Set.of(new ProductKey("aa", "c2")));
 
         var productDto1 = new ProductDto(1L, "A", "C1", BigDecimal.ONE);
         var productDto2 = new ProductDto(2L, "AA", "C2", BigDecimal.TWO);
@@ -103,7 +129,10 @@ public class ProductServiceImplTest {
                 .isInstanceOf(ResourceAlreadyExistException.class)
                 .hasMessage("Product: %s already exists".formatted(productDto2));
 
-        Mockito.verify(repository, Mockito.times(2))
+        Mockito.verify(repository, Mockito.times(1))
+                .findExistingKeys(ArgumentMatchers.anyCollection());
+
+        Mockito.verify(repository, Mockito.never())
                 .findByNameAndCategory(ArgumentMatchers.anyString(), ArgumentMatchers.anyString());
     }
 
@@ -113,9 +142,8 @@ public class ProductServiceImplTest {
 
         var inOrder = Mockito.inOrder(repository, productsConverter);
 
-        Mockito.when(repository.findByNameAndCategory(
-                        ArgumentMatchers.anyString(), ArgumentMatchers.anyString()))
-                .thenReturn(Optional.empty());
+        Mockito.when(repository.findExistingKeys(ArgumentMatchers.anyCollection()))
+                .thenReturn(Set.of());
 
         Mockito.when(repository.saveAll(ArgumentMatchers.anyList()))
                 .thenReturn(List.of(PRODUCT_ENTITY_READ1, PRODUCT_ENTITY_READ2));
@@ -129,42 +157,47 @@ public class ProductServiceImplTest {
         Assertions.assertThat(service.addProducts(List.of(productDto1, productDto2)))
                 .isEqualTo(List.of(1L, 2L));
 
-        inOrder.verify(repository, Mockito.times(2))
-                .findByNameAndCategory(ArgumentMatchers.anyString(), ArgumentMatchers.anyString());
+        inOrder.verify(repository, Mockito.times(1))
+                .findExistingKeys(ArgumentMatchers.anyCollection());
 
         inOrder.verify(productsConverter, Mockito.times(1))
                 .toProductEntities(ArgumentMatchers.anyList());
 
         inOrder.verify(repository, Mockito.times(1))
                 .saveAll(ArgumentMatchers.anyList());
+
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.PRODUCTS));
     }
 
     @Test
     @DisplayName("When getting all available categories, return a list of categories.")
     public void test5(){
 
-        Mockito.when(repository.getAllCategories())
+        Mockito.when(categoryRepository.getAllCategoryNames())
                 .thenReturn(List.of("C1", "C2", "C3"));
 
         Assertions.assertThat(service.getCategories())
                 .isEqualTo(List.of("C1", "C2", "C3"));
 
-        Mockito.verify(repository, Mockito.times(1))
-                .getAllCategories();
+        Mockito.verify(categoryRepository, Mockito.times(1))
+                .getAllCategoryNames();
+        Mockito.verifyNoInteractions(repository);
     }
 
     @Test
-    @DisplayName("When getting all available categories, return a list of categories.")
+    @DisplayName("When getting all available categories, return them from the category dictionary without querying the products.")
     public void test6(){
 
-        Mockito.when(repository.getAllCategories())
+        Mockito.when(categoryRepository.getAllCategoryNames())
                 .thenReturn(List.of("C1", "C2", "C3"));
 
         Assertions.assertThat(service.getCategories())
                 .isEqualTo(List.of("C1", "C2", "C3"));
 
-        Mockito.verify(repository, Mockito.times(1))
-                .getAllCategories();
+        Mockito.verify(categoryRepository, Mockito.times(1))
+                .getAllCategoryNames();
+        Mockito.verifyNoInteractions(repository);
     }
 
     @Test
@@ -255,4 +288,174 @@ public class ProductServiceImplTest {
         Assertions.assertThat(service.filterProducts(productFilterDto))
                 .isEqualTo(List.of(PRODUCT1, PRODUCT2));
     }
+
+    @Test
+    @DisplayName("When removing products by IDs, an event about the removal of their orders is published before the delete.")
+    public void test13() {
+
+        var inOrder = Mockito.inOrder(eventPublisher, repository);
+
+        Mockito.when(repository.findAllById(ArgumentMatchers.anyList()))
+                .thenReturn(List.of(PRODUCT_ENTITY_READ1, PRODUCT_ENTITY_READ2));
+
+        Mockito.when(converter.toModel(PRODUCT_ENTITY_READ1))
+                .thenReturn(PRODUCT1);
+
+        Mockito.when(converter.toModel(PRODUCT_ENTITY_READ2))
+                .thenReturn(PRODUCT2);
+
+        Assertions.assertThat(service.removeAllByIds(List.of(1L, 2L)))
+                .isEqualTo(List.of(1L, 2L));
+
+        inOrder.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new OrdersRemovedEvent(OrdersRemovedEvent.Scope.PRODUCTS, List.of(1L, 2L)));
+
+        inOrder.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new ShopDataChangedEvent(ShopDataChangedEvent.Source.PRODUCTS));
+
+        inOrder.verify(repository, Mockito.times(1))
+                .deleteAll(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    @DisplayName("When finding a page of products, the products after the given ID are read with the page size as limit.")
+    public void test14() {
+
+        Mockito.when(repository.findPageAfter(1L, Limit.of(2)))
+                .thenReturn(List.of(PRODUCT_ENTITY_READ2, PRODUCT_ENTITY_READ3));
+
+        Mockito.when(converter.toModel(PRODUCT_ENTITY_READ2))
+                .thenReturn(PRODUCT2);
+
+        Mockito.when(converter.toModel(PRODUCT_ENTITY_READ3))
+                .thenReturn(PRODUCT3);
+
+        Assertions.assertThat(service.findPage(1L, 2))
+                .isEqualTo(List.of(PRODUCT2, PRODUCT3));
+    }
+
+    @Test
+    @DisplayName("When finding a page with a negative start or a size out of range, throw an IllegalArgumentException.")
+    public void test15() {
+
+        Assertions.assertThatThrownBy(() -> service.findPage(-1L, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Page start cannot be null or negative");
+
+        Assertions.assertThatThrownBy(() -> service.findPage(0L, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Page size must be between 1 and 1000");
+
+        Assertions.assertThatThrownBy(() -> service.findPage(0L, GenericServiceImpl.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Page size must be between 1 and 1000");
+
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("When streaming products, every product is passed on, the persistence context is cleared periodically " +
+            "and the stream is closed.")
+    public void test16() {
+
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+
+        var closed = new boolean[1];
+        var entities = productEntities(1, 2 * GenericServiceImpl.STREAM_CLEAR_INTERVAL + 1);
+        var streamed = new ArrayList<Product>();
+
+        Mockito.when(repository.streamAllAfter(0L))
+                .thenReturn(entities.stream().onClose(() -> closed[0] = true));
+
+        Mockito.when(converter.toModel(ArgumentMatchers.any(ProductEntity.class)))
+                .thenAnswer(invocation -> invocation.<ProductEntity>getArgument(0).toProduct());
+
+        service.streamAll(0L, streamed::add);
+
+        Assertions.assertThat(streamed)
+                .hasSize(entities.size());
+
+        Assertions.assertThat(closed[0])
+                .isTrue();
+
+        Mockito.verify(entityManager, Mockito.times(2))
+                .clear();
+    }
+
+    @Test
+    @DisplayName("When filtering a page of products, the filter is combined with the start of the page.")
+    public void test17() {
+
+        Mockito.when(productSpecification.dynamicFilter(ArgumentMatchers.any()))
+                .thenReturn((root, query, criteriaBuilder) -> criteriaBuilder.conjunction());
+
+        Mockito.when(productSpecification.idGreaterThan(1L))
+                .thenReturn((root, query, criteriaBuilder) -> criteriaBuilder.conjunction());
+
+        Mockito.doReturn(List.of(PRODUCT_ENTITY_READ2))
+                .when(repository)
+                .findBy(ArgumentMatchers.<Specification<ProductEntity>>any(), ArgumentMatchers.any());
+
+        var productFilterDto = new ProductsFilterDto(BigDecimal.valueOf(1), null, null);
+
+        Assertions.assertThat(service.filterProductsPage(productFilterDto, 1L, 10))
+                .isEqualTo(List.of(PRODUCT_ENTITY_READ2.toProduct()));
+
+        Mockito.verify(productSpecification, Mockito.times(1))
+                .idGreaterThan(1L);
+    }
+
+    @Test
+    @DisplayName("When streaming filtered products, the pages are read until a page is not full.")
+    public void test18() {
+
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+
+        var firstPage = productEntities(1, GenericServiceImpl.STREAM_CLEAR_INTERVAL);
+        var secondPage = productEntities(GenericServiceImpl.STREAM_CLEAR_INTERVAL + 1, 1);
+        var streamed = new ArrayList<Product>();
+
+        Mockito.when(productSpecification.dynamicFilter(ArgumentMatchers.any()))
+                .thenReturn((root, query, criteriaBuilder) -> criteriaBuilder.conjunction());
+
+        Mockito.when(productSpecification.idGreaterThan(ArgumentMatchers.anyLong()))
+                .thenReturn((root, query, criteriaBuilder) -> criteriaBuilder.conjunction());
+
+        Mockito.doReturn(firstPage, secondPage)
+                .when(repository)
+                .findBy(ArgumentMatchers.<Specification<ProductEntity>>any(), ArgumentMatchers.any());
+
+        service.streamFilteredProducts(new ProductsFilterDto(null, null, null), streamed::add);
+
+        Assertions.assertThat(streamed)
+                .hasSize(GenericServiceImpl.STREAM_CLEAR_INTERVAL + 1);
+
+        Mockito.verify(productSpecification, Mockito.times(1))
+                .idGreaterThan(0L);
+
+        Mockito.verify(productSpecification, Mockito.times(1))
+                .idGreaterThan((long) GenericServiceImpl.STREAM_CLEAR_INTERVAL);
+
+        Mockito.verify(entityManager, Mockito.times(2))
+                .clear();
+    }
+
+    @Test
+    @DisplayName("When adding products and the same product appears twice in the list, throw an ResourceAlreadyExistException without querying the database.")
+    public void test19() {
+
+        var productDto1 = new ProductDto(1L, "Milk", "groceries", BigDecimal.ONE);
+        var productDto2 = new ProductDto(2L, "MILK", "Groceries", BigDecimal.TWO);
+
+        Assertions.assertThatThrownBy(() ->
+                        service.addProducts(List.of(productDto1, productDto2)))
+                .isInstanceOf(ResourceAlreadyExistException.class)
+                .hasMessage("Product: %s is repeated in the list".formatted(productDto2));
+
+        Mockito.verify(repository, Mockito.never())
+                .findExistingKeys(ArgumentMatchers.anyCollection());
+
+        Mockito.verify(repository, Mockito.never())
+                .saveAll(ArgumentMatchers.anyList());
+    }
 }